@@ -0,0 +1,149 @@
+package com.attributestudios.api.util;
+
+import java.util.Map;
+
+/**
+ * An immutable snapshot of a {@link Localizer}, compiled into a single
+ * 	open-addressing hash table for lookups that never lock and never
+ * 	allocate.  Request threads rendering localized text can share one
+ * 	compiled locale without contending on the localizer's monitor, as
+ * 	every {@link Localizer#getProperty(String)} call must.
+ * <br><br>
+ * A compiled locale does not see changes made to its localizer after it
+ * 	was compiled; compile the localizer again to pick them up.
+ *
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ * @see     Localizer#compile()
+ * @see     Localizer#getCompiledLocale(String)
+ */
+public final class CompiledLocale
+{
+	/**
+	 * The ID of the localizer language.
+	 */
+	private final String languageID;
+	
+	/**
+	 * The table, holding each key at an even index and its value at the
+	 * 	   following odd one, so that a probe touches one cache line.  Empty
+	 * 	   slots hold null keys.
+	 */
+	private final String[] table;
+	
+	/**
+	 * The number of slots in the table, less one; the slot count is a power
+	 * 	   of two, at least twice the number of keys.
+	 */
+	private final int mask;
+	
+	/**
+	 * The number of keys.
+	 */
+	private final int size;
+	
+	/**
+	 * Compiles a locale.
+	 * @param languageID The W3 standard language tag of the locale.
+	 * @param entries    The keys and their localized values.
+	 */
+	CompiledLocale(String languageID, Map<String, String> entries)
+	{
+		int slots = Integer.highestOneBit(Math.max(2, entries.size() * 2 - 1)) << 1;
+		
+		this.languageID = languageID;
+		this.table = new String[slots * 2];
+		this.mask = slots - 1;
+		this.size = entries.size();
+		
+		for(Map.Entry<String, String> entry : entries.entrySet())
+		{
+			int slot = spread(entry.getKey().hashCode()) & this.mask;
+			
+			while(this.table[slot << 1] != null)
+			{
+				slot = (slot + 1) & this.mask;
+			}
+			
+			this.table[slot << 1] = entry.getKey();
+			this.table[(slot << 1) + 1] = entry.getValue();
+		}
+	}
+	
+	/**
+	 * Translates an unlocalized key into its localized value.
+	 * @param unlocalizedKey The unlocalized name of the key.
+	 * @return The localized value, or null if the key is not in the locale.
+	 */
+	public String getProperty(String unlocalizedKey)
+	{
+		String[] table = this.table;
+		int mask = this.mask;
+		int slot = spread(unlocalizedKey.hashCode()) & mask;
+		String key;
+		
+		while((key = table[slot << 1]) != null)
+		{
+			if(key == unlocalizedKey || key.equals(unlocalizedKey))
+				return table[(slot << 1) + 1];
+			
+			slot = (slot + 1) & mask;
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Translates an unlocalized key into its localized value.
+	 * @param unlocalizedKey The unlocalized name of the key.
+	 * @param defaultValue   The value to return if the key is not in the
+	 * 						     locale.
+	 * @return The localized value, or the default value.
+	 */
+	public String getProperty(String unlocalizedKey, String defaultValue)
+	{
+		String localized = this.getProperty(unlocalizedKey);
+		
+		return localized == null ? defaultValue : localized;
+	}
+	
+	/**
+	 * Checks whether a key is in the locale.
+	 * @param unlocalizedKey The unlocalized name of the key.
+	 * @return True if the key has a localized value.
+	 */
+	public boolean containsKey(String unlocalizedKey)
+	{
+		return this.getProperty(unlocalizedKey) != null;
+	}
+	
+	/**
+	 * Gets the number of keys in the locale.
+	 * @return The number of keys.
+	 */
+	public int size()
+	{
+		return this.size;
+	}
+	
+	/**
+	 * Gets the ID of the locale's language.
+	 * @return The W3 standard language tag.
+	 */
+	public String getLanguageID()
+	{
+		return this.languageID;
+	}
+	
+	/**
+	 * Spreads a hash code's high bits into its low bits, which alone choose a
+	 * 	   slot.
+	 * @param hash The hash code.
+	 * @return The spread hash.
+	 */
+	private static int spread(int hash)
+	{
+		return hash ^ (hash >>> 16);
+	}
+}
@@ -3,11 +3,25 @@
  */
 package com.attributestudios.api.util;
 
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.logging.Logger;
 import java.util.Properties;
+import java.util.regex.Pattern;
 
 import com.attributestudios.api.util.logging.LoggingUtil;
 import com.attributestudios.api.util.logging.SimpleLogFormatter;
@@ -33,23 +47,77 @@ import com.attributestudios.api.util.logging.SimpleLogFormatter;
  *  ConfigurationLoader#escapedCharacters special characters}. 
  *  Lines should be delimited by the CR/LF (windows) line endings.
  *  They are virtually identical to .properties files.
+ * <br><hr>
+ * <b>Lazy Loading</b><br><br>
+ * Once a {@linkplain #setLanguageDirectory(File) directory} or
+ * 	{@linkplain #setLanguageResourcePrefix(String) classpath prefix} is
+ * 	configured, {@link #getLocale(String)} loads each language from its
+ * 	"<code>[language-id].lang</code>" file the first time it is requested,
+ * 	so only the languages in use are ever held in memory.  A language
+ * 	is loaded at most once, however many threads request it together,
+ * 	and may be {@linkplain #unload(String) unloaded} when no longer
+ * 	needed.
+ * <br><hr>
+ * <b>Uncontended Lookups</b><br><br>
+ * As a {@link Properties}, every {@link #getProperty(String)} call locks
+ * 	the localizer.  Threads that look keys up at a high rate should use
+ * 	the {@link CompiledLocale} from {@link #getCompiledLocale(String)} or
+ * 	{@link #compile()} instead, whose lookups never lock.
  * 
  * @author  Bridger Maskrey (maskreybe@live.com)
- * @version 1.1.0
+ * @version 1.3.0
  * @date.   2014-08-12
+ * @edited. 2026-10-16
  */
 public class Localizer extends Properties
 {	
 	private static final long serialVersionUID = 8681727683816048138L;
 	
 	/**
-	 * A map of initialized localizations, populated when the {@link #initialize()} 
-	 * 	   method is invoked on an instantiated localizer.  Localizers in this hash map
-	 *     are defined via their {@link Localizer#languageID} field, and can be accessed
-	 *     thusly via the {@link #getLocale(String)} method.
+	 * The extension of language files found by lazy loading.
+	 * @since 1.2.0
+	 */
+	public static final String LANGUAGE_FILE_EXTENSION = ".lang";
+	
+	/**
+	 * The language IDs that may be loaded lazily: letters, digits, '-' and
+	 * 	   '_', so that an ID can never name a file outside the language source.
+	 */
+	private static final Pattern LANGUAGE_ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]+");
+	
+	/**
+	 * A map of initialized localizations, populated when a language file is
+	 * 	   {@linkplain #load(InputStream) loaded} into an instantiated localizer,
+	 * 	   or when a language is loaded lazily.  Localizers in this map are
+	 * 	   defined via their {@link Localizer#languageID} field, and can be
+	 * 	   accessed thusly via the {@link #getLocale(String)} method.  Reads
+	 * 	   never lock.
 	 * @since 1.0.0
 	 */
-	private static HashMap<String, Localizer> registeredLocalizers = new HashMap<String, Localizer>();
+	private static final ConcurrentMap<String, Localizer> registeredLocalizers = new ConcurrentHashMap<String, Localizer>();
+	
+	/**
+	 * The compiled views of registered localizers, compiled when first
+	 * 	   requested and dropped when their localizer is replaced or unloaded.
+	 */
+	private static final ConcurrentMap<String, CompiledLocale> compiledLocales = new ConcurrentHashMap<String, CompiledLocale>();
+	
+	/**
+	 * The lazy loads in progress, which threads requesting the same language
+	 * 	   wait on rather than load it again.
+	 */
+	private static final ConcurrentMap<String, FutureTask<Localizer>> pendingLoads = new ConcurrentHashMap<String, FutureTask<Localizer>>();
+	
+	/**
+	 * The directory language files are lazily loaded from, or null.
+	 */
+	private static volatile File languageDirectory;
+	
+	/**
+	 * The classpath prefix language files are lazily loaded from, or null.
+	 */
+	private static volatile String languageResourcePrefix;
+	
 	public Logger genericLogger;
 	
 	/**
@@ -81,6 +149,40 @@ public class Localizer extends Properties
 		super.load(inStream);
 		
 		Localizer.registeredLocalizers.put(this.languageID, this);
+		Localizer.compiledLocales.remove(this.languageID);
+	}
+	
+	/**
+	 * Compiles an immutable snapshot of this localizer's keys, including any
+	 * 	   defaults, whose lookups never lock.  If this is the registered
+	 * 	   localizer for its language, the snapshot also replaces the one
+	 * 	   returned by {@link #getCompiledLocale(String)}, so call this again
+	 * 	   after changing a registered localizer.
+	 * @return The compiled locale.
+	 * @since 1.3.0
+	 */
+	public CompiledLocale compile()
+	{
+		Map<String, String> entries = new HashMap<String, String>();
+		
+		synchronized(this)
+		{
+			for(String key : this.stringPropertyNames())
+				entries.put(key, this.getProperty(key));
+		}
+		
+		CompiledLocale compiled = new CompiledLocale(this.languageID, entries);
+		
+		if(registeredLocalizers.get(this.languageID) == this)
+		{
+			compiledLocales.put(this.languageID, compiled);
+			
+			// Replaced or unloaded meanwhile: withdraw the view, unless a newer one already took its place.
+			if(registeredLocalizers.get(this.languageID) != this)
+				compiledLocales.remove(this.languageID, compiled);
+		}
+		
+		return compiled;
 	}
 
 //	/**
@@ -125,9 +227,173 @@ public class Localizer extends Properties
 	{
 		Localizer loc = registeredLocalizers.get(languageID);
 		
+		if(loc == null)
+			loc = loadLocale(languageID);
+		
 		if(loc == null)
 			Logger.getLogger("Localization").warning("Language " + languageID + " could not be found. " +
 						   	   "Perhaps it was not initialized?");
 		return loc;
-	}	
+	}
+	
+	/**
+	 * Unloads a locale, so that its memory can be reclaimed once nothing else
+	 * 	   refers to it.  If a language source is configured, the locale is
+	 * 	   loaded again the next time it is requested.
+	 * @param languageID The W3 standard language tag of the locale.
+	 * @return True if the locale was loaded.
+	 * @since 1.2.0
+	 */
+	public static boolean unload(String languageID)
+	{
+		// Unregister first, so that a compile racing with this cannot publish its view afterward.
+		boolean removed = registeredLocalizers.remove(languageID) != null;
+		compiledLocales.remove(languageID);
+		
+		return removed;
+	}
+	
+	/**
+	 * Returns the compiled view of a locale, compiling it on first request and
+	 * 	   loading the locale first if it is not yet loaded.  The view is shared
+	 * 	   by every caller until the locale is replaced, recompiled or unloaded.
+	 * @param languageID The W3 standard language tag of the locale.
+	 * @return The compiled locale, or null if the locale cannot be found.
+	 * @see    #compile()
+	 * @since  1.3.0
+	 */
+	public static CompiledLocale getCompiledLocale(String languageID)
+	{
+		CompiledLocale compiled = compiledLocales.get(languageID);
+		
+		if(compiled != null)
+			return compiled;
+		
+		Localizer loc = getLocale(languageID);
+		
+		return loc == null ? null : loc.compile();
+	}
+	
+	/**
+	 * Gets the language IDs of every locale currently loaded.
+	 * @return An unmodifiable live view of the loaded language IDs.
+	 * @since 1.2.0
+	 */
+	public static Set<String> getLoadedLanguages()
+	{
+		return Collections.unmodifiableSet(registeredLocalizers.keySet());
+	}
+	
+	/**
+	 * Sets the directory language files are lazily loaded from.  A language
+	 * 	   is looked for here before the {@linkplain
+	 * 	   #setLanguageResourcePrefix(String) classpath}.
+	 * @param directory The directory holding "<code>[language-id].lang</code>"
+	 * 			   files, or null to stop loading from a directory.
+	 * @since 1.2.0
+	 */
+	public static void setLanguageDirectory(File directory)
+	{
+		languageDirectory = directory;
+	}
+	
+	/**
+	 * Sets the classpath prefix language files are lazily loaded from.
+	 * @param resourcePrefix The resource path prefix, such as
+	 * 			   "<code>assets/lang/</code>", or null to stop loading from the
+	 * 			   classpath.
+	 * @since 1.2.0
+	 */
+	public static void setLanguageResourcePrefix(String resourcePrefix)
+	{
+		languageResourcePrefix = resourcePrefix;
+	}
+	
+	/**
+	 * Loads a locale from the configured language source, unless another
+	 * 	   thread is already loading it, in which case that load is waited for.
+	 * @param languageID The W3 standard language tag of the locale.
+	 * @return The locale, or null if it has no language file or cannot be read.
+	 */
+	private static Localizer loadLocale(final String languageID)
+	{
+		if((languageDirectory == null && languageResourcePrefix == null) || !LANGUAGE_ID_PATTERN.matcher(languageID).matches())
+			return null;
+		
+		FutureTask<Localizer> load = new FutureTask<Localizer>(new Callable<Localizer>()
+		{
+			@Override
+			public Localizer call() throws IOException
+			{
+				// A load that finished after this thread missed the registry has already registered the locale.
+				Localizer loaded = registeredLocalizers.get(languageID);
+				
+				return loaded != null ? loaded : readLocale(languageID);
+			}
+		});
+		
+		FutureTask<Localizer> pending = pendingLoads.putIfAbsent(languageID, load);
+		
+		if(pending == null)
+		{
+			pending = load;
+			load.run();
+		}
+		
+		try
+		{
+			return pending.get();
+		}
+		catch(ExecutionException e)
+		{
+			Logger.getLogger("Localization").warning("Language " + languageID + " could not be loaded: " + e.getCause());
+			return null;
+		}
+		catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			return null;
+		}
+		finally
+		{
+			// Only the load that finished is removed; a later one may already have replaced it.
+			if(pending.isDone())
+				pendingLoads.remove(languageID, pending);
+		}
+	}
+	
+	/**
+	 * Reads a locale's language file, in UTF-8, and registers it.
+	 * @param languageID The W3 standard language tag of the locale.
+	 * @return The locale, or null if it has no language file.
+	 * @throws IOException Thrown if the language file cannot be read.
+	 */
+	private static Localizer readLocale(String languageID) throws IOException
+	{
+		String fileName = languageID + LANGUAGE_FILE_EXTENSION;
+		File directory = languageDirectory;
+		String resourcePrefix = languageResourcePrefix;
+		InputStream in = null;
+		
+		if(directory != null && new File(directory, fileName).isFile())
+			in = new FileInputStream(new File(directory, fileName));
+		else if(resourcePrefix != null)
+			in = Localizer.class.getClassLoader().getResourceAsStream(resourcePrefix + fileName);
+		
+		if(in == null)
+			return null;
+		
+		Localizer localizer = new Localizer(languageID);
+		
+		try(Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8))
+		{
+			localizer.load(reader);
+		}
+		
+		localizer.genericLogger.fine("Lazily loaded language " + languageID + " with " + localizer.size() + " keys");
+		
+		Localizer registered = registeredLocalizers.putIfAbsent(languageID, localizer);
+		
+		return registered != null ? registered : localizer;
+	}
 }
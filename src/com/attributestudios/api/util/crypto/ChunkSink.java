@@ -0,0 +1,24 @@
+package com.attributestudios.api.util.crypto;
+
+import java.io.IOException;
+
+/**
+ * Receives each chunk found by a {@link ContentChunker}, in stream order.
+ * 
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+public interface ChunkSink
+{
+	/**
+	 * Accepts a single chunk.
+	 * @param  offset   The offset of the chunk within the stream.
+	 * @param  length   The length of the chunk in bytes.
+	 * @param  digest   The hexadecimal fingerprint of the chunk.
+	 * @param  newChunk True if the chunk was not already in the dedup index, or
+	 * 					    if no index is in use.
+	 * @throws IOException Thrown if the chunk cannot be recorded.
+	 */
+	public void chunkFound(long offset, int length, String digest, boolean newChunk) throws IOException;
+}
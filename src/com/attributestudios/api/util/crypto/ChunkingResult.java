@@ -0,0 +1,91 @@
+package com.attributestudios.api.util.crypto;
+
+/**
+ * Totals for a single run of a {@link ContentChunker}.
+ * 
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+public class ChunkingResult
+{
+	/**
+	 * The number of chunks found.
+	 */
+	private long chunkCount;
+	
+	/**
+	 * The number of chunks not already in the dedup index.
+	 */
+	private long newChunkCount;
+	
+	/**
+	 * The number of bytes chunked.
+	 */
+	private long byteCount;
+	
+	/**
+	 * The number of bytes in chunks not already in the dedup index.
+	 */
+	private long newByteCount;
+	
+	/**
+	 * Records a chunk in the totals.
+	 * @param length   The length of the chunk.
+	 * @param newChunk Whether the chunk was new.
+	 */
+	void record(int length, boolean newChunk)
+	{
+		this.chunkCount++;
+		this.byteCount += length;
+		
+		if(newChunk)
+		{
+			this.newChunkCount++;
+			this.newByteCount += length;
+		}
+	}
+	
+	/**
+	 * Gets the number of chunks found.
+	 * @return The chunk count.
+	 */
+	public long getChunkCount()
+	{
+		return this.chunkCount;
+	}
+	
+	/**
+	 * Gets the number of chunks not already in the dedup index.
+	 * @return The new chunk count.
+	 */
+	public long getNewChunkCount()
+	{
+		return this.newChunkCount;
+	}
+	
+	/**
+	 * Gets the number of bytes chunked.
+	 * @return The byte count.
+	 */
+	public long getByteCount()
+	{
+		return this.byteCount;
+	}
+	
+	/**
+	 * Gets the number of bytes in chunks not already in the dedup index.
+	 * @return The new byte count.
+	 */
+	public long getNewByteCount()
+	{
+		return this.newByteCount;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return this.chunkCount + " chunks (" + this.newChunkCount + " new), "
+				+ this.byteCount + " bytes (" + this.newByteCount + " new)";
+	}
+}
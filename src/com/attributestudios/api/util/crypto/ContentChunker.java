@@ -0,0 +1,332 @@
+package com.attributestudios.api.util.crypto;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import com.attributestudios.api.util.crypto.HashUtils.HashingType;
+
+/**
+ * Splits a stream into variable-size, content-defined chunks and fingerprints
+ * 	   each one, so that content shared between similar files is found even
+ * 	   when it has shifted.  Cut points are chosen with a Gear rolling hash and
+ * 	   FastCDC-style normalized chunking: a stricter mask is applied before the
+ * 	   average size and a looser one after, keeping chunk sizes close to the
+ * 	   average.  Chunks are never smaller than the minimum size (except the
+ * 	   last) nor larger than the maximum.
+ * <br><br>
+ * Only a buffer of twice the maximum chunk size is held, so inputs of any
+ * 	   size are chunked in bounded memory.  Chunks are cut in place, and the
+ * 	   unread tail is only moved to the front once the buffer can no longer
+ * 	   hold a maximum-size window after it.  The Gear table is generated from
+ * 	   a fixed seed; cut points, and therefore a {@link DedupIndex}, stay
+ * 	   valid across versions.
+ * 	   A chunker is not thread-safe; use one per thread.
+ * 
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.1
+ * @date.   2026-10-16
+ * @edited. 2026-10-16
+ */
+public class ContentChunker
+{
+	/**
+	 * The default minimum chunk size, in bytes.
+	 */
+	public static final int DEFAULT_MIN_SIZE = 2 * 1024;
+	
+	/**
+	 * The default average chunk size, in bytes.
+	 */
+	public static final int DEFAULT_AVERAGE_SIZE = 8 * 1024;
+	
+	/**
+	 * The default maximum chunk size, in bytes.
+	 */
+	public static final int DEFAULT_MAX_SIZE = 64 * 1024;
+	
+	/**
+	 * The Gear table: one pseudo-random 64-bit value per byte value.
+	 */
+	private static final long[] GEAR = new long[256];
+	
+	static
+	{
+		// SplitMix64 from a fixed seed, so that every version cuts identically.
+		long state = 0x41545452L;
+		
+		for(int i = 0; i < GEAR.length; i++)
+		{
+			long z = (state += 0x9E3779B97F4A7C15L);
+			z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+			z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+			GEAR[i] = z ^ (z >>> 31);
+		}
+	}
+	
+	/**
+	 * The algorithm chunks are fingerprinted with.
+	 */
+	private final HashingType hashType;
+	
+	/**
+	 * The minimum, average and maximum chunk sizes.
+	 */
+	private final int minSize, averageSize, maxSize;
+	
+	/**
+	 * The stricter mask, applied before the average size is reached.
+	 */
+	private final long smallMask;
+	
+	/**
+	 * The looser mask, applied after the average size is reached.
+	 */
+	private final long largeMask;
+	
+	/**
+	 * The buffer holding the data being chunked, twice the maximum chunk size.
+	 */
+	private final byte[] buffer;
+	
+	/**
+	 * The digest chunks are fingerprinted with.
+	 */
+	private final MessageDigest digest;
+	
+	/**
+	 * The buffer fingerprints are completed into.
+	 */
+	private final byte[] fingerprint;
+	
+	/**
+	 * Creates a new chunker with the default chunk sizes.
+	 * @param  hashType The algorithm to fingerprint chunks with.
+	 * @throws NoSuchAlgorithmException Thrown if the algorithm is not available.
+	 */
+	public ContentChunker(HashingType hashType) throws NoSuchAlgorithmException
+	{
+		this(hashType, DEFAULT_MIN_SIZE, DEFAULT_AVERAGE_SIZE, DEFAULT_MAX_SIZE);
+	}
+	
+	/**
+	 * Creates a new chunker.
+	 * @param  hashType    The algorithm to fingerprint chunks with.
+	 * @param  minSize     The minimum chunk size, in bytes.
+	 * @param  averageSize The target average chunk size, in bytes; must be a
+	 * 					       power of two between the minimum and maximum.
+	 * @param  maxSize     The maximum chunk size, in bytes.
+	 * @throws NoSuchAlgorithmException Thrown if the algorithm is not available.
+	 */
+	public ContentChunker(HashingType hashType, int minSize, int averageSize, int maxSize) throws NoSuchAlgorithmException
+	{
+		if(minSize < 64 || averageSize <= minSize || maxSize <= averageSize || Integer.bitCount(averageSize) != 1)
+		{
+			throw new IllegalArgumentException("Chunk sizes must satisfy 64 <= min < average < max, with a power-of-two average: "
+					+ minSize + ", " + averageSize + ", " + maxSize);
+		}
+		
+		this.hashType = hashType;
+		this.minSize = minSize;
+		this.averageSize = averageSize;
+		this.maxSize = maxSize;
+		
+		int bits = Integer.numberOfTrailingZeros(averageSize);
+		
+		this.smallMask = topBits(bits + 1);
+		this.largeMask = topBits(bits - 1);
+		this.buffer = new byte[2 * maxSize];
+		this.digest = HashUtils.createDigest(hashType);
+		this.fingerprint = new byte[Math.max(this.digest.getDigestLength(), 64)];
+	}
+	
+	/**
+	 * Builds a mask of the most significant bits of a long.  The high bits of a
+	 * 	   Gear hash depend on the most recent 64 bytes, the low bits on very few.
+	 * @param  count The number of bits to set.
+	 * @return The mask.
+	 */
+	private static long topBits(int count)
+	{
+		return count <= 0 ? 0L : -1L << (64 - count);
+	}
+	
+	/**
+	 * Gets the algorithm chunks are fingerprinted with.
+	 * @return The hashing algorithm.
+	 */
+	public HashingType getHashType()
+	{
+		return this.hashType;
+	}
+	
+	/**
+	 * Gets the minimum chunk size.
+	 * @return The minimum size, in bytes.
+	 */
+	public int getMinSize()
+	{
+		return this.minSize;
+	}
+	
+	/**
+	 * Gets the target average chunk size.
+	 * @return The average size, in bytes.
+	 */
+	public int getAverageSize()
+	{
+		return this.averageSize;
+	}
+	
+	/**
+	 * Gets the maximum chunk size.
+	 * @return The maximum size, in bytes.
+	 */
+	public int getMaxSize()
+	{
+		return this.maxSize;
+	}
+	
+	/**
+	 * Chunks a file.
+	 * @param  file  The file to chunk.
+	 * @param  index The dedup index to check and add fingerprints to, or null to
+	 * 				     report every chunk as new.
+	 * @param  sink  The sink to receive each chunk.
+	 * @return The totals for the file.
+	 * @throws IOException Thrown if the file cannot be read, or the index or
+	 * 						   sink fails.
+	 */
+	public ChunkingResult chunk(File file, DedupIndex index, ChunkSink sink) throws IOException
+	{
+		try(InputStream in = new BufferedInputStream(new FileInputStream(file), this.maxSize))
+		{
+			return this.chunk(in, index, sink);
+		}
+	}
+	
+	/**
+	 * Chunks a stream, reading it to its end.  The stream is not closed.
+	 * @param  input The stream to chunk.
+	 * @param  index The dedup index to check and add fingerprints to, or null to
+	 * 				     report every chunk as new.
+	 * @param  sink  The sink to receive each chunk.
+	 * @return The totals for the stream.
+	 * @throws IOException Thrown if the stream cannot be read, or the index or
+	 * 						   sink fails.
+	 */
+	public ChunkingResult chunk(InputStream input, DedupIndex index, ChunkSink sink) throws IOException
+	{
+		if(index != null && index.getHashType() != this.hashType)
+		{
+			throw new IllegalArgumentException("Index holds " + index.getHashType() + " fingerprints, not " + this.hashType + ".");
+		}
+		
+		ChunkingResult result = new ChunkingResult();
+		long offset = 0L;
+		int start = 0;
+		int filled = 0;
+		boolean eof = false;
+		
+		while(true)
+		{
+			// Only move the unread tail once a maximum-size window no longer fits after it.
+			if(start + this.maxSize > this.buffer.length)
+			{
+				filled -= start;
+				System.arraycopy(this.buffer, start, this.buffer, 0, filled);
+				start = 0;
+			}
+			
+			// Top the buffer up so a full maximum-size window is available.
+			while(!eof && filled < start + this.maxSize)
+			{
+				int read = input.read(this.buffer, filled, this.buffer.length - filled);
+				
+				if(read < 0)
+				{
+					eof = true;
+				}
+				else
+				{
+					filled += read;
+				}
+			}
+			
+			if(filled == start)
+			{
+				return result;
+			}
+			
+			int cut = this.findCut(start, filled - start);
+			int length;
+			
+			try
+			{
+				this.digest.update(this.buffer, start, cut);
+				length = this.digest.digest(this.fingerprint, 0, this.fingerprint.length);
+			}
+			catch(DigestException e)
+			{
+				throw new IOException("Fingerprinting as " + this.hashType.getHashType() + " failed.", e);
+			}
+			
+			byte[] raw = new byte[length];
+			System.arraycopy(this.fingerprint, 0, raw, 0, length);
+			
+			boolean newChunk = index == null || index.add(raw);
+			
+			result.record(cut, newChunk);
+			sink.chunkFound(offset, cut, HashUtils.byteArrayToHex(raw), newChunk);
+			
+			offset += cut;
+			start += cut;
+		}
+	}
+	
+	/**
+	 * Finds the end of the next chunk.
+	 * @param  start     The offset of the chunk in the buffer.
+	 * @param  available The number of bytes in the buffer from the offset.
+	 * @return The length of the next chunk.
+	 */
+	private int findCut(int start, int available)
+	{
+		if(available <= this.minSize)
+		{
+			return available;
+		}
+		
+		int end = Math.min(available, this.maxSize);
+		int normal = Math.min(end, this.averageSize);
+		long hash = 0L;
+		int i = this.minSize;
+		
+		for(; i < normal; i++)
+		{
+			hash = (hash << 1) + GEAR[this.buffer[start + i] & 0xFF];
+			
+			if((hash & this.smallMask) == 0L)
+			{
+				return i + 1;
+			}
+		}
+		
+		for(; i < end; i++)
+		{
+			hash = (hash << 1) + GEAR[this.buffer[start + i] & 0xFF];
+			
+			if((hash & this.largeMask) == 0L)
+			{
+				return i + 1;
+			}
+		}
+		
+		return end;
+	}
+}
@@ -0,0 +1,240 @@
+package com.attributestudios.api.util.crypto;
+
+import java.lang.reflect.Constructor;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.util.zip.Checksum;
+
+/**
+ * Computes the CRC-32C (Castagnoli) checksum through the {@link MessageDigest}
+ * 	   interface, so that it can be used anywhere a digest is expected.  When
+ * 	   the running platform provides <code>java.util.zip.CRC32C</code> (Java 9
+ * 	   and later), its hardware-accelerated implementation is used; otherwise
+ * 	   the checksum is computed eight bytes at a time with slicing-by-8 tables.
+ * 	   The result is the four bytes of the checksum, most significant first.
+ * <br><br>
+ * This is not a cryptographic hash; it detects accidental corruption only.
+ * 
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.1
+ * @date.   2026-10-16
+ * @edited. 2026-10-16
+ */
+class Crc32cDigest extends MessageDigest
+{
+	/**
+	 * The reflected Castagnoli polynomial.
+	 */
+	private static final int POLYNOMIAL = 0x82F63B78;
+	
+	/**
+	 * The slicing-by-8 lookup tables; table <code>n</code> holds the CRC of a
+	 * 	   byte followed by <code>n</code> zero bytes.
+	 */
+	private static final int[][] TABLES = new int[8][256];
+	
+	static
+	{
+		for(int i = 0; i < 256; i++)
+		{
+			int crc = i;
+			
+			for(int bit = 0; bit < 8; bit++)
+			{
+				crc = (crc & 1) != 0 ? (crc >>> 1) ^ POLYNOMIAL : crc >>> 1;
+			}
+			
+			TABLES[0][i] = crc;
+		}
+		
+		for(int i = 0; i < 256; i++)
+		{
+			for(int table = 1; table < 8; table++)
+			{
+				int previous = TABLES[table - 1][i];
+				TABLES[table][i] = (previous >>> 8) ^ TABLES[0][previous & 0xFF];
+			}
+		}
+	}
+	
+	/**
+	 * The constructor of the platform's CRC-32C implementation, or null if it
+	 * 	   has none.
+	 */
+	private static final Constructor<? extends Checksum> PLATFORM_CRC32C = findPlatformCrc32c();
+	
+	/**
+	 * The platform checksum this digest delegates to, or null if the tables
+	 * 	   are used instead.
+	 */
+	private final Checksum platformChecksum;
+	
+	/**
+	 * The running, inverted checksum when the tables are used.
+	 */
+	private int crc = 0xFFFFFFFF;
+	
+	/**
+	 * Creates a new CRC-32C digest, using the platform's implementation if it
+	 * 	   has one.
+	 */
+	Crc32cDigest()
+	{
+		this(true);
+	}
+	
+	/**
+	 * Creates a new CRC-32C digest.
+	 * @param usePlatform Whether to use the platform's implementation if it has
+	 * 					      one, rather than the tables.
+	 */
+	Crc32cDigest(boolean usePlatform)
+	{
+		super(HashUtils.HashingType.CRC32C.getHashType());
+		
+		Checksum checksum = null;
+		
+		if(usePlatform && PLATFORM_CRC32C != null)
+		{
+			try
+			{
+				checksum = PLATFORM_CRC32C.newInstance();
+			}
+			catch(ReflectiveOperationException e)
+			{
+				checksum = null;
+			}
+		}
+		
+		this.platformChecksum = checksum;
+	}
+	
+	/**
+	 * Checks whether the platform's CRC-32C implementation is available.
+	 * @return True if digests delegate to the platform by default.
+	 */
+	static boolean isPlatformAvailable()
+	{
+		return PLATFORM_CRC32C != null;
+	}
+	
+	/**
+	 * Looks up the platform's CRC-32C implementation.
+	 * @return The implementing class's constructor, or null if the platform
+	 * 		       has none.
+	 */
+	private static Constructor<? extends Checksum> findPlatformCrc32c()
+	{
+		try
+		{
+			return Class.forName("java.util.zip.CRC32C").asSubclass(Checksum.class).getDeclaredConstructor();
+		}
+		catch(ClassNotFoundException | NoSuchMethodException e)
+		{
+			return null;
+		}
+	}
+	
+	@Override
+	protected void engineUpdate(byte input)
+	{
+		if(this.platformChecksum != null)
+		{
+			this.platformChecksum.update(input);
+			return;
+		}
+		
+		this.crc = (this.crc >>> 8) ^ TABLES[0][(this.crc ^ input) & 0xFF];
+	}
+	
+	@Override
+	protected void engineUpdate(byte[] input, int offset, int len)
+	{
+		if(this.platformChecksum != null)
+		{
+			this.platformChecksum.update(input, offset, len);
+			return;
+		}
+		
+		int c = this.crc;
+		int end = offset + len;
+		
+		while(end - offset >= 8)
+		{
+			int low = c ^ ((input[offset] & 0xFF) | (input[offset + 1] & 0xFF) << 8
+					| (input[offset + 2] & 0xFF) << 16 | (input[offset + 3] & 0xFF) << 24);
+			
+			c = TABLES[7][low & 0xFF] ^ TABLES[6][(low >>> 8) & 0xFF]
+				^ TABLES[5][(low >>> 16) & 0xFF] ^ TABLES[4][low >>> 24]
+				^ TABLES[3][input[offset + 4] & 0xFF] ^ TABLES[2][input[offset + 5] & 0xFF]
+				^ TABLES[1][input[offset + 6] & 0xFF] ^ TABLES[0][input[offset + 7] & 0xFF];
+			
+			offset += 8;
+		}
+		
+		while(offset < end)
+		{
+			c = (c >>> 8) ^ TABLES[0][(c ^ input[offset++]) & 0xFF];
+		}
+		
+		this.crc = c;
+	}
+	
+	@Override
+	protected int engineGetDigestLength()
+	{
+		return 4;
+	}
+	
+	@Override
+	protected byte[] engineDigest()
+	{
+		byte[] result = new byte[4];
+		
+		this.digestInto(result, 0);
+		
+		return result;
+	}
+	
+	@Override
+	protected int engineDigest(byte[] buf, int offset, int len) throws DigestException
+	{
+		if(len < 4)
+		{
+			throw new DigestException("Partial digests not returned: the digest is 4 bytes, but only " + len + " were given.");
+		}
+		
+		return this.digestInto(buf, offset);
+	}
+	
+	/**
+	 * Writes the digest to a buffer and resets the digest.
+	 * @param  buf    The buffer, with room for the whole digest.
+	 * @param  offset The offset to write the digest at.
+	 * @return The length of the digest.
+	 */
+	private int digestInto(byte[] buf, int offset)
+	{
+		int value = this.platformChecksum != null ? (int)this.platformChecksum.getValue() : ~this.crc;
+		
+		buf[offset] = (byte)(value >>> 24);
+		buf[offset + 1] = (byte)(value >>> 16);
+		buf[offset + 2] = (byte)(value >>> 8);
+		buf[offset + 3] = (byte)value;
+		
+		this.engineReset();
+		
+		return 4;
+	}
+	
+	@Override
+	protected void engineReset()
+	{
+		if(this.platformChecksum != null)
+		{
+			this.platformChecksum.reset();
+		}
+		
+		this.crc = 0xFFFFFFFF;
+	}
+}
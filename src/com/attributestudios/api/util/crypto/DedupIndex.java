@@ -0,0 +1,475 @@
+package com.attributestudios.api.util.crypto;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.security.NoSuchAlgorithmException;
+import java.util.logging.Logger;
+
+import com.attributestudios.api.util.crypto.HashUtils.HashingType;
+import com.attributestudios.api.util.logging.LoggingUtil;
+import com.attributestudios.api.util.logging.SimpleLogFormatter;
+
+/**
+ * A local, persistent set of chunk fingerprints used to tell new content
+ * 	   from content that has been seen before.  Fingerprints are held in memory
+ * 	   as raw digest bytes, and fingerprints added since the index was opened
+ * 	   are appended to the index file on {@link #flush()} or {@link #close()}.
+ * <br><br>
+ * The fingerprints share a single open-addressing table, costing a little
+ * 	   over the digest length plus four bytes for each one; at the default
+ * 	   capacity of {@value #DEFAULT_CAPACITY} SHA-256 fingerprints, about
+ * 	   8 GiB of content at the default chunk size, that is at most 72 MiB.
+ * 	   Once the capacity is reached, further fingerprints are reported as new
+ * 	   but are neither held nor written, so content is never wrongly taken as
+ * 	   seen; it is only no longer deduplicated.
+ * <br><hr>
+ * <b>Index File Specifications</b><br><br>
+ * A magic number, the name of the {@link HashingType} and the digest length,
+ * 	   followed by every fingerprint as raw bytes.  Records are only ever
+ * 	   appended; a truncated trailing record is ignored on load.
+ * 
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.1
+ * @date.   2026-10-16
+ * @edited. 2026-10-16
+ */
+public class DedupIndex implements Closeable
+{
+	/**
+	 * The main logger for the dedup index.
+	 */
+	private static Logger dedupLog = LoggingUtil.constructLogger("Dedup Index", new SimpleLogFormatter());
+	
+	/**
+	 * Identifies a dedup index file.
+	 */
+	private static final int INDEX_MAGIC = 0x44445849;
+	
+	/**
+	 * The default maximum number of fingerprints held.
+	 */
+	public static final int DEFAULT_CAPACITY = 1 << 20;
+	
+	/**
+	 * The file the index is loaded from and appended to.
+	 */
+	private final File indexFile;
+	
+	/**
+	 * The algorithm the fingerprints were computed with.
+	 */
+	private final HashingType hashType;
+	
+	/**
+	 * The length of each fingerprint, in bytes.
+	 */
+	private final int digestLength;
+	
+	/**
+	 * The maximum number of fingerprints held.
+	 */
+	private final int capacity;
+	
+	/**
+	 * The fingerprints, each in a slot of the digest length.
+	 */
+	private byte[] table;
+	
+	/**
+	 * The hash of the fingerprint in each slot, which is never zero; zero
+	 * 	   marks an empty slot.
+	 */
+	private int[] hashes;
+	
+	/**
+	 * The number of slots, less one; the slot count is a power of two.
+	 */
+	private int mask;
+	
+	/**
+	 * The number of fingerprints held.
+	 */
+	private int size;
+	
+	/**
+	 * Whether the index has been found full and a warning logged.
+	 */
+	private boolean full;
+	
+	/**
+	 * The output appending new fingerprints to the index file, opened lazily.
+	 */
+	private DataOutputStream appender;
+	
+	/**
+	 * Opens a dedup index, loading the index file if it exists.
+	 * @param  indexFile The file to load the index from and append it to.
+	 * @param  hashType  The algorithm the fingerprints are computed with.
+	 * @throws IOException Thrown if the index file cannot be read, or was
+	 * 						   written for a different algorithm.
+	 */
+	public DedupIndex(File indexFile, HashingType hashType) throws IOException
+	{
+		this(indexFile, hashType, DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Opens a dedup index, loading the index file if it exists.
+	 * @param  indexFile The file to load the index from and append it to.
+	 * @param  hashType  The algorithm the fingerprints are computed with.
+	 * @param  capacity  The maximum number of fingerprints to hold.
+	 * @throws IOException Thrown if the index file cannot be read, or was
+	 * 						   written for a different algorithm.
+	 */
+	public DedupIndex(File indexFile, HashingType hashType, int capacity) throws IOException
+	{
+		this.indexFile = indexFile;
+		this.hashType = hashType;
+		
+		try
+		{
+			this.digestLength = HashUtils.createDigest(hashType).getDigestLength();
+		}
+		catch(NoSuchAlgorithmException e)
+		{
+			throw new IOException("Hashing as " + hashType.getHashType() + " failed.", e);
+		}
+		
+		if(capacity <= 0 || capacity > (Integer.MAX_VALUE / this.digestLength) / 8 * 3)
+		{
+			throw new IllegalArgumentException("Capacity of " + capacity + " fingerprints is out of range.");
+		}
+		
+		this.capacity = capacity;
+		this.allocate(16);
+		
+		if(indexFile.isFile() && indexFile.length() > 0L)
+		{
+			this.load();
+		}
+	}
+	
+	/**
+	 * Gets the algorithm the fingerprints are computed with.
+	 * @return The hashing algorithm.
+	 */
+	public HashingType getHashType()
+	{
+		return this.hashType;
+	}
+	
+	/**
+	 * Checks whether a fingerprint is known.
+	 * @param  digest The raw fingerprint.
+	 * @return True if the fingerprint is in the index.
+	 */
+	public synchronized boolean contains(byte[] digest)
+	{
+		return digest.length == this.digestLength && this.hashes[this.find(digest, hash(digest))] != 0;
+	}
+	
+	/**
+	 * Adds a fingerprint to the index.
+	 * @param  digest The raw fingerprint.
+	 * @return True if the fingerprint was new, or the index is full; false if
+	 * 		       it was already known.
+	 * @throws IOException Thrown if the fingerprint cannot be appended to the
+	 * 						   index file.
+	 */
+	public synchronized boolean add(byte[] digest) throws IOException
+	{
+		if(digest.length != this.digestLength)
+		{
+			throw new IllegalArgumentException("Fingerprint of " + digest.length + " bytes; expected " + this.digestLength);
+		}
+		
+		int hash = hash(digest);
+		int slot = this.find(digest, hash);
+		
+		if(this.hashes[slot] != 0)
+		{
+			return false;
+		}
+		
+		if(this.insert(digest, hash, slot))
+		{
+			this.appender().write(digest);
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Gets the number of known fingerprints.
+	 * @return The size of the index.
+	 */
+	public synchronized int size()
+	{
+		return this.size;
+	}
+	
+	/**
+	 * Gets the maximum number of fingerprints the index holds.
+	 * @return The capacity of the index.
+	 */
+	public int getCapacity()
+	{
+		return this.capacity;
+	}
+	
+	/**
+	 * Writes any buffered fingerprints to the index file.
+	 * @throws IOException Thrown if the index file cannot be written.
+	 */
+	public synchronized void flush() throws IOException
+	{
+		if(this.appender != null)
+		{
+			this.appender.flush();
+		}
+	}
+	
+	@Override
+	public synchronized void close() throws IOException
+	{
+		if(this.appender != null)
+		{
+			this.appender.close();
+			this.appender = null;
+		}
+	}
+	
+	/**
+	 * Gets the output appending to the index file, writing the header if the
+	 * 	   file is new.
+	 * @return The appending output.
+	 * @throws IOException Thrown if the index file cannot be opened.
+	 */
+	private DataOutputStream appender() throws IOException
+	{
+		if(this.appender == null)
+		{
+			boolean fresh = !this.indexFile.isFile() || this.indexFile.length() == 0L;
+			
+			if(fresh && this.indexFile.getAbsoluteFile().getParentFile() != null)
+			{
+				this.indexFile.getAbsoluteFile().getParentFile().mkdirs();
+			}
+			
+			this.appender = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(this.indexFile, true)));
+			
+			if(fresh)
+			{
+				this.appender.writeInt(INDEX_MAGIC);
+				this.appender.writeUTF(this.hashType.name());
+				this.appender.writeByte(this.digestLength);
+			}
+		}
+		
+		return this.appender;
+	}
+	
+	/**
+	 * Reads every fingerprint from the index file.
+	 * @throws IOException Thrown if the index file cannot be read, or was
+	 * 						   written for a different algorithm.
+	 */
+	private void load() throws IOException
+	{
+		long records = 0L;
+		
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(this.indexFile))))
+		{
+			if(in.readInt() != INDEX_MAGIC)
+			{
+				throw new IOException(this.indexFile + " is not a dedup index.");
+			}
+			
+			String typeName = in.readUTF();
+			int length = in.readUnsignedByte();
+			
+			if(!typeName.equals(this.hashType.name()) || length != this.digestLength)
+			{
+				throw new IOException(this.indexFile + " holds " + typeName + " fingerprints, not " + this.hashType.name() + ".");
+			}
+			
+			byte[] digest = new byte[length];
+			
+			while(true)
+			{
+				try
+				{
+					in.readFully(digest);
+				}
+				catch(EOFException e)
+				{
+					break;
+				}
+				
+				int hash = hash(digest);
+				int slot = this.find(digest, hash);
+				
+				if(this.hashes[slot] == 0)
+				{
+					this.insert(digest, hash, slot);
+				}
+				
+				records++;
+			}
+		}
+		
+		long expectedLength = 4L + 2L + this.hashType.name().length() + 1L + records * this.digestLength;
+		
+		if(this.indexFile.length() != expectedLength)
+		{
+			// Drop a partial record left by an interrupted append so later appends stay aligned.
+			dedupLog.warning("Dedup index " + this.indexFile + " ends with a partial record. Truncating...");
+			
+			try(FileOutputStream out = new FileOutputStream(this.indexFile, true))
+			{
+				out.getChannel().truncate(expectedLength);
+			}
+		}
+	}
+	
+	/**
+	 * Finds the slot holding a fingerprint, or the empty slot it would go in.
+	 * @param  digest The raw fingerprint.
+	 * @param  hash   The hash of the fingerprint.
+	 * @return The slot.
+	 */
+	private int find(byte[] digest, int hash)
+	{
+		int slot = hash & this.mask;
+		
+		while(this.hashes[slot] != 0)
+		{
+			if(this.hashes[slot] == hash && this.matches(slot, digest))
+			{
+				return slot;
+			}
+			
+			slot = (slot + 1) & this.mask;
+		}
+		
+		return slot;
+	}
+	
+	/**
+	 * Checks whether a slot holds a fingerprint.
+	 * @param  slot   The slot.
+	 * @param  digest The raw fingerprint.
+	 * @return True if the slot holds the fingerprint.
+	 */
+	private boolean matches(int slot, byte[] digest)
+	{
+		int base = slot * this.digestLength;
+		
+		for(int i = 0; i < digest.length; i++)
+		{
+			if(this.table[base + i] != digest[i])
+			{
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Puts a new fingerprint in the empty slot {@link #find(byte[], int)}
+	 * 	   returned for it, growing the table first if it is three quarters full.
+	 * @param  digest The raw fingerprint, which is copied.
+	 * @param  hash   The hash of the fingerprint.
+	 * @param  slot   The empty slot.
+	 * @return False if the index is full and the fingerprint was not held.
+	 */
+	private boolean insert(byte[] digest, int hash, int slot)
+	{
+		if(this.size >= this.capacity)
+		{
+			if(!this.full)
+			{
+				this.full = true;
+				dedupLog.warning("Dedup index " + this.indexFile + " is full at " + this.capacity + " fingerprints. New chunks will no longer be deduplicated.");
+			}
+			
+			return false;
+		}
+		
+		if((this.size + 1) * 4L > (this.mask + 1) * 3L)
+		{
+			byte[] oldTable = this.table;
+			int[] oldHashes = this.hashes;
+			byte[] moved = new byte[this.digestLength];
+			
+			this.allocate((this.mask + 1) * 2);
+			
+			for(int i = 0; i < oldHashes.length; i++)
+			{
+				if(oldHashes[i] != 0)
+				{
+					System.arraycopy(oldTable, i * this.digestLength, moved, 0, this.digestLength);
+					this.place(moved, oldHashes[i], this.find(moved, oldHashes[i]));
+				}
+			}
+			
+			slot = this.find(digest, hash);
+		}
+		
+		this.place(digest, hash, slot);
+		this.size++;
+		
+		return true;
+	}
+	
+	/**
+	 * Writes a fingerprint into a slot.
+	 * @param digest The raw fingerprint.
+	 * @param hash   The hash of the fingerprint.
+	 * @param slot   The slot.
+	 */
+	private void place(byte[] digest, int hash, int slot)
+	{
+		System.arraycopy(digest, 0, this.table, slot * this.digestLength, this.digestLength);
+		this.hashes[slot] = hash;
+	}
+	
+	/**
+	 * Replaces the table with an empty one.
+	 * @param slots The number of slots, a power of two.
+	 */
+	private void allocate(int slots)
+	{
+		this.table = new byte[slots * this.digestLength];
+		this.hashes = new int[slots];
+		this.mask = slots - 1;
+	}
+	
+	/**
+	 * Hashes a fingerprint for the table.
+	 * @param  digest The raw fingerprint.
+	 * @return The hash, which is never zero.
+	 */
+	private static int hash(byte[] digest)
+	{
+		int hash = 1;
+		
+		for(byte b : digest)
+		{
+			hash = 31 * hash + b;
+		}
+		
+		hash ^= hash >>> 16;
+		
+		return hash == 0 ? 1 : hash;
+	}
+}
@@ -0,0 +1,504 @@
+package com.attributestudios.api.util.crypto;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+import com.attributestudios.api.util.crypto.HashUtils.HashingType;
+import com.attributestudios.api.util.crypto.VerificationSink.VerificationStatus;
+import com.attributestudios.api.util.logging.LoggingUtil;
+import com.attributestudios.api.util.logging.SimpleLogFormatter;
+
+/**
+ * Hashes every file in a directory tree concurrently, streaming each result to
+ * 	   a {@link ManifestSink} as soon as it is available.  Results are never
+ * 	   collected in memory, and no more than a small multiple of the parallelism
+ * 	   is queued at once, so trees of any size may be hashed.  The same engine
+ * 	   verifies a tree against a manifest written by {@link ManifestWriter}.
+ *
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.1
+ * @date.   2026-10-16
+ * @edited. 2026-10-16
+ */
+public class DirectoryHasher
+{
+	/**
+	 * The main logger for the directory hasher.
+	 */
+	private static Logger treeLog = LoggingUtil.constructLogger("Tree Hashing", new SimpleLogFormatter());
+	
+	/**
+	 * The number of tasks that may be queued per worker thread before the walk
+	 * 	   waits for workers to catch up.
+	 */
+	private static final int QUEUED_TASKS_PER_THREAD = 4;
+	
+	/**
+	 * The algorithm applied to every file.
+	 */
+	private final HashingType hashType;
+	
+	/**
+	 * The number of files hashed at once.
+	 */
+	private int parallelism;
+	
+	/**
+	 * Creates a new directory hasher that uses one worker per available processor.
+	 * @param hashType The algorithm to apply to every file.
+	 */
+	public DirectoryHasher(HashingType hashType)
+	{
+		this(hashType, Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Creates a new directory hasher.
+	 * @param hashType    The algorithm to apply to every file.
+	 * @param parallelism The number of files to hash at once.
+	 */
+	public DirectoryHasher(HashingType hashType, int parallelism)
+	{
+		this.hashType = hashType;
+		this.setParallelism(parallelism);
+	}
+	
+	/**
+	 * Gets the algorithm applied to every file.
+	 * @return The hashing algorithm.
+	 */
+	public HashingType getHashType()
+	{
+		return this.hashType;
+	}
+	
+	/**
+	 * Gets the number of files hashed at once.
+	 * @return The parallelism of the hasher.
+	 */
+	public int getParallelism()
+	{
+		return this.parallelism;
+	}
+	
+	/**
+	 * Sets the number of files hashed at once.
+	 * @param parallelism The new parallelism; must be at least 1.
+	 */
+	public void setParallelism(int parallelism)
+	{
+		if(parallelism < 1)
+		{
+			throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+		}
+		
+		this.parallelism = parallelism;
+	}
+	
+	/**
+	 * Hashes every regular file beneath a directory and writes the results to a
+	 * 	   manifest file.
+	 * @param  root     The directory to hash.
+	 * @param  manifest The manifest file to write.  It is replaced if it exists.
+	 * @throws IOException Thrown if the tree cannot be walked, a file cannot be
+	 * 						   hashed, or the manifest cannot be written.
+	 */
+	public void hashTree(File root, File manifest) throws IOException
+	{
+		try(ManifestWriter writer = new ManifestWriter(manifest))
+		{
+			this.hashTree(root, writer);
+		}
+	}
+	
+	/**
+	 * Hashes every regular file beneath a directory, passing each result to the
+	 * 	   sink as it completes.  Results arrive in no particular order.
+	 * @param  root The directory to hash.
+	 * @param  sink The sink to receive the results.
+	 * @throws IOException Thrown if the tree cannot be walked, a file cannot be
+	 * 						   hashed, or the sink fails.  The first failure stops
+	 * 						   the walk and is rethrown once running tasks finish.
+	 */
+	public void hashTree(File root, final ManifestSink sink) throws IOException
+	{
+		treeLog.info("Hashing tree " + root + " as " + this.hashType.getHashType());
+		
+		final Path rootPath = root.toPath();
+		final Engine engine = new Engine();
+		
+		try
+		{
+			Files.walkFileTree(rootPath, new SimpleFileVisitor<Path>()
+			{
+				@Override
+				public FileVisitResult visitFile(final Path file, BasicFileAttributes attrs) throws IOException
+				{
+					if(!attrs.isRegularFile())
+					{
+						return FileVisitResult.CONTINUE;
+					}
+					
+					final String relativePath = relativize(rootPath, file);
+					final long size = attrs.size();
+					
+					return engine.submit(new Job()
+					{
+						@Override
+						public void run() throws IOException
+						{
+							String digest = hash(file.toFile());
+							
+							synchronized(sink)
+							{
+								sink.entryHashed(relativePath, size, digest);
+							}
+						}
+					});
+				}
+			});
+		}
+		catch(Throwable e)
+		{
+			engine.finishAfter(e);
+			throw e;
+		}
+		
+		engine.finish();
+	}
+	
+	/**
+	 * Verifies a directory against a manifest written by {@link ManifestWriter}.
+	 * 	   Listed files are checked concurrently; files on disk that are absent
+	 * 	   from the manifest are reported as {@link VerificationStatus#UNEXPECTED}.
+	 * @param  root     The directory to verify.
+	 * @param  manifest The manifest to verify against.
+	 * @param  sink     The sink to receive the result for each file.
+	 * @return True if every file matched and no file was missing or unexpected.
+	 * @throws IOException Thrown if the manifest or tree cannot be read, the
+	 * 						   manifest names a file outside the directory, or the
+	 * 						   sink fails.
+	 */
+	public boolean verifyTree(File root, File manifest, final VerificationSink sink) throws IOException
+	{
+		treeLog.info("Verifying tree " + root + " against " + manifest);
+		
+		final Path rootPath = root.toPath();
+		final Path containedRoot = rootPath.toAbsolutePath().normalize();
+		final AtomicBoolean allMatched = new AtomicBoolean(true);
+		final Set<String> listedPaths = new HashSet<String>();
+		
+		Engine engine = new Engine();
+		
+		try(BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(manifest), StandardCharsets.UTF_8)))
+		{
+			String line;
+			int lineNumber = 0;
+			
+			while((line = reader.readLine()) != null)
+			{
+				lineNumber++;
+				
+				if(line.isEmpty())
+				{
+					continue;
+				}
+				
+				int firstSpace = line.indexOf(' ');
+				int secondSpace = firstSpace < 0 ? -1 : line.indexOf(' ', firstSpace + 1);
+				
+				if(secondSpace < 0)
+				{
+					throw new IOException("Malformed manifest line " + lineNumber + " in " + manifest);
+				}
+				
+				final String expected = line.substring(0, firstSpace);
+				final String relativePath = line.substring(secondSpace + 1);
+				final long expectedSize;
+				
+				try
+				{
+					expectedSize = Long.parseLong(line.substring(firstSpace + 1, secondSpace));
+				}
+				catch(NumberFormatException e)
+				{
+					throw new IOException("Malformed size on manifest line " + lineNumber + " in " + manifest, e);
+				}
+				
+				// A manifest may not reach outside the tree it describes.
+				Path resolved;
+				
+				try
+				{
+					resolved = containedRoot.resolve(relativePath).normalize();
+				}
+				catch(InvalidPathException e)
+				{
+					throw new IOException("Malformed path on manifest line " + lineNumber + " in " + manifest, e);
+				}
+				
+				if(!resolved.startsWith(containedRoot) || resolved.equals(containedRoot))
+				{
+					throw new IOException("Manifest line " + lineNumber + " in " + manifest + " names " + relativePath + ", which is outside " + root);
+				}
+				
+				listedPaths.add(relativePath);
+				
+				final File file = resolved.toFile();
+				
+				if(engine.submit(new Job()
+				{
+					@Override
+					public void run() throws IOException
+					{
+						VerificationStatus status;
+						String actual = null;
+						
+						if(!file.isFile())
+						{
+							status = VerificationStatus.MISSING;
+						}
+						else if(file.length() != expectedSize)
+						{
+							status = VerificationStatus.MISMATCH;
+						}
+						else
+						{
+							actual = hash(file);
+							status = expected.equalsIgnoreCase(actual) ? VerificationStatus.MATCH : VerificationStatus.MISMATCH;
+						}
+						
+						if(status != VerificationStatus.MATCH)
+						{
+							allMatched.set(false);
+						}
+						
+						synchronized(sink)
+						{
+							sink.entryVerified(relativePath, status, expected, actual);
+						}
+					}
+				}) == FileVisitResult.TERMINATE)
+				{
+					break;
+				}
+			}
+		}
+		catch(Throwable e)
+		{
+			engine.finishAfter(e);
+			throw e;
+		}
+		
+		engine.finish();
+		
+		// Anything on disk the manifest does not mention is unexpected.
+		Files.walkFileTree(rootPath, new SimpleFileVisitor<Path>()
+		{
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException
+			{
+				String relativePath = relativize(rootPath, file);
+				
+				if(attrs.isRegularFile() && !listedPaths.contains(relativePath))
+				{
+					allMatched.set(false);
+					sink.entryVerified(relativePath, VerificationStatus.UNEXPECTED, null, null);
+				}
+				
+				return FileVisitResult.CONTINUE;
+			}
+		});
+		
+		return allMatched.get();
+	}
+	
+	/**
+	 * Hashes a single file with this hasher's algorithm.
+	 * @param  file The file to hash.
+	 * @return The hexadecimal digest of the file.
+	 * @throws IOException Thrown if the file cannot be read or hashed.
+	 */
+	private String hash(File file) throws IOException
+	{
+		String digest = HashUtils.hashAs(file, this.hashType);
+		
+		if(digest == null)
+		{
+			throw new IOException("Hashing " + file + " as " + this.hashType.getHashType() + " failed.");
+		}
+		
+		return digest;
+	}
+	
+	/**
+	 * Converts a path beneath the root into its manifest form.
+	 * @param  root The root of the tree.
+	 * @param  file A file beneath the root.
+	 * @return The relative path, separated by '<code>/</code>'.
+	 */
+	private static String relativize(Path root, Path file)
+	{
+		return root.relativize(file).toString().replace(File.separatorChar, '/');
+	}
+	
+	/**
+	 * A unit of work that may fail with an I/O error.
+	 */
+	private static interface Job
+	{
+		/**
+		 * Runs the job.
+		 * @throws IOException Thrown if the job fails.
+		 */
+		public void run() throws IOException;
+	}
+	
+	/**
+	 * Runs jobs on a bounded pool, holding back the producer whenever too many
+	 * 	   jobs are queued, and remembering the first failure.
+	 */
+	private class Engine
+	{
+		/**
+		 * The pool the jobs run on.
+		 */
+		private final ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+		
+		/**
+		 * Permits bounding the number of queued and running jobs.
+		 */
+		private final Semaphore permits = new Semaphore(parallelism * QUEUED_TASKS_PER_THREAD);
+		
+		/**
+		 * The first failure raised by any job.
+		 */
+		private final AtomicReference<IOException> failure = new AtomicReference<IOException>();
+		
+		/**
+		 * Submits a job, waiting for a queue slot if necessary.
+		 * @param  job The job to run.
+		 * @return {@link FileVisitResult#TERMINATE} if a job has already failed and
+		 * 			   no more should be submitted; otherwise
+		 * 			   {@link FileVisitResult#CONTINUE}.
+		 * @throws IOException Thrown if the producer is interrupted while waiting.
+		 */
+		public FileVisitResult submit(final Job job) throws IOException
+		{
+			if(this.failure.get() != null)
+			{
+				return FileVisitResult.TERMINATE;
+			}
+			
+			try
+			{
+				this.permits.acquire();
+			}
+			catch(InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while queueing work.", e);
+			}
+			
+			this.executor.execute(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					try
+					{
+						if(failure.get() == null)
+						{
+							job.run();
+						}
+					}
+					catch(IOException e)
+					{
+						failure.compareAndSet(null, e);
+					}
+					catch(RuntimeException e)
+					{
+						failure.compareAndSet(null, new IOException(e));
+					}
+					finally
+					{
+						permits.release();
+					}
+				}
+			});
+			
+			return FileVisitResult.CONTINUE;
+		}
+		
+		/**
+		 * Waits for every submitted job to complete and shuts the pool down.
+		 * @throws IOException The first failure raised by any job, or thrown if the
+		 * 						   caller is interrupted while waiting.
+		 */
+		public void finish() throws IOException
+		{
+			this.executor.shutdown();
+			
+			try
+			{
+				while(!this.executor.awaitTermination(1L, TimeUnit.SECONDS))
+				{
+					// Keep waiting; jobs are bounded by the size of the files.
+				}
+			}
+			catch(InterruptedException e)
+			{
+				this.executor.shutdownNow();
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while waiting for hashing to complete.", e);
+			}
+			
+			IOException e = this.failure.get();
+			
+			if(e != null)
+			{
+				throw e;
+			}
+		}
+		
+		/**
+		 * Waits for every submitted job to complete after the producer failed,
+		 * 	   attaching any failure of the jobs to the producer's, which remains
+		 * 	   the one thrown.
+		 * @param primary The producer's failure.
+		 */
+		public void finishAfter(Throwable primary)
+		{
+			try
+			{
+				this.finish();
+			}
+			catch(IOException e)
+			{
+				if(e != primary)
+				{
+					primary.addSuppressed(e);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,134 @@
+package com.attributestudios.api.util.crypto;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+
+/**
+ * Feeds file contents to message digests straight from a {@link FileChannel},
+ * 	   either through memory-mapped windows or, where the file system refuses
+ * 	   to map, through a large direct buffer.  No intermediate heap copy of the
+ * 	   file is made by this class.
+ * 
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+class FileChannelHasher
+{
+	/**
+	 * The largest region of a file mapped at once.  Windows are kept well below
+	 * 	   the 2 GB mapping limit so that address space is released steadily on
+	 * 	   very large files.
+	 */
+	static final long MAP_WINDOW_SIZE = 64L * 1024L * 1024L;
+	
+	/**
+	 * The size of the direct buffer used when a file cannot be mapped.
+	 */
+	static final int DIRECT_BUFFER_SIZE = 1024 * 1024;
+	
+	/**
+	 * Updates the specified digests with the entire contents of a file.  The
+	 * 	   file is read once, however many digests are given.
+	 * @param  file    The file to read.
+	 * @param  digests The digests to update.
+	 * @throws IOException Thrown if the file cannot be opened or read.
+	 */
+	static void update(File file, MessageDigest... digests) throws IOException
+	{
+		try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			update(channel, 0L, channel.size(), digests);
+		}
+	}
+	
+	/**
+	 * Updates the specified digests with a region of a file channel.  The
+	 * 	   channel's own position is not used or modified.
+	 * @param  channel  The channel to read.
+	 * @param  position The offset of the first byte of the region.
+	 * @param  length   The number of bytes in the region.
+	 * @param  digests  The digests to update.
+	 * @throws IOException Thrown if the channel cannot be read.
+	 */
+	static void update(FileChannel channel, long position, long length, MessageDigest... digests) throws IOException
+	{
+		long end = position + length;
+		
+		while(position < end)
+		{
+			long window = Math.min(MAP_WINDOW_SIZE, end - position);
+			MappedByteBuffer mapped;
+			
+			try
+			{
+				mapped = channel.map(MapMode.READ_ONLY, position, window);
+			}
+			catch(IOException | UnsupportedOperationException e)
+			{
+				// Not every file system supports mapping; read the rest directly.
+				updateDirect(channel, position, end - position, digests);
+				return;
+			}
+			
+			updateAll(mapped, digests);
+			position += window;
+		}
+	}
+	
+	/**
+	 * Updates the specified digests with a region of a file channel by reading
+	 * 	   it through a direct buffer.
+	 * @param  channel  The channel to read.
+	 * @param  position The offset of the first byte of the region.
+	 * @param  length   The number of bytes in the region.
+	 * @param  digests  The digests to update.
+	 * @throws IOException Thrown if the channel cannot be read, or ends before
+	 * 						   the region does.
+	 */
+	static void updateDirect(FileChannel channel, long position, long length, MessageDigest... digests) throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.allocateDirect((int)Math.min(DIRECT_BUFFER_SIZE, Math.max(length, 1L)));
+		long end = position + length;
+		
+		while(position < end)
+		{
+			buffer.clear();
+			buffer.limit((int)Math.min(buffer.capacity(), end - position));
+			
+			int read = channel.read(buffer, position);
+			
+			if(read < 0)
+			{
+				throw new IOException("Unexpected end of file at offset " + position);
+			}
+			
+			buffer.flip();
+			updateAll(buffer, digests);
+			position += read;
+		}
+	}
+	
+	/**
+	 * Updates every digest with the remaining bytes of a buffer, rewinding the
+	 * 	   buffer between digests so each sees the same bytes.
+	 * @param buffer  The buffer to consume.
+	 * @param digests The digests to update.
+	 */
+	static void updateAll(ByteBuffer buffer, MessageDigest... digests)
+	{
+		int start = buffer.position();
+		
+		for(MessageDigest digest : digests)
+		{
+			buffer.position(start);
+			digest.update(buffer);
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package com.attributestudios.api.util.crypto;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.Random;
+
+import com.attributestudios.api.util.crypto.HashUtils.HashingType;
+
+/**
+ * Measures the throughput of every {@link HashingType}, and of the table
+ * 	   fallback for CRC-32C, over the same in-memory data.  Run it with
+ * 	   <code>java com.attributestudios.api.util.crypto.HashBenchmark
+ * 	   [megabytes] [rounds]</code>; each algorithm digests the data once to
+ * 	   warm up, then the given number of times, and the best round is
+ * 	   reported in megabytes per second.
+ *
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+public final class HashBenchmark
+{
+	/**
+	 * The default amount of data digested per round, in megabytes.
+	 */
+	private static final int DEFAULT_MEGABYTES = 256;
+	
+	/**
+	 * The default number of timed rounds.
+	 */
+	private static final int DEFAULT_ROUNDS = 3;
+	
+	/**
+	 * The size of each update, matching the buffers used to hash streams.
+	 */
+	private static final int UPDATE_SIZE = 64 * 1024;
+	
+	/**
+	 * This class is only run from the command line.
+	 */
+	private HashBenchmark()
+	{
+	}
+	
+	/**
+	 * Runs the benchmark.
+	 * @param  args The number of megabytes to digest per round, and the number
+	 * 			        of rounds; both optional.
+	 * @throws NoSuchAlgorithmException Thrown if the platform lacks one of the
+	 * 									    cryptographic digests.
+	 */
+	public static void main(String[] args) throws NoSuchAlgorithmException
+	{
+		int megabytes = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MEGABYTES;
+		int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+		
+		byte[] data = new byte[UPDATE_SIZE];
+		new Random(0L).nextBytes(data);
+		
+		long total = (long)megabytes * 1024L * 1024L;
+		
+		System.out.println("Digesting " + megabytes + " MB, best of " + rounds + " rounds, on Java " + System.getProperty("java.version"));
+		
+		for(HashingType hashType : HashingType.values())
+		{
+			String name = hashType.name();
+			
+			if(hashType == HashingType.CRC32C)
+			{
+				name += Crc32cDigest.isPlatformAvailable() ? " (platform)" : " (tables)";
+			}
+			
+			report(name, HashUtils.createDigest(hashType), data, total, rounds);
+		}
+		
+		if(Crc32cDigest.isPlatformAvailable())
+		{
+			report(HashingType.CRC32C.name() + " (tables)", new Crc32cDigest(false), data, total, rounds);
+		}
+	}
+	
+	/**
+	 * Times one digest and prints its best throughput.
+	 * @param name   The name to report the digest under.
+	 * @param digest The digest.
+	 * @param data   The block of data digested repeatedly.
+	 * @param total  The number of bytes digested per round.
+	 * @param rounds The number of timed rounds.
+	 */
+	private static void report(String name, MessageDigest digest, byte[] data, long total, int rounds)
+	{
+		// The first round lets the JIT compile the digest before it is timed.
+		run(digest, data, total);
+		
+		long best = Long.MAX_VALUE;
+		
+		for(int i = 0; i < rounds; i++)
+		{
+			best = Math.min(best, run(digest, data, total));
+		}
+		
+		double megabytesPerSecond = (total / (1024.0 * 1024.0)) / (best / 1e9);
+		
+		System.out.println(String.format(Locale.ROOT, "%-22s %10.1f MB/s", name, megabytesPerSecond));
+	}
+	
+	/**
+	 * Digests the data once.
+	 * @param  digest The digest.
+	 * @param  data   The block of data digested repeatedly.
+	 * @param  total  The number of bytes to digest.
+	 * @return The time taken, in nanoseconds.
+	 */
+	private static long run(MessageDigest digest, byte[] data, long total)
+	{
+		ByteBuffer buffer = ByteBuffer.wrap(data);
+		long start = System.nanoTime();
+		
+		for(long done = 0L; done < total; done += data.length)
+		{
+			buffer.clear();
+			digest.update(buffer);
+		}
+		
+		byte[] result = digest.digest();
+		long elapsed = System.nanoTime() - start;
+		
+		// Keeps the result live, so the work cannot be optimised away.
+		if(result.length == 0)
+		{
+			System.out.println();
+		}
+		
+		return elapsed;
+	}
+}
@@ -0,0 +1,521 @@
+package com.attributestudios.api.util.crypto;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.attributestudios.api.util.crypto.HashUtils.HashingType;
+import com.attributestudios.api.util.logging.LoggingUtil;
+import com.attributestudios.api.util.logging.SimpleLogFormatter;
+
+/**
+ * Caches file digests between runs, so that unchanged files are not read
+ * 	   again.  Entries are keyed by the canonical path of the file and the
+ * 	   hashing algorithm, and are valid only while the file's length and last
+ * 	   modification time match those recorded with the digest.  The least
+ * 	   recently used entries are evicted once the cache exceeds its bound.
+ * <br><hr>
+ * <b>Index File Specifications</b><br><br>
+ * The index is a compact binary file written with {@link DataOutputStream}:
+ * 	   a magic number, a format version and an entry count, followed by each
+ * 	   entry as its path, algorithm name, length, modification time and raw
+ * 	   digest bytes.  Entries are written from least to most recently used, so
+ * 	   recency survives a reload.  The index is replaced atomically on save,
+ * 	   and an index that cannot be read is discarded rather than trusted.
+ * 
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+public class HashCache implements Closeable
+{
+	/**
+	 * The main logger for the hash cache.
+	 */
+	private static Logger cacheLog = LoggingUtil.constructLogger("Hash Cache", new SimpleLogFormatter());
+	
+	/**
+	 * The default maximum number of cached digests.
+	 */
+	public static final int DEFAULT_MAX_ENTRIES = 100000;
+	
+	/**
+	 * Identifies a hash cache index file.
+	 */
+	private static final int INDEX_MAGIC = 0x48434958;
+	
+	/**
+	 * The version of the index file format.
+	 */
+	private static final int INDEX_VERSION = 1;
+	
+	/**
+	 * The file the index is loaded from and saved to.
+	 */
+	private final File indexFile;
+	
+	/**
+	 * The maximum number of cached digests.
+	 */
+	private final int maxEntries;
+	
+	/**
+	 * The cached digests, in least to most recently used order.
+	 */
+	private final LinkedHashMap<Key, CachedDigest> entries;
+	
+	/**
+	 * Whether the cache has changed since it was last saved.
+	 */
+	private boolean dirty;
+	
+	/**
+	 * The number of lookups answered from the cache.
+	 */
+	private final AtomicLong hits = new AtomicLong();
+	
+	/**
+	 * The number of lookups that required the file to be hashed.
+	 */
+	private final AtomicLong misses = new AtomicLong();
+	
+	/**
+	 * The number of entries evicted to keep the cache within its bound.
+	 */
+	private final AtomicLong evictions = new AtomicLong();
+	
+	/**
+	 * Creates a new hash cache with the default bound, loading the index file
+	 * 	   if it exists.
+	 * @param  indexFile The file to load the index from and save it to.
+	 * @throws IOException Thrown if the index file exists but cannot be opened.
+	 */
+	public HashCache(File indexFile) throws IOException
+	{
+		this(indexFile, DEFAULT_MAX_ENTRIES);
+	}
+	
+	/**
+	 * Creates a new hash cache, loading the index file if it exists.
+	 * @param  indexFile  The file to load the index from and save it to.
+	 * @param  maxEntries The maximum number of digests to keep.
+	 * @throws IOException Thrown if the index file exists but cannot be opened.
+	 */
+	public HashCache(File indexFile, final int maxEntries) throws IOException
+	{
+		if(maxEntries < 1)
+		{
+			throw new IllegalArgumentException("Cache must hold at least one entry: " + maxEntries);
+		}
+		
+		this.indexFile = indexFile;
+		this.maxEntries = maxEntries;
+		this.entries = new LinkedHashMap<Key, CachedDigest>(16, 0.75f, true)
+		{
+			private static final long serialVersionUID = 1L;
+			
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, CachedDigest> eldest)
+			{
+				if(this.size() > maxEntries)
+				{
+					evictions.incrementAndGet();
+					return true;
+				}
+				
+				return false;
+			}
+		};
+		
+		if(indexFile.isFile())
+		{
+			this.load();
+		}
+	}
+	
+	/**
+	 * Hashes a file, returning the cached digest without reading the file if
+	 * 	   its length and last modification time are unchanged.
+	 * @param  toHash   The file to hash.
+	 * @param  hashType The type of algorithm to apply to the file.
+	 * @return The file as it is hashed by the specified hashing algorithm; if
+	 * 			   hashing fails, return null.
+	 * @throws IOException Thrown if the file cannot be found or read.
+	 * @see    HashUtils#hashAs(File, HashingType)
+	 */
+	public String hashAs(File toHash, HashingType hashType) throws IOException
+	{
+		Key key = new Key(toHash.getCanonicalPath(), hashType);
+		long length = toHash.length();
+		long lastModified = toHash.lastModified();
+		
+		synchronized(this.entries)
+		{
+			CachedDigest entry = this.entries.get(key);
+			
+			if(entry != null)
+			{
+				if(entry.length == length && entry.lastModified == lastModified)
+				{
+					this.hits.incrementAndGet();
+					return entry.digest;
+				}
+				
+				this.entries.remove(key);
+				this.dirty = true;
+			}
+		}
+		
+		this.misses.incrementAndGet();
+		
+		String digest = HashUtils.hashAs(toHash, hashType);
+		
+		// Only trust the digest if the file did not change while it was read.
+		if(digest != null && toHash.length() == length && toHash.lastModified() == lastModified)
+		{
+			synchronized(this.entries)
+			{
+				this.entries.put(key, new CachedDigest(length, lastModified, digest));
+				this.dirty = true;
+			}
+		}
+		
+		return digest;
+	}
+	
+	/**
+	 * Removes every cached digest of a file.
+	 * @param  file The file to forget.
+	 * @throws IOException Thrown if the canonical path of the file cannot be
+	 * 						   resolved.
+	 */
+	public void invalidate(File file) throws IOException
+	{
+		String path = file.getCanonicalPath();
+		
+		synchronized(this.entries)
+		{
+			Iterator<Key> keys = this.entries.keySet().iterator();
+			
+			while(keys.hasNext())
+			{
+				if(keys.next().path.equals(path))
+				{
+					keys.remove();
+					this.dirty = true;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Removes every cached digest.
+	 */
+	public void clear()
+	{
+		synchronized(this.entries)
+		{
+			this.entries.clear();
+			this.dirty = true;
+		}
+	}
+	
+	/**
+	 * Gets the number of cached digests.
+	 * @return The size of the cache.
+	 */
+	public int size()
+	{
+		synchronized(this.entries)
+		{
+			return this.entries.size();
+		}
+	}
+	
+	/**
+	 * Gets the maximum number of cached digests.
+	 * @return The bound of the cache.
+	 */
+	public int getMaxEntries()
+	{
+		return this.maxEntries;
+	}
+	
+	/**
+	 * Gets the number of lookups answered from the cache.
+	 * @return The hit count.
+	 */
+	public long getHitCount()
+	{
+		return this.hits.get();
+	}
+	
+	/**
+	 * Gets the number of lookups that required the file to be hashed.
+	 * @return The miss count.
+	 */
+	public long getMissCount()
+	{
+		return this.misses.get();
+	}
+	
+	/**
+	 * Gets the number of entries evicted to keep the cache within its bound.
+	 * @return The eviction count.
+	 */
+	public long getEvictionCount()
+	{
+		return this.evictions.get();
+	}
+	
+	/**
+	 * Writes the index file if the cache has changed since it was loaded or
+	 * 	   last saved.
+	 * @throws IOException Thrown if the index file cannot be written.
+	 */
+	public void save() throws IOException
+	{
+		synchronized(this.entries)
+		{
+			if(!this.dirty)
+			{
+				return;
+			}
+			
+			File parent = this.indexFile.getAbsoluteFile().getParentFile();
+			parent.mkdirs();
+			
+			File temp = File.createTempFile(this.indexFile.getName(), ".tmp", parent);
+			
+			try
+			{
+				try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp))))
+				{
+					out.writeInt(INDEX_MAGIC);
+					out.writeInt(INDEX_VERSION);
+					out.writeInt(this.entries.size());
+					
+					for(Map.Entry<Key, CachedDigest> mapEntry : this.entries.entrySet())
+					{
+						Key key = mapEntry.getKey();
+						CachedDigest entry = mapEntry.getValue();
+						byte[] digest = hexToBytes(entry.digest);
+						
+						out.writeUTF(key.path);
+						out.writeUTF(key.hashType.name());
+						out.writeLong(entry.length);
+						out.writeLong(entry.lastModified);
+						out.writeByte(digest.length);
+						out.write(digest);
+					}
+				}
+				
+				try
+				{
+					Files.move(temp.toPath(), this.indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				}
+				catch(AtomicMoveNotSupportedException e)
+				{
+					Files.move(temp.toPath(), this.indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				}
+			}
+			finally
+			{
+				temp.delete();
+			}
+			
+			this.dirty = false;
+		}
+		
+		cacheLog.fine("Saved hash cache index " + this.indexFile);
+	}
+	
+	/**
+	 * Saves the index file if the cache has changed.
+	 * @throws IOException Thrown if the index file cannot be written.
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		this.save();
+	}
+	
+	/**
+	 * Reads the index file into the cache.  Entries for algorithms that no
+	 * 	   longer exist are skipped; an unreadable index is discarded.
+	 * @throws IOException Thrown if the index file cannot be opened.
+	 */
+	private void load() throws IOException
+	{
+		boolean discarded = false;
+		
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(this.indexFile))))
+		{
+			try
+			{
+				this.readIndex(in);
+			}
+			catch(IOException | RuntimeException e)
+			{
+				// Truncated or corrupt: a UTFDataFormatException, an impossible length, and so on.
+				LoggingUtil.writeStackTraceToLogger(cacheLog, e, "Hash cache index " + this.indexFile + " is unreadable. Discarding: ", Level.WARNING);
+				this.entries.clear();
+				discarded = true;
+			}
+		}
+		
+		// Anything evicted while loading a larger index, or a discarded index, must be saved away.
+		this.dirty = this.evictions.getAndSet(0L) > 0L | discarded;
+	}
+	
+	/**
+	 * Reads the entries of an opened index file into the cache.
+	 * @param  in The index file.
+	 * @throws IOException Thrown if the index is truncated or corrupt.
+	 */
+	private void readIndex(DataInputStream in) throws IOException
+	{
+		if(in.readInt() != INDEX_MAGIC || in.readInt() != INDEX_VERSION)
+		{
+			cacheLog.warning("Hash cache index " + this.indexFile + " is not a recognized index. Ignoring...");
+			return;
+		}
+		
+		int count = in.readInt();
+		
+		for(int i = 0; i < count; i++)
+		{
+			String path = in.readUTF();
+			String typeName = in.readUTF();
+			long length = in.readLong();
+			long lastModified = in.readLong();
+			byte[] digest = new byte[in.readUnsignedByte()];
+			in.readFully(digest);
+			
+			HashingType hashType;
+			
+			try
+			{
+				hashType = HashingType.valueOf(typeName);
+			}
+			catch(IllegalArgumentException e)
+			{
+				continue;
+			}
+			
+			this.entries.put(new Key(path, hashType), new CachedDigest(length, lastModified, HashUtils.byteArrayToHex(digest)));
+		}
+	}
+	
+	/**
+	 * Converts a string of hexadecimal values back into bytes.
+	 * @param  hex The hexadecimal string.
+	 * @return The bytes the string represents.
+	 */
+	private static byte[] hexToBytes(String hex)
+	{
+		byte[] bytes = new byte[hex.length() / 2];
+		
+		for(int i = 0; i < bytes.length; i++)
+		{
+			bytes[i] = (byte)((Character.digit(hex.charAt(i * 2), 16) << 4) | Character.digit(hex.charAt(i * 2 + 1), 16));
+		}
+		
+		return bytes;
+	}
+	
+	/**
+	 * Identifies a cached digest by file and algorithm.
+	 */
+	private static final class Key
+	{
+		/**
+		 * The canonical path of the file.
+		 */
+		final String path;
+		
+		/**
+		 * The algorithm the digest was computed with.
+		 */
+		final HashingType hashType;
+		
+		/**
+		 * Creates a new key.
+		 * @param path     The canonical path of the file.
+		 * @param hashType The algorithm the digest was computed with.
+		 */
+		Key(String path, HashingType hashType)
+		{
+			this.path = path;
+			this.hashType = hashType;
+		}
+		
+		@Override
+		public boolean equals(Object obj)
+		{
+			if(!(obj instanceof Key))
+			{
+				return false;
+			}
+			
+			Key other = (Key)obj;
+			
+			return this.hashType == other.hashType && this.path.equals(other.path);
+		}
+		
+		@Override
+		public int hashCode()
+		{
+			return this.path.hashCode() * 31 + this.hashType.hashCode();
+		}
+	}
+	
+	/**
+	 * A cached digest and the file state it is valid for.
+	 */
+	private static final class CachedDigest
+	{
+		/**
+		 * The length of the file when it was hashed.
+		 */
+		final long length;
+		
+		/**
+		 * The last modification time of the file when it was hashed.
+		 */
+		final long lastModified;
+		
+		/**
+		 * The hexadecimal digest of the file.
+		 */
+		final String digest;
+		
+		/**
+		 * Creates a new entry.
+		 * @param length       The length of the file when it was hashed.
+		 * @param lastModified The last modification time of the file.
+		 * @param digest       The hexadecimal digest of the file.
+		 */
+		CachedDigest(long length, long lastModified, String digest)
+		{
+			this.length = length;
+			this.lastModified = lastModified;
+			this.digest = digest;
+		}
+	}
+}
@@ -1,13 +1,17 @@
 package com.attributestudios.api.util.crypto;
 
 import java.io.BufferedInputStream;
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.EnumSet;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -18,9 +22,9 @@ import com.attributestudios.api.util.logging.SimpleLogFormatter;
  * Provides utility methods for hashing objects and resources.
  * 
  * @author  Bridger Maskrey (maskreybe@live.com)
- * @version 1.0.1
+ * @version 1.1.0
  * @date.   2014-08-22
- * @edited. 2014-08-25
+ * @edited. 2026-10-16
  */
 public class HashUtils
 {
@@ -29,6 +33,46 @@ public class HashUtils
 	 */
 	private static Logger hashLog = LoggingUtil.constructLogger("Hashing Function", new SimpleLogFormatter());
 	
+	/**
+	 * The default size, in bytes, at or above which files are hashed through
+	 * 	   the memory-mapped {@link FileChannel} engine instead of a buffered stream.
+	 * @since 1.1.0
+	 */
+	public static final long DEFAULT_MAPPED_THRESHOLD = 1024L * 1024L;
+	
+	/**
+	 * The size of the buffer used when hashing input streams.
+	 */
+	private static final int STREAM_BUFFER_SIZE = 8192;
+	
+	/**
+	 * The current size, in bytes, at or above which files are hashed through the
+	 * 	   memory-mapped engine.
+	 */
+	private static volatile long mappedThreshold = DEFAULT_MAPPED_THRESHOLD;
+	
+	/**
+	 * The size of the per-thread buffer characters are encoded into.
+	 */
+	private static final int SCRATCH_BUFFER_SIZE = 1024;
+	
+	/**
+	 * Lower-case hexadecimal digits, indexed by value.
+	 */
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+	
+	/**
+	 * The reusable digests and buffers of each hashing thread.
+	 */
+	private static final ThreadLocal<ThreadState> threadStates = new ThreadLocal<ThreadState>()
+	{
+		@Override
+		protected ThreadState initialValue()
+		{
+			return new ThreadState();
+		}
+	};
+	
 	/**
 	 * Hashes a string as a string of hexadecimal values via the specified hashing 
 	 * 	algorithm.
@@ -59,12 +103,212 @@ public class HashUtils
 	 */
 	public static String hashAs(String toHash, HashingType hashType) throws IOException
 	{
-		hashLog.finest("Hashing string " + toHash + " as " + hashType.getHashType());
+		if(hashLog.isLoggable(Level.FINEST))
+		{
+			hashLog.finest("Hashing string " + toHash + " as " + hashType.getHashType());
+		}
+		
+		return hashAs((CharSequence)toHash, hashType);
+	}
+	
+	/**
+	 * Hashes a character sequence, encoded as UTF-8, as a string of hexadecimal
+	 * 	   values via the specified hashing algorithm.  The characters are encoded
+	 * 	   into a per-thread scratch buffer and digested by a per-thread digest,
+	 * 	   so no intermediate byte array is allocated.
+	 * @param  toHash   The character sequence to hash.
+	 * @param  hashType The type of algorithm to apply to the sequence.
+	 * @return The sequence as it is hashed by the specified hashing algorithm; if
+	 * 			   hashing fails, return null.
+	 * @see    HashingType The HashingType enum for the different valid algorithms.
+	 * @since  1.1.0
+	 */
+	public static String hashAs(CharSequence toHash, HashingType hashType)
+	{
+		byte[] digest = digestAs(toHash, hashType);
+		
+		return digest == null ? null : byteArrayToHex(digest);
+	}
+	
+	/**
+	 * Hashes an array of bytes as a string of hexadecimal values via the
+	 * 	   specified hashing algorithm, using a per-thread digest.
+	 * @param  toHash   The bytes to hash.
+	 * @param  hashType The type of algorithm to apply to the bytes.
+	 * @return The bytes as they are hashed by the specified hashing algorithm; if
+	 * 			   hashing fails, return null.
+	 * @see    HashingType The HashingType enum for the different valid algorithms.
+	 * @since  1.1.0
+	 */
+	public static String hashAs(byte[] toHash, HashingType hashType)
+	{
+		byte[] digest = digestAs(toHash, hashType);
+		
+		return digest == null ? null : byteArrayToHex(digest);
+	}
+	
+	/**
+	 * Hashes the remaining bytes of a buffer as a string of hexadecimal values
+	 * 	   via the specified hashing algorithm, using a per-thread digest.  The
+	 * 	   buffer's position is advanced to its limit.
+	 * @param  toHash   The buffer to hash.
+	 * @param  hashType The type of algorithm to apply to the buffer.
+	 * @return The buffer as it is hashed by the specified hashing algorithm; if
+	 * 			   hashing fails, return null.
+	 * @see    HashingType The HashingType enum for the different valid algorithms.
+	 * @since  1.1.0
+	 */
+	public static String hashAs(ByteBuffer toHash, HashingType hashType)
+	{
+		byte[] digest = digestAs(toHash, hashType);
+		
+		return digest == null ? null : byteArrayToHex(digest);
+	}
+	
+	/**
+	 * Hashes a character sequence, encoded as UTF-8, into its raw digest bytes.
+	 * @param  toHash   The character sequence to hash.
+	 * @param  hashType The type of algorithm to apply to the sequence.
+	 * @return The raw digest; if hashing fails, return null.
+	 * @see    #hashAs(CharSequence, HashingType)
+	 * @since  1.1.0
+	 */
+	public static byte[] digestAs(CharSequence toHash, HashingType hashType)
+	{
+		try
+		{
+			MessageDigest md = threadState().digest(hashType);
+			
+			updateUtf8(md, toHash);
+			
+			return md.digest();
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			LoggingUtil.writeStackTraceToLogger(hashLog, 
+												e,
+												"Hashing as " + hashType.getHashType() + " failed: ",
+												Level.SEVERE);
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Hashes an array of bytes into its raw digest bytes.
+	 * @param  toHash   The bytes to hash.
+	 * @param  hashType The type of algorithm to apply to the bytes.
+	 * @return The raw digest; if hashing fails, return null.
+	 * @see    #hashAs(byte[], HashingType)
+	 * @since  1.1.0
+	 */
+	public static byte[] digestAs(byte[] toHash, HashingType hashType)
+	{
+		try
+		{
+			return threadState().digest(hashType).digest(toHash);
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			LoggingUtil.writeStackTraceToLogger(hashLog, 
+												e,
+												"Hashing as " + hashType.getHashType() + " failed: ",
+												Level.SEVERE);
+		}
 		
-		try(BufferedInputStream sread = new BufferedInputStream(new ByteArrayInputStream(toHash.getBytes("UTF-8"))))
+		return null;
+	}
+	
+	/**
+	 * Hashes the remaining bytes of a buffer into its raw digest bytes.  The
+	 * 	   buffer's position is advanced to its limit.
+	 * @param  toHash   The buffer to hash.
+	 * @param  hashType The type of algorithm to apply to the buffer.
+	 * @return The raw digest; if hashing fails, return null.
+	 * @see    #hashAs(ByteBuffer, HashingType)
+	 * @since  1.1.0
+	 */
+	public static byte[] digestAs(ByteBuffer toHash, HashingType hashType)
+	{
+		try
+		{
+			MessageDigest md = threadState().digest(hashType);
+			
+			md.update(toHash);
+			
+			return md.digest();
+		}
+		catch (NoSuchAlgorithmException e)
 		{
-			return hashAs(sread, hashType);
+			LoggingUtil.writeStackTraceToLogger(hashLog, 
+												e,
+												"Hashing as " + hashType.getHashType() + " failed: ",
+												Level.SEVERE);
 		}
+		
+		return null;
+	}
+	
+	/**
+	 * Hashes a character sequence, encoded as UTF-8, and returns the first
+	 * 	   eight bytes of its digest as a big-endian <code>long</code>.  Nothing is
+	 * 	   allocated on the heap, making this suitable for hashing large numbers
+	 * 	   of small keys.  Digests shorter than eight bytes fill the low-order bytes.
+	 * @param  toHash   The character sequence to hash.
+	 * @param  hashType The type of algorithm to apply to the sequence.
+	 * @return The leading bytes of the digest.
+	 * @throws IllegalStateException Thrown if the algorithm is not available.
+	 * @since  1.1.0
+	 */
+	public static long hashPrefixAs(CharSequence toHash, HashingType hashType)
+	{
+		ThreadState state = threadState();
+		MessageDigest md = state.requireDigest(hashType);
+		
+		updateUtf8(md, toHash);
+		
+		return state.finishPrefix(md);
+	}
+	
+	/**
+	 * Hashes an array of bytes and returns the first eight bytes of its digest
+	 * 	   as a big-endian <code>long</code>, without allocating.
+	 * @param  toHash   The bytes to hash.
+	 * @param  hashType The type of algorithm to apply to the bytes.
+	 * @return The leading bytes of the digest.
+	 * @throws IllegalStateException Thrown if the algorithm is not available.
+	 * @see    #hashPrefixAs(CharSequence, HashingType)
+	 * @since  1.1.0
+	 */
+	public static long hashPrefixAs(byte[] toHash, HashingType hashType)
+	{
+		ThreadState state = threadState();
+		MessageDigest md = state.requireDigest(hashType);
+		
+		md.update(toHash);
+		
+		return state.finishPrefix(md);
+	}
+	
+	/**
+	 * Hashes the remaining bytes of a buffer and returns the first eight bytes
+	 * 	   of its digest as a big-endian <code>long</code>, without allocating.  The
+	 * 	   buffer's position is advanced to its limit.
+	 * @param  toHash   The buffer to hash.
+	 * @param  hashType The type of algorithm to apply to the buffer.
+	 * @return The leading bytes of the digest.
+	 * @throws IllegalStateException Thrown if the algorithm is not available.
+	 * @see    #hashPrefixAs(CharSequence, HashingType)
+	 * @since  1.1.0
+	 */
+	public static long hashPrefixAs(ByteBuffer toHash, HashingType hashType)
+	{
+		ThreadState state = threadState();
+		MessageDigest md = state.requireDigest(hashType);
+		
+		md.update(toHash);
+		
+		return state.finishPrefix(md);
 	}
 	
 	/**
@@ -83,6 +327,27 @@ public class HashUtils
 	{
 		hashLog.finest("Hashing file " + toHash.getAbsolutePath() + " as " + hashType.getHashType());
 		
+		if(toHash.length() >= mappedThreshold)
+		{
+			try
+			{
+				MessageDigest md = createDigest(hashType);
+				
+				FileChannelHasher.update(toHash, md);
+				
+				return byteArrayToHex(md.digest());
+			}
+			catch (NoSuchAlgorithmException e)
+			{
+				LoggingUtil.writeStackTraceToLogger(hashLog, 
+													e,
+													"Hashing as " + hashType.getHashType() + " failed: ",
+													Level.SEVERE);
+			}
+			
+			return null;
+		}
+		
 		try(BufferedInputStream inputStream = new BufferedInputStream(new FileInputStream(toHash)))
 		{
 			return hashAs(inputStream, hashType);
@@ -104,28 +369,271 @@ public class HashUtils
 	{
 		try
 		{
-			MessageDigest md = MessageDigest.getInstance(hashType.getHashType());
+			MessageDigest md = createDigest(hashType);
 			
-			byte[] buffer = new byte[256];
+			updateAll(input, md);
+		
+			return byteArrayToHex(md.digest());
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			LoggingUtil.writeStackTraceToLogger(hashLog, 
+												e,
+												"Hashing as " + hashType.getHashType() + " failed: ",
+												Level.SEVERE);
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Hashes a file with several algorithms at once, reading the file only
+	 * 	   once.  Every digest is updated from the same buffer.
+	 * @param  toHash    The file to hash.
+	 * @param  hashTypes The algorithms to apply to the file.
+	 * @return The result holding the hexadecimal digest of every algorithm; if
+	 * 			   hashing fails, return null.
+	 * @throws IOException Thrown if a resource fails to be closed, or if the
+	 * 					       specified file cannot be found.
+	 * @see    MultiHashResult
+	 * @since  1.1.0
+	 */
+	public static MultiHashResult hashAs(File toHash, Set<HashingType> hashTypes) throws IOException
+	{
+		hashLog.finest("Hashing file " + toHash.getAbsolutePath() + " as " + hashTypes);
+		
+		try
+		{
+			MessageDigest[] digests = createDigests(hashTypes);
 			
-			while(input.read(buffer) != -1)
+			if(toHash.length() >= mappedThreshold)
+			{
+				FileChannelHasher.update(toHash, digests);
+			}
+			else
 			{
-				md.update(buffer);
+				try(BufferedInputStream inputStream = new BufferedInputStream(new FileInputStream(toHash)))
+				{
+					updateAll(inputStream, digests);
+				}
 			}
+			
+			return new MultiHashResult(hashTypes, digests);
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			LoggingUtil.writeStackTraceToLogger(hashLog, 
+												e,
+												"Hashing as " + hashTypes + " failed: ",
+												Level.SEVERE);
+		}
 		
-			return byteArrayToHex(md.digest());
+		return null;
+	}
+	
+	/**
+	 * Hashes an input stream with several algorithms at once, reading the
+	 * 	   stream only once.  Every digest is updated from the same buffer.
+	 * @param  input     The input stream to hash.
+	 * @param  hashTypes The algorithms to apply to the stream.
+	 * @return The result holding the hexadecimal digest of every algorithm; if
+	 * 			   hashing fails, return null.
+	 * @throws IOException Thrown if the input stream fails to be read.
+	 * @see    MultiHashResult
+	 * @since  1.1.0
+	 */
+	public static MultiHashResult hashAs(InputStream input, Set<HashingType> hashTypes) throws IOException
+	{
+		try
+		{
+			MessageDigest[] digests = createDigests(hashTypes);
+			
+			updateAll(input, digests);
+			
+			return new MultiHashResult(hashTypes, digests);
 		}
 		catch (NoSuchAlgorithmException e)
 		{
 			LoggingUtil.writeStackTraceToLogger(hashLog, 
 												e,
-												"Hashing as " + hashType.getHashType() + " failed: ",
+												"Hashing as " + hashTypes + " failed: ",
 												Level.SEVERE);
 		}
 		
 		return null;
 	}
 	
+	/**
+	 * Reads an input stream to its end, updating every digest with each block.
+	 * @param  input   The input stream to read.
+	 * @param  digests The digests to update.
+	 * @throws IOException Thrown if the input stream fails to be read.
+	 */
+	private static void updateAll(InputStream input, MessageDigest... digests) throws IOException
+	{
+		byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+		int read;
+		
+		while((read = input.read(buffer)) != -1)
+		{
+			for(MessageDigest md : digests)
+			{
+				md.update(buffer, 0, read);
+			}
+		}
+	}
+	
+	/**
+	 * Creates one digest per algorithm, in the iteration order of an
+	 * 	   {@link EnumSet} of the algorithms.
+	 * @param  hashTypes The algorithms to create digests for.
+	 * @return The new digests.
+	 * @throws NoSuchAlgorithmException Thrown if any algorithm is not available.
+	 */
+	private static MessageDigest[] createDigests(Set<HashingType> hashTypes) throws NoSuchAlgorithmException
+	{
+		if(hashTypes.isEmpty())
+		{
+			throw new IllegalArgumentException("At least one hashing type must be specified.");
+		}
+		
+		MessageDigest[] digests = new MessageDigest[hashTypes.size()];
+		int i = 0;
+		
+		for(HashingType hashType : EnumSet.copyOf(hashTypes))
+		{
+			digests[i++] = createDigest(hashType);
+		}
+		
+		return digests;
+	}
+	
+	/**
+	 * Updates a digest with the UTF-8 encoding of a character sequence,
+	 * 	   encoding through the calling thread's scratch buffer.  Unpaired
+	 * 	   surrogates are encoded as '<code>?</code>', as {@link String#getBytes(String)}
+	 * 	   does.
+	 * @param md       The digest to update.
+	 * @param sequence The characters to encode.
+	 */
+	private static void updateUtf8(MessageDigest md, CharSequence sequence)
+	{
+		byte[] scratch = threadState().scratch;
+		int limit = scratch.length - 4;
+		int length = sequence.length();
+		int pos = 0;
+		
+		for(int i = 0; i < length; i++)
+		{
+			if(pos > limit)
+			{
+				md.update(scratch, 0, pos);
+				pos = 0;
+			}
+			
+			char c = sequence.charAt(i);
+			
+			if(c < 0x80)
+			{
+				scratch[pos++] = (byte)c;
+			}
+			else if(c < 0x800)
+			{
+				scratch[pos++] = (byte)(0xC0 | (c >> 6));
+				scratch[pos++] = (byte)(0x80 | (c & 0x3F));
+			}
+			else if(Character.isSurrogate(c))
+			{
+				if(Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(sequence.charAt(i + 1)))
+				{
+					int codePoint = Character.toCodePoint(c, sequence.charAt(++i));
+					
+					scratch[pos++] = (byte)(0xF0 | (codePoint >> 18));
+					scratch[pos++] = (byte)(0x80 | ((codePoint >> 12) & 0x3F));
+					scratch[pos++] = (byte)(0x80 | ((codePoint >> 6) & 0x3F));
+					scratch[pos++] = (byte)(0x80 | (codePoint & 0x3F));
+				}
+				else
+				{
+					scratch[pos++] = (byte)'?';
+				}
+			}
+			else
+			{
+				scratch[pos++] = (byte)(0xE0 | (c >> 12));
+				scratch[pos++] = (byte)(0x80 | ((c >> 6) & 0x3F));
+				scratch[pos++] = (byte)(0x80 | (c & 0x3F));
+			}
+		}
+		
+		md.update(scratch, 0, pos);
+	}
+	
+	/**
+	 * Gets the reusable hashing state of the calling thread.
+	 * @return The calling thread's state.
+	 */
+	private static ThreadState threadState()
+	{
+		return threadStates.get();
+	}
+	
+	/**
+	 * Creates a new message digest for the specified hashing algorithm.  All
+	 * 	   hashing paths in this package obtain their digests through this method.
+	 * 	   Non-cryptographic types are supplied by this package as digests of
+	 * 	   their own, so they work with every <code>hashAs</code> entry point.
+	 * @param  hashType The type of algorithm the digest should apply.
+	 * @return A new, reset message digest.
+	 * @throws NoSuchAlgorithmException Thrown if the algorithm is not available
+	 * 									    on this platform.
+	 * @since  1.1.0
+	 */
+	public static MessageDigest createDigest(HashingType hashType) throws NoSuchAlgorithmException
+	{
+		switch(hashType)
+		{
+			case CRC32C:
+				return new Crc32cDigest();
+			case XXHASH64:
+				return new XxHash64Digest();
+			case MURMUR3_128:
+				return new Murmur3Digest();
+			default:
+				return MessageDigest.getInstance(hashType.getHashType());
+		}
+	}
+	
+	/**
+	 * Gets the file size at or above which {@link #hashAs(File, HashingType)} 
+	 * 	   hashes through memory-mapped windows of a {@link FileChannel}.
+	 * @return The current threshold, in bytes.
+	 * @since  1.1.0
+	 */
+	public static long getMappedThreshold()
+	{
+		return mappedThreshold;
+	}
+	
+	/**
+	 * Sets the file size at or above which {@link #hashAs(File, HashingType)} 
+	 * 	   hashes through memory-mapped windows of a {@link FileChannel}.  Smaller
+	 * 	   files are read through a buffered stream, where the cost of mapping
+	 * 	   outweighs the savings.
+	 * @param threshold The new threshold, in bytes.  Use {@link Long#MAX_VALUE} to
+	 * 					    disable the mapped engine entirely.
+	 * @since 1.1.0
+	 */
+	public static void setMappedThreshold(long threshold)
+	{
+		if(threshold < 0)
+		{
+			throw new IllegalArgumentException("Threshold must not be negative: " + threshold);
+		}
+		
+		mappedThreshold = threshold;
+	}
+	
 	/**
 	 * Converts an array of bytes to a String object consisting of
 	 * 	   the hexadecimal values of all bytes present in the array.
@@ -135,20 +643,133 @@ public class HashUtils
 	 */
 	public static String byteArrayToHex(byte[] bytes)
 	{
-		StringBuilder sb = new StringBuilder(bytes.length * 2);
+		char[] chars = new char[bytes.length * 2];
+		
+		for(int i = 0; i < bytes.length; i++)
+		{
+			chars[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0x0F];
+			chars[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0x0F];
+		}
+		
+		return new String(chars);
+	}
+	
+	/**
+	 * Appends the hexadecimal values of all bytes present in an array to a
+	 * 	   string builder, without building an intermediate string.
+	 * @param  bytes The byte array to convert.
+	 * @param  sb    The builder to append to.
+	 * @return The builder, for chaining.
+	 * @since  1.1.0
+	 */
+	public static StringBuilder appendHex(byte[] bytes, StringBuilder sb)
+	{
+		sb.ensureCapacity(sb.length() + bytes.length * 2);
 		
 		for(byte b : bytes)
 		{
-			sb.append(String.format("%02x", b & 0xff));
+			sb.append(HEX_DIGITS[(b >> 4) & 0x0F]).append(HEX_DIGITS[b & 0x0F]);
+		}
+		
+		return sb;
+	}
+	
+	/**
+	 * The reusable digests and buffers of a single thread.  Digests are created
+	 * 	   on first use of each algorithm and reset before every reuse.
+	 */
+	private static final class ThreadState
+	{
+		/**
+		 * The digest of each algorithm, indexed by ordinal.
+		 */
+		final MessageDigest[] digests = new MessageDigest[HashingType.values().length];
+		
+		/**
+		 * The buffer characters are encoded into before being digested.
+		 */
+		final byte[] scratch = new byte[SCRATCH_BUFFER_SIZE];
+		
+		/**
+		 * The buffer digests are completed into for prefix extraction.
+		 */
+		final byte[] output = new byte[64];
+		
+		/**
+		 * Gets this thread's reset digest of an algorithm.
+		 * @param  hashType The algorithm.
+		 * @return The digest, ready for use.
+		 * @throws NoSuchAlgorithmException Thrown if the algorithm is not available.
+		 */
+		MessageDigest digest(HashingType hashType) throws NoSuchAlgorithmException
+		{
+			MessageDigest md = this.digests[hashType.ordinal()];
+			
+			if(md == null)
+			{
+				md = createDigest(hashType);
+				this.digests[hashType.ordinal()] = md;
+			}
+			else
+			{
+				md.reset();
+			}
+			
+			return md;
+		}
+		
+		/**
+		 * Gets this thread's reset digest of an algorithm, for callers that
+		 * 	   cannot report failure through a null result.
+		 * @param  hashType The algorithm.
+		 * @return The digest, ready for use.
+		 * @throws IllegalStateException Thrown if the algorithm is not available.
+		 */
+		MessageDigest requireDigest(HashingType hashType)
+		{
+			try
+			{
+				return this.digest(hashType);
+			}
+			catch (NoSuchAlgorithmException e)
+			{
+				throw new IllegalStateException("Hashing as " + hashType.getHashType() + " is not available.", e);
+			}
 		}
 		
-		return sb.toString();
+		/**
+		 * Completes a digest into the output buffer and reads its leading bytes.
+		 * @param  md The digest to complete.
+		 * @return Up to the first eight bytes of the digest, big-endian.
+		 */
+		long finishPrefix(MessageDigest md)
+		{
+			int length;
+			
+			try
+			{
+				length = md.digest(this.output, 0, this.output.length);
+			}
+			catch (DigestException e)
+			{
+				throw new IllegalStateException("Digest of " + md.getAlgorithm() + " does not fit the output buffer.", e);
+			}
+			
+			long prefix = 0L;
+			
+			for(int i = 0; i < Math.min(8, length); i++)
+			{
+				prefix = (prefix << 8) | (this.output[i] & 0xFFL);
+			}
+			
+			return prefix;
+		}
 	}
 	
 	/**
 	 * Enumeration of the valid MessageDigest algorithms for convenience.
 	 * @author  Bridger Maskrey
-	 * @version 1.0.0
+	 * @version 1.1.0
 	 * @date.   2014-08-22
 	 * @since   1.0.0
 	 */
@@ -162,7 +783,7 @@ public class HashUtils
 		 * @since 1.0.0
 		 */
 		@Deprecated
-		MD5("MD5"),
+		MD5("MD5", true),
 		/**
 		 * Represents the Secure Hashing Algorithm 1 hashing algorithm.
 		 * Do not use for secure applications, such as password storage,
@@ -170,37 +791,78 @@ public class HashUtils
 		 * @since 1.0.0
 		 */
 		@Deprecated
-		SHA1("SHA-1"),
+		SHA1("SHA-1", true),
 		/**
 		 * Represents the Secure Hashing Algorithm 256 hashing algorithm.
 		 * @since 1.0.0
 		 */
-		SHA256("SHA-256");
+		SHA256("SHA-256", true),
+		/**
+		 * Represents the CRC-32C (Castagnoli) checksum.  It is not a
+		 * 	hash at all, and only detects accidental corruption; it is
+		 * 	by far the cheapest type to compute.
+		 * @since 1.1.0
+		 */
+		CRC32C("CRC32C", false),
+		/**
+		 * Represents the 64-bit xxHash algorithm.  Very fast, but not
+		 * 	collision resistant against a deliberate attacker; use for
+		 * 	deduplication and corruption checks only.
+		 * @since 1.1.0
+		 */
+		XXHASH64("XXH64", false),
+		/**
+		 * Represents the 128-bit x64 variant of MurmurHash3.  Very fast,
+		 * 	but not collision resistant against a deliberate attacker;
+		 * 	use for deduplication and corruption checks only.
+		 * @since 1.1.0
+		 */
+		MURMUR3_128("Murmur3_128", false);
 		
 		/**
 		 * The name of the associated hashing algorithm.
 		 */
 		private String hashType;
 		
+		/**
+		 * Whether the associated algorithm is a cryptographic hash.
+		 */
+		private boolean cryptographic;
+		
 		/**
 		 * Creates a new HashingType with the specified algorithm name.
-		 * @param type The name of the associated hashing algorithm.
+		 * @param type          The name of the associated hashing algorithm.
+		 * @param cryptographic Whether the algorithm is a cryptographic hash.
 		 */
-		private HashingType(String type)
+		private HashingType(String type, boolean cryptographic)
 		{
 			this.hashType = type;
+			this.cryptographic = cryptographic;
 		}
 		
 		/**
-		 * Gets the name of the hashing algorithm to pass to the
-		 * 	MessageDigest.
+		 * Gets the name of the hashing algorithm.  For cryptographic
+		 * 	algorithms, this is the name passed to the MessageDigest.
 		 * @return The name of the hashing algorithm formatted such
 		 * 			that the {@link MessageDigest#getInstance(String)}
-		 * 			function can recognize it.
+		 * 			function can recognize it, if the algorithm is
+		 * 			cryptographic.
 		 */
 		public String getHashType()
 		{
 			return this.hashType;
 		}
+		
+		/**
+		 * Gets whether the algorithm is a cryptographic hash, suitable
+		 * 	where collisions may be deliberately sought.
+		 * @return True for cryptographic hashes; false for fast checksums
+		 * 			and non-cryptographic hashes.
+		 * @since  1.1.0
+		 */
+		public boolean isCryptographic()
+		{
+			return this.cryptographic;
+		}
 	}
 }
@@ -0,0 +1,25 @@
+package com.attributestudios.api.util.crypto;
+
+import java.io.IOException;
+
+/**
+ * Receives the results of a directory tree hash as each file completes.
+ * Implementations are never called concurrently by {@link DirectoryHasher},
+ * 	   so they need not be thread-safe.
+ * 
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+public interface ManifestSink
+{
+	/**
+	 * Accepts the digest of a single file.
+	 * @param  path   The path of the file, relative to the hashed root and
+	 * 				      separated by '<code>/</code>'.
+	 * @param  size   The size of the file in bytes.
+	 * @param  digest The hexadecimal digest of the file.
+	 * @throws IOException Thrown if the result cannot be recorded.
+	 */
+	public void entryHashed(String path, long size, String digest) throws IOException;
+}
@@ -0,0 +1,64 @@
+package com.attributestudios.api.util.crypto;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes a manifest file, one line per entry, as entries are hashed.  Each line
+ * 	   has the form:
+ * <br><br>
+ * <code>[digest] [size] [relative-path]</code>
+ * <br><br>
+ * The file is "UTF-8 w/o BOM"-encoded and lines are delimited by LF.  Paths
+ * 	   always use '<code>/</code>' as their separator, so a manifest written on one
+ * 	   platform verifies on any other.
+ * 
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+public class ManifestWriter implements ManifestSink, Closeable
+{
+	/**
+	 * The writer the manifest lines are written to.
+	 */
+	private final Writer writer;
+	
+	/**
+	 * Creates a new manifest writer, replacing the specified file.
+	 * @param  manifestFile The file to write the manifest to.
+	 * @throws IOException Thrown if the file cannot be created.
+	 */
+	public ManifestWriter(File manifestFile) throws IOException
+	{
+		this.writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(manifestFile), StandardCharsets.UTF_8));
+	}
+	
+	@Override
+	public void entryHashed(String path, long size, String digest) throws IOException
+	{
+		if(path.indexOf('\n') >= 0 || path.indexOf('\r') >= 0)
+		{
+			throw new IOException("Path " + path + " cannot be written to a manifest.");
+		}
+		
+		this.writer.write(digest);
+		this.writer.write(' ');
+		this.writer.write(Long.toString(size));
+		this.writer.write(' ');
+		this.writer.write(path);
+		this.writer.write('\n');
+	}
+	
+	@Override
+	public void close() throws IOException
+	{
+		this.writer.close();
+	}
+}
@@ -0,0 +1,318 @@
+package com.attributestudios.api.util.crypto;
+
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.attributestudios.api.util.crypto.HashUtils.HashingType;
+
+/**
+ * The result of hashing a file as a Merkle tree: the digest of every
+ * 	   fixed-size chunk of the file, and the root digest that combines them.
+ * <br><hr>
+ * <b>Tree Specifications</b><br><br>
+ * Chunk <code>i</code> covers bytes <code>[i * chunkSize, min((i + 1) * chunkSize, length))</code>
+ * 	   of the file; an empty file has a single, empty chunk.  Leaves and interior
+ * 	   nodes are domain-separated so that one can never be mistaken for the other:
+ * <br><br>
+ * <code>leaf = H(0x00 || chunk)</code><br>
+ * <code>node = H(0x01 || left || right)</code>
+ * <br><br>
+ * A node without a sibling is carried up to the next level unchanged.
+ * 
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ * @see     MerkleTreeHasher
+ */
+public class MerkleTree
+{
+	/**
+	 * The prefix hashed before the contents of a leaf.
+	 */
+	static final byte LEAF_PREFIX = 0x00;
+	
+	/**
+	 * The prefix hashed before the children of an interior node.
+	 */
+	static final byte NODE_PREFIX = 0x01;
+	
+	/**
+	 * The algorithm applied to the chunks and nodes.
+	 */
+	private final HashingType hashType;
+	
+	/**
+	 * The size of every chunk but the last, in bytes.
+	 */
+	private final long chunkSize;
+	
+	/**
+	 * The length of the hashed file, in bytes.
+	 */
+	private final long length;
+	
+	/**
+	 * The leaf digest of every chunk.
+	 */
+	private final byte[][] chunkDigests;
+	
+	/**
+	 * The root digest of the tree.
+	 */
+	private final byte[] rootDigest;
+	
+	/**
+	 * Creates a new tree from its leaf digests, computing the root.
+	 * @param hashType     The algorithm applied to the chunks.
+	 * @param chunkSize    The size of every chunk but the last.
+	 * @param length       The length of the hashed file.
+	 * @param chunkDigests The leaf digest of every chunk.
+	 * @param digest       A digest of the same algorithm, used to combine nodes.
+	 */
+	MerkleTree(HashingType hashType, long chunkSize, long length, byte[][] chunkDigests, MessageDigest digest)
+	{
+		this.hashType = hashType;
+		this.chunkSize = chunkSize;
+		this.length = length;
+		this.chunkDigests = chunkDigests;
+		this.rootDigest = combine(chunkDigests, digest);
+	}
+	
+	/**
+	 * Computes the number of chunks a file of the given length is split into.
+	 * @param  length    The length of the file.
+	 * @param  chunkSize The size of every chunk but the last.
+	 * @return The number of chunks; at least one.
+	 */
+	static int chunkCount(long length, long chunkSize)
+	{
+		long count = Math.max(1L, (length + chunkSize - 1L) / chunkSize);
+		
+		if(count > Integer.MAX_VALUE)
+		{
+			throw new IllegalArgumentException("File of " + length + " bytes has too many chunks of " + chunkSize + " bytes.");
+		}
+		
+		return (int)count;
+	}
+	
+	/**
+	 * Combines leaf digests level by level into a root digest.
+	 * @param  level  The leaf digests.
+	 * @param  digest The digest used to combine nodes.
+	 * @return The root digest.
+	 */
+	private static byte[] combine(byte[][] level, MessageDigest digest)
+	{
+		while(level.length > 1)
+		{
+			byte[][] parents = new byte[(level.length + 1) / 2][];
+			
+			for(int i = 0; i < parents.length; i++)
+			{
+				int left = i * 2;
+				
+				if(left + 1 == level.length)
+				{
+					parents[i] = level[left];
+					continue;
+				}
+				
+				digest.reset();
+				digest.update(NODE_PREFIX);
+				digest.update(level[left]);
+				digest.update(level[left + 1]);
+				parents[i] = digest.digest();
+			}
+			
+			level = parents;
+		}
+		
+		return level[0];
+	}
+	
+	/**
+	 * Gets the algorithm applied to the chunks and nodes.
+	 * @return The hashing algorithm.
+	 */
+	public HashingType getHashType()
+	{
+		return this.hashType;
+	}
+	
+	/**
+	 * Gets the size of every chunk but the last.
+	 * @return The chunk size, in bytes.
+	 */
+	public long getChunkSize()
+	{
+		return this.chunkSize;
+	}
+	
+	/**
+	 * Gets the length of the hashed file.
+	 * @return The file length, in bytes.
+	 */
+	public long getLength()
+	{
+		return this.length;
+	}
+	
+	/**
+	 * Gets the number of chunks in the tree.
+	 * @return The chunk count.
+	 */
+	public int getChunkCount()
+	{
+		return this.chunkDigests.length;
+	}
+	
+	/**
+	 * Gets the offset of the first byte of a chunk.
+	 * @param  index The index of the chunk.
+	 * @return The offset of the chunk within the file.
+	 */
+	public long getChunkOffset(int index)
+	{
+		this.checkIndex(index);
+		
+		return index * this.chunkSize;
+	}
+	
+	/**
+	 * Gets the length of a chunk.
+	 * @param  index The index of the chunk.
+	 * @return The number of bytes in the chunk.
+	 */
+	public long getChunkLength(int index)
+	{
+		long offset = this.getChunkOffset(index);
+		
+		return Math.min(this.chunkSize, this.length - offset);
+	}
+	
+	/**
+	 * Gets the leaf digest of a chunk.
+	 * @param  index The index of the chunk.
+	 * @return A copy of the chunk's digest.
+	 */
+	public byte[] getChunkDigest(int index)
+	{
+		this.checkIndex(index);
+		
+		return this.chunkDigests[index].clone();
+	}
+	
+	/**
+	 * Gets the leaf digest of a chunk as a string of hexadecimal values.
+	 * @param  index The index of the chunk.
+	 * @return The chunk's digest.
+	 */
+	public String getChunkHash(int index)
+	{
+		this.checkIndex(index);
+		
+		return HashUtils.byteArrayToHex(this.chunkDigests[index]);
+	}
+	
+	/**
+	 * Gets the root digest of the tree.
+	 * @return A copy of the root digest.
+	 */
+	public byte[] getRootDigest()
+	{
+		return this.rootDigest.clone();
+	}
+	
+	/**
+	 * Gets the root digest of the tree as a string of hexadecimal values.
+	 * @return The root digest.
+	 */
+	public String getRootHash()
+	{
+		return HashUtils.byteArrayToHex(this.rootDigest);
+	}
+	
+	/**
+	 * Checks whether a chunk's leaf digest equals the given digest.
+	 * @param  index  The index of the chunk.
+	 * @param  digest The digest to compare against.
+	 * @return True if the digests are equal.
+	 */
+	boolean chunkMatches(int index, byte[] digest)
+	{
+		this.checkIndex(index);
+		
+		return MessageDigest.isEqual(this.chunkDigests[index], digest);
+	}
+	
+	/**
+	 * Lists the chunks that differ between this tree and another tree of the
+	 * 	   same file.  Chunks that exist in only one of the trees count as
+	 * 	   changed.
+	 * @param  other The tree to compare against.  It must use the same algorithm
+	 * 				     and chunk size.
+	 * @return The indices of the changed chunks, in ascending order.
+	 */
+	public List<Integer> getChangedChunks(MerkleTree other)
+	{
+		if(this.hashType != other.hashType || this.chunkSize != other.chunkSize)
+		{
+			throw new IllegalArgumentException("Trees must share a hashing type and chunk size to be compared.");
+		}
+		
+		List<Integer> changed = new ArrayList<Integer>();
+		int count = Math.max(this.chunkDigests.length, other.chunkDigests.length);
+		
+		for(int i = 0; i < count; i++)
+		{
+			if(i >= this.chunkDigests.length || i >= other.chunkDigests.length
+					|| !MessageDigest.isEqual(this.chunkDigests[i], other.chunkDigests[i]))
+			{
+				changed.add(i);
+			}
+		}
+		
+		return changed;
+	}
+	
+	/**
+	 * Throws if a chunk index is out of range.
+	 * @param index The index to check.
+	 */
+	private void checkIndex(int index)
+	{
+		if(index < 0 || index >= this.chunkDigests.length)
+		{
+			throw new IndexOutOfBoundsException("Chunk " + index + " of " + this.chunkDigests.length);
+		}
+	}
+	
+	@Override
+	public boolean equals(Object obj)
+	{
+		if(!(obj instanceof MerkleTree))
+		{
+			return false;
+		}
+		
+		MerkleTree other = (MerkleTree)obj;
+		
+		return this.hashType == other.hashType && this.chunkSize == other.chunkSize
+				&& this.length == other.length && Arrays.equals(this.rootDigest, other.rootDigest);
+	}
+	
+	@Override
+	public int hashCode()
+	{
+		return Arrays.hashCode(this.rootDigest);
+	}
+	
+	@Override
+	public String toString()
+	{
+		return this.getRootHash() + " (" + this.chunkDigests.length + " x " + this.chunkSize + " bytes)";
+	}
+}
@@ -0,0 +1,308 @@
+package com.attributestudios.api.util.crypto;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+import com.attributestudios.api.util.crypto.HashUtils.HashingType;
+import com.attributestudios.api.util.logging.LoggingUtil;
+import com.attributestudios.api.util.logging.SimpleLogFormatter;
+
+/**
+ * Hashes a single file as a {@link MerkleTree}, splitting it into fixed-size
+ * 	   chunks that are hashed in parallel from memory-mapped regions.  Because
+ * 	   the per-chunk digests are kept, a file can later be re-verified one
+ * 	   region at a time rather than in full.
+ * 
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+public class MerkleTreeHasher
+{
+	/**
+	 * The main logger for the Merkle tree hasher.
+	 */
+	private static Logger merkleLog = LoggingUtil.constructLogger("Merkle Hashing", new SimpleLogFormatter());
+	
+	/**
+	 * The default chunk size, in bytes.
+	 */
+	public static final long DEFAULT_CHUNK_SIZE = 4L * 1024L * 1024L;
+	
+	/**
+	 * The algorithm applied to the chunks and nodes.
+	 */
+	private final HashingType hashType;
+	
+	/**
+	 * The size of every chunk but the last.
+	 */
+	private final long chunkSize;
+	
+	/**
+	 * The number of chunks hashed at once.
+	 */
+	private int parallelism;
+	
+	/**
+	 * Creates a new Merkle tree hasher with the default chunk size and one
+	 * 	   worker per available processor.
+	 * @param hashType The algorithm to apply to the chunks and nodes.
+	 */
+	public MerkleTreeHasher(HashingType hashType)
+	{
+		this(hashType, DEFAULT_CHUNK_SIZE);
+	}
+	
+	/**
+	 * Creates a new Merkle tree hasher with one worker per available processor.
+	 * @param hashType  The algorithm to apply to the chunks and nodes.
+	 * @param chunkSize The size of every chunk but the last, in bytes.
+	 */
+	public MerkleTreeHasher(HashingType hashType, long chunkSize)
+	{
+		if(chunkSize < 1L)
+		{
+			throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+		}
+		
+		this.hashType = hashType;
+		this.chunkSize = chunkSize;
+		this.parallelism = Runtime.getRuntime().availableProcessors();
+	}
+	
+	/**
+	 * Gets the algorithm applied to the chunks and nodes.
+	 * @return The hashing algorithm.
+	 */
+	public HashingType getHashType()
+	{
+		return this.hashType;
+	}
+	
+	/**
+	 * Gets the size of every chunk but the last.
+	 * @return The chunk size, in bytes.
+	 */
+	public long getChunkSize()
+	{
+		return this.chunkSize;
+	}
+	
+	/**
+	 * Gets the number of chunks hashed at once.
+	 * @return The parallelism of the hasher.
+	 */
+	public int getParallelism()
+	{
+		return this.parallelism;
+	}
+	
+	/**
+	 * Sets the number of chunks hashed at once.
+	 * @param parallelism The new parallelism; must be at least 1.
+	 */
+	public void setParallelism(int parallelism)
+	{
+		if(parallelism < 1)
+		{
+			throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+		}
+		
+		this.parallelism = parallelism;
+	}
+	
+	/**
+	 * Hashes a file as a Merkle tree.
+	 * @param  file The file to hash.
+	 * @return The tree of chunk digests and its root.
+	 * @throws IOException Thrown if the file cannot be read or hashed.
+	 */
+	public MerkleTree hash(File file) throws IOException
+	{
+		merkleLog.finest("Hashing file " + file.getAbsolutePath() + " as a " + this.hashType.getHashType() + " tree");
+		
+		try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			long length = channel.size();
+			int count = MerkleTree.chunkCount(length, this.chunkSize);
+			
+			List<Integer> indices = new ArrayList<Integer>(count);
+			
+			for(int i = 0; i < count; i++)
+			{
+				indices.add(i);
+			}
+			
+			byte[][] digests = this.hashChunks(channel, length, indices);
+			
+			return new MerkleTree(this.hashType, this.chunkSize, length, digests, this.newDigest());
+		}
+	}
+	
+	/**
+	 * Re-hashes only the specified chunks of a file and compares them against a
+	 * 	   previously computed tree.  A chunk that no longer lies wholly within the
+	 * 	   file, or whose length has changed, counts as changed.
+	 * @param  file    The file to verify.
+	 * @param  tree    The tree previously computed for the file.
+	 * @param  indices The indices of the chunks to verify.
+	 * @return The indices of the chunks that no longer match, in the order given.
+	 * @throws IOException Thrown if the file cannot be read or hashed.
+	 */
+	public List<Integer> verifyChunks(File file, MerkleTree tree, Collection<Integer> indices) throws IOException
+	{
+		if(tree.getHashType() != this.hashType || tree.getChunkSize() != this.chunkSize)
+		{
+			throw new IllegalArgumentException("Tree must share this hasher's hashing type and chunk size.");
+		}
+		
+		try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			long length = channel.size();
+			List<Integer> hashable = new ArrayList<Integer>(indices.size());
+			List<Integer> changed = new ArrayList<Integer>();
+			
+			for(Integer index : indices)
+			{
+				long offset = tree.getChunkOffset(index);
+				
+				if(Math.min(this.chunkSize, length - offset) == tree.getChunkLength(index))
+				{
+					hashable.add(index);
+				}
+			}
+			
+			byte[][] digests = this.hashChunks(channel, length, hashable);
+			int next = 0;
+			
+			for(Integer index : indices)
+			{
+				if(next < hashable.size() && hashable.get(next).equals(index))
+				{
+					if(!tree.chunkMatches(index, digests[next++]))
+					{
+						changed.add(index);
+					}
+				}
+				else
+				{
+					changed.add(index);
+				}
+			}
+			
+			return changed;
+		}
+	}
+	
+	/**
+	 * Re-hashes every chunk of a file and lists those that differ from a
+	 * 	   previously computed tree.
+	 * @param  file The file to verify.
+	 * @param  tree The tree previously computed for the file.
+	 * @return The indices of the chunks that changed, in ascending order.
+	 * @throws IOException Thrown if the file cannot be read or hashed.
+	 */
+	public List<Integer> findChangedChunks(File file, MerkleTree tree) throws IOException
+	{
+		return tree.getChangedChunks(this.hash(file));
+	}
+	
+	/**
+	 * Hashes the specified chunks of a channel in parallel.
+	 * @param  channel The channel to read.
+	 * @param  length  The length of the channel.
+	 * @param  indices The indices of the chunks to hash.
+	 * @return The leaf digest of each chunk, in the order given.
+	 * @throws IOException Thrown if any chunk cannot be read or hashed.
+	 */
+	private byte[][] hashChunks(final FileChannel channel, final long length, List<Integer> indices) throws IOException
+	{
+		byte[][] digests = new byte[indices.size()][];
+		
+		if(indices.isEmpty())
+		{
+			return digests;
+		}
+		
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.parallelism, indices.size()));
+		
+		try
+		{
+			List<Future<byte[]>> futures = new ArrayList<Future<byte[]>>(indices.size());
+			
+			for(final Integer index : indices)
+			{
+				futures.add(executor.submit(new Callable<byte[]>()
+				{
+					@Override
+					public byte[] call() throws IOException
+					{
+						long offset = index * chunkSize;
+						MessageDigest digest = newDigest();
+						
+						digest.update(MerkleTree.LEAF_PREFIX);
+						FileChannelHasher.update(channel, offset, Math.min(chunkSize, length - offset), digest);
+						
+						return digest.digest();
+					}
+				}));
+			}
+			
+			for(int i = 0; i < digests.length; i++)
+			{
+				digests[i] = futures.get(i).get();
+			}
+			
+			return digests;
+		}
+		catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while hashing chunks.", e);
+		}
+		catch(ExecutionException e)
+		{
+			if(e.getCause() instanceof IOException)
+			{
+				throw (IOException)e.getCause();
+			}
+			
+			throw new IOException("Hashing chunks as " + this.hashType.getHashType() + " failed.", e.getCause());
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+	
+	/**
+	 * Creates a digest of this hasher's algorithm.
+	 * @return A new digest.
+	 * @throws IOException Thrown if the algorithm is not available.
+	 */
+	private MessageDigest newDigest() throws IOException
+	{
+		try
+		{
+			return HashUtils.createDigest(this.hashType);
+		}
+		catch(NoSuchAlgorithmException e)
+		{
+			throw new IOException("Hashing as " + this.hashType.getHashType() + " failed.", e);
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.attributestudios.api.util.crypto;
+
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.attributestudios.api.util.crypto.HashUtils.HashingType;
+
+/**
+ * Holds the hexadecimal digests produced by hashing a single input with
+ * 	   several algorithms in one pass.
+ * 
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ * @see     HashUtils#hashAs(java.io.File, Set)
+ * @see     HashUtils#hashAs(java.io.InputStream, Set)
+ */
+public class MultiHashResult
+{
+	/**
+	 * The hexadecimal digest of each algorithm.
+	 */
+	private final Map<HashingType, String> hashes;
+	
+	/**
+	 * Creates a new result from a set of completed digests.
+	 * @param hashTypes The algorithms that were applied.
+	 * @param digests   The digests, in the iteration order of an
+	 * 					    {@link EnumSet} of the algorithms.
+	 */
+	MultiHashResult(Set<HashingType> hashTypes, MessageDigest[] digests)
+	{
+		EnumMap<HashingType, String> map = new EnumMap<HashingType, String>(HashingType.class);
+		int i = 0;
+		
+		for(HashingType hashType : EnumSet.copyOf(hashTypes))
+		{
+			map.put(hashType, HashUtils.byteArrayToHex(digests[i++].digest()));
+		}
+		
+		this.hashes = Collections.unmodifiableMap(map);
+	}
+	
+	/**
+	 * Gets the hexadecimal digest produced by an algorithm.
+	 * @param  hashType The algorithm.
+	 * @return The digest, or null if the algorithm was not applied.
+	 */
+	public String getHash(HashingType hashType)
+	{
+		return this.hashes.get(hashType);
+	}
+	
+	/**
+	 * Gets the hexadecimal digest of every applied algorithm.
+	 * @return An unmodifiable map of algorithms to their digests.
+	 */
+	public Map<HashingType, String> getHashes()
+	{
+		return this.hashes;
+	}
+	
+	/**
+	 * Gets the set of algorithms that were applied.
+	 * @return An unmodifiable set of the applied algorithms.
+	 */
+	public Set<HashingType> getHashTypes()
+	{
+		return this.hashes.keySet();
+	}
+	
+	@Override
+	public String toString()
+	{
+		return this.hashes.toString();
+	}
+}
@@ -0,0 +1,252 @@
+package com.attributestudios.api.util.crypto;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+
+/**
+ * Computes the 128-bit x64 variant of MurmurHash3, with a seed of zero,
+ * 	   through the {@link MessageDigest} interface.  Input is consumed in
+ * 	   16-byte blocks; a partial block is held until more input arrives or the
+ * 	   digest completes.  The result is the two 64-bit halves of the hash, each
+ * 	   least significant byte first, matching the byte order of the reference
+ * 	   implementation's output buffer.
+ * <br><br>
+ * This is not a cryptographic hash; it is intended for deduplication and
+ * 	   corruption checks where speed matters more than collision resistance.
+ * 
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.1
+ * @date.   2026-10-16
+ * @edited. 2026-10-16
+ */
+class Murmur3Digest extends MessageDigest
+{
+	private static final long C1 = 0x87C37B91114253D5L;
+	private static final long C2 = 0x4CF5AD432745937FL;
+	
+	/**
+	 * The two halves of the running hash.
+	 */
+	private long h1, h2;
+	
+	/**
+	 * The bytes of the current partial block.
+	 */
+	private final byte[] block = new byte[16];
+	
+	/**
+	 * The number of bytes held in the partial block.
+	 */
+	private int blockLength;
+	
+	/**
+	 * The total number of bytes consumed.
+	 */
+	private long totalLength;
+	
+	/**
+	 * Creates a new MurmurHash3 digest.
+	 */
+	Murmur3Digest()
+	{
+		super(HashUtils.HashingType.MURMUR3_128.getHashType());
+	}
+	
+	@Override
+	protected void engineUpdate(byte input)
+	{
+		this.block[this.blockLength++] = input;
+		this.totalLength++;
+		
+		if(this.blockLength == 16)
+		{
+			this.consumeBlock(this.block, 0);
+			this.blockLength = 0;
+		}
+	}
+	
+	@Override
+	protected void engineUpdate(byte[] input, int offset, int len)
+	{
+		int end = offset + len;
+		this.totalLength += len;
+		
+		if(this.blockLength > 0)
+		{
+			int fill = Math.min(16 - this.blockLength, len);
+			System.arraycopy(input, offset, this.block, this.blockLength, fill);
+			this.blockLength += fill;
+			offset += fill;
+			
+			if(this.blockLength < 16)
+			{
+				return;
+			}
+			
+			this.consumeBlock(this.block, 0);
+			this.blockLength = 0;
+		}
+		
+		while(end - offset >= 16)
+		{
+			this.consumeBlock(input, offset);
+			offset += 16;
+		}
+		
+		this.blockLength = end - offset;
+		System.arraycopy(input, offset, this.block, 0, this.blockLength);
+	}
+	
+	/**
+	 * Mixes a full block into the running hash.
+	 * @param input  The array holding the block.
+	 * @param offset The offset of the block.
+	 */
+	private void consumeBlock(byte[] input, int offset)
+	{
+		long k1 = XxHash64Digest.readLong(input, offset);
+		long k2 = XxHash64Digest.readLong(input, offset + 8);
+		
+		this.h1 ^= mixK1(k1);
+		this.h1 = Long.rotateLeft(this.h1, 27);
+		this.h1 += this.h2;
+		this.h1 = this.h1 * 5 + 0x52DCE729;
+		
+		this.h2 ^= mixK2(k2);
+		this.h2 = Long.rotateLeft(this.h2, 31);
+		this.h2 += this.h1;
+		this.h2 = this.h2 * 5 + 0x38495AB5;
+	}
+	
+	@Override
+	protected int engineGetDigestLength()
+	{
+		return 16;
+	}
+	
+	@Override
+	protected byte[] engineDigest()
+	{
+		byte[] result = new byte[16];
+		
+		this.digestInto(result, 0);
+		
+		return result;
+	}
+	
+	@Override
+	protected int engineDigest(byte[] buf, int offset, int len) throws DigestException
+	{
+		if(len < 16)
+		{
+			throw new DigestException("Partial digests not returned: the digest is 16 bytes, but only " + len + " were given.");
+		}
+		
+		return this.digestInto(buf, offset);
+	}
+	
+	/**
+	 * Writes the digest to a buffer and resets the digest.
+	 * @param  buf    The buffer, with room for the whole digest.
+	 * @param  offset The offset to write the digest at.
+	 * @return The length of the digest.
+	 */
+	private int digestInto(byte[] buf, int offset)
+	{
+		long k1 = 0L;
+		long k2 = 0L;
+		
+		for(int i = this.blockLength - 1; i >= 8; i--)
+		{
+			k2 = (k2 << 8) | (this.block[i] & 0xFFL);
+		}
+		
+		for(int i = Math.min(this.blockLength, 8) - 1; i >= 0; i--)
+		{
+			k1 = (k1 << 8) | (this.block[i] & 0xFFL);
+		}
+		
+		long a = this.h1;
+		long b = this.h2;
+		
+		if(this.blockLength > 8)
+		{
+			b ^= mixK2(k2);
+		}
+		
+		if(this.blockLength > 0)
+		{
+			a ^= mixK1(k1);
+		}
+		
+		a ^= this.totalLength;
+		b ^= this.totalLength;
+		a += b;
+		b += a;
+		a = fmix(a);
+		b = fmix(b);
+		a += b;
+		b += a;
+		
+		for(int i = 0; i < 8; i++)
+		{
+			buf[offset + i] = (byte)(a >>> (i * 8));
+			buf[offset + 8 + i] = (byte)(b >>> (i * 8));
+		}
+		
+		this.engineReset();
+		
+		return 16;
+	}
+	
+	@Override
+	protected void engineReset()
+	{
+		this.h1 = 0L;
+		this.h2 = 0L;
+		this.blockLength = 0;
+		this.totalLength = 0L;
+	}
+	
+	/**
+	 * Mixes the first half of a block.
+	 * @param  k1 The first half of the block.
+	 * @return The mixed value.
+	 */
+	private static long mixK1(long k1)
+	{
+		k1 *= C1;
+		k1 = Long.rotateLeft(k1, 31);
+		
+		return k1 * C2;
+	}
+	
+	/**
+	 * Mixes the second half of a block.
+	 * @param  k2 The second half of the block.
+	 * @return The mixed value.
+	 */
+	private static long mixK2(long k2)
+	{
+		k2 *= C2;
+		k2 = Long.rotateLeft(k2, 33);
+		
+		return k2 * C1;
+	}
+	
+	/**
+	 * Applies the final avalanche mix to one half of the hash.
+	 * @param  k The half to mix.
+	 * @return The mixed value.
+	 */
+	private static long fmix(long k)
+	{
+		k ^= k >>> 33;
+		k *= 0xFF51AFD7ED558CCDL;
+		k ^= k >>> 33;
+		k *= 0xC4CEB9FE1A85EC53L;
+		k ^= k >>> 33;
+		
+		return k;
+	}
+}
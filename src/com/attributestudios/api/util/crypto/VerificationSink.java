@@ -0,0 +1,55 @@
+package com.attributestudios.api.util.crypto;
+
+import java.io.IOException;
+
+/**
+ * Receives the result of verifying each manifest entry against a directory tree.
+ * Implementations are never called concurrently by {@link DirectoryHasher},
+ * 	   so they need not be thread-safe.
+ * 
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+public interface VerificationSink
+{
+	/**
+	 * Accepts the verification result of a single file.
+	 * @param  path     The path of the file, relative to the verified root and
+	 * 				        separated by '<code>/</code>'.
+	 * @param  status   The outcome of the verification.
+	 * @param  expected The digest recorded in the manifest, or null if the file
+	 * 					    is not in the manifest.
+	 * @param  actual   The digest of the file on disk, or null if it was not
+	 * 					    computed.
+	 * @throws IOException Thrown if the result cannot be recorded.
+	 */
+	public void entryVerified(String path, VerificationStatus status, String expected, String actual) throws IOException;
+	
+	/**
+	 * Enumeration of the possible outcomes of verifying a file.
+	 * @author  Bridger Maskrey
+	 * @version 1.0.0
+	 * @date.   2026-10-16
+	 * @since   1.0.0
+	 */
+	public static enum VerificationStatus
+	{
+		/**
+		 * The file exists and its size and digest match the manifest.
+		 */
+		MATCH,
+		/**
+		 * The file exists, but its size or digest differs from the manifest.
+		 */
+		MISMATCH,
+		/**
+		 * The file is listed in the manifest but does not exist.
+		 */
+		MISSING,
+		/**
+		 * The file exists but is not listed in the manifest.
+		 */
+		UNEXPECTED;
+	}
+}
@@ -0,0 +1,267 @@
+package com.attributestudios.api.util.crypto;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+
+/**
+ * Computes the 64-bit xxHash of its input, with a seed of zero, through the
+ * 	   {@link MessageDigest} interface.  Input is consumed in 32-byte stripes; a
+ * 	   partial stripe is held until more input arrives or the digest completes.
+ * 	   The result is the eight bytes of the hash, most significant first, which
+ * 	   is the canonical form printed by the reference implementation.
+ * <br><br>
+ * This is not a cryptographic hash; it is intended for deduplication and
+ * 	   corruption checks where speed matters more than collision resistance.
+ * 
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.1
+ * @date.   2026-10-16
+ * @edited. 2026-10-16
+ */
+class XxHash64Digest extends MessageDigest
+{
+	private static final long PRIME_1 = 0x9E3779B185EBCA87L;
+	private static final long PRIME_2 = 0xC2B2AE3D27D4EB4FL;
+	private static final long PRIME_3 = 0x165667B19E3779F9L;
+	private static final long PRIME_4 = 0x85EBCA77C2B2AE63L;
+	private static final long PRIME_5 = 0x27D4EB2F165667C5L;
+	
+	/**
+	 * The four lane accumulators.
+	 */
+	private long v1, v2, v3, v4;
+	
+	/**
+	 * The bytes of the current partial stripe.
+	 */
+	private final byte[] stripe = new byte[32];
+	
+	/**
+	 * The number of bytes held in the partial stripe.
+	 */
+	private int stripeLength;
+	
+	/**
+	 * The total number of bytes consumed.
+	 */
+	private long totalLength;
+	
+	/**
+	 * Creates a new xxHash64 digest.
+	 */
+	XxHash64Digest()
+	{
+		super(HashUtils.HashingType.XXHASH64.getHashType());
+		this.engineReset();
+	}
+	
+	@Override
+	protected void engineUpdate(byte input)
+	{
+		this.stripe[this.stripeLength++] = input;
+		this.totalLength++;
+		
+		if(this.stripeLength == 32)
+		{
+			this.consumeStripe(this.stripe, 0);
+			this.stripeLength = 0;
+		}
+	}
+	
+	@Override
+	protected void engineUpdate(byte[] input, int offset, int len)
+	{
+		int end = offset + len;
+		this.totalLength += len;
+		
+		if(this.stripeLength > 0)
+		{
+			int fill = Math.min(32 - this.stripeLength, len);
+			System.arraycopy(input, offset, this.stripe, this.stripeLength, fill);
+			this.stripeLength += fill;
+			offset += fill;
+			
+			if(this.stripeLength < 32)
+			{
+				return;
+			}
+			
+			this.consumeStripe(this.stripe, 0);
+			this.stripeLength = 0;
+		}
+		
+		while(end - offset >= 32)
+		{
+			this.consumeStripe(input, offset);
+			offset += 32;
+		}
+		
+		this.stripeLength = end - offset;
+		System.arraycopy(input, offset, this.stripe, 0, this.stripeLength);
+	}
+	
+	/**
+	 * Mixes a full stripe into the lane accumulators.
+	 * @param input  The array holding the stripe.
+	 * @param offset The offset of the stripe.
+	 */
+	private void consumeStripe(byte[] input, int offset)
+	{
+		this.v1 = round(this.v1, readLong(input, offset));
+		this.v2 = round(this.v2, readLong(input, offset + 8));
+		this.v3 = round(this.v3, readLong(input, offset + 16));
+		this.v4 = round(this.v4, readLong(input, offset + 24));
+	}
+	
+	@Override
+	protected int engineGetDigestLength()
+	{
+		return 8;
+	}
+	
+	@Override
+	protected byte[] engineDigest()
+	{
+		byte[] result = new byte[8];
+		
+		this.digestInto(result, 0);
+		
+		return result;
+	}
+	
+	@Override
+	protected int engineDigest(byte[] buf, int offset, int len) throws DigestException
+	{
+		if(len < 8)
+		{
+			throw new DigestException("Partial digests not returned: the digest is 8 bytes, but only " + len + " were given.");
+		}
+		
+		return this.digestInto(buf, offset);
+	}
+	
+	/**
+	 * Writes the digest to a buffer and resets the digest.
+	 * @param  buf    The buffer, with room for the whole digest.
+	 * @param  offset The offset to write the digest at.
+	 * @return The length of the digest.
+	 */
+	private int digestInto(byte[] buf, int offset)
+	{
+		long h;
+		
+		if(this.totalLength >= 32)
+		{
+			h = Long.rotateLeft(this.v1, 1) + Long.rotateLeft(this.v2, 7)
+				+ Long.rotateLeft(this.v3, 12) + Long.rotateLeft(this.v4, 18);
+			h = mergeRound(h, this.v1);
+			h = mergeRound(h, this.v2);
+			h = mergeRound(h, this.v3);
+			h = mergeRound(h, this.v4);
+		}
+		else
+		{
+			h = PRIME_5;
+		}
+		
+		h += this.totalLength;
+		
+		int i = 0;
+		
+		for(; i + 8 <= this.stripeLength; i += 8)
+		{
+			h ^= round(0L, readLong(this.stripe, i));
+			h = Long.rotateLeft(h, 27) * PRIME_1 + PRIME_4;
+		}
+		
+		if(i + 4 <= this.stripeLength)
+		{
+			h ^= (readInt(this.stripe, i) & 0xFFFFFFFFL) * PRIME_1;
+			h = Long.rotateLeft(h, 23) * PRIME_2 + PRIME_3;
+			i += 4;
+		}
+		
+		for(; i < this.stripeLength; i++)
+		{
+			h ^= (this.stripe[i] & 0xFFL) * PRIME_5;
+			h = Long.rotateLeft(h, 11) * PRIME_1;
+		}
+		
+		h ^= h >>> 33;
+		h *= PRIME_2;
+		h ^= h >>> 29;
+		h *= PRIME_3;
+		h ^= h >>> 32;
+		
+		for(int b = 0; b < 8; b++)
+		{
+			buf[offset + b] = (byte)(h >>> (56 - b * 8));
+		}
+		
+		this.engineReset();
+		
+		return 8;
+	}
+	
+	@Override
+	protected void engineReset()
+	{
+		this.v1 = PRIME_1 + PRIME_2;
+		this.v2 = PRIME_2;
+		this.v3 = 0L;
+		this.v4 = -PRIME_1;
+		this.stripeLength = 0;
+		this.totalLength = 0L;
+	}
+	
+	/**
+	 * Mixes one eight-byte lane of input into an accumulator.
+	 * @param  acc   The accumulator.
+	 * @param  input The lane of input.
+	 * @return The new accumulator.
+	 */
+	private static long round(long acc, long input)
+	{
+		acc += input * PRIME_2;
+		acc = Long.rotateLeft(acc, 31);
+		
+		return acc * PRIME_1;
+	}
+	
+	/**
+	 * Folds a lane accumulator into the converged hash.
+	 * @param  acc The converged hash.
+	 * @param  val The lane accumulator.
+	 * @return The new converged hash.
+	 */
+	private static long mergeRound(long acc, long val)
+	{
+		acc ^= round(0L, val);
+		
+		return acc * PRIME_1 + PRIME_4;
+	}
+	
+	/**
+	 * Reads a little-endian long from an array.
+	 * @param  b      The array.
+	 * @param  offset The offset of the first byte.
+	 * @return The value read.
+	 */
+	static long readLong(byte[] b, int offset)
+	{
+		return (b[offset] & 0xFFL) | (b[offset + 1] & 0xFFL) << 8 | (b[offset + 2] & 0xFFL) << 16
+				| (b[offset + 3] & 0xFFL) << 24 | (b[offset + 4] & 0xFFL) << 32 | (b[offset + 5] & 0xFFL) << 40
+				| (b[offset + 6] & 0xFFL) << 48 | (b[offset + 7] & 0xFFL) << 56;
+	}
+	
+	/**
+	 * Reads a little-endian int from an array.
+	 * @param  b      The array.
+	 * @param  offset The offset of the first byte.
+	 * @return The value read.
+	 */
+	static int readInt(byte[] b, int offset)
+	{
+		return (b[offset] & 0xFF) | (b[offset + 1] & 0xFF) << 8 | (b[offset + 2] & 0xFF) << 16 | (b[offset + 3] & 0xFF) << 24;
+	}
+}
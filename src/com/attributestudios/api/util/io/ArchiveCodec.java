@@ -0,0 +1,45 @@
+package com.attributestudios.api.util.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * An archive format that an {@link ArchiveEngine} can read and write.  New
+ * 	   formats are added by implementing this interface and registering the
+ * 	   codec with the engine.
+ *
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ * @see     StandardArchiveCodec
+ */
+public interface ArchiveCodec
+{
+	/**
+	 * Checks whether a file is in this format, judging by its name.
+	 * @param  fileName The file's name.
+	 * @return True if this codec handles the file.
+	 */
+	public boolean accepts(String fileName);
+	
+	/**
+	 * Opens a reader over an archive.
+	 * @param  in      The stream to read the archive from.  Closing the reader
+	 * 				       closes it.
+	 * @param  buffers The engine's buffer pool, for codecs that buffer data.
+	 * @return The reader.
+	 * @throws IOException Thrown if the archive cannot be read.
+	 */
+	public ArchiveReader openReader(InputStream in, BufferPool buffers) throws IOException;
+	
+	/**
+	 * Opens a writer that writes an archive.
+	 * @param  out     The stream to write the archive to.  Closing the writer
+	 * 				       closes it.
+	 * @param  buffers The engine's buffer pool, for codecs that buffer data.
+	 * @return The writer.
+	 * @throws IOException Thrown if the archive cannot be written.
+	 */
+	public ArchiveWriter openWriter(OutputStream out, BufferPool buffers) throws IOException;
+}
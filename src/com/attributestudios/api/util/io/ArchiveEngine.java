@@ -0,0 +1,921 @@
+package com.attributestudios.api.util.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import com.attributestudios.api.util.logging.LoggingUtil;
+import com.attributestudios.api.util.logging.SimpleLogFormatter;
+
+/**
+ * Creates and extracts archives of any format with a registered
+ * 	   {@link ArchiveCodec}; zip, tar and gzip-compressed tar are registered by
+ * 	   default.  Archives are read and written in order, as streams, while file
+ * 	   contents are written and read on a pool of worker threads, so that
+ * 	   parsing and decompressing the archive overlaps with disk access.  Every
+ * 	   stage borrows its buffers from one bounded {@link BufferPool}, and
+ * 	   registered {@link ArchiveProgressListener}s are told as each entry
+ * 	   completes.
+ *
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+public class ArchiveEngine
+{
+	/**
+	 * The main logger for the archive engine.
+	 */
+	private static Logger archiveLogger = LoggingUtil.constructLogger("Archive Engine", new SimpleLogFormatter());
+	
+	/**
+	 * The default size of each pooled buffer.
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+	
+	/**
+	 * The default number of pooled buffers.
+	 */
+	public static final int DEFAULT_BUFFER_COUNT = 64;
+	
+	/**
+	 * The fewest pooled buffers an engine can work with: enough for a codec
+	 * 	   reading ahead in the background to never hold every one.
+	 */
+	public static final int MIN_BUFFER_COUNT = 8;
+	
+	/**
+	 * The marker queued after the last chunk of an entry.
+	 */
+	private static final Chunk END = new Chunk(null, 0);
+	
+	/**
+	 * The codecs, in the order they are asked to accept a file name.
+	 */
+	private final List<ArchiveCodec> codecs = new CopyOnWriteArrayList<ArchiveCodec>(StandardArchiveCodec.values());
+	
+	/**
+	 * The listeners told of each completed entry.
+	 */
+	private final List<ArchiveProgressListener> listeners = new CopyOnWriteArrayList<ArchiveProgressListener>();
+	
+	/**
+	 * The pool every stage borrows buffers from.
+	 */
+	private final BufferPool buffers;
+	
+	/**
+	 * The number of files read or written at once.
+	 */
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+	
+	/**
+	 * Creates a new archive engine with a pool of
+	 * 	   {@link #DEFAULT_BUFFER_COUNT} buffers of {@link #DEFAULT_BUFFER_SIZE}
+	 * 	   bytes.
+	 */
+	public ArchiveEngine()
+	{
+		this(new BufferPool(DEFAULT_BUFFER_SIZE, DEFAULT_BUFFER_COUNT));
+	}
+	
+	/**
+	 * Creates a new archive engine.
+	 * @param buffers The pool to borrow buffers from.  It should not be shared
+	 * 				      with anything but other archive engines.
+	 */
+	public ArchiveEngine(BufferPool buffers)
+	{
+		if(buffers.getCapacity() < MIN_BUFFER_COUNT)
+		{
+			throw new IllegalArgumentException("An archive engine needs at least " + MIN_BUFFER_COUNT + " buffers: " + buffers.getCapacity());
+		}
+		
+		this.buffers = buffers;
+	}
+	
+	/**
+	 * Registers a codec, ahead of those already registered, so that it is
+	 * 	   the first asked to accept a file name.
+	 * @param codec The codec.
+	 */
+	public void registerCodec(ArchiveCodec codec)
+	{
+		this.codecs.add(0, codec);
+	}
+	
+	/**
+	 * Finds the codec for a file name.
+	 * @param  fileName The file name.
+	 * @return The first registered codec to accept the name, or null if none
+	 * 		       does.
+	 */
+	public ArchiveCodec getCodec(String fileName)
+	{
+		for(ArchiveCodec codec : this.codecs)
+		{
+			if(codec.accepts(fileName))
+			{
+				return codec;
+			}
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Adds a listener to be told as each entry is extracted or archived.
+	 * @param listener The listener.
+	 */
+	public void addProgressListener(ArchiveProgressListener listener)
+	{
+		this.listeners.add(listener);
+	}
+	
+	/**
+	 * Removes a progress listener.
+	 * @param listener The listener.
+	 */
+	public void removeProgressListener(ArchiveProgressListener listener)
+	{
+		this.listeners.remove(listener);
+	}
+	
+	/**
+	 * Expands an archive to the specified directory, in the format of the
+	 * 	   codec that accepts the archive's name.
+	 * @param  archiveFile      The archive.
+	 * @param  extractDirectory The directory in which to expand the archive.
+	 * @return Every file and directory created.
+	 * @throws IOException Thrown if no codec accepts the archive's name, or as
+	 * 					       by {@link #extract(InputStream, ArchiveCodec, File)}.
+	 */
+	public List<File> extract(File archiveFile, File extractDirectory) throws IOException
+	{
+		ArchiveCodec codec = this.requireCodec(archiveFile);
+		
+		archiveLogger.info("Extracting archive " + archiveFile + " to directory " + extractDirectory);
+		
+		try(InputStream in = new FileInputStream(archiveFile))
+		{
+			return this.extract(in, codec, extractDirectory);
+		}
+	}
+	
+	/**
+	 * Expands an archive stream to the specified directory.  The archive is
+	 * 	   read in order on the calling thread, and each file's contents are
+	 * 	   handed to a worker thread to write, so that up to
+	 * 	   {@link #getParallelism()} files are written while the archive is still
+	 * 	   being read.  A later entry of the same name replaces an earlier one.
+	 * 	   If the archive cannot be read or any file cannot be written, every
+	 * 	   file and directory created so far is deleted before the error is
+	 * 	   rethrown.
+	 * @param  in               The stream to read the archive from.  It is not
+	 * 						        closed.
+	 * @param  codec            The archive's format.
+	 * @param  extractDirectory The directory in which to expand the archive.
+	 * @return Every file and directory created.
+	 * @throws IOException Thrown if the archive cannot be read, an entry would be
+	 * 					       written outside the directory, or an entry cannot
+	 * 					       be written.
+	 */
+	public List<File> extract(InputStream in, ArchiveCodec codec, File extractDirectory) throws IOException
+	{
+		if(extractDirectory.exists() && !extractDirectory.isDirectory())
+		{
+			throw new IOException(extractDirectory + " is not a directory.");
+		}
+		
+		List<File> created = new ArrayList<File>();
+		List<Extraction> jobs = new ArrayList<Extraction>();
+		List<Future<Void>> pending = new ArrayList<Future<Void>>();
+		AtomicBoolean failed = new AtomicBoolean();
+		Progress progress = new Progress();
+		ExecutorService executor = Executors.newFixedThreadPool(this.parallelism);
+		
+		// Closing the reader releases the codec's resources without closing the caller's stream.
+		InputStream unclosed = new FilterInputStream(in)
+		{
+			@Override
+			public void close()
+			{
+				// Left open for the caller.
+			}
+		};
+		
+		try
+		{
+			ZippingUtils.makeDirectories(extractDirectory, created);
+			
+			String rootPath = extractDirectory.getCanonicalPath() + File.separator;
+			
+			// The last job writing each file, which a later entry of the same name waits for.
+			Map<File, Future<Void>> latest = new HashMap<File, Future<Void>>();
+			
+			try(ArchiveReader reader = codec.openReader(unclosed, this.buffers))
+			{
+				ArchiveEntry entry;
+				
+				while(!failed.get() && (entry = reader.getNextEntry()) != null)
+				{
+					File target = new File(extractDirectory, entry.getName().trim());
+					
+					if(!(target.getCanonicalPath() + File.separator).startsWith(rootPath))
+					{
+						throw new IOException("Archive entry " + entry.getName() + " would be written outside " + extractDirectory);
+					}
+					
+					if(entry.isDirectory())
+					{
+						ZippingUtils.makeDirectories(target, created);
+						progress.completed(entry, 0L);
+						continue;
+					}
+					
+					ZippingUtils.makeDirectories(target.getParentFile(), created);
+					
+					if(!latest.containsKey(target) && !target.exists())
+					{
+						created.add(target);
+					}
+					
+					Extraction job = new Extraction(entry, target, latest.get(target), failed, progress);
+					Future<Void> future = executor.submit(job);
+					
+					jobs.add(job);
+					pending.add(future);
+					latest.put(target, future);
+					
+					try
+					{
+						this.copy(reader, job, failed);
+					}
+					finally
+					{
+						job.chunks.add(END);
+					}
+				}
+			}
+			
+			for(Future<Void> future : pending)
+			{
+				await(future);
+			}
+			
+			archiveLogger.fine("Extracted " + progress.entries + " entries, " + progress.bytes + " bytes");
+		}
+		catch(IOException | RuntimeException e)
+		{
+			abandon(executor);
+			
+			archiveLogger.warning("Extraction failed; removing " + created.size() + " extracted files and directories.");
+			ZippingUtils.deleteExtracted(created);
+			throw e;
+		}
+		finally
+		{
+			executor.shutdown();
+			
+			// Entries that never started, or stopped early, still hold borrowed buffers.
+			for(Extraction job : jobs)
+			{
+				job.releaseQueued();
+			}
+		}
+		
+		return created;
+	}
+	
+	
+	/**
+	 * Creates an archive of a set of files and directories, in the format of
+	 * 	   the codec that accepts the archive's name.  If the archive cannot be
+	 * 	   written, the partial archive is deleted.
+	 * @param  archiveFile The archive to create.
+	 * @param  files       The files and directories to archive.
+	 * @throws IOException Thrown if no codec accepts the archive's name, or as
+	 * 					       by {@link #create(OutputStream, ArchiveCodec, Collection)}.
+	 */
+	public void create(File archiveFile, Collection<File> files) throws IOException
+	{
+		ArchiveCodec codec = this.requireCodec(archiveFile);
+		
+		archiveLogger.info("Creating archive " + archiveFile + " of " + files.size() + " files");
+		
+		try(OutputStream out = new FileOutputStream(archiveFile))
+		{
+			this.create(out, codec, ZippingUtils.collectSources(files, archiveFile.getCanonicalFile()));
+		}
+		catch(IOException | RuntimeException e)
+		{
+			archiveFile.delete();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Writes an archive of a set of files and directories to a stream.  Each
+	 * 	   directory is followed by everything beneath it, in name order.  The
+	 * 	   archive is written in order on the calling thread, while the next few
+	 * 	   files small enough to fit in a pooled buffer are read ahead on worker
+	 * 	   threads.
+	 * @param  out   The stream to write the archive to.  It is flushed but not
+	 * 			         closed.
+	 * @param  codec The archive's format.
+	 * @param  files The files and directories to archive.
+	 * @throws IOException Thrown if a file cannot be read or the archive cannot
+	 * 					       be written.
+	 */
+	public void create(OutputStream out, ArchiveCodec codec, Collection<File> files) throws IOException
+	{
+		this.create(out, codec, ZippingUtils.collectSources(files, null));
+	}
+	
+	/**
+	 * Gets the pool every stage borrows buffers from.
+	 * @return The pool.
+	 */
+	public BufferPool getBufferPool()
+	{
+		return this.buffers;
+	}
+	
+	/**
+	 * Gets the number of files read or written at once.
+	 * @return The number of worker threads.
+	 */
+	public int getParallelism()
+	{
+		return this.parallelism;
+	}
+	
+	/**
+	 * Sets the number of files read or written at once.
+	 * @param parallelism The number of worker threads, at least 1.
+	 */
+	public void setParallelism(int parallelism)
+	{
+		if(parallelism < 1)
+		{
+			throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+		}
+		
+		this.parallelism = parallelism;
+	}
+	
+	/**
+	 * Finds the codec for an archive file.
+	 * @param  archiveFile The archive.
+	 * @return The codec.
+	 * @throws IOException Thrown if no codec accepts the archive's name.
+	 */
+	private ArchiveCodec requireCodec(File archiveFile) throws IOException
+	{
+		ArchiveCodec codec = this.getCodec(archiveFile.getName());
+		
+		if(codec == null)
+		{
+			throw new IOException("No archive codec accepts " + archiveFile);
+		}
+		
+		return codec;
+	}
+	
+	/**
+	 * Copies the current entry's data into pooled buffers queued for the job
+	 * 	   writing it, stopping early if any job has failed.
+	 * @param  reader The archive being read.
+	 * @param  job    The job writing the entry.
+	 * @param  failed Whether any job has failed.
+	 * @throws IOException Thrown if the archive cannot be read.
+	 */
+	private void copy(ArchiveReader reader, Extraction job, AtomicBoolean failed) throws IOException
+	{
+		while(!failed.get())
+		{
+			byte[] buffer = this.buffers.acquire();
+			int length = 0;
+			int read = 0;
+			
+			try
+			{
+				while(length < buffer.length && (read = reader.read(buffer, length, buffer.length - length)) >= 0)
+				{
+					length += read;
+				}
+			}
+			catch(IOException | RuntimeException e)
+			{
+				this.buffers.release(buffer);
+				throw e;
+			}
+			
+			if(length > 0)
+			{
+				job.chunks.add(new Chunk(buffer, length));
+			}
+			else
+			{
+				this.buffers.release(buffer);
+			}
+			
+			if(read < 0)
+			{
+				return;
+			}
+		}
+	}
+	
+	/**
+	 * Writes an archive of a list of entries to a stream.
+	 * @param  out     The stream to write the archive to.
+	 * @param  codec   The archive's format.
+	 * @param  sources The entries, in order.
+	 * @throws IOException Thrown if a file cannot be read or the archive cannot
+	 * 					       be written.
+	 */
+	private void create(final OutputStream out, ArchiveCodec codec, List<ZipArchiveWriter.Source> sources) throws IOException
+	{
+		// Closing the writer releases the codec's resources without closing the caller's stream.
+		OutputStream unclosed = new FilterOutputStream(out)
+		{
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException
+			{
+				out.write(b, off, len);
+			}
+			
+			@Override
+			public void close() throws IOException
+			{
+				out.flush();
+			}
+		};
+		
+		Progress progress = new Progress();
+		int window = Math.min(2 * this.parallelism, this.buffers.getCapacity());
+		List<Future<Chunk>> prefetched = new ArrayList<Future<Chunk>>(Collections.<Future<Chunk>>nCopies(sources.size(), null));
+		ExecutorService executor = Executors.newFixedThreadPool(this.parallelism);
+		int index = 0;
+		
+		try(ArchiveWriter writer = codec.openWriter(unclosed, this.buffers))
+		{
+			int next = 0;
+			
+			for(; index < sources.size(); index++)
+			{
+				// Keep the next few small files reading ahead, a buffer each.
+				for(; next < sources.size() && next < index + window; next++)
+				{
+					final File file = sources.get(next).file;
+					
+					if(file != null && file.length() <= this.buffers.getBufferSize())
+					{
+						prefetched.set(next, executor.submit(new Callable<Chunk>()
+						{
+							@Override
+							public Chunk call() throws IOException
+							{
+								return readSmallFile(file);
+							}
+						}));
+					}
+				}
+				
+				ZipArchiveWriter.Source source = sources.get(index);
+				Future<Chunk> future = prefetched.set(index, null);
+				
+				if(source.file == null)
+				{
+					ArchiveEntry entry = new ArchiveEntry(source.name, 0L, source.lastModified, true);
+					
+					writer.putEntry(entry, null);
+					progress.completed(entry, 0L);
+				}
+				else if(future != null)
+				{
+					Chunk chunk = awaitChunk(future);
+					
+					try
+					{
+						ArchiveEntry entry = new ArchiveEntry(source.name, chunk.length, source.lastModified, false);
+						
+						writer.putEntry(entry, new ByteArrayInputStream(chunk.buffer, 0, chunk.length));
+						progress.completed(entry, chunk.length);
+					}
+					finally
+					{
+						this.buffers.release(chunk.buffer);
+					}
+				}
+				else
+				{
+					try(InputStream in = new FileInputStream(source.file))
+					{
+						ArchiveEntry entry = new ArchiveEntry(source.name, source.file.length(), source.lastModified, false);
+						
+						writer.putEntry(entry, in);
+						progress.completed(entry, entry.getSize());
+					}
+				}
+			}
+			
+			writer.finish();
+			archiveLogger.fine("Archived " + progress.entries + " entries, " + progress.bytes + " bytes");
+		}
+		catch(IOException | RuntimeException e)
+		{
+			abandon(executor);
+			throw e;
+		}
+		finally
+		{
+			executor.shutdown();
+			
+			// Files read ahead but never written still hold borrowed buffers.
+			for(Future<Chunk> future : prefetched)
+			{
+				if(future != null && future.isDone() && !future.isCancelled())
+				{
+					try
+					{
+						this.buffers.release(future.get().buffer);
+					}
+					catch(InterruptedException | ExecutionException e)
+					{
+						// The read failed and returned its own buffer.
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Reads a file that fits in a pooled buffer.
+	 * @param  file The file.
+	 * @return The file's contents, in a borrowed buffer.
+	 * @throws IOException Thrown if the file cannot be read, or has grown too
+	 * 					       large for the buffer.
+	 */
+	private Chunk readSmallFile(File file) throws IOException
+	{
+		byte[] buffer = this.buffers.acquire();
+		
+		try(InputStream in = new FileInputStream(file))
+		{
+			int length = 0;
+			int read;
+			
+			while(length < buffer.length && (read = in.read(buffer, length, buffer.length - length)) >= 0)
+			{
+				length += read;
+			}
+			
+			if(length == buffer.length && in.read() >= 0)
+			{
+				throw new IOException(file + " changed while it was being archived.");
+			}
+			
+			return new Chunk(buffer, length);
+		}
+		catch(IOException | RuntimeException e)
+		{
+			this.buffers.release(buffer);
+			throw e;
+		}
+	}
+	
+	/**
+	 * Waits for a file to be read ahead.
+	 * @param  future The pending read.
+	 * @return The file's contents.
+	 * @throws IOException Thrown if the read failed or the wait was interrupted.
+	 */
+	private static Chunk awaitChunk(Future<Chunk> future) throws IOException
+	{
+		try
+		{
+			return future.get();
+		}
+		catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while archiving.");
+		}
+		catch(ExecutionException e)
+		{
+			if(e.getCause() instanceof IOException)
+			{
+				throw (IOException)e.getCause();
+			}
+			
+			throw new IOException("Archiving failed.", e.getCause());
+		}
+	}
+	
+	/**
+	 * Waits for an entry to finish extracting.
+	 * @param  future The pending entry.
+	 * @throws IOException Thrown if extraction failed or the wait was interrupted.
+	 */
+	private static void await(Future<Void> future) throws IOException
+	{
+		try
+		{
+			future.get();
+		}
+		catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while extracting.");
+		}
+		catch(ExecutionException e)
+		{
+			if(e.getCause() instanceof IOException)
+			{
+				throw (IOException)e.getCause();
+			}
+			
+			throw new IOException("Extraction failed.", e.getCause());
+		}
+	}
+	
+	/**
+	 * Stops the workers and waits for any file being written to stop, so that
+	 * 	   nothing is created after the extracted files are deleted.
+	 * @param executor The worker pool.
+	 */
+	private static void abandon(ExecutorService executor)
+	{
+		executor.shutdownNow();
+		
+		boolean interrupted = false;
+		
+		while(true)
+		{
+			try
+			{
+				if(executor.awaitTermination(1L, TimeUnit.MINUTES))
+				{
+					break;
+				}
+			}
+			catch(InterruptedException e)
+			{
+				interrupted = true;
+			}
+		}
+		
+		if(interrupted)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * A pooled buffer of entry data, or the end of an entry.
+	 */
+	private static final class Chunk
+	{
+		/**
+		 * The buffer, or null at the end of an entry.
+		 */
+		final byte[] buffer;
+		
+		/**
+		 * The number of bytes in the buffer.
+		 */
+		final int length;
+		
+		/**
+		 * Creates a new chunk.
+		 * @param buffer The buffer, or null.
+		 * @param length The number of bytes in the buffer.
+		 */
+		Chunk(byte[] buffer, int length)
+		{
+			this.buffer = buffer;
+			this.length = length;
+		}
+	}
+	
+	/**
+	 * Counts the entries completed by one operation, and tells the listeners.
+	 */
+	private final class Progress
+	{
+		/**
+		 * The number of entries completed.
+		 */
+		final AtomicLong entries = new AtomicLong();
+		
+		/**
+		 * The number of bytes of file contents completed.
+		 */
+		final AtomicLong bytes = new AtomicLong();
+		
+		/**
+		 * Records a completed entry.
+		 * @param entry The entry.
+		 * @param size  The number of bytes of its contents.
+		 */
+		void completed(ArchiveEntry entry, long size)
+		{
+			long entryCount = this.entries.incrementAndGet();
+			long byteCount = this.bytes.addAndGet(size);
+			
+			for(ArchiveProgressListener listener : listeners)
+			{
+				listener.entryCompleted(entry, entryCount, byteCount);
+			}
+		}
+	}
+	
+	/**
+	 * Writes one extracted file from the chunks queued for it.
+	 */
+	private final class Extraction implements Callable<Void>
+	{
+		/**
+		 * The entry.
+		 */
+		private final ArchiveEntry entry;
+		
+		/**
+		 * The file to write.
+		 */
+		private final File target;
+		
+		/**
+		 * The job writing an earlier entry of the same name, or null.
+		 */
+		private final Future<Void> previous;
+		
+		/**
+		 * Whether any job has failed.
+		 */
+		private final AtomicBoolean failed;
+		
+		/**
+		 * The progress of the extraction.
+		 */
+		private final Progress progress;
+		
+		/**
+		 * The entry's data, in order, followed by {@link ArchiveEngine#END}.
+		 */
+		final BlockingQueue<Chunk> chunks = new LinkedBlockingQueue<Chunk>();
+		
+		/**
+		 * Whether {@link ArchiveEngine#END} has been taken from the queue.
+		 */
+		private volatile boolean ended;
+		
+		/**
+		 * Creates a new extraction job.
+		 * @param entry    The entry.
+		 * @param target   The file to write.
+		 * @param previous The job writing an earlier entry of the same name, or
+		 * 				       null.
+		 * @param failed   Whether any job has failed.
+		 * @param progress The progress of the extraction.
+		 */
+		Extraction(ArchiveEntry entry, File target, Future<Void> previous, AtomicBoolean failed, Progress progress)
+		{
+			this.entry = entry;
+			this.target = target;
+			this.previous = previous;
+			this.failed = failed;
+			this.progress = progress;
+		}
+		
+		@Override
+		public Void call() throws IOException, InterruptedException
+		{
+			try
+			{
+				if(this.previous != null)
+				{
+					try
+					{
+						this.previous.get();
+					}
+					catch(ExecutionException e)
+					{
+						// Reported by the earlier job itself.
+					}
+				}
+				
+				long size = 0L;
+				
+				try(OutputStream out = new FileOutputStream(this.target))
+				{
+					Chunk chunk;
+					
+					while((chunk = this.chunks.take()) != END)
+					{
+						try
+						{
+							out.write(chunk.buffer, 0, chunk.length);
+							size += chunk.length;
+						}
+						finally
+						{
+							buffers.release(chunk.buffer);
+						}
+					}
+					
+					this.ended = true;
+				}
+				
+				if(this.entry.getLastModified() > 0L)
+				{
+					this.target.setLastModified(this.entry.getLastModified());
+				}
+				
+				this.progress.completed(this.entry, size);
+				return null;
+			}
+			catch(IOException | RuntimeException e)
+			{
+				this.failed.set(true);
+				
+				// Keep taking the entry's chunks, so that the reader never waits for a buffer this entry holds.
+				this.discard();
+				throw e;
+			}
+		}
+		
+		/**
+		 * Returns the buffers of every chunk queued for this job to the pool,
+		 * 	   up to {@link ArchiveEngine#END}.  Once the reader has stopped, this
+		 * 	   never blocks.
+		 */
+		void discard()
+		{
+			try
+			{
+				while(!this.ended)
+				{
+					Chunk chunk = this.chunks.take();
+					
+					if(chunk == END)
+					{
+						this.ended = true;
+					}
+					else
+					{
+						buffers.release(chunk.buffer);
+					}
+				}
+			}
+			catch(InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+		}
+		
+		/**
+		 * Returns the buffers of the chunks left in the queue to the pool, once
+		 * 	   the job and the reader have both stopped.
+		 */
+		void releaseQueued()
+		{
+			Chunk chunk;
+			
+			while((chunk = this.chunks.poll()) != null)
+			{
+				if(chunk != END)
+				{
+					buffers.release(chunk.buffer);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package com.attributestudios.api.util.io;
+
+/**
+ * A file or directory within an archive of any format handled by an
+ * 	   {@link ArchiveEngine}.
+ *
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+public class ArchiveEntry
+{
+	/**
+	 * The entry's name, separated by '<code>/</code>'.
+	 */
+	private final String name;
+	
+	/**
+	 * The size of the entry's data, or -1 if not known.
+	 */
+	private final long size;
+	
+	/**
+	 * The entry's modification time, in milliseconds since the epoch.
+	 */
+	private final long lastModified;
+	
+	/**
+	 * Whether the entry is a directory.
+	 */
+	private final boolean directory;
+	
+	/**
+	 * Creates a new archive entry.
+	 * @param name         The entry's name, separated by '<code>/</code>'.
+	 * @param size         The size of the entry's data, or -1 if not known.
+	 * @param lastModified The entry's modification time, in milliseconds since
+	 * 					       the epoch.
+	 * @param directory    Whether the entry is a directory.
+	 */
+	public ArchiveEntry(String name, long size, long lastModified, boolean directory)
+	{
+		this.name = name;
+		this.size = directory ? 0L : size;
+		this.lastModified = lastModified;
+		this.directory = directory;
+	}
+	
+	/**
+	 * Gets the entry's name.
+	 * @return The name, separated by '<code>/</code>'.
+	 */
+	public String getName()
+	{
+		return this.name;
+	}
+	
+	/**
+	 * Gets the size of the entry's data.
+	 * @return The size in bytes, or -1 if not known.
+	 */
+	public long getSize()
+	{
+		return this.size;
+	}
+	
+	/**
+	 * Gets the entry's modification time.
+	 * @return The time, in milliseconds since the epoch.
+	 */
+	public long getLastModified()
+	{
+		return this.lastModified;
+	}
+	
+	/**
+	 * Checks whether the entry is a directory.
+	 * @return True if the entry is a directory.
+	 */
+	public boolean isDirectory()
+	{
+		return this.directory;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return this.name;
+	}
+}
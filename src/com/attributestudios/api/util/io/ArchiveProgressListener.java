@@ -0,0 +1,24 @@
+package com.attributestudios.api.util.io;
+
+/**
+ * Receives progress from an {@link ArchiveEngine} as it extracts or creates
+ * 	   archives.  During extraction, files are written on the engine's worker
+ * 	   threads, and the listener is called on whichever thread finished the
+ * 	   entry, so it must be thread-safe.
+ *
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+public interface ArchiveProgressListener
+{
+	/**
+	 * Called when an entry has been extracted or written.
+	 * @param entry            The entry.
+	 * @param entriesCompleted The number of entries completed so far in this
+	 * 						       operation, including this one.
+	 * @param bytesCompleted   The number of bytes of entry data completed so far
+	 * 						       in this operation.
+	 */
+	public void entryCompleted(ArchiveEntry entry, long entriesCompleted, long bytesCompleted);
+}
@@ -0,0 +1,32 @@
+package com.attributestudios.api.util.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads the entries of an archive in order, from a stream.
+ *
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ * @see     ArchiveCodec
+ */
+public interface ArchiveReader extends Closeable
+{
+	/**
+	 * Moves to the next entry, skipping whatever is left of the current one.
+	 * @return The next entry, or null at the end of the archive.
+	 * @throws IOException Thrown if the archive cannot be read or is corrupt.
+	 */
+	public ArchiveEntry getNextEntry() throws IOException;
+	
+	/**
+	 * Reads the current entry's data.
+	 * @param  buffer The buffer to read into.
+	 * @param  offset The offset in the buffer.
+	 * @param  length The most bytes to read.
+	 * @return The number of bytes read, or -1 at the end of the entry.
+	 * @throws IOException Thrown if the archive cannot be read or is corrupt.
+	 */
+	public int read(byte[] buffer, int offset, int length) throws IOException;
+}
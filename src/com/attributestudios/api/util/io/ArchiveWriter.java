@@ -0,0 +1,34 @@
+package com.attributestudios.api.util.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Writes the entries of an archive in order, to a stream.  Closing the writer
+ * 	   finishes the archive and closes the stream.
+ *
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ * @see     ArchiveCodec
+ */
+public interface ArchiveWriter extends Closeable
+{
+	/**
+	 * Writes an entry.
+	 * @param  entry The entry.  Some formats need its size to be known.
+	 * @param  data  The entry's data, read to its end and not closed, or null
+	 * 				     for a directory.
+	 * @throws IOException Thrown if the data cannot be read, does not match the
+	 * 					       entry's size, or the archive cannot be written.
+	 */
+	public void putEntry(ArchiveEntry entry, InputStream data) throws IOException;
+	
+	/**
+	 * Completes the archive without closing the stream.  No more entries may be
+	 * 	   written afterward.
+	 * @throws IOException Thrown if the archive cannot be written.
+	 */
+	public void finish() throws IOException;
+}
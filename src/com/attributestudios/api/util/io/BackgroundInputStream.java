@@ -0,0 +1,339 @@
+package com.attributestudios.api.util.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads a stream on a thread of its own, a few buffers ahead of the reader,
+ * 	   so that expensive work done by the stream, such as decompression, runs
+ * 	   alongside whatever the reader does with the data.
+ *
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+class BackgroundInputStream extends InputStream
+{
+	/**
+	 * The number of filled buffers that may wait for the reader.
+	 */
+	private static final int READ_AHEAD = 4;
+	
+	/**
+	 * The marker queued after the last buffer.
+	 */
+	private static final Chunk END = new Chunk(null, -1, null);
+	
+	/**
+	 * The stream read in the background.
+	 */
+	private final InputStream source;
+	
+	/**
+	 * The pool buffers are borrowed from.
+	 */
+	private final BufferPool buffers;
+	
+	/**
+	 * The filled buffers, in order, followed by {@link #END} or a failure.
+	 */
+	private final BlockingQueue<Chunk> chunks = new ArrayBlockingQueue<Chunk>(READ_AHEAD);
+	
+	/**
+	 * The thread reading the source.
+	 */
+	private final Thread thread;
+	
+	/**
+	 * The buffer being read from, or null if none.
+	 */
+	private Chunk current;
+	
+	/**
+	 * The position of the next byte in the current buffer.
+	 */
+	private int position;
+	
+	/**
+	 * Whether the last buffer or a failure has been taken.
+	 */
+	private boolean ended;
+	
+	/**
+	 * Starts reading a stream in the background.
+	 * @param source     The stream to read.
+	 * @param buffers    The pool to borrow buffers from.
+	 * @param threadName The name of the background thread.
+	 */
+	BackgroundInputStream(InputStream source, BufferPool buffers, String threadName)
+	{
+		this.source = source;
+		this.buffers = buffers;
+		this.thread = new Thread(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				fill();
+			}
+		}, threadName);
+		
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+	
+	/**
+	 * Reads the source into buffers until it ends, fails or this stream is
+	 * 	   closed.
+	 */
+	private void fill()
+	{
+		try
+		{
+			while(true)
+			{
+				byte[] buffer = this.buffers.acquire();
+				int length = 0;
+				int read = 0;
+				
+				try
+				{
+					while(length < buffer.length && (read = this.source.read(buffer, length, buffer.length - length)) >= 0)
+					{
+						length += read;
+					}
+				}
+				catch(IOException | RuntimeException e)
+				{
+					this.buffers.release(buffer);
+					throw e;
+				}
+				
+				if(length > 0)
+				{
+					this.put(new Chunk(buffer, length, null));
+				}
+				else
+				{
+					this.buffers.release(buffer);
+				}
+				
+				if(read < 0)
+				{
+					this.put(END);
+					return;
+				}
+			}
+		}
+		catch(InterruptedException | InterruptedIOException e)
+		{
+			// Closed by the reader.
+		}
+		catch(IOException | RuntimeException e)
+		{
+			try
+			{
+				this.put(new Chunk(null, -1, e instanceof IOException ? (IOException)e : new IOException(e)));
+			}
+			catch(InterruptedException ignored)
+			{
+				// Closed by the reader.
+			}
+		}
+	}
+	
+	/**
+	 * Queues a chunk for the reader, releasing its buffer if interrupted.
+	 * @param  chunk The chunk.
+	 * @throws InterruptedException Thrown if this stream was closed.
+	 */
+	private void put(Chunk chunk) throws InterruptedException
+	{
+		try
+		{
+			this.chunks.put(chunk);
+		}
+		catch(InterruptedException e)
+		{
+			if(chunk.buffer != null)
+			{
+				this.buffers.release(chunk.buffer);
+			}
+			
+			throw e;
+		}
+	}
+	
+	@Override
+	public int read() throws IOException
+	{
+		byte[] single = new byte[1];
+		
+		return this.read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+	}
+	
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException
+	{
+		if(len == 0)
+		{
+			return 0;
+		}
+		
+		if(this.current == null)
+		{
+			if(this.ended)
+			{
+				return -1;
+			}
+			
+			try
+			{
+				this.current = this.chunks.take();
+			}
+			catch(InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while waiting for data.");
+			}
+			
+			if(this.current.buffer == null)
+			{
+				Chunk last = this.current;
+				
+				this.current = null;
+				this.ended = true;
+				
+				if(last.failure != null)
+				{
+					throw last.failure;
+				}
+				
+				return -1;
+			}
+			
+			this.position = 0;
+		}
+		
+		int count = Math.min(len, this.current.length - this.position);
+		
+		System.arraycopy(this.current.buffer, this.position, b, off, count);
+		this.position += count;
+		
+		if(this.position == this.current.length)
+		{
+			this.buffers.release(this.current.buffer);
+			this.current = null;
+		}
+		
+		return count;
+	}
+	
+	@Override
+	public int available()
+	{
+		return this.current == null ? 0 : this.current.length - this.position;
+	}
+	
+	/**
+	 * Stops the background thread, closes the source and returns every buffer
+	 * 	   to the pool.
+	 * @throws IOException Thrown if the source cannot be closed.
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		this.thread.interrupt();
+		
+		try
+		{
+			// Closing the source also ends a read that an interrupt cannot.
+			this.source.close();
+		}
+		finally
+		{
+			this.drain();
+		}
+	}
+	
+	/**
+	 * Waits for the background thread to stop, then returns every buffer it
+	 * 	   filled to the pool.
+	 */
+	private void drain()
+	{
+		boolean interrupted = false;
+		
+		while(this.thread.isAlive())
+		{
+			try
+			{
+				this.thread.join();
+			}
+			catch(InterruptedException e)
+			{
+				interrupted = true;
+			}
+		}
+		
+		if(interrupted)
+		{
+			Thread.currentThread().interrupt();
+		}
+		
+		if(this.current != null)
+		{
+			this.buffers.release(this.current.buffer);
+			this.current = null;
+		}
+		
+		Chunk chunk;
+		
+		while((chunk = this.chunks.poll()) != null)
+		{
+			if(chunk.buffer != null)
+			{
+				this.buffers.release(chunk.buffer);
+			}
+		}
+		
+		this.ended = true;
+	}
+	
+	/**
+	 * A filled buffer, the end of the stream, or a failure.
+	 */
+	private static final class Chunk
+	{
+		/**
+		 * The buffer, or null at the end or on failure.
+		 */
+		final byte[] buffer;
+		
+		/**
+		 * The number of bytes in the buffer.
+		 */
+		final int length;
+		
+		/**
+		 * The failure, or null.
+		 */
+		final IOException failure;
+		
+		/**
+		 * Creates a new chunk.
+		 * @param buffer  The buffer, or null.
+		 * @param length  The number of bytes in the buffer.
+		 * @param failure The failure, or null.
+		 */
+		Chunk(byte[] buffer, int length, IOException failure)
+		{
+			this.buffer = buffer;
+			this.length = length;
+			this.failure = failure;
+		}
+	}
+}
@@ -0,0 +1,116 @@
+package com.attributestudios.api.util.io;
+
+import java.io.InterruptedIOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * A pool of equally sized byte buffers, shared by the stages of an
+ * 	   {@link ArchiveEngine}.  The number of buffers lent out at once is
+ * 	   bounded, so a fast stage waits for a slow one instead of buffering
+ * 	   without limit.
+ *
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+public class BufferPool
+{
+	/**
+	 * The size of each buffer.
+	 */
+	private final int bufferSize;
+	
+	/**
+	 * The most buffers that may be lent out at once.
+	 */
+	private final int capacity;
+	
+	/**
+	 * The permits to borrow a buffer, one per buffer not lent out.
+	 */
+	private final Semaphore permits;
+	
+	/**
+	 * The buffers returned and not yet lent out again.
+	 */
+	private final Queue<byte[]> idle = new ConcurrentLinkedQueue<byte[]>();
+	
+	/**
+	 * Creates a new buffer pool.  Buffers are allocated as they are first
+	 * 	   needed.
+	 * @param bufferSize The size of each buffer, in bytes.
+	 * @param capacity   The most buffers that may be lent out at once.
+	 */
+	public BufferPool(int bufferSize, int capacity)
+	{
+		if(bufferSize < 1 || capacity < 1)
+		{
+			throw new IllegalArgumentException("Buffer size and capacity must be at least 1: " + bufferSize + ", " + capacity);
+		}
+		
+		this.bufferSize = bufferSize;
+		this.capacity = capacity;
+		this.permits = new Semaphore(capacity);
+	}
+	
+	/**
+	 * Borrows a buffer, waiting if every buffer is lent out.
+	 * @return The buffer, which must be returned with {@link #release(byte[])}.
+	 * @throws InterruptedIOException Thrown if interrupted while waiting.
+	 */
+	public byte[] acquire() throws InterruptedIOException
+	{
+		try
+		{
+			this.permits.acquire();
+		}
+		catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for a buffer.");
+		}
+		
+		byte[] buffer = this.idle.poll();
+		
+		return buffer == null ? new byte[this.bufferSize] : buffer;
+	}
+	
+	/**
+	 * Returns a borrowed buffer.
+	 * @param buffer The buffer, which the caller must not use again.
+	 */
+	public void release(byte[] buffer)
+	{
+		this.idle.add(buffer);
+		this.permits.release();
+	}
+	
+	/**
+	 * Gets the size of each buffer.
+	 * @return The size, in bytes.
+	 */
+	public int getBufferSize()
+	{
+		return this.bufferSize;
+	}
+	
+	/**
+	 * Gets the most buffers that may be lent out at once.
+	 * @return The capacity.
+	 */
+	public int getCapacity()
+	{
+		return this.capacity;
+	}
+	
+	/**
+	 * Gets the number of buffers that may be borrowed without waiting.
+	 * @return The number of buffers not lent out.
+	 */
+	public int getAvailable()
+	{
+		return this.permits.availablePermits();
+	}
+}
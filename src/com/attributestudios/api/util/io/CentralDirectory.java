@@ -0,0 +1,339 @@
+package com.attributestudios.api.util.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The central directory of a zip archive, read straight from the file so
+ * 	   that entries can be located without reading the archive from the start.
+ * 	   The directory is memory-mapped while it is parsed, and Zip64 records
+ * 	   and extra fields are honoured.
+ *
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+final class CentralDirectory
+{
+	/**
+	 * The most bytes that may follow the end of central directory signature: the
+	 * 	   record itself and the longest possible comment.
+	 */
+	private static final int MAX_END_SEARCH = ZipFormat.END_LENGTH + 0xFFFF;
+	
+	/**
+	 * The charset of names not flagged as UTF-8.
+	 */
+	private static final Charset LEGACY_CHARSET = Charset.isSupported("IBM437") ? Charset.forName("IBM437") : StandardCharsets.UTF_8;
+	
+	/**
+	 * The entries, in central directory order.
+	 */
+	private final List<Entry> entries;
+	
+	/**
+	 * Creates a new central directory.
+	 * @param entries The entries, in central directory order.
+	 */
+	private CentralDirectory(List<Entry> entries)
+	{
+		this.entries = Collections.unmodifiableList(entries);
+	}
+	
+	/**
+	 * Gets the entries of the archive.
+	 * @return An unmodifiable list of the entries, in central directory order.
+	 */
+	List<Entry> getEntries()
+	{
+		return this.entries;
+	}
+	
+	/**
+	 * Reads the central directory of an archive.
+	 * @param  channel The archive's channel.
+	 * @return The central directory.
+	 * @throws IOException Thrown if the channel cannot be read, or the archive is
+	 * 					       not a valid zip file.
+	 */
+	static CentralDirectory read(FileChannel channel) throws IOException
+	{
+		long size = channel.size();
+		int tailLength = (int)Math.min(size, MAX_END_SEARCH);
+		ByteBuffer tail = readFully(channel, size - tailLength, tailLength);
+		int end = -1;
+		
+		// The record is found searching backward, checking that its comment runs exactly to the end of the file.
+		for(int i = tailLength - ZipFormat.END_LENGTH; i >= 0; i--)
+		{
+			if(tail.getInt(i) == ZipFormat.END_SIGNATURE && i + ZipFormat.END_LENGTH + (tail.getShort(i + 20) & 0xFFFF) == tailLength)
+			{
+				end = i;
+				break;
+			}
+		}
+		
+		if(end < 0)
+		{
+			throw new IOException("Not a zip file: no end of central directory record.");
+		}
+		
+		long count = tail.getShort(end + 10) & 0xFFFF;
+		long directorySize = tail.getInt(end + 12) & 0xFFFFFFFFL;
+		long directoryOffset = tail.getInt(end + 16) & 0xFFFFFFFFL;
+		long endOffset = size - tailLength + end;
+		
+		if(count == ZipFormat.ZIP64_MAGIC_COUNT || directorySize == ZipFormat.ZIP64_MAGIC || directoryOffset == ZipFormat.ZIP64_MAGIC)
+		{
+			long locatorOffset = endOffset - ZipFormat.ZIP64_LOCATOR_LENGTH;
+			
+			if(locatorOffset >= 0L)
+			{
+				ByteBuffer locator = readFully(channel, locatorOffset, ZipFormat.ZIP64_LOCATOR_LENGTH);
+				
+				if(locator.getInt(0) == ZipFormat.ZIP64_LOCATOR_SIGNATURE)
+				{
+					ByteBuffer end64 = readFully(channel, locator.getLong(8), ZipFormat.ZIP64_END_LENGTH);
+					
+					if(end64.getInt(0) != ZipFormat.ZIP64_END_SIGNATURE)
+					{
+						throw new IOException("Corrupt zip file: bad Zip64 end of central directory record.");
+					}
+					
+					count = end64.getLong(32);
+					directorySize = end64.getLong(40);
+					directoryOffset = end64.getLong(48);
+				}
+			}
+		}
+		
+		if(directoryOffset + directorySize > size || directorySize > Integer.MAX_VALUE || count > Integer.MAX_VALUE)
+		{
+			throw new IOException("Corrupt zip file: central directory lies outside the file.");
+		}
+		
+		MappedByteBuffer directory = channel.map(FileChannel.MapMode.READ_ONLY, directoryOffset, directorySize);
+		directory.order(ByteOrder.LITTLE_ENDIAN);
+		
+		List<Entry> entries = new ArrayList<Entry>((int)count);
+		int position = 0;
+		
+		for(long i = 0; i < count; i++)
+		{
+			if(position + ZipFormat.CENTRAL_HEADER_LENGTH > directorySize || directory.getInt(position) != ZipFormat.CENTRAL_HEADER_SIGNATURE)
+			{
+				throw new IOException("Corrupt zip file: bad central directory header " + i);
+			}
+			
+			int flags = directory.getShort(position + 8) & 0xFFFF;
+			int method = directory.getShort(position + 10) & 0xFFFF;
+			int dosTime = directory.getInt(position + 12);
+			long crc = directory.getInt(position + 16) & 0xFFFFFFFFL;
+			long compressedSize = directory.getInt(position + 20) & 0xFFFFFFFFL;
+			long uncompressedSize = directory.getInt(position + 24) & 0xFFFFFFFFL;
+			int nameLength = directory.getShort(position + 28) & 0xFFFF;
+			int extraLength = directory.getShort(position + 30) & 0xFFFF;
+			int commentLength = directory.getShort(position + 32) & 0xFFFF;
+			long localOffset = directory.getInt(position + 42) & 0xFFFFFFFFL;
+			
+			byte[] nameBytes = new byte[nameLength];
+			directory.position(position + ZipFormat.CENTRAL_HEADER_LENGTH);
+			directory.get(nameBytes);
+			
+			String name = new String(nameBytes, (flags & ZipFormat.FLAG_UTF8) != 0 ? StandardCharsets.UTF_8 : LEGACY_CHARSET);
+			
+			// Zip64 values appear in the extra field, in order, only for the fields that overflowed.
+			int extra = position + ZipFormat.CENTRAL_HEADER_LENGTH + nameLength;
+			int extraEnd = extra + extraLength;
+			
+			while(extra + 4 <= extraEnd)
+			{
+				int id = directory.getShort(extra) & 0xFFFF;
+				int length = directory.getShort(extra + 2) & 0xFFFF;
+				int field = extra + 4;
+				
+				if(id == ZipFormat.ZIP64_EXTRA_ID)
+				{
+					if(uncompressedSize == ZipFormat.ZIP64_MAGIC && field + 8 <= extraEnd)
+					{
+						uncompressedSize = directory.getLong(field);
+						field += 8;
+					}
+					
+					if(compressedSize == ZipFormat.ZIP64_MAGIC && field + 8 <= extraEnd)
+					{
+						compressedSize = directory.getLong(field);
+						field += 8;
+					}
+					
+					if(localOffset == ZipFormat.ZIP64_MAGIC && field + 8 <= extraEnd)
+					{
+						localOffset = directory.getLong(field);
+					}
+				}
+				
+				extra += 4 + length;
+			}
+			
+			entries.add(new Entry(name, flags, method, dosTime, crc, compressedSize, uncompressedSize, localOffset));
+			position += ZipFormat.CENTRAL_HEADER_LENGTH + nameLength + extraLength + commentLength;
+		}
+		
+		return new CentralDirectory(entries);
+	}
+	
+	/**
+	 * Finds where an entry's data begins, by reading its local header.
+	 * @param  channel The archive's channel.
+	 * @param  entry   The entry.
+	 * @return The offset of the entry's data.
+	 * @throws IOException Thrown if the local header cannot be read or is invalid.
+	 */
+	static long dataOffset(FileChannel channel, Entry entry) throws IOException
+	{
+		ByteBuffer header = readFully(channel, entry.localHeaderOffset, ZipFormat.LOCAL_HEADER_LENGTH);
+		
+		if(header.getInt(0) != ZipFormat.LOCAL_HEADER_SIGNATURE)
+		{
+			throw new IOException("Corrupt zip file: bad local header for " + entry.name);
+		}
+		
+		return entry.localHeaderOffset + ZipFormat.LOCAL_HEADER_LENGTH + (header.getShort(26) & 0xFFFF) + (header.getShort(28) & 0xFFFF);
+	}
+	
+	/**
+	 * Reads a range of a channel into a little-endian buffer.
+	 * @param  channel  The channel to read.
+	 * @param  position The offset of the range.
+	 * @param  length   The length of the range.
+	 * @return The buffer holding the range.
+	 * @throws IOException Thrown if the range cannot be read in full.
+	 */
+	private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+		
+		while(buffer.hasRemaining())
+		{
+			if(channel.read(buffer, position + buffer.position()) < 0)
+			{
+				throw new IOException("Unexpected end of zip file.");
+			}
+		}
+		
+		return buffer;
+	}
+	
+	/**
+	 * An entry of the central directory.
+	 */
+	static final class Entry
+	{
+		/**
+		 * The entry's name, separated by '<code>/</code>'.
+		 */
+		final String name;
+		
+		/**
+		 * The general purpose flags.
+		 */
+		final int flags;
+		
+		/**
+		 * The compression method.
+		 */
+		final int method;
+		
+		/**
+		 * The packed DOS modification time.
+		 */
+		final int dosTime;
+		
+		/**
+		 * The CRC-32 of the extracted data.
+		 */
+		final long crc;
+		
+		/**
+		 * The size of the entry's data in the archive.
+		 */
+		final long compressedSize;
+		
+		/**
+		 * The size of the entry's data once extracted.
+		 */
+		final long size;
+		
+		/**
+		 * The offset of the entry's local header.
+		 */
+		final long localHeaderOffset;
+		
+		/**
+		 * Creates a new entry.
+		 * @param name              The entry's name.
+		 * @param flags             The general purpose flags.
+		 * @param method            The compression method.
+		 * @param dosTime           The packed DOS modification time.
+		 * @param crc               The CRC-32 of the extracted data.
+		 * @param compressedSize    The size of the data in the archive.
+		 * @param size              The size of the data once extracted.
+		 * @param localHeaderOffset The offset of the local header.
+		 */
+		Entry(String name, int flags, int method, int dosTime, long crc, long compressedSize, long size, long localHeaderOffset)
+		{
+			this.name = name;
+			this.flags = flags;
+			this.method = method;
+			this.dosTime = dosTime;
+			this.crc = crc;
+			this.compressedSize = compressedSize;
+			this.size = size;
+			this.localHeaderOffset = localHeaderOffset;
+		}
+		
+		/**
+		 * Checks whether the entry is a directory.
+		 * @return True if the entry's name ends with '<code>/</code>'.
+		 */
+		boolean isDirectory()
+		{
+			return this.name.endsWith("/");
+		}
+		
+		/**
+		 * Gets the entry's modification time.
+		 * @return The time, in milliseconds since the epoch.
+		 */
+		long getTime()
+		{
+			return ZipFormat.fromDosTime(this.dosTime);
+		}
+		
+		/**
+		 * Checks that the entry can be extracted by this library.
+		 * @throws IOException Thrown if the entry is encrypted or uses a
+		 * 					       compression method other than store or deflate.
+		 */
+		void checkSupported() throws IOException
+		{
+			if((this.flags & ZipFormat.FLAG_ENCRYPTED) != 0)
+			{
+				throw new IOException("Zip entry " + this.name + " is encrypted.");
+			}
+			
+			if(this.method != ZipFormat.METHOD_STORED && this.method != ZipFormat.METHOD_DEFLATED)
+			{
+				throw new IOException("Zip entry " + this.name + " uses unsupported compression method " + this.method);
+			}
+		}
+	}
+}
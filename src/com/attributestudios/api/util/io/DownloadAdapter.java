@@ -0,0 +1,49 @@
+package com.attributestudios.api.util.io;
+
+import java.io.IOException;
+
+/**
+ * A {@link DownloadListener} whose methods do nothing, for listeners that
+ * 	   only need some of the events.
+ * 
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+public abstract class DownloadAdapter implements DownloadListener
+{
+	@Override
+	public void downloadStarted(DownloadMetrics metrics)
+	{
+	}
+	
+	@Override
+	public void connected(DownloadMetrics metrics)
+	{
+	}
+	
+	@Override
+	public void firstByteReceived(DownloadMetrics metrics)
+	{
+	}
+	
+	@Override
+	public void progressed(DownloadMetrics metrics)
+	{
+	}
+	
+	@Override
+	public void retrying(DownloadMetrics metrics, IOException cause)
+	{
+	}
+	
+	@Override
+	public void downloadCompleted(DownloadMetrics metrics)
+	{
+	}
+	
+	@Override
+	public void downloadFailed(DownloadMetrics metrics, IOException cause)
+	{
+	}
+}
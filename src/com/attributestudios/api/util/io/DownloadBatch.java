@@ -0,0 +1,109 @@
+package com.attributestudios.api.util.io;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * A group of downloads submitted together to a {@link DownloadManager}, which
+ * 	   may be awaited or cancelled as a whole.
+ * 
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+public class DownloadBatch
+{
+	/**
+	 * The downloads in the batch, in submission order.
+	 */
+	private final List<Future<File>> downloads;
+	
+	/**
+	 * Creates a new batch.
+	 * @param downloads The downloads in the batch, in submission order.
+	 */
+	DownloadBatch(List<Future<File>> downloads)
+	{
+		this.downloads = Collections.unmodifiableList(downloads);
+	}
+	
+	/**
+	 * Gets the downloads in the batch.
+	 * @return An unmodifiable list of the downloads, in submission order.
+	 */
+	public List<Future<File>> getDownloads()
+	{
+		return this.downloads;
+	}
+	
+	/**
+	 * Cancels every download in the batch that has not yet completed.
+	 * @param mayInterruptIfRunning True to interrupt downloads already in
+	 * 								    progress; false to cancel only those still
+	 * 								    queued.
+	 * @return The number of downloads cancelled.
+	 */
+	public int cancel(boolean mayInterruptIfRunning)
+	{
+		int cancelled = 0;
+		
+		for(Future<File> download : this.downloads)
+		{
+			if(download.cancel(mayInterruptIfRunning))
+			{
+				cancelled++;
+			}
+		}
+		
+		return cancelled;
+	}
+	
+	/**
+	 * Checks whether every download in the batch has completed, failed or been
+	 * 	   cancelled.
+	 * @return True if the whole batch is done.
+	 */
+	public boolean isDone()
+	{
+		for(Future<File> download : this.downloads)
+		{
+			if(!download.isDone())
+			{
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Waits for every download in the batch to finish, whether it succeeds,
+	 * 	   fails or is cancelled.
+	 * @return The number of downloads that succeeded.
+	 * @throws InterruptedException Thrown if the caller is interrupted while
+	 * 								    waiting.
+	 */
+	public int awaitCompletion() throws InterruptedException
+	{
+		int succeeded = 0;
+		
+		for(Future<File> download : this.downloads)
+		{
+			try
+			{
+				download.get();
+				succeeded++;
+			}
+			catch(ExecutionException | CancellationException e)
+			{
+				// Counted as unsuccessful; the caller inspects the future for details.
+			}
+		}
+		
+		return succeeded;
+	}
+}
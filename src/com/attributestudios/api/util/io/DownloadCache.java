@@ -0,0 +1,812 @@
+package com.attributestudios.api.util.io;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import com.attributestudios.api.util.crypto.HashUtils;
+import com.attributestudios.api.util.crypto.HashUtils.HashingType;
+import com.attributestudios.api.util.logging.LoggingUtil;
+import com.attributestudios.api.util.logging.SimpleLogFormatter;
+
+/**
+ * Keeps copies of downloaded resources in a directory, together with the
+ * 	   <code>ETag</code>, <code>Last-Modified</code> and freshness lifetime the
+ * 	   server sent with them.  A {@link ResourceDownloader} given a cache serves
+ * 	   fresh entries without contacting the server, revalidates stale entries
+ * 	   with a conditional request, and stores every new response.  Once the
+ * 	   stored bodies exceed the cache's size bound, the least recently used
+ * 	   entries are evicted.  Bodies are copied out without holding the
+ * 	   cache's lock; an entry being served is pinned, and its body is only
+ * 	   deleted, or replaced, once no copy of it is in progress.
+ * <br><hr>
+ * <b>Cache Directory Specifications</b><br><br>
+ * Each entry is a pair of files named after the SHA-256 digest of its URL: a
+ * 	   <code>.body</code> file holding the response body, and a
+ * 	   <code>.meta</code> {@link Properties} file holding the URL, validators
+ * 	   and expiry time.  The modification time of the metadata file records the
+ * 	   entry's last use, so recency survives a restart.  Both files are
+ * 	   replaced atomically, and an entry whose files are incomplete is
+ * 	   discarded on load.
+ *
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.1
+ * @date.   2026-10-16
+ * @edited. 2026-10-16
+ */
+public class DownloadCache
+{
+	/**
+	 * The main logger for the download cache.
+	 */
+	private static Logger cacheLog = LoggingUtil.constructLogger("Download Cache", new SimpleLogFormatter());
+	
+	/**
+	 * The suffix of files holding response bodies.
+	 */
+	private static final String BODY_SUFFIX = ".body";
+	
+	/**
+	 * The suffix of files holding response metadata.
+	 */
+	private static final String META_SUFFIX = ".meta";
+	
+	/**
+	 * The suffix of files being written.
+	 */
+	private static final String TEMP_SUFFIX = ".tmp";
+	
+	/**
+	 * The directory entries are stored in.
+	 */
+	private final File directory;
+	
+	/**
+	 * The maximum total size of the stored bodies, in bytes.
+	 */
+	private final long maxSize;
+	
+	/**
+	 * The cached responses by key, in least to most recently used order.
+	 */
+	private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<String, CachedResponse>(16, 0.75f, true);
+	
+	/**
+	 * The number of copies in progress of each entry's body, by key.
+	 */
+	private final Map<String, Integer> pins = new HashMap<String, Integer>();
+	
+	/**
+	 * The keys of removed entries whose bodies are still being copied, and are
+	 * 	   to be deleted once the last copy is done.
+	 */
+	private final Set<String> doomed = new HashSet<String>();
+	
+	/**
+	 * The total size of the stored bodies, in bytes.
+	 */
+	private long size;
+	
+	/**
+	 * The number of downloads served from the cache without contacting the server.
+	 */
+	private final AtomicLong hits = new AtomicLong();
+	
+	/**
+	 * The number of downloads with no usable cache entry.
+	 */
+	private final AtomicLong misses = new AtomicLong();
+	
+	/**
+	 * The number of stale entries the server confirmed were unchanged.
+	 */
+	private final AtomicLong revalidations = new AtomicLong();
+	
+	/**
+	 * The number of entries evicted to keep the cache within its bound.
+	 */
+	private final AtomicLong evictions = new AtomicLong();
+	
+	/**
+	 * Creates a new download cache, loading any entries already in the directory.
+	 * @param  directory The directory to store entries in.  It is created if it
+	 * 					     does not exist.
+	 * @param  maxSize   The maximum total size of the stored bodies, in bytes.
+	 * @throws IOException Thrown if the directory cannot be created or read.
+	 */
+	public DownloadCache(File directory, long maxSize) throws IOException
+	{
+		if(maxSize < 1L)
+		{
+			throw new IllegalArgumentException("Cache size must be positive: " + maxSize);
+		}
+		
+		this.directory = directory;
+		this.maxSize = maxSize;
+		
+		Files.createDirectories(directory.toPath());
+		this.load();
+	}
+	
+	/**
+	 * Gets the directory entries are stored in.
+	 * @return The cache directory.
+	 */
+	public File getDirectory()
+	{
+		return this.directory;
+	}
+	
+	/**
+	 * Gets the maximum total size of the stored bodies.
+	 * @return The size bound, in bytes.
+	 */
+	public long getMaxSize()
+	{
+		return this.maxSize;
+	}
+	
+	/**
+	 * Gets the total size of the stored bodies.
+	 * @return The cache's current size, in bytes.
+	 */
+	public synchronized long getSize()
+	{
+		return this.size;
+	}
+	
+	/**
+	 * Gets the number of cached responses.
+	 * @return The entry count.
+	 */
+	public synchronized int getEntryCount()
+	{
+		return this.entries.size();
+	}
+	
+	/**
+	 * Gets the number of downloads served from the cache without contacting the
+	 * 	   server.
+	 * @return The hit count.
+	 */
+	public long getHits()
+	{
+		return this.hits.get();
+	}
+	
+	/**
+	 * Gets the number of downloads with no usable cache entry, which were
+	 * 	   fetched in full.
+	 * @return The miss count.
+	 */
+	public long getMisses()
+	{
+		return this.misses.get();
+	}
+	
+	/**
+	 * Gets the number of stale entries the server confirmed were unchanged,
+	 * 	   which were served from the cache after a conditional request.
+	 * @return The revalidation count.
+	 */
+	public long getRevalidations()
+	{
+		return this.revalidations.get();
+	}
+	
+	/**
+	 * Gets the number of entries evicted to keep the cache within its bound.
+	 * @return The eviction count.
+	 */
+	public long getEvictions()
+	{
+		return this.evictions.get();
+	}
+	
+	/**
+	 * Removes the entry for a URL, if there is one.
+	 * @param resourceOnWeb The URL to forget.
+	 */
+	public synchronized void invalidate(URL resourceOnWeb)
+	{
+		CachedResponse entry = this.entries.remove(keyOf(resourceOnWeb));
+		
+		if(entry != null)
+		{
+			this.delete(entry);
+		}
+	}
+	
+	/**
+	 * Removes every entry.
+	 */
+	public synchronized void clear()
+	{
+		for(CachedResponse entry : this.entries.values())
+		{
+			this.delete(entry);
+		}
+		
+		this.entries.clear();
+	}
+	
+	/**
+	 * Finds the entry for a URL.
+	 * @param  resourceOnWeb The URL to look up.
+	 * @return The entry, or null if the URL is not cached.
+	 */
+	synchronized CachedResponse lookup(URL resourceOnWeb)
+	{
+		CachedResponse entry = this.entries.get(keyOf(resourceOnWeb));
+		
+		// A different URL with the same digest is as good as a miss.
+		return entry != null && entry.url.equals(resourceOnWeb.toExternalForm()) ? entry : null;
+	}
+	
+	/**
+	 * Copies a cached body to a file and marks the entry as recently used.
+	 * @param  entry              The entry to serve.
+	 * @param  downloadedLocation The file to copy the body to.
+	 * @param  revalidated        True if the server has just confirmed the
+	 * 							      entry; false if it was served while fresh.
+	 * @throws IOException Thrown if the entry has been evicted, or the body
+	 * 						   cannot be copied.
+	 */
+	void serve(CachedResponse entry, File downloadedLocation, boolean revalidated) throws IOException
+	{
+		synchronized(this)
+		{
+			if(!this.entries.containsKey(entry.key))
+			{
+				throw new IOException("Cached copy of " + entry.url + " was evicted before it could be served.");
+			}
+			
+			// Pin the entry so that its body is not deleted or replaced mid-copy.
+			Integer count = this.pins.get(entry.key);
+			this.pins.put(entry.key, count == null ? 1 : count + 1);
+			this.metaFile(entry.key).setLastModified(System.currentTimeMillis());
+		}
+		
+		try
+		{
+			Files.copy(this.bodyFile(entry.key).toPath(), downloadedLocation.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		finally
+		{
+			this.unpin(entry.key);
+		}
+		
+		(revalidated ? this.revalidations : this.hits).incrementAndGet();
+		cacheLog.fine((revalidated ? "Revalidated " : "Served fresh ") + entry.url);
+	}
+	
+	/**
+	 * Records a download that could not be served from the cache.
+	 */
+	void missed()
+	{
+		this.misses.incrementAndGet();
+	}
+	
+	/**
+	 * Adds <code>If-None-Match</code> and <code>If-Modified-Since</code> headers
+	 * 	   to a request, so that the server may answer that a stale entry is
+	 * 	   unchanged instead of sending it again.
+	 * @param connection An unopened connection to the entry's URL.
+	 * @param entry      The stale entry.
+	 */
+	static void addConditions(URLConnection connection, CachedResponse entry)
+	{
+		if(entry.etag != null)
+		{
+			connection.setRequestProperty("If-None-Match", entry.etag);
+		}
+		
+		if(entry.lastModified != null)
+		{
+			connection.setRequestProperty("If-Modified-Since", entry.lastModified);
+		}
+	}
+	
+	/**
+	 * Refreshes the expiry of an entry the server confirmed was unchanged, using
+	 * 	   the headers of its <code>304 Not Modified</code> response.
+	 * @param  entry    The confirmed entry.
+	 * @param  response The server's response.
+	 * @throws IOException Thrown if the metadata cannot be written.
+	 */
+	synchronized void refresh(CachedResponse entry, URLConnection response) throws IOException
+	{
+		String etag = response.getHeaderField("ETag");
+		String lastModified = response.getHeaderField("Last-Modified");
+		
+		CachedResponse refreshed = new CachedResponse(entry.key, entry.url,
+				etag != null ? etag : entry.etag, lastModified != null ? lastModified : entry.lastModified,
+				expiryOf(response), entry.length);
+		
+		if(this.entries.containsKey(entry.key))
+		{
+			this.writeMeta(refreshed);
+			this.entries.put(entry.key, refreshed);
+		}
+	}
+	
+	/**
+	 * Stores a freshly downloaded response, unless the server forbade it or it
+	 * 	   could never fit, and evicts older entries to make room.
+	 * @param  resourceOnWeb The URL the response was downloaded from.
+	 * @param  response      The connection the response arrived on.
+	 * @param  downloaded    The downloaded body.
+	 * @throws IOException Thrown if the entry cannot be written.
+	 */
+	void store(URL resourceOnWeb, URLConnection response, File downloaded) throws IOException
+	{
+		String cacheControl = response.getHeaderField("Cache-Control");
+		long length = downloaded.length();
+		
+		if(cacheControl != null && directiveOf(cacheControl, "no-store") != null)
+		{
+			cacheLog.fine("Server forbids caching " + resourceOnWeb);
+			return;
+		}
+		
+		if(length > this.maxSize)
+		{
+			cacheLog.fine(resourceOnWeb + " is larger than the whole cache; not storing it.");
+			return;
+		}
+		
+		String key = keyOf(resourceOnWeb);
+		CachedResponse entry = new CachedResponse(key, resourceOnWeb.toExternalForm(), response.getHeaderField("ETag"),
+				response.getHeaderField("Last-Modified"), expiryOf(response), length);
+		
+		// Copy outside the lock, then publish both files atomically.
+		File temp = File.createTempFile(key, TEMP_SUFFIX, this.directory);
+		
+		try
+		{
+			Files.copy(downloaded.toPath(), temp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			
+			synchronized(this)
+			{
+				if(this.pins.containsKey(key))
+				{
+					cacheLog.fine(resourceOnWeb + " is being served from the cache; not replacing it.");
+					return;
+				}
+				
+				CachedResponse previous = this.entries.remove(key);
+				
+				if(previous != null)
+				{
+					this.size -= previous.length;
+				}
+				
+				move(temp, this.bodyFile(key));
+				this.writeMeta(entry);
+				this.entries.put(key, entry);
+				this.size += length;
+				this.evict();
+			}
+		}
+		finally
+		{
+			temp.delete();
+		}
+	}
+	
+	/**
+	 * Evicts least recently used entries until the cache is within its bound.
+	 */
+	private void evict()
+	{
+		Iterator<CachedResponse> iterator = this.entries.values().iterator();
+		
+		while(this.size > this.maxSize && iterator.hasNext())
+		{
+			CachedResponse eldest = iterator.next();
+			iterator.remove();
+			this.delete(eldest);
+			this.evictions.incrementAndGet();
+			cacheLog.fine("Evicted " + eldest.url);
+		}
+	}
+	
+	/**
+	 * Releases a pin taken by {@link #serve(CachedResponse, File, boolean)},
+	 * 	   deleting the body if the entry was removed while it was pinned.
+	 * @param key The entry's key.
+	 */
+	private synchronized void unpin(String key)
+	{
+		int count = this.pins.remove(key) - 1;
+		
+		if(count > 0)
+		{
+			this.pins.put(key, count);
+		}
+		else if(this.doomed.remove(key))
+		{
+			this.bodyFile(key).delete();
+		}
+	}
+	
+	/**
+	 * Deletes an entry's files and removes its body from the total size.  The
+	 * 	   body of a pinned entry is deleted once it is unpinned; without its
+	 * 	   metadata file, it is discarded on load should that never happen.
+	 * @param entry The entry to delete.
+	 */
+	private void delete(CachedResponse entry)
+	{
+		this.metaFile(entry.key).delete();
+		this.size -= entry.length;
+		
+		if(this.pins.containsKey(entry.key))
+		{
+			this.doomed.add(entry.key);
+		}
+		else
+		{
+			this.bodyFile(entry.key).delete();
+		}
+	}
+	
+	/**
+	 * Loads every complete entry in the directory, least recently used first,
+	 * 	   and evicts any that no longer fit.
+	 * @throws IOException Thrown if the directory cannot be listed.
+	 */
+	private synchronized void load() throws IOException
+	{
+		File[] metaFiles = this.directory.listFiles();
+		
+		if(metaFiles == null)
+		{
+			throw new IOException("Cannot list cache directory " + this.directory);
+		}
+		
+		List<File> ordered = new ArrayList<File>();
+		
+		for(File file : metaFiles)
+		{
+			if(file.getName().endsWith(META_SUFFIX))
+			{
+				ordered.add(file);
+			}
+			else if(file.getName().endsWith(TEMP_SUFFIX) || (file.getName().endsWith(BODY_SUFFIX)
+					&& !this.metaFile(stripSuffix(file.getName(), BODY_SUFFIX)).isFile()))
+			{
+				// Left behind by an interrupted store.
+				file.delete();
+			}
+		}
+		
+		Collections.sort(ordered, new Comparator<File>()
+		{
+			@Override
+			public int compare(File a, File b)
+			{
+				long difference = a.lastModified() - b.lastModified();
+				
+				return difference < 0L ? -1 : (difference == 0L ? 0 : 1);
+			}
+		});
+		
+		for(File metaFile : ordered)
+		{
+			String key = stripSuffix(metaFile.getName(), META_SUFFIX);
+			File body = this.bodyFile(key);
+			CachedResponse entry = null;
+			
+			try(InputStream in = new FileInputStream(metaFile))
+			{
+				Properties meta = new Properties();
+				meta.load(in);
+				entry = new CachedResponse(key, meta.getProperty("url"), meta.getProperty("etag"),
+						meta.getProperty("lastModified"), Long.parseLong(meta.getProperty("expires", "0")),
+						Long.parseLong(meta.getProperty("length", "-1")));
+			}
+			catch(IOException | NumberFormatException e)
+			{
+				cacheLog.warning("Discarding unreadable cache entry " + metaFile + ": " + e);
+			}
+			
+			if(entry == null || entry.url == null || !body.isFile() || body.length() != entry.length)
+			{
+				metaFile.delete();
+				body.delete();
+				continue;
+			}
+			
+			this.entries.put(key, entry);
+			this.size += entry.length;
+		}
+		
+		this.evict();
+		cacheLog.info("Loaded " + this.entries.size() + " cached downloads (" + this.size + " bytes) from " + this.directory);
+	}
+	
+	/**
+	 * Writes an entry's metadata file atomically.
+	 * @param  entry The entry to write.
+	 * @throws IOException Thrown if the file cannot be written.
+	 */
+	private void writeMeta(CachedResponse entry) throws IOException
+	{
+		Properties meta = new Properties();
+		meta.setProperty("url", entry.url);
+		meta.setProperty("expires", Long.toString(entry.expires));
+		meta.setProperty("length", Long.toString(entry.length));
+		
+		if(entry.etag != null)
+		{
+			meta.setProperty("etag", entry.etag);
+		}
+		
+		if(entry.lastModified != null)
+		{
+			meta.setProperty("lastModified", entry.lastModified);
+		}
+		
+		File temp = File.createTempFile(entry.key, TEMP_SUFFIX, this.directory);
+		
+		try
+		{
+			try(OutputStream out = new FileOutputStream(temp))
+			{
+				meta.store(out, "Cached download");
+			}
+			
+			move(temp, this.metaFile(entry.key));
+		}
+		finally
+		{
+			temp.delete();
+		}
+	}
+	
+	/**
+	 * Gets the body file of an entry.
+	 * @param  key The entry's key.
+	 * @return The body file.
+	 */
+	private File bodyFile(String key)
+	{
+		return new File(this.directory, key + BODY_SUFFIX);
+	}
+	
+	/**
+	 * Gets the metadata file of an entry.
+	 * @param  key The entry's key.
+	 * @return The metadata file.
+	 */
+	private File metaFile(String key)
+	{
+		return new File(this.directory, key + META_SUFFIX);
+	}
+	
+	/**
+	 * Replaces a file with another, atomically where the file system allows.
+	 * @param  source The replacement.
+	 * @param  target The file to replace.
+	 * @throws IOException Thrown if the file cannot be moved.
+	 */
+	private static void move(File source, File target) throws IOException
+	{
+		try
+		{
+			Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch(AtomicMoveNotSupportedException e)
+		{
+			Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+	
+	/**
+	 * Gets the key entries for a URL are stored under.
+	 * @param  resourceOnWeb The URL.
+	 * @return The hexadecimal SHA-256 digest of the URL.
+	 */
+	private static String keyOf(URL resourceOnWeb)
+	{
+		return HashUtils.hashAs((CharSequence)resourceOnWeb.toExternalForm(), HashingType.SHA256);
+	}
+	
+	/**
+	 * Removes a suffix from a file name.
+	 * @param  name   The file name.
+	 * @param  suffix The suffix to remove.
+	 * @return The name without the suffix.
+	 */
+	private static String stripSuffix(String name, String suffix)
+	{
+		return name.substring(0, name.length() - suffix.length());
+	}
+	
+	/**
+	 * Works out until when a response may be served without revalidation,
+	 * 	   from its <code>Cache-Control</code> header or, failing that, its
+	 * 	   <code>Expires</code> header.  A response with neither, or marked
+	 * 	   <code>no-cache</code>, is revalidated on every use.
+	 * @param  response The connection the response arrived on.
+	 * @return The expiry time, in milliseconds since the epoch.
+	 */
+	private static long expiryOf(URLConnection response)
+	{
+		String cacheControl = response.getHeaderField("Cache-Control");
+		
+		if(cacheControl != null)
+		{
+			if(directiveOf(cacheControl, "no-cache") != null)
+			{
+				return 0L;
+			}
+			
+			String maxAge = directiveOf(cacheControl, "max-age");
+			
+			if(maxAge != null)
+			{
+				try
+				{
+					return System.currentTimeMillis() + Long.parseLong(maxAge) * 1000L;
+				}
+				catch(NumberFormatException e)
+				{
+					return 0L;
+				}
+			}
+		}
+		
+		if(response.getHeaderField("Expires") != null)
+		{
+			long expires = response.getExpiration();
+			long date = response.getDate();
+			
+			// Honour the lifetime the server intended, whatever our clock says.
+			return date > 0L && expires > 0L ? System.currentTimeMillis() + (expires - date) : expires;
+		}
+		
+		return 0L;
+	}
+	
+	/**
+	 * Finds a directive in a <code>Cache-Control</code> header.
+	 * @param  cacheControl The header value.
+	 * @param  name         The directive to find.
+	 * @return The directive's argument, an empty string if it has none, or null
+	 * 			   if the directive is absent.
+	 */
+	private static String directiveOf(String cacheControl, String name)
+	{
+		for(String directive : cacheControl.split(","))
+		{
+			String trimmed = directive.trim().toLowerCase(Locale.ROOT);
+			
+			if(trimmed.equals(name))
+			{
+				return "";
+			}
+			
+			if(trimmed.startsWith(name + "="))
+			{
+				String value = trimmed.substring(name.length() + 1);
+				
+				return value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"") ? value.substring(1, value.length() - 1) : value;
+			}
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Checks whether a response is one the cache can answer a conditional
+	 * 	   request with.
+	 * @param  connection The connection the response arrived on.
+	 * @return True if the server answered <code>304 Not Modified</code>.
+	 * @throws IOException Thrown if the server cannot be reached.
+	 */
+	static boolean isNotModified(URLConnection connection) throws IOException
+	{
+		return connection instanceof HttpURLConnection
+				&& ((HttpURLConnection)connection).getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED;
+	}
+	
+	/**
+	 * A cached response's metadata.
+	 */
+	static final class CachedResponse
+	{
+		/**
+		 * The key the entry is stored under.
+		 */
+		final String key;
+		
+		/**
+		 * The URL the response was downloaded from.
+		 */
+		final String url;
+		
+		/**
+		 * The response's ETag, or null if it had none.
+		 */
+		final String etag;
+		
+		/**
+		 * The response's Last-Modified date, or null if it had none.
+		 */
+		final String lastModified;
+		
+		/**
+		 * The time until which the entry may be served without revalidation, in
+		 * 	   milliseconds since the epoch.
+		 */
+		final long expires;
+		
+		/**
+		 * The length of the body, in bytes.
+		 */
+		final long length;
+		
+		/**
+		 * Creates a new cached response.
+		 * @param key          The key the entry is stored under.
+		 * @param url          The URL the response was downloaded from.
+		 * @param etag         The response's ETag, or null.
+		 * @param lastModified The response's Last-Modified date, or null.
+		 * @param expires      The time until which the entry is fresh.
+		 * @param length       The length of the body, in bytes.
+		 */
+		CachedResponse(String key, String url, String etag, String lastModified, long expires, long length)
+		{
+			this.key = key;
+			this.url = url;
+			this.etag = etag;
+			this.lastModified = lastModified;
+			this.expires = expires;
+			this.length = length;
+		}
+		
+		/**
+		 * Checks whether the entry may be served without contacting the server.
+		 * @return True if the entry has not expired.
+		 */
+		boolean isFresh()
+		{
+			return System.currentTimeMillis() < this.expires;
+		}
+		
+		/**
+		 * Checks whether the server can be asked whether the entry is unchanged.
+		 * @return True if the entry has a validator.
+		 */
+		boolean isRevalidatable()
+		{
+			return this.etag != null || this.lastModified != null;
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package com.attributestudios.api.util.io;
+
+import java.io.IOException;
+
+/**
+ * Receives events about the downloads made by a {@link ResourceDownloader}.
+ * 	   Events are delivered on the downloader's listener executor rather than
+ * 	   on the transfer thread, so a slow listener never holds up a download.
+ * 	   Events for a single download arrive in order when the executor runs
+ * 	   one task at a time, as the default executor does.
+ * 
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ * @see     DownloadAdapter
+ */
+public interface DownloadListener
+{
+	/**
+	 * Called when a download begins.
+	 * @param metrics The download's metrics.
+	 */
+	public void downloadStarted(DownloadMetrics metrics);
+	
+	/**
+	 * Called when a connection to the server is established.
+	 * @param metrics The download's metrics, including the connect time.
+	 */
+	public void connected(DownloadMetrics metrics);
+	
+	/**
+	 * Called when the first byte of the body arrives.
+	 * @param metrics The download's metrics, including the time to first byte.
+	 */
+	public void firstByteReceived(DownloadMetrics metrics);
+	
+	/**
+	 * Called periodically while the body is transferred.
+	 * @param metrics The download's metrics, including the current throughput.
+	 */
+	public void progressed(DownloadMetrics metrics);
+	
+	/**
+	 * Called when an attempt fails and the download is about to be retried.
+	 * @param metrics The download's metrics, including the retry count.
+	 * @param cause   The failure that caused the retry.
+	 */
+	public void retrying(DownloadMetrics metrics, IOException cause);
+	
+	/**
+	 * Called when a download completes.
+	 * @param metrics The download's final metrics.
+	 */
+	public void downloadCompleted(DownloadMetrics metrics);
+	
+	/**
+	 * Called when a download fails and will not be retried.
+	 * @param metrics The download's final metrics.
+	 * @param cause   The failure.
+	 */
+	public void downloadFailed(DownloadMetrics metrics, IOException cause);
+}
@@ -0,0 +1,443 @@
+package com.attributestudios.api.util.io;
+
+import java.io.File;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import com.attributestudios.api.util.logging.LoggingUtil;
+import com.attributestudios.api.util.logging.SimpleLogFormatter;
+
+/**
+ * Runs many downloads concurrently on a bounded pool, limiting both the
+ * 	   total number of transfers and the number of transfers to any one host.
+ * 	   Queued downloads start in order of priority, highest first, and in
+ * 	   submission order within a priority.  Every download is represented by a
+ * 	   {@link Future} that yields the downloaded file and may be cancelled.
+ * 
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.1
+ * @date.   2026-10-16
+ * @edited. 2026-10-16
+ */
+public class DownloadManager
+{
+	/**
+	 * The main logger for the download manager.
+	 */
+	private static Logger managerLog = LoggingUtil.constructLogger("Download Manager", new SimpleLogFormatter());
+	
+	/**
+	 * The default maximum number of transfers to a single host.
+	 */
+	public static final int DEFAULT_MAX_PER_HOST = 4;
+	
+	/**
+	 * The downloader each transfer is performed with.
+	 */
+	private final ResourceDownloader downloader;
+	
+	/**
+	 * The maximum number of transfers in progress at once.
+	 */
+	private final int maxConcurrent;
+	
+	/**
+	 * The maximum number of transfers to a single host in progress at once.
+	 */
+	private final int maxPerHost;
+	
+	/**
+	 * The pool transfers run on.
+	 */
+	private final ExecutorService executor;
+	
+	/**
+	 * Downloads waiting to start, in the order they should start.
+	 */
+	private final TreeSet<DownloadTask> pending = new TreeSet<DownloadTask>(new Comparator<DownloadTask>()
+	{
+		@Override
+		public int compare(DownloadTask a, DownloadTask b)
+		{
+			if(a.request.getPriority() != b.request.getPriority())
+			{
+				return a.request.getPriority() > b.request.getPriority() ? -1 : 1;
+			}
+			
+			return a.sequence < b.sequence ? -1 : (a.sequence == b.sequence ? 0 : 1);
+		}
+	});
+	
+	/**
+	 * The number of transfers in progress to each host.
+	 */
+	private final Map<String, Integer> activePerHost = new HashMap<String, Integer>();
+	
+	/**
+	 * The number of transfers in progress.
+	 */
+	private int active;
+	
+	/**
+	 * Whether the manager has been shut down.
+	 */
+	private boolean shutdown;
+	
+	/**
+	 * The source of submission sequence numbers.
+	 */
+	private final AtomicLong sequence = new AtomicLong();
+	
+	/**
+	 * Creates a new download manager with one transfer per available processor
+	 * 	   and the default per-host limit.
+	 * @param downloader The downloader each transfer is performed with.
+	 */
+	public DownloadManager(ResourceDownloader downloader)
+	{
+		this(downloader, Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_PER_HOST);
+	}
+	
+	/**
+	 * Creates a new download manager.
+	 * @param downloader    The downloader each transfer is performed with.
+	 * @param maxConcurrent The maximum number of transfers in progress at once.
+	 * @param maxPerHost    The maximum number of transfers to a single host in
+	 * 						    progress at once.
+	 */
+	public DownloadManager(ResourceDownloader downloader, int maxConcurrent, int maxPerHost)
+	{
+		if(maxConcurrent < 1 || maxPerHost < 1)
+		{
+			throw new IllegalArgumentException("Concurrency limits must be at least 1: " + maxConcurrent + ", " + maxPerHost);
+		}
+		
+		this.downloader = downloader;
+		this.maxConcurrent = maxConcurrent;
+		this.maxPerHost = maxPerHost;
+		this.executor = Executors.newFixedThreadPool(maxConcurrent, new ThreadFactory()
+		{
+			private final AtomicInteger count = new AtomicInteger();
+			
+			@Override
+			public Thread newThread(Runnable r)
+			{
+				Thread thread = new Thread(r, "Download-" + this.count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+	
+	/**
+	 * Gets the maximum number of transfers in progress at once.
+	 * @return The global concurrency limit.
+	 */
+	public int getMaxConcurrent()
+	{
+		return this.maxConcurrent;
+	}
+	
+	/**
+	 * Gets the maximum number of transfers to a single host in progress at once.
+	 * @return The per-host concurrency limit.
+	 */
+	public int getMaxPerHost()
+	{
+		return this.maxPerHost;
+	}
+	
+	/**
+	 * Queues a download of normal priority.
+	 * @param  resourceOnWeb      The URL of the web resource to download.
+	 * @param  downloadedLocation The file to save the downloaded data to.
+	 * @return The pending result of the download.
+	 */
+	public Future<File> submit(URL resourceOnWeb, File downloadedLocation)
+	{
+		return this.submit(new DownloadRequest(resourceOnWeb, downloadedLocation));
+	}
+	
+	/**
+	 * Queues a download.  Cancelling the returned future removes a queued
+	 * 	   download from the queue, or, if interruption is allowed, stops one in
+	 * 	   progress.
+	 * @param  request The download to queue.
+	 * @return The pending result of the download.  Its value is the downloaded
+	 * 			   file, as returned by {@link ResourceDownloader#downloadFile(URL, File)}.
+	 * @throws RejectedExecutionException Thrown if the manager has been shut down.
+	 */
+	public Future<File> submit(DownloadRequest request)
+	{
+		DownloadTask task = new DownloadTask(request, this.sequence.getAndIncrement());
+		
+		synchronized(this)
+		{
+			if(this.shutdown)
+			{
+				throw new RejectedExecutionException("Download manager has been shut down.");
+			}
+			
+			this.pending.add(task);
+			this.dispatch();
+		}
+		
+		return task;
+	}
+	
+	/**
+	 * Queues a batch of downloads.
+	 * @param  requests The downloads to queue.
+	 * @return The batch, through which the downloads may be awaited or cancelled
+	 * 			   together.
+	 * @throws RejectedExecutionException Thrown if the manager has been shut down.
+	 */
+	public DownloadBatch submitAll(Collection<DownloadRequest> requests)
+	{
+		List<Future<File>> downloads = new ArrayList<Future<File>>(requests.size());
+		
+		for(DownloadRequest request : requests)
+		{
+			downloads.add(this.submit(request));
+		}
+		
+		return new DownloadBatch(downloads);
+	}
+	
+	/**
+	 * Gets the number of downloads waiting to start.
+	 * @return The queue length.
+	 */
+	public synchronized int getPendingCount()
+	{
+		return this.pending.size();
+	}
+	
+	/**
+	 * Gets the number of downloads in progress.
+	 * @return The active transfer count.
+	 */
+	public synchronized int getActiveCount()
+	{
+		return this.active;
+	}
+	
+	/**
+	 * Stops accepting downloads.  Queued and running downloads still complete.
+	 */
+	public synchronized void shutdown()
+	{
+		this.shutdown = true;
+		
+		if(this.pending.isEmpty() && this.active == 0)
+		{
+			this.executor.shutdown();
+		}
+	}
+	
+	/**
+	 * Stops accepting downloads, cancels every queued download and interrupts
+	 * 	   every download in progress.
+	 * @return The number of queued downloads that were cancelled.
+	 */
+	public int shutdownNow()
+	{
+		List<DownloadTask> cancelled;
+		
+		synchronized(this)
+		{
+			this.shutdown = true;
+			cancelled = new ArrayList<DownloadTask>(this.pending);
+			this.pending.clear();
+		}
+		
+		for(DownloadTask task : cancelled)
+		{
+			task.cancel(false);
+		}
+		
+		this.executor.shutdownNow();
+		
+		return cancelled.size();
+	}
+	
+	/**
+	 * Waits for the pool to finish after a shutdown.
+	 * @param  timeout The maximum time to wait.
+	 * @param  unit    The unit of the timeout.
+	 * @return True if every transfer finished; false if the timeout elapsed.
+	 * @throws InterruptedException Thrown if the caller is interrupted while
+	 * 								    waiting.
+	 */
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException
+	{
+		return this.executor.awaitTermination(timeout, unit);
+	}
+	
+	/**
+	 * Starts as many queued downloads as the limits allow, highest priority
+	 * 	   first.  Downloads whose host is at its limit are passed over in favour
+	 * 	   of the next eligible download.  Must be called holding this manager's
+	 * 	   lock.
+	 */
+	private void dispatch()
+	{
+		Iterator<DownloadTask> tasks = this.pending.iterator();
+		
+		while(this.active < this.maxConcurrent && tasks.hasNext())
+		{
+			final DownloadTask task = tasks.next();
+			
+			if(task.isCancelled())
+			{
+				tasks.remove();
+				continue;
+			}
+			
+			Integer hostActive = this.activePerHost.get(task.host);
+			int count = hostActive == null ? 0 : hostActive;
+			
+			if(count >= this.maxPerHost)
+			{
+				continue;
+			}
+			
+			tasks.remove();
+			this.activePerHost.put(task.host, count + 1);
+			this.active++;
+			
+			this.executor.execute(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					try
+					{
+						task.run();
+					}
+					finally
+					{
+						finished(task);
+					}
+				}
+			});
+		}
+		
+		if(this.shutdown && this.pending.isEmpty() && this.active == 0)
+		{
+			this.executor.shutdown();
+		}
+	}
+	
+	/**
+	 * Releases a finished download's slots and starts any downloads waiting
+	 * 	   for them.
+	 * @param task The finished download.
+	 */
+	private synchronized void finished(DownloadTask task)
+	{
+		int count = this.activePerHost.get(task.host) - 1;
+		
+		if(count == 0)
+		{
+			this.activePerHost.remove(task.host);
+		}
+		else
+		{
+			this.activePerHost.put(task.host, count);
+		}
+		
+		this.active--;
+		this.dispatch();
+	}
+	
+	/**
+	 * Removes a cancelled download from the queue so that it does not hold its
+	 * 	   place.
+	 * @param task The cancelled download.
+	 */
+	private synchronized void cancelled(DownloadTask task)
+	{
+		if(this.pending.remove(task))
+		{
+			this.dispatch();
+		}
+	}
+	
+	/**
+	 * A queued download and its result.
+	 */
+	private final class DownloadTask extends FutureTask<File>
+	{
+		/**
+		 * The download to perform.
+		 */
+		final DownloadRequest request;
+		
+		/**
+		 * The order in which the download was submitted.
+		 */
+		final long sequence;
+		
+		/**
+		 * The host the download is fetched from, used for the per-host limit.
+		 */
+		final String host;
+		
+		/**
+		 * Creates a new download task.
+		 * @param request  The download to perform.
+		 * @param sequence The order in which the download was submitted.
+		 */
+		DownloadTask(final DownloadRequest request, long sequence)
+		{
+			super(new Callable<File>()
+			{
+				@Override
+				public File call() throws Exception
+				{
+					managerLog.fine("Starting download " + request);
+					
+					return downloader.downloadFile(request.getResource(), request.getTarget());
+				}
+			});
+			
+			this.request = request;
+			this.sequence = sequence;
+			
+			URL resource = request.getResource();
+			
+			// An explicit default port is the same host as an omitted one.
+			int port = resource.getPort() == -1 ? resource.getDefaultPort() : resource.getPort();
+			this.host = resource.getHost().toLowerCase(Locale.ROOT) + ":" + port;
+		}
+		
+		@Override
+		protected void done()
+		{
+			if(this.isCancelled())
+			{
+				cancelled(this);
+			}
+		}
+	}
+}
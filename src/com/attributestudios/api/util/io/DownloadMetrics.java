@@ -0,0 +1,177 @@
+package com.attributestudios.api.util.io;
+
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A snapshot of the timing and throughput of a single download.  Timings
+ * 	   describe the most recent attempt; byte counts and elapsed time cover
+ * 	   every attempt.
+ * 
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+public class DownloadMetrics
+{
+	/**
+	 * The URL being downloaded.
+	 */
+	private final URL resource;
+	
+	/**
+	 * The bytes received so far.
+	 */
+	private final long bytesTransferred;
+	
+	/**
+	 * The expected size of the resource, or -1 if unknown.
+	 */
+	private final long totalBytes;
+	
+	/**
+	 * The time taken to connect, in nanoseconds, or -1 if not yet connected.
+	 */
+	private final long connectNanos;
+	
+	/**
+	 * The time until the first byte of the body arrived, in nanoseconds, or -1
+	 * 	   if none has arrived.
+	 */
+	private final long firstByteNanos;
+	
+	/**
+	 * The time since the download began, in nanoseconds.
+	 */
+	private final long elapsedNanos;
+	
+	/**
+	 * The throughput over the most recent sampling interval, in bytes per second.
+	 */
+	private final double currentThroughput;
+	
+	/**
+	 * The number of times the download has been retried.
+	 */
+	private final int retries;
+	
+	/**
+	 * Creates a new metrics snapshot.
+	 * @param resource          The URL being downloaded.
+	 * @param bytesTransferred  The bytes received so far.
+	 * @param totalBytes        The expected size of the resource, or -1.
+	 * @param connectNanos      The time taken to connect, or -1.
+	 * @param firstByteNanos    The time until the first byte arrived, or -1.
+	 * @param elapsedNanos      The time since the download began.
+	 * @param currentThroughput The recent throughput, in bytes per second.
+	 * @param retries           The number of retries so far.
+	 */
+	DownloadMetrics(URL resource, long bytesTransferred, long totalBytes, long connectNanos, long firstByteNanos,
+			long elapsedNanos, double currentThroughput, int retries)
+	{
+		this.resource = resource;
+		this.bytesTransferred = bytesTransferred;
+		this.totalBytes = totalBytes;
+		this.connectNanos = connectNanos;
+		this.firstByteNanos = firstByteNanos;
+		this.elapsedNanos = elapsedNanos;
+		this.currentThroughput = currentThroughput;
+		this.retries = retries;
+	}
+	
+	/**
+	 * Gets the URL being downloaded.
+	 * @return The resource URL.
+	 */
+	public URL getResource()
+	{
+		return this.resource;
+	}
+	
+	/**
+	 * Gets the number of bytes of the resource received.  A retry that starts
+	 * 	   again from the beginning resets the count; one that resumes keeps the
+	 * 	   bytes it resumes from.
+	 * @return The bytes transferred.
+	 */
+	public long getBytesTransferred()
+	{
+		return this.bytesTransferred;
+	}
+	
+	/**
+	 * Gets the expected size of the resource.
+	 * @return The size in bytes, or -1 if the server did not report it.
+	 */
+	public long getTotalBytes()
+	{
+		return this.totalBytes;
+	}
+	
+	/**
+	 * Gets the time taken to connect to the server.
+	 * @param  unit The unit to express the time in.
+	 * @return The connect time, or -1 if not yet connected.
+	 */
+	public long getConnectTime(TimeUnit unit)
+	{
+		return this.connectNanos < 0L ? -1L : unit.convert(this.connectNanos, TimeUnit.NANOSECONDS);
+	}
+	
+	/**
+	 * Gets the time from the start of the attempt until the first byte of the
+	 * 	   body arrived.
+	 * @param  unit The unit to express the time in.
+	 * @return The time to first byte, or -1 if no byte has arrived.
+	 */
+	public long getTimeToFirstByte(TimeUnit unit)
+	{
+		return this.firstByteNanos < 0L ? -1L : unit.convert(this.firstByteNanos, TimeUnit.NANOSECONDS);
+	}
+	
+	/**
+	 * Gets the time since the download began.
+	 * @param  unit The unit to express the time in.
+	 * @return The elapsed time.
+	 */
+	public long getElapsedTime(TimeUnit unit)
+	{
+		return unit.convert(this.elapsedNanos, TimeUnit.NANOSECONDS);
+	}
+	
+	/**
+	 * Gets the throughput over the most recent sampling interval.
+	 * @return The current throughput, in bytes per second.
+	 */
+	public double getCurrentThroughput()
+	{
+		return this.currentThroughput;
+	}
+	
+	/**
+	 * Gets the throughput since the download began.
+	 * @return The average throughput, in bytes per second.
+	 */
+	public double getAverageThroughput()
+	{
+		return this.elapsedNanos <= 0L ? 0.0 : this.bytesTransferred * 1e9 / this.elapsedNanos;
+	}
+	
+	/**
+	 * Gets the number of times the download has been retried.
+	 * @return The retry count.
+	 */
+	public int getRetries()
+	{
+		return this.retries;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return this.resource + ": " + this.bytesTransferred + "/" + this.totalBytes + " bytes in "
+				+ this.getElapsedTime(TimeUnit.MILLISECONDS) + " ms, connect " + this.getConnectTime(TimeUnit.MILLISECONDS)
+				+ " ms, first byte " + this.getTimeToFirstByte(TimeUnit.MILLISECONDS) + " ms, "
+				+ (long)this.getAverageThroughput() + " B/s average, " + this.retries + " retries";
+	}
+}
@@ -0,0 +1,85 @@
+package com.attributestudios.api.util.io;
+
+import java.io.File;
+import java.net.URL;
+
+/**
+ * Describes a single download queued with a {@link DownloadManager}.
+ * 
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+public class DownloadRequest
+{
+	/**
+	 * The URL of the web resource to download.
+	 */
+	private final URL resource;
+	
+	/**
+	 * The file to save the downloaded data to.
+	 */
+	private final File target;
+	
+	/**
+	 * The priority of the download; higher priorities start first.
+	 */
+	private final int priority;
+	
+	/**
+	 * Creates a new download request of normal priority.
+	 * @param resource The URL of the web resource to download.
+	 * @param target   The file to save the downloaded data to.
+	 */
+	public DownloadRequest(URL resource, File target)
+	{
+		this(resource, target, 0);
+	}
+	
+	/**
+	 * Creates a new download request.
+	 * @param resource The URL of the web resource to download.
+	 * @param target   The file to save the downloaded data to.
+	 * @param priority The priority of the download; higher priorities start first.
+	 */
+	public DownloadRequest(URL resource, File target, int priority)
+	{
+		this.resource = resource;
+		this.target = target;
+		this.priority = priority;
+	}
+	
+	/**
+	 * Gets the URL of the web resource to download.
+	 * @return The resource URL.
+	 */
+	public URL getResource()
+	{
+		return this.resource;
+	}
+	
+	/**
+	 * Gets the file to save the downloaded data to.
+	 * @return The target file.
+	 */
+	public File getTarget()
+	{
+		return this.target;
+	}
+	
+	/**
+	 * Gets the priority of the download.
+	 * @return The priority; higher priorities start first.
+	 */
+	public int getPriority()
+	{
+		return this.priority;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return this.resource + " -> " + this.target + " (priority " + this.priority + ")";
+	}
+}
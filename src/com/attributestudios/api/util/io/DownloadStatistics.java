@@ -0,0 +1,208 @@
+package com.attributestudios.api.util.io;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Running totals over every download made by a {@link ResourceDownloader},
+ * 	   suitable for periodic export to a metrics system.  Every counter only
+ * 	   ever increases.
+ * 
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+public class DownloadStatistics
+{
+	/**
+	 * The number of downloads begun.
+	 */
+	private final AtomicLong started = new AtomicLong();
+	
+	/**
+	 * The number of downloads completed.
+	 */
+	private final AtomicLong completed = new AtomicLong();
+	
+	/**
+	 * The number of downloads that failed without further retries.
+	 */
+	private final AtomicLong failed = new AtomicLong();
+	
+	/**
+	 * The number of retried attempts.
+	 */
+	private final AtomicLong retries = new AtomicLong();
+	
+	/**
+	 * The number of bytes received.
+	 */
+	private final AtomicLong bytesTransferred = new AtomicLong();
+	
+	/**
+	 * The number of connect times recorded.
+	 */
+	private final AtomicLong connections = new AtomicLong();
+	
+	/**
+	 * The sum of recorded connect times, in nanoseconds.
+	 */
+	private final AtomicLong connectNanos = new AtomicLong();
+	
+	/**
+	 * The number of times to first byte recorded.
+	 */
+	private final AtomicLong firstBytes = new AtomicLong();
+	
+	/**
+	 * The sum of recorded times to first byte, in nanoseconds.
+	 */
+	private final AtomicLong firstByteNanos = new AtomicLong();
+	
+	/**
+	 * Gets the number of downloads begun.
+	 * @return The started count.
+	 */
+	public long getStarted()
+	{
+		return this.started.get();
+	}
+	
+	/**
+	 * Gets the number of downloads completed.
+	 * @return The completed count.
+	 */
+	public long getCompleted()
+	{
+		return this.completed.get();
+	}
+	
+	/**
+	 * Gets the number of downloads that failed without further retries.
+	 * @return The failed count.
+	 */
+	public long getFailed()
+	{
+		return this.failed.get();
+	}
+	
+	/**
+	 * Gets the number of retried attempts.
+	 * @return The retry count.
+	 */
+	public long getRetries()
+	{
+		return this.retries.get();
+	}
+	
+	/**
+	 * Gets the number of bytes received.
+	 * @return The bytes transferred.
+	 */
+	public long getBytesTransferred()
+	{
+		return this.bytesTransferred.get();
+	}
+	
+	/**
+	 * Gets the mean time taken to connect.
+	 * @param  unit The unit to express the time in.
+	 * @return The mean connect time, or 0 if none has been recorded.
+	 */
+	public long getAverageConnectTime(TimeUnit unit)
+	{
+		return average(this.connectNanos, this.connections, unit);
+	}
+	
+	/**
+	 * Gets the mean time to first byte.
+	 * @param  unit The unit to express the time in.
+	 * @return The mean time to first byte, or 0 if none has been recorded.
+	 */
+	public long getAverageTimeToFirstByte(TimeUnit unit)
+	{
+		return average(this.firstByteNanos, this.firstBytes, unit);
+	}
+	
+	/**
+	 * Records a download begun.
+	 */
+	void started()
+	{
+		this.started.incrementAndGet();
+	}
+	
+	/**
+	 * Records a download completed.
+	 */
+	void completed()
+	{
+		this.completed.incrementAndGet();
+	}
+	
+	/**
+	 * Records a download failed.
+	 */
+	void failed()
+	{
+		this.failed.incrementAndGet();
+	}
+	
+	/**
+	 * Records a retried attempt.
+	 */
+	void retried()
+	{
+		this.retries.incrementAndGet();
+	}
+	
+	/**
+	 * Records bytes received.
+	 * @param count The number of bytes.
+	 */
+	void transferred(long count)
+	{
+		this.bytesTransferred.addAndGet(count);
+	}
+	
+	/**
+	 * Records a connect time.
+	 * @param nanos The connect time, in nanoseconds.
+	 */
+	void connected(long nanos)
+	{
+		this.connectNanos.addAndGet(nanos);
+		this.connections.incrementAndGet();
+	}
+	
+	/**
+	 * Records a time to first byte.
+	 * @param nanos The time to first byte, in nanoseconds.
+	 */
+	void firstByte(long nanos)
+	{
+		this.firstByteNanos.addAndGet(nanos);
+		this.firstBytes.incrementAndGet();
+	}
+	
+	/**
+	 * Divides a sum by a count and converts the result from nanoseconds.
+	 * @param  sum   The sum, in nanoseconds.
+	 * @param  count The count.
+	 * @param  unit  The unit to express the result in.
+	 * @return The mean, or 0 if the count is zero.
+	 */
+	private static long average(AtomicLong sum, AtomicLong count, TimeUnit unit)
+	{
+		long n = count.get();
+		
+		return n == 0L ? 0L : unit.convert(sum.get() / n, TimeUnit.NANOSECONDS);
+	}
+	
+	@Override
+	public String toString()
+	{
+		return "started=" + this.getStarted() + ", completed=" + this.getCompleted() + ", failed=" + this.getFailed()
+				+ ", retries=" + this.getRetries() + ", bytes=" + this.getBytesTransferred();
+	}
+}
@@ -0,0 +1,36 @@
+package com.attributestudios.api.util.io;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLConnection;
+
+/**
+ * Opens the connections a {@link ResourceDownloader} fetches resources over,
+ * 	   and decides how each is cleaned up.  A single transport is shared by
+ * 	   every download made by a downloader, and must be safe to use from
+ * 	   several threads at once.
+ * 
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ * @see     KeepAliveTransport
+ * @see     UrlConnectionTransport
+ */
+public interface DownloadTransport
+{
+	/**
+	 * Opens an unconnected connection to a resource.  The caller may add
+	 * 	   request headers before connecting.
+	 * @param  resource The URL of the resource.
+	 * @return The connection.
+	 * @throws IOException Thrown if the connection cannot be created.
+	 */
+	public URLConnection openConnection(URL resource) throws IOException;
+	
+	/**
+	 * Releases a connection whose response the downloader will not read, such
+	 * 	   as a refused range request or a <code>HEAD</code> probe.
+	 * @param connection The connection to release.
+	 */
+	public void release(URLConnection connection);
+}
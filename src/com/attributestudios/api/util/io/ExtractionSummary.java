@@ -0,0 +1,111 @@
+package com.attributestudios.api.util.io;
+
+/**
+ * The outcome of a sync extraction by {@link ZippingUtils}: how many entries
+ * 	   were written or skipped as unchanged, and how many stale files and
+ * 	   directories were removed.
+ *
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+public class ExtractionSummary
+{
+	/**
+	 * The number of entries written.
+	 */
+	private final int written;
+	
+	/**
+	 * The number of entries skipped as unchanged.
+	 */
+	private final int skipped;
+	
+	/**
+	 * The number of stale files and directories removed.
+	 */
+	private final int removed;
+	
+	/**
+	 * The number of bytes written.
+	 */
+	private final long bytesWritten;
+	
+	/**
+	 * The number of bytes not written because their entries were unchanged.
+	 */
+	private final long bytesSkipped;
+	
+	/**
+	 * Creates a new extraction summary.
+	 * @param written      The number of entries written.
+	 * @param skipped      The number of entries skipped as unchanged.
+	 * @param removed      The number of stale files and directories removed.
+	 * @param bytesWritten The number of bytes written.
+	 * @param bytesSkipped The number of bytes not written.
+	 */
+	ExtractionSummary(int written, int skipped, int removed, long bytesWritten, long bytesSkipped)
+	{
+		this.written = written;
+		this.skipped = skipped;
+		this.removed = removed;
+		this.bytesWritten = bytesWritten;
+		this.bytesSkipped = bytesSkipped;
+	}
+	
+	/**
+	 * Gets the number of file entries written, because they were missing or
+	 * 	   differed from the file on disk.
+	 * @return The written count.
+	 */
+	public int getWritten()
+	{
+		return this.written;
+	}
+	
+	/**
+	 * Gets the number of file entries skipped because the file on disk already
+	 * 	   matched them.
+	 * @return The skipped count.
+	 */
+	public int getSkipped()
+	{
+		return this.skipped;
+	}
+	
+	/**
+	 * Gets the number of files and directories removed because they are no
+	 * 	   longer in the archive.
+	 * @return The removed count; zero unless removal was requested.
+	 */
+	public int getRemoved()
+	{
+		return this.removed;
+	}
+	
+	/**
+	 * Gets the number of bytes written.
+	 * @return The extracted size of the written entries.
+	 */
+	public long getBytesWritten()
+	{
+		return this.bytesWritten;
+	}
+	
+	/**
+	 * Gets the number of bytes not written because their entries were
+	 * 	   unchanged.
+	 * @return The extracted size of the skipped entries.
+	 */
+	public long getBytesSkipped()
+	{
+		return this.bytesSkipped;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return "written=" + this.written + " (" + this.bytesWritten + " bytes), skipped=" + this.skipped
+				+ " (" + this.bytesSkipped + " bytes), removed=" + this.removed;
+	}
+}
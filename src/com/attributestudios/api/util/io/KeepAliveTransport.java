@@ -0,0 +1,202 @@
+package com.attributestudios.api.util.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+
+/**
+ * The default {@link DownloadTransport}.  It applies connect and read
+ * 	   timeouts to every connection, bypasses the JVM-wide response cache, and
+ * 	   keeps HTTP connections alive between downloads: a released connection
+ * 	   has its remaining response drained and closed, rather than disconnected,
+ * 	   so that its socket returns to the JVM's keep-alive pool and the next
+ * 	   request to the same host skips the TCP and TLS handshakes.  The pool's
+ * 	   size per host is governed by the <code>http.maxConnections</code> system
+ * 	   property.
+ * 
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.1
+ * @date.   2026-10-16
+ * @edited. 2026-10-16
+ */
+public class KeepAliveTransport implements DownloadTransport
+{
+	/**
+	 * The default time allowed to establish a connection, in milliseconds.
+	 */
+	public static final int DEFAULT_CONNECT_TIMEOUT = 30000;
+	
+	/**
+	 * The default time allowed between bytes of a response, in milliseconds.
+	 */
+	public static final int DEFAULT_READ_TIMEOUT = 60000;
+	
+	/**
+	 * The most of an unwanted response that is drained to keep its connection
+	 * 	   alive; anything longer is cheaper to disconnect.
+	 */
+	private static final int MAX_DRAIN = 64 * 1024;
+	
+	/**
+	 * The time allowed to establish a connection, in milliseconds.
+	 */
+	private volatile int connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+	
+	/**
+	 * The time allowed between bytes of a response, in milliseconds.
+	 */
+	private volatile int readTimeout = DEFAULT_READ_TIMEOUT;
+	
+	/**
+	 * The <code>User-Agent</code> sent with each request, or null for the JVM's.
+	 */
+	private volatile String userAgent;
+	
+	/**
+	 * Gets the time allowed to establish a connection.
+	 * @return The connect timeout, in milliseconds; 0 means no limit.
+	 */
+	public int getConnectTimeout()
+	{
+		return this.connectTimeout;
+	}
+	
+	/**
+	 * Sets the time allowed to establish a connection.
+	 * @param connectTimeout The connect timeout, in milliseconds; 0 for no limit.
+	 */
+	public void setConnectTimeout(int connectTimeout)
+	{
+		if(connectTimeout < 0)
+		{
+			throw new IllegalArgumentException("Timeout cannot be negative: " + connectTimeout);
+		}
+		
+		this.connectTimeout = connectTimeout;
+	}
+	
+	/**
+	 * Gets the time allowed between bytes of a response.
+	 * @return The read timeout, in milliseconds; 0 means no limit.
+	 */
+	public int getReadTimeout()
+	{
+		return this.readTimeout;
+	}
+	
+	/**
+	 * Sets the time allowed between bytes of a response.  A stalled transfer
+	 * 	   fails with a timeout once this passes, and may then be retried.
+	 * @param readTimeout The read timeout, in milliseconds; 0 for no limit.
+	 */
+	public void setReadTimeout(int readTimeout)
+	{
+		if(readTimeout < 0)
+		{
+			throw new IllegalArgumentException("Timeout cannot be negative: " + readTimeout);
+		}
+		
+		this.readTimeout = readTimeout;
+	}
+	
+	/**
+	 * Gets the <code>User-Agent</code> sent with each request.
+	 * @return The user agent, or null if the JVM's default is sent.
+	 */
+	public String getUserAgent()
+	{
+		return this.userAgent;
+	}
+	
+	/**
+	 * Sets the <code>User-Agent</code> sent with each request.
+	 * @param userAgent The user agent, or null to send the JVM's default.
+	 */
+	public void setUserAgent(String userAgent)
+	{
+		this.userAgent = userAgent;
+	}
+	
+	@Override
+	public URLConnection openConnection(URL resource) throws IOException
+	{
+		URLConnection connection = resource.openConnection();
+		connection.setConnectTimeout(this.connectTimeout);
+		connection.setReadTimeout(this.readTimeout);
+		connection.setUseCaches(false);
+		
+		if(this.userAgent != null)
+		{
+			connection.setRequestProperty("User-Agent", this.userAgent);
+		}
+		
+		if(connection instanceof HttpURLConnection)
+		{
+			HttpURLConnection http = (HttpURLConnection)connection;
+			http.setInstanceFollowRedirects(true);
+			http.setRequestProperty("Connection", "keep-alive");
+		}
+		
+		return connection;
+	}
+	
+	@Override
+	public void release(URLConnection connection)
+	{
+		if(!(connection instanceof HttpURLConnection))
+		{
+			return;
+		}
+		
+		HttpURLConnection http = (HttpURLConnection)connection;
+		
+		try
+		{
+			int responseCode = http.getResponseCode();
+			long length = http.getContentLengthLong();
+			
+			// HEAD, 204 and 304 responses have no body, whatever their Content-Length says.
+			if(!hasNoBody(http, responseCode) && (length < 0L || length > MAX_DRAIN))
+			{
+				http.disconnect();
+				return;
+			}
+			
+			InputStream body = responseCode >= 400 ? http.getErrorStream() : http.getInputStream();
+			
+			if(body != null)
+			{
+				try(InputStream in = body)
+				{
+					byte[] buffer = new byte[4096];
+					
+					while(in.read(buffer) >= 0)
+					{
+						// Discard; a fully read response frees the connection for reuse.
+					}
+				}
+			}
+		}
+		catch(IOException e)
+		{
+			http.disconnect();
+		}
+	}
+	
+	/**
+	 * Checks whether a response has no body to drain: the answer to a
+	 * 	   <code>HEAD</code> request, whose Content-Length is that of the
+	 * 	   resource, or a <code>1xx</code>, <code>204 No Content</code> or
+	 * 	   <code>304 Not Modified</code> response.
+	 * @param  http         The connection.
+	 * @param  responseCode The response's status code.
+	 * @return True if the response has no body.
+	 */
+	private static boolean hasNoBody(HttpURLConnection http, int responseCode)
+	{
+		return "HEAD".equals(http.getRequestMethod()) || (responseCode >= 100 && responseCode < 200)
+				|| responseCode == HttpURLConnection.HTTP_NO_CONTENT || responseCode == HttpURLConnection.HTTP_NOT_MODIFIED;
+	}
+}
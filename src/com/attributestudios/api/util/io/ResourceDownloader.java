@@ -1,15 +1,52 @@
 package com.attributestudios.api.util.io;
 
 import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.attributestudios.api.util.crypto.HashUtils;
+import com.attributestudios.api.util.crypto.HashUtils.HashingType;
+import com.attributestudios.api.util.crypto.MultiHashResult;
 import com.attributestudios.api.util.logging.LoggingUtil;
 import com.attributestudios.api.util.logging.SimpleLogFormatter;
 
@@ -17,8 +54,9 @@ import com.attributestudios.api.util.logging.SimpleLogFormatter;
  * Provides a utility for downloading a file from the internet.
  * 
  * @author  Bridger Maskrey (maskreybe@live.com)
- * @version 1.0.0
+ * @version 1.1.0
  * @date.	2014-08-18
+ * @edited. 2026-10-16
  */
 public class ResourceDownloader
 {
@@ -26,7 +64,383 @@ public class ResourceDownloader
 	 * A logger with which to output any download-specific debug information.
 	 */
 	private static Logger dlLogger = LoggingUtil.constructLogger("Downloader", new SimpleLogFormatter());
-
+	
+	/**
+	 * The default size of each byte range fetched by a parallel download.
+	 * @since 1.1.0
+	 */
+	public static final long DEFAULT_SEGMENT_SIZE = 4L * 1024L * 1024L;
+	
+	/**
+	 * The default size of the buffer a download is read through.
+	 * @since 1.1.0
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+	
+	/**
+	 * The largest region moved by a single {@link FileChannel#transferFrom} call
+	 * 	   when copying a local resource, so that progress is reported regularly.
+	 */
+	private static final long LOCAL_TRANSFER_SIZE = 64L * 1024L * 1024L;
+	
+	/**
+	 * The interval, in milliseconds, between progress log messages.
+	 */
+	private static final long PROGRESS_INTERVAL = 5000L;
+	
+	/**
+	 * The minimum time between progress events sent to listeners, in nanoseconds.
+	 */
+	private static final long PROGRESS_EVENT_INTERVAL = 500L * 1000L * 1000L;
+	
+	/**
+	 * The delay before the first retry, in milliseconds; each further retry
+	 * 	   waits twice as long as the one before.
+	 */
+	private static final long RETRY_DELAY = 500L;
+	
+	/**
+	 * The longest delay between retries, in milliseconds.
+	 */
+	private static final long MAX_RETRY_DELAY = 30000L;
+	
+	/**
+	 * The time the default listener thread waits idle before it exits, in
+	 * 	   seconds.  It is started again by the next event.
+	 */
+	private static final long LISTENER_KEEP_ALIVE = 30L;
+	
+	/**
+	 * The suffix of the file a resumable download is written to until it
+	 * 	   completes.
+	 * @since 1.1.0
+	 */
+	public static final String PART_SUFFIX = ".part";
+	
+	/**
+	 * The suffix of the checkpoint file kept beside a partial download.
+	 */
+	private static final String CHECKPOINT_SUFFIX = ".ckpt";
+	
+	/**
+	 * The number of bytes received between checkpoints of a resumable download.
+	 */
+	private static final long CHECKPOINT_INTERVAL = 8L * 1024L * 1024L;
+	
+	/**
+	 * The maximum number of connections used to fetch a single file.
+	 */
+	private int connections = 1;
+	
+	/**
+	 * The size of each byte range fetched by a parallel download.
+	 */
+	private long segmentSize = DEFAULT_SEGMENT_SIZE;
+	
+	/**
+	 * The size of the buffer each connection reads through.
+	 */
+	private int bufferSize = DEFAULT_BUFFER_SIZE;
+	
+	/**
+	 * Whether interrupted downloads may be resumed.
+	 */
+	private boolean resumable;
+	
+	/**
+	 * The cache responses are served from and stored in, or null for none.
+	 */
+	private DownloadCache cache;
+	
+	/**
+	 * Whether downloads with expected digests may use several connections and
+	 * 	   be verified by reading the file back.
+	 */
+	private boolean verifyParallelDownloads;
+	
+	/**
+	 * The number of times a failed download is retried.
+	 */
+	private int maxRetries;
+	
+	/**
+	 * The listeners notified of download events.
+	 */
+	private final List<DownloadListener> listeners = new CopyOnWriteArrayList<DownloadListener>();
+	
+	/**
+	 * The executor listener events are delivered on, or null until the default
+	 * 	   is first needed.
+	 */
+	private Executor listenerExecutor;
+	
+	/**
+	 * Running totals over every download.
+	 */
+	private final DownloadStatistics statistics = new DownloadStatistics();
+	
+	/**
+	 * The transport connections are opened with.
+	 */
+	private DownloadTransport transport = new KeepAliveTransport();
+	
+	/**
+	 * Gets the maximum number of connections used to fetch a single file.
+	 * @return The connection count; 1 if parallel downloads are disabled.
+	 * @since  1.1.0
+	 */
+	public int getConnections()
+	{
+		return this.connections;
+	}
+	
+	/**
+	 * Sets the maximum number of connections used to fetch a single file.  When
+	 * 	   greater than 1, and the server advertises <code>Accept-Ranges: bytes</code>
+	 * 	   and a content length spanning at least two segments, the file is split
+	 * 	   into byte ranges that are fetched concurrently, each on its own
+	 * 	   connection, and written at their offsets in the output file.
+	 * @param connections The connection count; 1 disables parallel downloads.
+	 * @since 1.1.0
+	 */
+	public void setConnections(int connections)
+	{
+		if(connections < 1)
+		{
+			throw new IllegalArgumentException("At least one connection is required: " + connections);
+		}
+		
+		this.connections = connections;
+	}
+	
+	/**
+	 * Gets the size of each byte range fetched by a parallel download.
+	 * @return The segment size, in bytes.
+	 * @since  1.1.0
+	 */
+	public long getSegmentSize()
+	{
+		return this.segmentSize;
+	}
+	
+	/**
+	 * Sets the size of each byte range fetched by a parallel download.
+	 * @param segmentSize The segment size, in bytes.
+	 * @since 1.1.0
+	 */
+	public void setSegmentSize(long segmentSize)
+	{
+		if(segmentSize < 1L)
+		{
+			throw new IllegalArgumentException("Segment size must be positive: " + segmentSize);
+		}
+		
+		this.segmentSize = segmentSize;
+	}
+	
+	/**
+	 * Gets the size of the buffer each connection reads through.
+	 * @return The buffer size, in bytes.
+	 * @since  1.1.0
+	 */
+	public int getBufferSize()
+	{
+		return this.bufferSize;
+	}
+	
+	/**
+	 * Sets the size of the buffer each connection reads through.  Received data
+	 * 	   is read straight into this buffer and written from it to the output
+	 * 	   file's channel, so larger buffers mean fewer system calls per gigabyte.
+	 * @param bufferSize The buffer size, in bytes.
+	 * @since 1.1.0
+	 */
+	public void setBufferSize(int bufferSize)
+	{
+		if(bufferSize < 1)
+		{
+			throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+		}
+		
+		this.bufferSize = bufferSize;
+	}
+	
+	/**
+	 * Gets whether interrupted downloads may be resumed.
+	 * @return True if downloads are resumable.
+	 * @since  1.1.0
+	 */
+	public boolean isResumable()
+	{
+		return this.resumable;
+	}
+	
+	/**
+	 * Sets whether interrupted downloads may be resumed.  A resumable download
+	 * 	   is written to a file with the {@link #PART_SUFFIX} beside the output
+	 * 	   file, and a small checkpoint records the last offset known to be on
+	 * 	   disk along with the resource's ETag or Last-Modified date.  When the
+	 * 	   same URL is next downloaded to the same location, an HTTP
+	 * 	   <code>Range</code> request continues from that offset, guarded by
+	 * 	   <code>If-Range</code> so that a changed resource is fetched afresh.
+	 * 	   Servers that do not support ranges fall back to a full download.  The
+	 * 	   part file is moved into place once the download completes.
+	 * @param resumable True to make downloads resumable.
+	 * @since 1.1.0
+	 */
+	public void setResumable(boolean resumable)
+	{
+		this.resumable = resumable;
+	}
+	
+	/**
+	 * Gets the cache responses are served from and stored in.
+	 * @return The cache, or null if downloads are not cached.
+	 * @since 1.1.0
+	 */
+	public DownloadCache getCache()
+	{
+		return this.cache;
+	}
+	
+	/**
+	 * Sets the cache responses are served from and stored in.  A cached
+	 * 	   response that is still fresh is copied out without contacting the
+	 * 	   server; a stale one is revalidated with <code>If-None-Match</code> and
+	 * 	   <code>If-Modified-Since</code>, and copied out if the server answers
+	 * 	   <code>304 Not Modified</code>.  Every full response is stored.  Because
+	 * 	   an entry is stored with the headers of the response that carried its
+	 * 	   body, cached downloads always use a single connection.
+	 * @param cache The cache to use, or null to stop caching.
+	 * @since 1.1.0
+	 */
+	public void setCache(DownloadCache cache)
+	{
+		this.cache = cache;
+	}
+	
+	/**
+	 * Gets whether downloads with expected digests may use several connections.
+	 * @return True if such downloads may be fetched in parallel and verified
+	 * 			   afterwards.
+	 * @since 1.1.0
+	 */
+	public boolean isVerifyParallelDownloads()
+	{
+		return this.verifyParallelDownloads;
+	}
+	
+	/**
+	 * Sets whether downloads with expected digests may use several connections.
+	 * 	   Byte ranges arrive out of order, so their digests cannot be computed as
+	 * 	   they are written.  By default such downloads use a single connection
+	 * 	   and are verified inline; when this is enabled they are fetched in
+	 * 	   parallel and verified by reading the finished file once more.
+	 * @param verifyParallelDownloads True to allow parallel downloads followed
+	 * 								      by a verification pass.
+	 * @since 1.1.0
+	 */
+	public void setVerifyParallelDownloads(boolean verifyParallelDownloads)
+	{
+		this.verifyParallelDownloads = verifyParallelDownloads;
+	}
+	
+	/**
+	 * Gets the number of times a failed download is retried.
+	 * @return The retry limit; 0 if failed downloads are not retried.
+	 * @since 1.1.0
+	 */
+	public int getMaxRetries()
+	{
+		return this.maxRetries;
+	}
+	
+	/**
+	 * Sets the number of times a failed download is retried.  Retries wait
+	 * 	   with exponential backoff, and a resumable download continues from its
+	 * 	   checkpoint.  Missing resources and cancelled downloads are not retried.
+	 * @param maxRetries The retry limit; 0 to disable retries.
+	 * @since 1.1.0
+	 */
+	public void setMaxRetries(int maxRetries)
+	{
+		if(maxRetries < 0)
+		{
+			throw new IllegalArgumentException("Retry limit cannot be negative: " + maxRetries);
+		}
+		
+		this.maxRetries = maxRetries;
+	}
+	
+	/**
+	 * Registers a listener to be notified of download events.
+	 * @param listener The listener to add.
+	 * @since 1.1.0
+	 */
+	public void addDownloadListener(DownloadListener listener)
+	{
+		this.listeners.add(listener);
+	}
+	
+	/**
+	 * Stops notifying a listener of download events.
+	 * @param listener The listener to remove.
+	 * @since 1.1.0
+	 */
+	public void removeDownloadListener(DownloadListener listener)
+	{
+		this.listeners.remove(listener);
+	}
+	
+	/**
+	 * Sets the executor listener events are delivered on.  By default, events
+	 * 	   are delivered in order on a single background thread, which exits
+	 * 	   once it has been idle for a while.
+	 * @param listenerExecutor The executor to deliver events on.
+	 * @since 1.1.0
+	 */
+	public synchronized void setListenerExecutor(Executor listenerExecutor)
+	{
+		this.listenerExecutor = listenerExecutor;
+	}
+	
+	/**
+	 * Gets the transport connections are opened with.
+	 * @return The transport; a {@link KeepAliveTransport} unless another was set.
+	 * @since 1.1.0
+	 */
+	public DownloadTransport getTransport()
+	{
+		return this.transport;
+	}
+	
+	/**
+	 * Sets the transport connections are opened with.  Use an
+	 * 	   {@link UrlConnectionTransport} to open connections with the JVM's
+	 * 	   defaults, as earlier versions did.
+	 * @param transport The transport to use.
+	 * @since 1.1.0
+	 */
+	public void setTransport(DownloadTransport transport)
+	{
+		if(transport == null)
+		{
+			throw new IllegalArgumentException("Transport cannot be null.");
+		}
+		
+		this.transport = transport;
+	}
+	
+	/**
+	 * Gets running totals over every download made by this downloader.
+	 * @return The download statistics.
+	 * @since 1.1.0
+	 */
+	public DownloadStatistics getStatistics()
+	{
+		return this.statistics;
+	}
+	
 	/**
 	 * Downloads a file from a specified URL to the downloaded location.
 	 * 
@@ -37,6 +451,51 @@ public class ResourceDownloader
 	 */
 	public File downloadFile(URL resourceOnWeb, File downloadedLocation) throws IOException
 	{
+		return this.downloadFile(resourceOnWeb, downloadedLocation, Collections.<HashingType, String>emptyMap());
+	}
+	
+	/**
+	 * Downloads a file from a specified URL to the downloaded location,
+	 * 	   verifying it against one or more expected digests.  The digests are
+	 * 	   computed on the bytes as they are written, so the file is not read
+	 * 	   again.  If any digest does not match, the downloaded data is deleted.
+	 * 
+	 * @param resourceOnWeb 	 The URL of the web resource to download.
+	 * @param downloadedLocation The file to save the downloaded data to.
+	 * @param expectedDigests    The expected hexadecimal digest for each
+	 * 							     algorithm to verify with.  May be empty.
+	 * @return The downloaded file, if it exists. Otherwise, return null.
+	 * @throws IOException Thrown if any portion of the download fails to complete,
+	 * 					       or if the downloaded data does not match a digest.
+	 * @since 1.1.0
+	 */
+	public File downloadFile(final URL resourceOnWeb, final File downloadedLocation, final Map<HashingType, String> expectedDigests) throws IOException
+	{
+		return this.withRetries(resourceOnWeb, new Attempt<File>()
+		{
+			@Override
+			public File run(Progress progress) throws IOException
+			{
+				return attemptDownload(resourceOnWeb, downloadedLocation, expectedDigests, progress);
+			}
+		});
+	}
+	
+	/**
+	 * Makes one attempt to download a file.
+	 * @param  resourceOnWeb      The URL of the web resource to download.
+	 * @param  downloadedLocation The file to save the downloaded data to.
+	 * @param  expectedDigests    The expected hexadecimal digest for each
+	 * 							      algorithm to verify with.
+	 * @param  progress           The download's progress.
+	 * @return The downloaded file, if it exists. Otherwise, return null.
+	 * @throws IOException Thrown if any portion of the download fails to complete,
+	 * 					       or if the downloaded data does not match a digest.
+	 */
+	private File attemptDownload(URL resourceOnWeb, File downloadedLocation, Map<HashingType, String> expectedDigests, Progress progress) throws IOException
+	{
+		DigestCheck check = expectedDigests.isEmpty() ? null : new DigestCheck(expectedDigests);
+		
 		// Make all directories for the downloaded file.
 		dlLogger.info("Making parent directories for " + downloadedLocation + "...");
 		downloadedLocation.getParentFile().mkdirs();
@@ -48,9 +507,111 @@ public class ResourceDownloader
 			downloadedLocation.delete();
 		}
 		
-		dlLogger.info("Connecting to " + resourceOnWeb);
-		// Open a connection to the website.
-		URLConnection connection = resourceOnWeb.openConnection();
+		if("file".equals(resourceOnWeb.getProtocol()))
+		{
+			this.copyLocal(resourceOnWeb, downloadedLocation, progress);
+			this.verifyCopy(check, resourceOnWeb, downloadedLocation, false);
+			
+			return downloadedLocation.exists() ? downloadedLocation : null;
+		}
+		
+		URLConnection connection = null;
+		
+		if(this.cache != null)
+		{
+			DownloadCache.CachedResponse cached = this.cache.lookup(resourceOnWeb);
+			
+			if(cached != null && cached.isFresh())
+			{
+				dlLogger.info("Serving " + resourceOnWeb + " from the cache.");
+				this.cache.serve(cached, downloadedLocation, false);
+				this.verifyCopy(check, resourceOnWeb, downloadedLocation, true);
+				
+				return downloadedLocation.exists() ? downloadedLocation : null;
+			}
+			
+			if(cached != null && cached.isRevalidatable())
+			{
+				dlLogger.info("Revalidating cached copy of " + resourceOnWeb);
+				connection = this.transport.openConnection(resourceOnWeb);
+				DownloadCache.addConditions(connection, cached);
+				
+				if(DownloadCache.isNotModified(connection))
+				{
+					dlLogger.info(resourceOnWeb + " is unchanged. Serving it from the cache.");
+					this.cache.refresh(cached, connection);
+					this.transport.release(connection);
+					this.cache.serve(cached, downloadedLocation, true);
+					this.verifyCopy(check, resourceOnWeb, downloadedLocation, true);
+					
+					return downloadedLocation.exists() ? downloadedLocation : null;
+				}
+			}
+			
+			this.cache.missed();
+		}
+		
+		File partFile = this.resumable ? new File(downloadedLocation.getPath() + PART_SUFFIX) : downloadedLocation;
+		// A conditional request that returned a new body has already started the download afresh.
+		Checkpoint checkpoint = this.resumable && connection == null ? Checkpoint.load(partFile, resourceOnWeb) : null;
+		
+		if(this.connections > 1 && checkpoint == null && this.cache == null && (check == null || this.verifyParallelDownloads))
+		{
+			RangeSupport ranges = this.probeRanges(resourceOnWeb);
+			
+			if(ranges != null && ranges.contentLength >= this.segmentSize * 2L)
+			{
+				try
+				{
+					this.downloadRanged(resourceOnWeb, downloadedLocation, ranges, progress);
+					this.verifyCopy(check, resourceOnWeb, downloadedLocation, false);
+					
+					return downloadedLocation.exists() ? downloadedLocation : null;
+				}
+				catch(RangeRefusedException e)
+				{
+					// The resource changed since the probe, or the server ignores ranges after all.
+					dlLogger.info(e.getMessage() + ". Using a single connection.");
+				}
+			}
+			else
+			{
+				dlLogger.info(resourceOnWeb + " does not support parallel download. Using a single connection.");
+			}
+		}
+		
+		if(connection == null)
+		{
+			dlLogger.info("Connecting to " + resourceOnWeb);
+			// Open a connection to the website.
+			connection = this.transport.openConnection(resourceOnWeb);
+		}
+		
+		long offset = 0L;
+		
+		if(checkpoint != null)
+		{
+			if(requestResume(connection, checkpoint))
+			{
+				dlLogger.info("Resuming " + resourceOnWeb + " from byte " + checkpoint.offset);
+				offset = checkpoint.offset;
+			}
+			else
+			{
+				dlLogger.info("Server will not resume " + resourceOnWeb + ". Restarting from the beginning...");
+				
+				// A changed resource arrives whole in answer to If-Range; anything else is asked for again.
+				if(!(connection instanceof HttpURLConnection) || ((HttpURLConnection)connection).getResponseCode() != HttpURLConnection.HTTP_OK)
+				{
+					this.transport.release(connection);
+					connection = this.transport.openConnection(resourceOnWeb);
+				}
+			}
+		}
+		
+		connection.connect();
+		progress.connected();
+		
 		long contentLength = connection.getContentLengthLong();
 		
 		// Warn if the download is of indeterminate size.
@@ -60,35 +621,1386 @@ public class ResourceDownloader
 		}
 		else
 		{
+			contentLength += offset;
 			dlLogger.info(resourceOnWeb + " reports size of " + contentLength + " bytes.");
 		}
 		
-		long currentTime = System.currentTimeMillis();
+		String validator = this.resumable ? validatorOf(connection) : null;
+		progress.expect(contentLength);
+		progress.restart(offset);
+		long position = offset;
+		long checkpointed = offset;
 		
 		dlLogger.info("Downloading file from " + resourceOnWeb);		
 		// Try with resources to download and write the file.
 		try(InputStream downloadStream = connection.getInputStream();
-			BufferedInputStream downloadStreamBuffer = new BufferedInputStream(downloadStream);
-			FileOutputStream output = new FileOutputStream(downloadedLocation);
-			BufferedOutputStream out = new BufferedOutputStream(output))
+			FileChannel out = FileChannel.open(partFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE))
 		{
-			int bufferSize = 1024; //TODO: Make this alterable
-			byte[] buffer = new byte[bufferSize];
+			// Discard anything past the durable offset, or everything when restarting.
+			out.truncate(offset);
 			
-			int read;
+			if(check != null && offset > 0L)
+			{
+				// The digests must cover the bytes received by the earlier attempt.
+				check.update(out, offset);
+			}
 			
-			while((read = downloadStreamBuffer.read(buffer, 0, bufferSize)) > -1)
+			try
+			{
+				byte[] buffer = new byte[this.bufferSize];
+				ByteBuffer wrapper = ByteBuffer.wrap(buffer);
+				
+				int read;
+				
+				while((read = downloadStream.read(buffer, 0, buffer.length)) > -1)
+				{
+					wrapper.clear().limit(read);
+					position = writeFully(out, wrapper, position);
+					progress.add(read);
+					checkInterrupted(resourceOnWeb);
+					
+					if(check != null)
+					{
+						check.update(buffer, 0, read);
+					}
+					
+					if(validator != null && position - checkpointed >= CHECKPOINT_INTERVAL)
+					{
+						out.force(false);
+						new Checkpoint(resourceOnWeb, validator, position).save(partFile);
+						checkpointed = position;
+					}
+				}
+				
+				if(contentLength != -1L && position < contentLength)
+				{
+					throw new IOException("Download of " + resourceOnWeb + " ended early at byte " + position + " of " + contentLength);
+				}
+			}
+			catch(IOException e)
 			{
-				out.write(buffer, 0, read);
-				if(System.currentTimeMillis() - currentTime >= 5000)
+				if(validator != null)
 				{
-					dlLogger.fine("Downloaded " + downloadedLocation.length() + " out of " + contentLength);
-					currentTime = System.currentTimeMillis();
+					// Make what was received durable so that the next attempt continues from here.
+					out.force(false);
+					new Checkpoint(resourceOnWeb, validator, position).save(partFile);
+					dlLogger.warning("Download of " + resourceOnWeb + " interrupted at byte " + position + "; it can be resumed.");
 				}
+				
+				throw e;
+			}
+		}
+		
+		if(check != null)
+		{
+			String mismatch = check.mismatch();
+			
+			if(mismatch != null)
+			{
+				// The data is wrong, not incomplete, so there is nothing worth resuming.
+				Checkpoint.delete(partFile);
+				partFile.delete();
+				throw new DigestMismatchException("Download of " + resourceOnWeb + " failed verification: " + mismatch);
 			}
 			
+			dlLogger.info("Verified " + resourceOnWeb + " as " + expectedDigests.keySet());
+		}
+		
+		if(this.resumable)
+		{
+			Checkpoint.delete(partFile);
+			Files.move(partFile.toPath(), downloadedLocation.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		
+		if(this.cache != null)
+		{
+			try
+			{
+				this.cache.store(resourceOnWeb, connection, downloadedLocation);
+			}
+			catch(IOException e)
+			{
+				// The download itself succeeded; only the cached copy is lost.
+				dlLogger.warning("Could not cache " + resourceOnWeb + ": " + e);
+			}
 		}
 		
 		return downloadedLocation.exists() ? downloadedLocation : null;	
 	}
+	
+	/**
+	 * Downloads a zip archive and extracts it while it arrives, without storing
+	 * 	   the archive.  Each entry is written as soon as its bytes are received,
+	 * 	   and the requested digests of the raw archive are computed from the
+	 * 	   same stream.  Memory use is bounded by the buffer size.  If the
+	 * 	   transfer or extraction fails, every file and directory extracted so
+	 * 	   far is deleted.  Streamed archives bypass the cache and are always
+	 * 	   fetched over a single connection from the beginning.
+	 * @param  resourceOnWeb  The URL of the zip archive to download.
+	 * @param  unzipDirectory The directory in which to unzip the archive.
+	 * @param  hashTypes      The algorithms to digest the raw archive with.  May
+	 * 						      be empty.
+	 * @return The hexadecimal digest of the archive for each algorithm.
+	 * @throws IOException Thrown if the transfer fails or the archive cannot be
+	 * 					       extracted.
+	 * @see    ZippingUtils#extract(InputStream, File)
+	 * @since  1.1.0
+	 */
+	public Map<HashingType, String> downloadAndExtract(URL resourceOnWeb, File unzipDirectory, Set<HashingType> hashTypes) throws IOException
+	{
+		Map<HashingType, String> digests = new EnumMap<HashingType, String>(HashingType.class);
+		
+		for(HashingType hashType : hashTypes)
+		{
+			digests.put(hashType, null);
+		}
+		
+		return this.downloadAndExtract(resourceOnWeb, unzipDirectory, digests);
+	}
+	
+	/**
+	 * Downloads a zip archive and extracts it while it arrives, verifying the
+	 * 	   raw archive against expected digests.  If any digest does not match,
+	 * 	   the extracted files are deleted.
+	 * @param  resourceOnWeb   The URL of the zip archive to download.
+	 * @param  unzipDirectory  The directory in which to unzip the archive.
+	 * @param  expectedDigests The expected hexadecimal digest of the archive for
+	 * 						       each algorithm.  A null digest is computed but
+	 * 						       not checked.
+	 * @return The hexadecimal digest of the archive for each algorithm.
+	 * @throws IOException Thrown if the transfer fails, the archive cannot be
+	 * 					       extracted, or a digest does not match.
+	 * @see    #downloadAndExtract(URL, File, Set)
+	 * @since  1.1.0
+	 */
+	public Map<HashingType, String> downloadAndExtract(final URL resourceOnWeb, final File unzipDirectory, final Map<HashingType, String> expectedDigests) throws IOException
+	{
+		return this.withRetries(resourceOnWeb, new Attempt<Map<HashingType, String>>()
+		{
+			@Override
+			public Map<HashingType, String> run(Progress progress) throws IOException
+			{
+				return attemptExtract(resourceOnWeb, unzipDirectory, expectedDigests, progress);
+			}
+		});
+	}
+	
+	/**
+	 * Makes one attempt to download and extract a zip archive.
+	 * @param  resourceOnWeb   The URL of the zip archive to download.
+	 * @param  unzipDirectory  The directory in which to unzip the archive.
+	 * @param  expectedDigests The expected hexadecimal digest of the archive for
+	 * 						       each algorithm, or null to compute only.
+	 * @param  progress        The download's progress.
+	 * @return The hexadecimal digest of the archive for each algorithm.
+	 * @throws IOException Thrown if the transfer fails, the archive cannot be
+	 * 					       extracted, or a digest does not match.
+	 */
+	private Map<HashingType, String> attemptExtract(URL resourceOnWeb, File unzipDirectory, Map<HashingType, String> expectedDigests, Progress progress) throws IOException
+	{
+		DigestCheck check = new DigestCheck(expectedDigests);
+		
+		dlLogger.info("Connecting to " + resourceOnWeb);
+		URLConnection connection = this.transport.openConnection(resourceOnWeb);
+		connection.connect();
+		progress.connected();
+		
+		long contentLength = connection.getContentLengthLong();
+		progress.expect(contentLength);
+		progress.restart(0L);
+		List<File> created = null;
+		
+		dlLogger.info("Streaming archive from " + resourceOnWeb + " into " + unzipDirectory);
+		
+		try(DigestingInputStream in = new DigestingInputStream(
+				new BufferedInputStream(connection.getInputStream(), this.bufferSize), check, progress))
+		{
+			created = new ZippingUtils().extract(in, unzipDirectory);
+			
+			// The central directory follows the last entry, and belongs in the digest.
+			byte[] remainder = new byte[8192];
+			
+			while(in.read(remainder, 0, remainder.length) >= 0)
+			{
+				checkInterrupted(resourceOnWeb);
+			}
+			
+			if(contentLength != -1L && in.count < contentLength)
+			{
+				throw new IOException("Download of " + resourceOnWeb + " ended early at byte " + in.count + " of " + contentLength);
+			}
+		}
+		catch(IOException e)
+		{
+			if(created != null)
+			{
+				ZippingUtils.deleteExtracted(created);
+			}
+			
+			throw e;
+		}
+		
+		String mismatch = check.mismatch();
+		
+		if(mismatch != null)
+		{
+			ZippingUtils.deleteExtracted(created);
+			throw new DigestMismatchException("Archive from " + resourceOnWeb + " failed verification: " + mismatch);
+		}
+		
+		return check.getActual();
+	}
+	
+	/**
+	 * Copies a <code>file:</code> resource with {@link FileChannel#transferFrom},
+	 * 	   letting the operating system move the data without it passing through
+	 * 	   the Java heap.
+	 * @param  resourceOnWeb      The URL of the local resource.
+	 * @param  downloadedLocation The file to save the copied data to.
+	 * @param  progress           The download's progress.
+	 * @throws IOException Thrown if the resource cannot be read or copied.
+	 */
+	private void copyLocal(URL resourceOnWeb, File downloadedLocation, Progress progress) throws IOException
+	{
+		dlLogger.info("Copying local file " + resourceOnWeb);
+		
+		try(FileChannel in = FileChannel.open(Paths.get(resourceOnWeb.toURI()), StandardOpenOption.READ);
+			FileChannel out = FileChannel.open(downloadedLocation.toPath(), StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+		{
+			long length = in.size();
+			long position = 0L;
+			progress.connected();
+			progress.expect(length);
+			progress.restart(0L);
+			
+			while(position < length)
+			{
+				long copied = out.transferFrom(in, position, Math.min(length - position, LOCAL_TRANSFER_SIZE));
+				
+				if(copied <= 0L)
+				{
+					throw new IOException("Copy of " + resourceOnWeb + " ended early at byte " + position + " of " + length);
+				}
+				
+				position += copied;
+				progress.add(copied);
+			}
+		}
+		catch(URISyntaxException | IllegalArgumentException e)
+		{
+			throw new IOException(resourceOnWeb + " is not a local file.", e);
+		}
+	}
+	
+	/**
+	 * Runs attempts at a download until one succeeds or the retry limit is
+	 * 	   reached, reporting each stage to the listeners and statistics.
+	 * @param  resourceOnWeb The URL being downloaded.
+	 * @param  attempt       The attempt to run.
+	 * @return The result of the successful attempt.
+	 * @throws IOException The failure of the last attempt.
+	 */
+	private <T> T withRetries(URL resourceOnWeb, Attempt<T> attempt) throws IOException
+	{
+		Progress progress = new Progress(resourceOnWeb);
+		progress.started();
+		
+		for(int retries = 0; ; retries++)
+		{
+			progress.beginAttempt();
+			
+			try
+			{
+				T result = attempt.run(progress);
+				progress.completed();
+				
+				return result;
+			}
+			catch(IOException e)
+			{
+				// A missing resource or wrong data will be the same next time.
+				if(retries >= this.maxRetries || e instanceof InterruptedIOException || e instanceof FileNotFoundException
+						|| e instanceof DigestMismatchException)
+				{
+					progress.failed(e);
+					throw e;
+				}
+				
+				long delay = Math.min(RETRY_DELAY << Math.min(retries, 16), MAX_RETRY_DELAY);
+				dlLogger.warning("Attempt " + (retries + 1) + " to download " + resourceOnWeb + " failed (" + e
+						+ "). Retrying in " + delay + " ms...");
+				progress.retrying(e);
+				
+				try
+				{
+					Thread.sleep(delay);
+				}
+				catch(InterruptedException interrupted)
+				{
+					Thread.currentThread().interrupt();
+					InterruptedIOException cancelled = new InterruptedIOException("Download of " + resourceOnWeb + " was interrupted.");
+					cancelled.initCause(e);
+					progress.failed(cancelled);
+					throw cancelled;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Delivers an event to every listener on the listener executor.
+	 * @param event   The event to deliver.
+	 * @param metrics The download's metrics.
+	 * @param cause   The failure that caused the event, or null.
+	 */
+	private void dispatch(final DownloadEvent event, final DownloadMetrics metrics, final IOException cause)
+	{
+		if(this.listeners.isEmpty())
+		{
+			return;
+		}
+		
+		Executor executor;
+		
+		synchronized(this)
+		{
+			if(this.listenerExecutor == null)
+			{
+				ThreadPoolExecutor events = new ThreadPoolExecutor(1, 1, LISTENER_KEEP_ALIVE, TimeUnit.SECONDS,
+						new LinkedBlockingQueue<Runnable>(), new ThreadFactory()
+				{
+					@Override
+					public Thread newThread(Runnable r)
+					{
+						Thread thread = new Thread(r, "Download Events");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+				
+				// The downloader is never closed, so an idle event thread must exit on its own.
+				events.allowCoreThreadTimeOut(true);
+				this.listenerExecutor = events;
+			}
+			
+			executor = this.listenerExecutor;
+		}
+		
+		executor.execute(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				for(DownloadListener listener : listeners)
+				{
+					try
+					{
+						event.deliver(listener, metrics, cause);
+					}
+					catch(RuntimeException e)
+					{
+						LoggingUtil.writeStackTraceToLogger(dlLogger, e, "Download listener failed: ", Level.WARNING);
+					}
+				}
+			}
+		});
+	}
+	
+	/**
+	 * Verifies a file that was copied rather than received over a connection,
+	 * 	   by reading it once.  A file that does not match is deleted, and if it
+	 * 	   was served from the cache, the cache entry is discarded.
+	 * @param  check              The expected digests, or null to skip
+	 * 							      verification.
+	 * @param  resourceOnWeb      The URL the file was downloaded from.
+	 * @param  downloadedLocation The file to verify.
+	 * @param  cached             True if the file was served from the cache.
+	 * @throws DigestMismatchException Thrown if the file does not match and was
+	 * 								       not served from the cache, whose
+	 * 								       discarded entry is worth fetching again.
+	 * @throws IOException Thrown if the file cannot be read or does not match.
+	 */
+	private void verifyCopy(DigestCheck check, URL resourceOnWeb, File downloadedLocation, boolean cached) throws IOException
+	{
+		if(check == null)
+		{
+			return;
+		}
+		
+		MultiHashResult actual = HashUtils.hashAs(downloadedLocation, check.expected.keySet());
+		
+		if(actual == null)
+		{
+			downloadedLocation.delete();
+			throw new IOException("Download of " + resourceOnWeb + " could not be verified: hashing failed");
+		}
+		
+		String mismatch = check.mismatch(actual);
+		
+		if(mismatch != null)
+		{
+			downloadedLocation.delete();
+			
+			if(cached)
+			{
+				this.cache.invalidate(resourceOnWeb);
+				throw new IOException("Cached copy of " + resourceOnWeb + " failed verification: " + mismatch);
+			}
+			
+			throw new DigestMismatchException("Download of " + resourceOnWeb + " failed verification: " + mismatch);
+		}
+		
+		dlLogger.info("Verified " + resourceOnWeb + " as " + check.expected.keySet());
+	}
+	
+	/**
+	 * Stops a transfer if its thread has been interrupted, such as when a
+	 * 	   {@link DownloadManager} download is cancelled.
+	 * @param  resourceOnWeb The URL being transferred.
+	 * @throws InterruptedIOException Thrown if the thread has been interrupted.
+	 */
+	private static void checkInterrupted(URL resourceOnWeb) throws InterruptedIOException
+	{
+		if(Thread.interrupted())
+		{
+			throw new InterruptedIOException("Download of " + resourceOnWeb + " was interrupted.");
+		}
+	}
+	
+	/**
+	 * Writes the remaining bytes of a buffer to a channel at a position,
+	 * 	   without moving the channel's own position.
+	 * @param  channel  The channel to write to.
+	 * @param  buffer   The bytes to write.
+	 * @param  position The offset to write them at.
+	 * @return The offset following the written bytes.
+	 * @throws IOException Thrown if the channel cannot be written.
+	 */
+	private static long writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException
+	{
+		while(buffer.hasRemaining())
+		{
+			position += channel.write(buffer, position);
+		}
+		
+		return position;
+	}
+	
+	/**
+	 * Asks for the rest of a resource from a checkpoint, provided it has not
+	 * 	   changed since the checkpoint was taken.
+	 * @param  connection An unopened connection to the resource.
+	 * @param  checkpoint The checkpoint to continue from.
+	 * @return True if the server is sending the resource from the checkpoint
+	 * 			   onward; false if the resource is not served over HTTP, has
+	 * 			   changed, or the server does not support ranges.
+	 * @throws IOException Thrown if the server cannot be reached.
+	 */
+	private static boolean requestResume(URLConnection connection, Checkpoint checkpoint) throws IOException
+	{
+		if(!(connection instanceof HttpURLConnection))
+		{
+			return false;
+		}
+		
+		HttpURLConnection http = (HttpURLConnection)connection;
+		http.setRequestProperty("Range", "bytes=" + checkpoint.offset + "-");
+		http.setRequestProperty("If-Range", checkpoint.validator);
+		
+		String contentRange = http.getHeaderField("Content-Range");
+		
+		return http.getResponseCode() == HttpURLConnection.HTTP_PARTIAL && contentRange != null
+				&& contentRange.startsWith("bytes " + checkpoint.offset + "-");
+	}
+	
+	/**
+	 * Gets the value that identifies this version of a resource for an
+	 * 	   <code>If-Range</code> request: its ETag if strong, otherwise its
+	 * 	   Last-Modified date.
+	 * @param  connection The connection to the resource.
+	 * @return The validator, or null if the server supplied none.
+	 */
+	private static String validatorOf(URLConnection connection)
+	{
+		String etag = connection.getHeaderField("ETag");
+		
+		if(etag != null && !etag.startsWith("W/"))
+		{
+			return etag;
+		}
+		
+		return connection.getHeaderField("Last-Modified");
+	}
+	
+	/**
+	 * Asks an HTTP server whether a resource can be fetched in byte ranges.
+	 * @param  resourceOnWeb The URL of the web resource.
+	 * @return The resource's length and validator, or null if the resource is
+	 * 			   not served over HTTP, or the server does not advertise byte
+	 * 			   ranges and a content length.
+	 * @throws IOException Thrown if the server cannot be reached.
+	 */
+	private RangeSupport probeRanges(URL resourceOnWeb) throws IOException
+	{
+		URLConnection probe = this.transport.openConnection(resourceOnWeb);
+		
+		if(!(probe instanceof HttpURLConnection))
+		{
+			return null;
+		}
+		
+		HttpURLConnection http = (HttpURLConnection)probe;
+		
+		try
+		{
+			http.setRequestMethod("HEAD");
+			
+			String acceptRanges = http.getHeaderField("Accept-Ranges");
+			long contentLength = http.getContentLengthLong();
+			
+			if(http.getResponseCode() != HttpURLConnection.HTTP_OK || contentLength <= 0L
+					|| acceptRanges == null || !acceptRanges.toLowerCase().contains("bytes"))
+			{
+				return null;
+			}
+			
+			return new RangeSupport(contentLength, validatorOf(http));
+		}
+		finally
+		{
+			this.transport.release(http);
+		}
+	}
+	
+	/**
+	 * Downloads a resource by fetching byte ranges of it concurrently, writing
+	 * 	   each at its offset in the output file.  If any range fails, the others
+	 * 	   are abandoned and the partial file is deleted.
+	 * @param  resourceOnWeb      The URL of the web resource.
+	 * @param  downloadedLocation The file to save the downloaded data to.
+	 * @param  ranges             The resource's length and validator.
+	 * @param  progress           The download's progress.
+	 * @throws RangeRefusedException Thrown if the server sent the whole resource
+	 * 								   in answer to a range request.
+	 * @throws IOException Thrown if any range fails to download.
+	 */
+	private void downloadRanged(final URL resourceOnWeb, File downloadedLocation, final RangeSupport ranges, final Progress progress) throws IOException
+	{
+		final long length = ranges.contentLength;
+		int segmentCount = (int)((length + this.segmentSize - 1L) / this.segmentSize);
+		
+		dlLogger.info("Downloading " + length + " bytes from " + resourceOnWeb + " in " + segmentCount
+				+ " segments over " + Math.min(this.connections, segmentCount) + " connections");
+		
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.connections, segmentCount));
+		boolean complete = false;
+		
+		try(final FileChannel channel = FileChannel.open(downloadedLocation.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+		{
+			progress.expect(length);
+			progress.restart(0L);
+			List<Future<Void>> futures = new ArrayList<Future<Void>>(segmentCount);
+			
+			for(int i = 0; i < segmentCount; i++)
+			{
+				final long start = i * this.segmentSize;
+				final long end = Math.min(start + this.segmentSize, length) - 1L;
+				
+				futures.add(executor.submit(new Callable<Void>()
+				{
+					@Override
+					public Void call() throws IOException
+					{
+						fetchRange(resourceOnWeb, ranges.validator, channel, start, end, progress);
+						return null;
+					}
+				}));
+			}
+			
+			for(Future<Void> future : futures)
+			{
+				future.get();
+			}
+			
+			complete = true;
+		}
+		catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while downloading " + resourceOnWeb, e);
+		}
+		catch(ExecutionException e)
+		{
+			if(e.getCause() instanceof IOException)
+			{
+				throw (IOException)e.getCause();
+			}
+			
+			throw new IOException("Downloading " + resourceOnWeb + " failed.", e.getCause());
+		}
+		finally
+		{
+			executor.shutdownNow();
+			
+			if(!complete)
+			{
+				dlLogger.warning("Parallel download of " + resourceOnWeb + " failed! Removing partial file...");
+				downloadedLocation.delete();
+			}
+		}
+	}
+	
+	/**
+	 * Fetches a single byte range of a resource on its own connection and
+	 * 	   writes it at its offset in the output channel.
+	 * @param  resourceOnWeb The URL of the web resource.
+	 * @param  validator     The ETag or Last-Modified value the resource must
+	 * 						     still have, or null if none is known.
+	 * @param  channel       The channel of the output file.
+	 * @param  start         The offset of the first byte of the range.
+	 * @param  end           The offset of the last byte of the range, inclusive.
+	 * @param  progress      The progress shared by every range.
+	 * @throws RangeRefusedException Thrown if the server sent the whole resource
+	 * 								   instead of the range.
+	 * @throws IOException Thrown if the range cannot be fetched in full, or if the
+	 * 						   server does not honour the range or sends a
+	 * 						   different one.
+	 */
+	private void fetchRange(URL resourceOnWeb, String validator, FileChannel channel, long start, long end, Progress progress) throws IOException
+	{
+		HttpURLConnection connection = (HttpURLConnection)this.transport.openConnection(resourceOnWeb);
+		connection.setRequestProperty("Range", "bytes=" + start + "-" + end);
+		
+		if(validator != null)
+		{
+			// If the resource changed since the probe, the server sends it whole instead.
+			connection.setRequestProperty("If-Range", validator);
+		}
+		
+		connection.connect();
+		progress.connected();
+		
+		if(connection.getResponseCode() != HttpURLConnection.HTTP_PARTIAL)
+		{
+			int responseCode = connection.getResponseCode();
+			this.transport.release(connection);
+			
+			if(responseCode == HttpURLConnection.HTTP_OK)
+			{
+				throw new RangeRefusedException("Server sent the whole of " + resourceOnWeb + " in answer to range " + start + "-" + end);
+			}
+			
+			throw new IOException("Server did not honour range " + start + "-" + end + " of " + resourceOnWeb
+					+ " (HTTP " + responseCode + ")");
+		}
+		
+		String contentRange = connection.getHeaderField("Content-Range");
+		
+		// Bytes of any other range would be written at the wrong offset.
+		if(contentRange == null || !contentRange.startsWith("bytes " + start + "-" + end + "/"))
+		{
+			this.transport.release(connection);
+			throw new IOException("Server answered range " + start + "-" + end + " of " + resourceOnWeb
+					+ " with " + (contentRange == null ? "no Content-Range" : "Content-Range " + contentRange));
+		}
+		
+		try(InputStream in = connection.getInputStream())
+		{
+			byte[] buffer = new byte[(int)Math.min(this.bufferSize, end - start + 1L)];
+			ByteBuffer wrapper = ByteBuffer.wrap(buffer);
+			long position = start;
+			int read;
+			
+			while(position <= end && (read = in.read(buffer, 0, (int)Math.min(buffer.length, end - position + 1L))) > -1)
+			{
+				wrapper.clear().limit(read);
+				position = writeFully(channel, wrapper, position);
+				progress.add(read);
+				checkInterrupted(resourceOnWeb);
+			}
+			
+			if(position <= end)
+			{
+				throw new IOException("Range " + start + "-" + end + " of " + resourceOnWeb + " ended early at " + position);
+			}
+		}
+	}
+	
+	/**
+	 * Records how much of a resumable download is durably on disk.
+	 */
+	private static final class Checkpoint
+	{
+		/**
+		 * The URL being downloaded.
+		 */
+		final URL url;
+		
+		/**
+		 * The ETag or Last-Modified value of the resource being downloaded.
+		 */
+		final String validator;
+		
+		/**
+		 * The number of bytes durably written to the part file.
+		 */
+		final long offset;
+		
+		/**
+		 * Creates a new checkpoint.
+		 * @param url       The URL being downloaded.
+		 * @param validator The ETag or Last-Modified value of the resource.
+		 * @param offset    The number of bytes durably written.
+		 */
+		Checkpoint(URL url, String validator, long offset)
+		{
+			this.url = url;
+			this.validator = validator;
+			this.offset = offset;
+		}
+		
+		/**
+		 * Loads the checkpoint beside a part file, if it belongs to the same URL
+		 * 	   and the part file holds at least the checkpointed bytes.  Any part
+		 * 	   file that cannot be resumed is deleted along with its checkpoint.
+		 * @param  partFile The part file.
+		 * @param  url      The URL being downloaded.
+		 * @return The checkpoint, or null if there is nothing to resume.
+		 */
+		static Checkpoint load(File partFile, URL url)
+		{
+			File checkpointFile = new File(partFile.getPath() + CHECKPOINT_SUFFIX);
+			
+			if(partFile.isFile() && checkpointFile.isFile())
+			{
+				Properties properties = new Properties();
+				
+				try(InputStream in = new FileInputStream(checkpointFile))
+				{
+					properties.load(in);
+					
+					String validator = properties.getProperty("validator");
+					long offset = Long.parseLong(properties.getProperty("offset", "0"));
+					
+					if(url.toExternalForm().equals(properties.getProperty("url")) && validator != null
+							&& offset > 0L && offset <= partFile.length())
+					{
+						return new Checkpoint(url, validator, offset);
+					}
+				}
+				catch(IOException | NumberFormatException e)
+				{
+					dlLogger.warning("Checkpoint " + checkpointFile + " is unreadable. Ignoring...");
+				}
+			}
+			
+			partFile.delete();
+			checkpointFile.delete();
+			
+			return null;
+		}
+		
+		/**
+		 * Writes this checkpoint beside a part file, replacing any previous one.
+		 * @param  partFile The part file.
+		 * @throws IOException Thrown if the checkpoint cannot be written.
+		 */
+		void save(File partFile) throws IOException
+		{
+			File checkpointFile = new File(partFile.getPath() + CHECKPOINT_SUFFIX);
+			File temp = new File(checkpointFile.getPath() + ".tmp");
+			Properties properties = new Properties();
+			
+			properties.setProperty("url", this.url.toExternalForm());
+			properties.setProperty("validator", this.validator);
+			properties.setProperty("offset", Long.toString(this.offset));
+			
+			try(OutputStream out = new FileOutputStream(temp))
+			{
+				properties.store(out, "Resumable download checkpoint");
+			}
+			
+			Files.move(temp.toPath(), checkpointFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		
+		/**
+		 * Deletes the checkpoint beside a part file.
+		 * @param partFile The part file.
+		 */
+		static void delete(File partFile)
+		{
+			new File(partFile.getPath() + CHECKPOINT_SUFFIX).delete();
+		}
+	}
+	
+	/**
+	 * The length and validator of a resource that may be fetched in ranges.
+	 */
+	private static final class RangeSupport
+	{
+		/**
+		 * The length of the resource, in bytes.
+		 */
+		final long contentLength;
+		
+		/**
+		 * The ETag or Last-Modified value of the resource, or null.
+		 */
+		final String validator;
+		
+		/**
+		 * Creates a new range description.
+		 * @param contentLength The length of the resource.
+		 * @param validator     The ETag or Last-Modified value, or null.
+		 */
+		RangeSupport(long contentLength, String validator)
+		{
+			this.contentLength = contentLength;
+			this.validator = validator;
+		}
+	}
+	
+	/**
+	 * Signals that a server answered a range request with the whole resource,
+	 * 	   either because the resource changed since it was probed or because
+	 * 	   the server ignores ranges despite advertising them.
+	 */
+	private static final class RangeRefusedException extends IOException
+	{
+		/**
+		 * The serialization version.
+		 */
+		private static final long serialVersionUID = 1L;
+		
+		/**
+		 * Creates a new exception.
+		 * @param message The detail message.
+		 */
+		RangeRefusedException(String message)
+		{
+			super(message);
+		}
+	}
+	
+	/**
+	 * Signals that a complete download does not match its expected digests.
+	 * 	   The server sent what it holds, so the download is not retried.
+	 */
+	private static final class DigestMismatchException extends IOException
+	{
+		/**
+		 * The serialization version.
+		 */
+		private static final long serialVersionUID = 1L;
+		
+		/**
+		 * Creates a new exception.
+		 * @param message The detail message.
+		 */
+		DigestMismatchException(String message)
+		{
+			super(message);
+		}
+	}
+	
+	/**
+	 * The digests a download is expected to match, and the digests of the bytes
+	 * 	   received so far.
+	 */
+	private static final class DigestCheck
+	{
+		/**
+		 * The expected hexadecimal digest for each algorithm.  A null value means
+		 * 	   the digest is computed but not checked.
+		 */
+		final Map<HashingType, String> expected;
+		
+		/**
+		 * The computed hexadecimal digest for each algorithm, once complete.
+		 */
+		private final Map<HashingType, String> actual = new EnumMap<HashingType, String>(HashingType.class);
+		
+		/**
+		 * The algorithms being computed, in the same order as the digests.
+		 */
+		private final HashingType[] types;
+		
+		/**
+		 * The digests of the bytes received so far.
+		 */
+		private final MessageDigest[] digests;
+		
+		/**
+		 * Creates a new digest check.
+		 * @param  expected The expected hexadecimal digest for each algorithm.
+		 * @throws IOException Thrown if an algorithm is unavailable, since the
+		 * 						   download could then never be verified.
+		 */
+		DigestCheck(Map<HashingType, String> expected) throws IOException
+		{
+			this.expected = new EnumMap<HashingType, String>(expected);
+			this.types = this.expected.keySet().toArray(new HashingType[this.expected.size()]);
+			this.digests = new MessageDigest[this.types.length];
+			
+			for(int i = 0; i < this.types.length; i++)
+			{
+				try
+				{
+					this.digests[i] = HashUtils.createDigest(this.types[i]);
+				}
+				catch(NoSuchAlgorithmException e)
+				{
+					throw new IOException("Cannot verify downloads as " + this.types[i].getHashType(), e);
+				}
+			}
+		}
+		
+		/**
+		 * Adds received bytes to every digest.
+		 * @param buffer The buffer holding the bytes.
+		 * @param offset The offset of the first byte.
+		 * @param length The number of bytes.
+		 */
+		void update(byte[] buffer, int offset, int length)
+		{
+			for(MessageDigest digest : this.digests)
+			{
+				digest.update(buffer, offset, length);
+			}
+		}
+		
+		/**
+		 * Adds the start of a partially downloaded file to every digest.
+		 * @param  channel The file's channel.
+		 * @param  length  The number of bytes to add.
+		 * @throws IOException Thrown if the file cannot be read.
+		 */
+		void update(FileChannel channel, long length) throws IOException
+		{
+			byte[] buffer = new byte[64 * 1024];
+			ByteBuffer wrapper = ByteBuffer.wrap(buffer);
+			long position = 0L;
+			
+			while(position < length)
+			{
+				wrapper.clear().limit((int)Math.min(buffer.length, length - position));
+				int read = channel.read(wrapper, position);
+				
+				if(read < 0)
+				{
+					throw new IOException("Partial download is shorter than its checkpoint.");
+				}
+				
+				this.update(buffer, 0, read);
+				position += read;
+			}
+		}
+		
+		/**
+		 * Completes the digests and compares them with the expected values.
+		 * @return A description of the first digest that does not match, or null
+		 * 			   if all match.
+		 */
+		String mismatch()
+		{
+			for(int i = 0; i < this.types.length; i++)
+			{
+				this.actual.put(this.types[i], HashUtils.byteArrayToHex(this.digests[i].digest()));
+			}
+			
+			for(HashingType type : this.types)
+			{
+				String expectedDigest = this.expected.get(type);
+				
+				if(expectedDigest != null && !expectedDigest.equalsIgnoreCase(this.actual.get(type)))
+				{
+					return describe(type, expectedDigest, this.actual.get(type));
+				}
+			}
+			
+			return null;
+		}
+		
+		/**
+		 * Gets the digests computed by {@link #mismatch()}.
+		 * @return The hexadecimal digest for each algorithm.
+		 */
+		Map<HashingType, String> getActual()
+		{
+			return this.actual;
+		}
+		
+		/**
+		 * Compares digests computed elsewhere with the expected values.
+		 * @param  actual The computed digests.
+		 * @return A description of the first digest that does not match, or null
+		 * 			   if all match.
+		 */
+		String mismatch(MultiHashResult actual)
+		{
+			for(HashingType type : this.types)
+			{
+				if(this.expected.get(type) != null && !this.expected.get(type).equalsIgnoreCase(actual.getHash(type)))
+				{
+					return describe(type, this.expected.get(type), actual.getHash(type));
+				}
+			}
+			
+			return null;
+		}
+		
+		/**
+		 * Describes a digest that does not match.
+		 * @param  type     The algorithm.
+		 * @param  expected The expected digest.
+		 * @param  actual   The computed digest.
+		 * @return The description.
+		 */
+		private static String describe(HashingType type, String expected, String actual)
+		{
+			return type.getHashType() + " expected " + expected + " but was " + actual;
+		}
+	}
+	
+	/**
+	 * Passes every byte read through a digest check and a progress counter.
+	 */
+	private static final class DigestingInputStream extends FilterInputStream
+	{
+		/**
+		 * The digests to update.
+		 */
+		private final DigestCheck check;
+		
+		/**
+		 * The progress counter to update.
+		 */
+		private final Progress progress;
+		
+		/**
+		 * The number of bytes read.
+		 */
+		long count;
+		
+		/**
+		 * Creates a new digesting stream.
+		 * @param in       The stream to read from.
+		 * @param check    The digests to update.
+		 * @param progress The progress counter to update.
+		 */
+		DigestingInputStream(InputStream in, DigestCheck check, Progress progress)
+		{
+			super(in);
+			this.check = check;
+			this.progress = progress;
+		}
+		
+		@Override
+		public int read() throws IOException
+		{
+			byte[] single = new byte[1];
+			
+			return this.read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+		}
+		
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException
+		{
+			int read = this.in.read(buffer, offset, length);
+			
+			if(read > 0)
+			{
+				this.check.update(buffer, offset, read);
+				this.progress.add(read);
+				this.count += read;
+			}
+			
+			return read;
+		}
+		
+		@Override
+		public long skip(long n) throws IOException
+		{
+			// Skipped bytes must still be digested.
+			byte[] buffer = new byte[(int)Math.min(n, 8192L)];
+			int read = this.read(buffer, 0, buffer.length);
+			
+			return Math.max(read, 0);
+		}
+		
+		@Override
+		public boolean markSupported()
+		{
+			return false;
+		}
+	}
+	
+	/**
+	 * One attempt at a download.
+	 */
+	private static interface Attempt<T>
+	{
+		/**
+		 * Runs the attempt.
+		 * @param  progress The download's progress.
+		 * @return The result of the download.
+		 * @throws IOException Thrown if the attempt fails.
+		 */
+		public T run(Progress progress) throws IOException;
+	}
+	
+	/**
+	 * The events delivered to a {@link DownloadListener}.
+	 */
+	private static enum DownloadEvent
+	{
+		STARTED, CONNECTED, FIRST_BYTE, PROGRESSED, RETRYING, COMPLETED, FAILED;
+		
+		/**
+		 * Delivers this event to a listener.
+		 * @param listener The listener.
+		 * @param metrics  The download's metrics.
+		 * @param cause    The failure that caused the event, or null.
+		 */
+		void deliver(DownloadListener listener, DownloadMetrics metrics, IOException cause)
+		{
+			switch(this)
+			{
+				case STARTED:
+					listener.downloadStarted(metrics);
+					break;
+				case CONNECTED:
+					listener.connected(metrics);
+					break;
+				case FIRST_BYTE:
+					listener.firstByteReceived(metrics);
+					break;
+				case PROGRESSED:
+					listener.progressed(metrics);
+					break;
+				case RETRYING:
+					listener.retrying(metrics, cause);
+					break;
+				case COMPLETED:
+					listener.downloadCompleted(metrics);
+					break;
+				case FAILED:
+					listener.downloadFailed(metrics, cause);
+					break;
+			}
+		}
+	}
+	
+	/**
+	 * Tracks the timing and bytes of a download, which may be shared by several
+	 * 	   connection threads, logging periodically and reporting to the
+	 * 	   listeners and statistics.
+	 */
+	private final class Progress
+	{
+		/**
+		 * The URL being downloaded.
+		 */
+		private final URL resource;
+		
+		/**
+		 * The time the download began, in nanoseconds.
+		 */
+		private final long startTime = System.nanoTime();
+		
+		/**
+		 * The expected total, or -1 if unknown.
+		 */
+		private volatile long total = -1L;
+		
+		/**
+		 * The number of times the download has been retried.
+		 */
+		private volatile int retries;
+		
+		/**
+		 * The bytes of the resource received so far: those of the current
+		 * 	   attempt, plus any an earlier attempt left for it to resume from.
+		 */
+		private final AtomicLong transferred = new AtomicLong();
+		
+		/**
+		 * The time progress was last logged, in milliseconds.
+		 */
+		private final AtomicLong lastLogged = new AtomicLong(System.currentTimeMillis());
+		
+		/**
+		 * The time the current attempt began, in nanoseconds.
+		 */
+		private volatile long attemptStart;
+		
+		/**
+		 * The current attempt's connect time in nanoseconds, or -1.
+		 */
+		private final AtomicLong connectTime = new AtomicLong(-1L);
+		
+		/**
+		 * The current attempt's time to first byte in nanoseconds, or -1.
+		 */
+		private final AtomicLong firstByteTime = new AtomicLong(-1L);
+		
+		/**
+		 * The time throughput was last sampled, in nanoseconds.
+		 */
+		private final AtomicLong lastSampled = new AtomicLong(this.startTime);
+		
+		/**
+		 * The bytes transferred when throughput was last sampled.
+		 */
+		private final AtomicLong lastSampledBytes = new AtomicLong();
+		
+		/**
+		 * The throughput over the last sampling interval, in bytes per second.
+		 */
+		private volatile double currentThroughput;
+		
+		/**
+		 * Creates a new progress tracker.
+		 * @param resource The URL being downloaded.
+		 */
+		Progress(URL resource)
+		{
+			this.resource = resource;
+		}
+		
+		/**
+		 * Records the expected total.
+		 * @param total The expected total, or -1 if unknown.
+		 */
+		void expect(long total)
+		{
+			this.total = total;
+		}
+		
+		/**
+		 * Records the start of the download.
+		 */
+		void started()
+		{
+			statistics.started();
+			dispatch(DownloadEvent.STARTED, this.snapshot(), null);
+		}
+		
+		/**
+		 * Records the start of an attempt, resetting its timings.
+		 */
+		void beginAttempt()
+		{
+			this.attemptStart = System.nanoTime();
+			this.connectTime.set(-1L);
+			this.firstByteTime.set(-1L);
+		}
+		
+		/**
+		 * Records that a connection was established.  Only the first connection
+		 * 	   of each attempt is timed.
+		 */
+		void connected()
+		{
+			long time = System.nanoTime() - this.attemptStart;
+			
+			if(this.connectTime.compareAndSet(-1L, time))
+			{
+				statistics.connected(time);
+				dispatch(DownloadEvent.CONNECTED, this.snapshot(), null);
+			}
+		}
+		
+		/**
+		 * Records the start of a transfer, discarding the bytes of earlier
+		 * 	   attempts beyond those it resumes from.
+		 * @param resumedFrom The number of bytes kept from earlier attempts.
+		 */
+		void restart(long resumedFrom)
+		{
+			this.transferred.set(resumedFrom);
+			this.lastSampledBytes.set(resumedFrom);
+		}
+		
+		/**
+		 * Records transferred bytes, logging and sampling throughput if the
+		 * 	   intervals have passed.
+		 * @param count The number of bytes transferred.
+		 */
+		void add(long count)
+		{
+			long now = this.transferred.addAndGet(count);
+			long nanos = System.nanoTime();
+			
+			statistics.transferred(count);
+			
+			if(this.firstByteTime.get() < 0L && this.firstByteTime.compareAndSet(-1L, nanos - this.attemptStart))
+			{
+				statistics.firstByte(nanos - this.attemptStart);
+				dispatch(DownloadEvent.FIRST_BYTE, this.snapshot(), null);
+			}
+			
+			long last = this.lastLogged.get();
+			long time = System.currentTimeMillis();
+			
+			if(time - last >= PROGRESS_INTERVAL && this.lastLogged.compareAndSet(last, time))
+			{
+				dlLogger.fine("Downloaded " + now + " out of " + this.total);
+			}
+			
+			long sampled = this.lastSampled.get();
+			
+			if(nanos - sampled >= PROGRESS_EVENT_INTERVAL && this.lastSampled.compareAndSet(sampled, nanos))
+			{
+				long sampledBytes = this.lastSampledBytes.getAndSet(now);
+				this.currentThroughput = (now - sampledBytes) * 1e9 / (nanos - sampled);
+				dispatch(DownloadEvent.PROGRESSED, this.snapshot(), null);
+			}
+		}
+		
+		/**
+		 * Records a failed attempt that is about to be retried.
+		 * @param cause The failure.
+		 */
+		void retrying(IOException cause)
+		{
+			this.retries++;
+			statistics.retried();
+			dispatch(DownloadEvent.RETRYING, this.snapshot(), cause);
+		}
+		
+		/**
+		 * Records the completion of the download.
+		 */
+		void completed()
+		{
+			DownloadMetrics metrics = this.snapshot();
+			
+			statistics.completed();
+			dlLogger.fine("Completed " + metrics);
+			dispatch(DownloadEvent.COMPLETED, metrics, null);
+		}
+		
+		/**
+		 * Records the final failure of the download.
+		 * @param cause The failure.
+		 */
+		void failed(IOException cause)
+		{
+			statistics.failed();
+			dispatch(DownloadEvent.FAILED, this.snapshot(), cause);
+		}
+		
+		/**
+		 * Captures the download's metrics as they stand.
+		 * @return The metrics snapshot.
+		 */
+		DownloadMetrics snapshot()
+		{
+			return new DownloadMetrics(this.resource, this.transferred.get(), this.total, this.connectTime.get(),
+					this.firstByteTime.get(), System.nanoTime() - this.startTime, this.currentThroughput, this.retries);
+		}
+	}
 }
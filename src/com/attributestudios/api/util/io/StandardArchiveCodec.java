@@ -0,0 +1,178 @@
+package com.attributestudios.api.util.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * The archive formats an {@link ArchiveEngine} understands by default.
+ *
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+public enum StandardArchiveCodec implements ArchiveCodec
+{
+	/**
+	 * Zip archives, read as a stream and written by a {@link ZipStreamWriter}.
+	 * @since 1.1.0
+	 */
+	ZIP(".zip", ".jar")
+	{
+		@Override
+		public ArchiveReader openReader(InputStream in, BufferPool buffers)
+		{
+			final ZipInputStream zipInputStream = new ZipInputStream(new BufferedInputStream(in, buffers.getBufferSize()));
+			
+			return new ArchiveReader()
+			{
+				@Override
+				public ArchiveEntry getNextEntry() throws IOException
+				{
+					ZipEntry entry = zipInputStream.getNextEntry();
+					
+					return entry == null ? null : new ArchiveEntry(entry.getName(), entry.getSize(), entry.getTime(), entry.isDirectory());
+				}
+				
+				@Override
+				public int read(byte[] buffer, int offset, int length) throws IOException
+				{
+					return zipInputStream.read(buffer, offset, length);
+				}
+				
+				@Override
+				public void close() throws IOException
+				{
+					zipInputStream.close();
+				}
+			};
+		}
+		
+		@Override
+		public ArchiveWriter openWriter(OutputStream out, BufferPool buffers)
+		{
+			final ZipStreamWriter writer = new ZipStreamWriter(out);
+			
+			return new ArchiveWriter()
+			{
+				@Override
+				public void putEntry(ArchiveEntry entry, InputStream data) throws IOException
+				{
+					if(entry.isDirectory())
+					{
+						writer.putDirectory(entry.getName(), entry.getLastModified());
+					}
+					else
+					{
+						writer.putEntry(entry.getName(), data, entry.getLastModified());
+					}
+				}
+				
+				@Override
+				public void finish() throws IOException
+				{
+					writer.finish();
+				}
+				
+				@Override
+				public void close() throws IOException
+				{
+					writer.close();
+				}
+			};
+		}
+	},
+	/**
+	 * Uncompressed tar archives.
+	 * @since 1.1.0
+	 */
+	TAR(".tar")
+	{
+		@Override
+		public ArchiveReader openReader(InputStream in, BufferPool buffers)
+		{
+			return new TarReader(new BufferedInputStream(in, buffers.getBufferSize()));
+		}
+		
+		@Override
+		public ArchiveWriter openWriter(OutputStream out, BufferPool buffers)
+		{
+			return new TarWriter(new BufferedOutputStream(out, buffers.getBufferSize()));
+		}
+	},
+	/**
+	 * Gzip-compressed tar archives.  The archive is decompressed on a thread
+	 * 	   of its own, a few buffers ahead of the tar reader, so decompression
+	 * 	   overlaps with writing the extracted files.
+	 * @since 1.1.0
+	 */
+	TAR_GZIP(".tar.gz", ".tgz")
+	{
+		@Override
+		public ArchiveReader openReader(InputStream in, BufferPool buffers) throws IOException
+		{
+			InputStream gzipInputStream = new GZIPInputStream(in, buffers.getBufferSize());
+			
+			return new TarReader(new BackgroundInputStream(gzipInputStream, buffers, "Archive Decompressor"));
+		}
+		
+		@Override
+		public ArchiveWriter openWriter(OutputStream out, BufferPool buffers) throws IOException
+		{
+			final GZIPOutputStream gzipOutputStream = new GZIPOutputStream(out, buffers.getBufferSize());
+			
+			return new TarWriter(new BufferedOutputStream(gzipOutputStream, buffers.getBufferSize()))
+			{
+				@Override
+				public void finish() throws IOException
+				{
+					super.finish();
+					gzipOutputStream.finish();
+				}
+			};
+		}
+	};
+	
+	/**
+	 * The file name extensions of the format, in lower case.
+	 */
+	private final String[] extensions;
+	
+	/**
+	 * Creates a new codec.
+	 * @param extensions The file name extensions of the format, in lower case.
+	 */
+	private StandardArchiveCodec(String... extensions)
+	{
+		this.extensions = extensions;
+	}
+	
+	/**
+	 * Checks whether a file name ends with one of the format's extensions,
+	 * 	   ignoring case.
+	 * @param  fileName The file name.
+	 * @return True if the name has one of the format's extensions.
+	 */
+	@Override
+	public boolean accepts(String fileName)
+	{
+		String lowerCaseName = fileName.toLowerCase(Locale.ROOT);
+		
+		for(String extension : this.extensions)
+		{
+			if(lowerCaseName.endsWith(extension))
+			{
+				return true;
+			}
+		}
+		
+		return false;
+	}
+}
@@ -0,0 +1,239 @@
+package com.attributestudios.api.util.io;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Constants and conversions for the POSIX ustar '.tar' file format, shared by
+ * 	   {@link TarReader} and {@link TarWriter}.
+ *
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+final class TarFormat
+{
+	/**
+	 * The size of a header, and the unit entry data is padded to.
+	 */
+	static final int BLOCK_SIZE = 512;
+	
+	/**
+	 * The unit a whole archive is padded to.
+	 */
+	static final int RECORD_SIZE = 20 * BLOCK_SIZE;
+	
+	/**
+	 * The offset and length of the name field.
+	 */
+	static final int NAME = 0, NAME_LENGTH = 100;
+	
+	/**
+	 * The offset and length of the mode field.
+	 */
+	static final int MODE = 100, MODE_LENGTH = 8;
+	
+	/**
+	 * The offsets of the owner and group ID fields, which share a length.
+	 */
+	static final int UID = 108, GID = 116, ID_LENGTH = 8;
+	
+	/**
+	 * The offset and length of the size field.
+	 */
+	static final int SIZE = 124, SIZE_LENGTH = 12;
+	
+	/**
+	 * The offset and length of the modification time field.
+	 */
+	static final int MTIME = 136, MTIME_LENGTH = 12;
+	
+	/**
+	 * The offset and length of the checksum field.
+	 */
+	static final int CHECKSUM = 148, CHECKSUM_LENGTH = 8;
+	
+	/**
+	 * The offset of the type flag.
+	 */
+	static final int TYPE = 156;
+	
+	/**
+	 * The offset and length of the magic field.
+	 */
+	static final int MAGIC = 257, MAGIC_LENGTH = 6;
+	
+	/**
+	 * The offset of the version field.
+	 */
+	static final int VERSION = 263;
+	
+	/**
+	 * The offset and length of the name prefix field.
+	 */
+	static final int PREFIX = 345, PREFIX_LENGTH = 155;
+	
+	/**
+	 * The type of a regular file, and its pre-POSIX equivalent.
+	 */
+	static final byte TYPE_FILE = '0', TYPE_FILE_OLD = 0;
+	
+	/**
+	 * The type of a contiguous file, which is read as a regular file.
+	 */
+	static final byte TYPE_CONTIGUOUS = '7';
+	
+	/**
+	 * The type of a directory.
+	 */
+	static final byte TYPE_DIRECTORY = '5';
+	
+	/**
+	 * The type of a GNU long name, whose data is the next entry's name.
+	 */
+	static final byte TYPE_GNU_LONG_NAME = 'L';
+	
+	/**
+	 * The type of a pax extended header, which applies to the next entry.
+	 */
+	static final byte TYPE_PAX = 'x';
+	
+	/**
+	 * The type of a pax global header.
+	 */
+	static final byte TYPE_PAX_GLOBAL = 'g';
+	
+	/**
+	 * The ustar magic, including its terminating NUL.
+	 */
+	static final byte[] USTAR_MAGIC = {'u', 's', 't', 'a', 'r', 0};
+	
+	/**
+	 * The largest value an octal size field can hold.
+	 */
+	static final long MAX_OCTAL_SIZE = 077777777777L;
+	
+	/**
+	 * This class only holds constants and static helpers.
+	 */
+	private TarFormat()
+	{
+	}
+	
+	/**
+	 * Reads a numeric header field, in octal or in GNU base-256.
+	 * @param  header The header.
+	 * @param  offset The offset of the field.
+	 * @param  length The length of the field.
+	 * @return The value.
+	 * @throws IOException Thrown if the field is not a number.
+	 */
+	static long parseNumber(byte[] header, int offset, int length) throws IOException
+	{
+		if((header[offset] & 0x80) != 0)
+		{
+			// Base-256: the remaining bits are a big-endian two's complement number.
+			long value = header[offset] & 0x3F;
+			
+			for(int i = 1; i < length; i++)
+			{
+				value = (value << 8) | (header[offset + i] & 0xFF);
+			}
+			
+			return (header[offset] & 0x40) != 0 ? value - (1L << (8 * length - 2)) : value;
+		}
+		
+		long value = 0L;
+		int end = offset + length;
+		int i = offset;
+		
+		while(i < end && (header[i] == ' ' || header[i] == 0))
+		{
+			i++;
+		}
+		
+		for(; i < end && header[i] != ' ' && header[i] != 0; i++)
+		{
+			if(header[i] < '0' || header[i] > '7')
+			{
+				throw new IOException("Corrupt tar header: invalid octal field.");
+			}
+			
+			value = (value << 3) | (header[i] - '0');
+		}
+		
+		return value;
+	}
+	
+	/**
+	 * Writes a numeric header field in octal, zero-padded and NUL-terminated.
+	 * @param header The header.
+	 * @param offset The offset of the field.
+	 * @param length The length of the field.
+	 * @param value  The value, which must fit in <code>length - 1</code> digits.
+	 */
+	static void formatOctal(byte[] header, int offset, int length, long value)
+	{
+		String digits = Long.toOctalString(value);
+		int pad = length - 1 - digits.length();
+		
+		for(int i = 0; i < pad; i++)
+		{
+			header[offset + i] = '0';
+		}
+		
+		for(int i = 0; i < digits.length(); i++)
+		{
+			header[offset + pad + i] = (byte)digits.charAt(i);
+		}
+		
+		header[offset + length - 1] = 0;
+	}
+	
+	/**
+	 * Reads a NUL-terminated text field.
+	 * @param  header The header.
+	 * @param  offset The offset of the field.
+	 * @param  length The length of the field.
+	 * @return The text.
+	 */
+	static String parseString(byte[] header, int offset, int length)
+	{
+		int end = offset;
+		
+		while(end < offset + length && header[end] != 0)
+		{
+			end++;
+		}
+		
+		return new String(header, offset, end - offset, StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * Computes a header's checksum: the unsigned sum of its bytes, with the
+	 * 	   checksum field taken as spaces.
+	 * @param  header The header.
+	 * @return The checksum.
+	 */
+	static long checksum(byte[] header)
+	{
+		long sum = 0L;
+		
+		for(int i = 0; i < BLOCK_SIZE; i++)
+		{
+			sum += (i >= CHECKSUM && i < CHECKSUM + CHECKSUM_LENGTH) ? ' ' : header[i] & 0xFF;
+		}
+		
+		return sum;
+	}
+	
+	/**
+	 * Gets the padding that follows entry data.
+	 * @param  size The size of the data.
+	 * @return The number of bytes up to the next block boundary.
+	 */
+	static int padding(long size)
+	{
+		return (int)((BLOCK_SIZE - size % BLOCK_SIZE) % BLOCK_SIZE);
+	}
+}
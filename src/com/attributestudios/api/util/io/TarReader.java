@@ -0,0 +1,408 @@
+package com.attributestudios.api.util.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import com.attributestudios.api.util.logging.LoggingUtil;
+import com.attributestudios.api.util.logging.SimpleLogFormatter;
+
+/**
+ * Reads a '.tar' archive from a stream, one entry at a time.  POSIX ustar
+ * 	   archives are read, along with GNU long names and the path, size and
+ * 	   mtime keys of pax extended headers.  Only regular files and directories
+ * 	   are returned; links, devices and other special entries are skipped.
+ *
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+public class TarReader implements ArchiveReader
+{
+	/**
+	 * The main logger for the tar reader.
+	 */
+	private static Logger tarLogger = LoggingUtil.constructLogger("Tar Reader", new SimpleLogFormatter());
+	
+	/**
+	 * The stream the archive is read from.
+	 */
+	private final InputStream in;
+	
+	/**
+	 * The header being parsed.
+	 */
+	private final byte[] header = new byte[TarFormat.BLOCK_SIZE];
+	
+	/**
+	 * The number of bytes of the current entry's data not yet read.
+	 */
+	private long remaining;
+	
+	/**
+	 * The padding that follows the current entry's data.
+	 */
+	private int padding;
+	
+	/**
+	 * Whether the end of the archive has been reached.
+	 */
+	private boolean ended;
+	
+	/**
+	 * Creates a new tar reader.
+	 * @param in The stream to read the archive from.  It should be buffered.
+	 */
+	public TarReader(InputStream in)
+	{
+		this.in = in;
+	}
+	
+	@Override
+	public ArchiveEntry getNextEntry() throws IOException
+	{
+		this.skip(this.remaining + this.padding);
+		this.remaining = 0L;
+		this.padding = 0;
+		
+		String longName = null;
+		Map<String, String> pax = null;
+		
+		while(!this.ended)
+		{
+			if(!this.readHeader())
+			{
+				this.ended = true;
+				break;
+			}
+			
+			long expected = TarFormat.parseNumber(this.header, TarFormat.CHECKSUM, TarFormat.CHECKSUM_LENGTH);
+			
+			if(expected != TarFormat.checksum(this.header))
+			{
+				throw new IOException("Corrupt tar header: checksum mismatch.");
+			}
+			
+			byte type = this.header[TarFormat.TYPE];
+			long size = TarFormat.parseNumber(this.header, TarFormat.SIZE, TarFormat.SIZE_LENGTH);
+			
+			if(type == TarFormat.TYPE_GNU_LONG_NAME)
+			{
+				longName = this.readText(size);
+				
+				int end = longName.indexOf('\0');
+				longName = end < 0 ? longName : longName.substring(0, end);
+				continue;
+			}
+			
+			if(type == TarFormat.TYPE_PAX)
+			{
+				pax = parsePax(this.readText(size));
+				continue;
+			}
+			
+			if(type == TarFormat.TYPE_PAX_GLOBAL)
+			{
+				this.skip(size + TarFormat.padding(size));
+				continue;
+			}
+			
+			String name = TarFormat.parseString(this.header, TarFormat.NAME, TarFormat.NAME_LENGTH);
+			long time = TarFormat.parseNumber(this.header, TarFormat.MTIME, TarFormat.MTIME_LENGTH) * 1000L;
+			String prefix = this.isUstar() ? TarFormat.parseString(this.header, TarFormat.PREFIX, TarFormat.PREFIX_LENGTH) : "";
+			
+			if(!prefix.isEmpty())
+			{
+				name = prefix + "/" + name;
+			}
+			
+			if(longName != null)
+			{
+				name = longName;
+			}
+			
+			if(pax != null)
+			{
+				if(pax.containsKey("path"))
+				{
+					name = pax.get("path");
+				}
+				
+				if(pax.containsKey("size"))
+				{
+					size = parsePaxNumber(pax.get("size"));
+				}
+				
+				if(pax.containsKey("mtime"))
+				{
+					time = parsePaxTime(pax.get("mtime"));
+				}
+			}
+			
+			longName = null;
+			pax = null;
+			
+			boolean directory = type == TarFormat.TYPE_DIRECTORY || name.endsWith("/");
+			
+			if(directory)
+			{
+				this.skip(size + TarFormat.padding(size));
+				return new ArchiveEntry(name, 0L, time, true);
+			}
+			
+			if(type != TarFormat.TYPE_FILE && type != TarFormat.TYPE_FILE_OLD && type != TarFormat.TYPE_CONTIGUOUS)
+			{
+				tarLogger.fine("Skipping tar entry " + name + " of type " + (char)type);
+				this.skip(size + TarFormat.padding(size));
+				continue;
+			}
+			
+			this.remaining = size;
+			this.padding = TarFormat.padding(size);
+			
+			return new ArchiveEntry(name, size, time, false);
+		}
+		
+		return null;
+	}
+	
+	@Override
+	public int read(byte[] buffer, int offset, int length) throws IOException
+	{
+		if(this.remaining <= 0L)
+		{
+			return -1;
+		}
+		
+		int read = this.in.read(buffer, offset, (int)Math.min(length, this.remaining));
+		
+		if(read < 0)
+		{
+			throw new EOFException("Unexpected end of tar archive.");
+		}
+		
+		this.remaining -= read;
+		return read;
+	}
+	
+	@Override
+	public void close() throws IOException
+	{
+		this.in.close();
+	}
+	
+	/**
+	 * Reads the next header.
+	 * @return False at the end of the archive: a zero block, or the end of the
+	 * 		       stream between entries.
+	 * @throws IOException Thrown if the stream ends within the header.
+	 */
+	private boolean readHeader() throws IOException
+	{
+		int length = 0;
+		int read;
+		
+		while(length < this.header.length && (read = this.in.read(this.header, length, this.header.length - length)) >= 0)
+		{
+			length += read;
+		}
+		
+		if(length == 0)
+		{
+			return false;
+		}
+		
+		if(length < this.header.length)
+		{
+			throw new EOFException("Unexpected end of tar archive within a header.");
+		}
+		
+		for(byte b : this.header)
+		{
+			if(b != 0)
+			{
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Checks whether the current header is in the ustar format.
+	 * @return True if the header has the ustar magic.
+	 */
+	private boolean isUstar()
+	{
+		for(int i = 0; i < 5; i++)
+		{
+			if(this.header[TarFormat.MAGIC + i] != TarFormat.USTAR_MAGIC[i])
+			{
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Reads the data of a metadata entry as UTF-8 text, with its padding.
+	 * @param  size The size of the data.
+	 * @return The text.
+	 * @throws IOException Thrown if the data is too large or cannot be read.
+	 */
+	private String readText(long size) throws IOException
+	{
+		if(size > 1024 * 1024)
+		{
+			throw new IOException("Corrupt tar archive: " + size + " byte extended header.");
+		}
+		
+		byte[] data = new byte[(int)size];
+		int length = 0;
+		int read;
+		
+		while(length < data.length && (read = this.in.read(data, length, data.length - length)) >= 0)
+		{
+			length += read;
+		}
+		
+		if(length < data.length)
+		{
+			throw new EOFException("Unexpected end of tar archive within an extended header.");
+		}
+		
+		this.skip(TarFormat.padding(size));
+		
+		return new String(data, StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * Parses the records of a pax extended header, each of the form
+	 * 	   "<code>length key=value\n</code>", where the length counts the bytes
+	 * 	   of the whole record.
+	 * @param  text The header's data.
+	 * @return The values by key.
+	 * @throws IOException Thrown if a record is malformed.
+	 */
+	private static Map<String, String> parsePax(String text) throws IOException
+	{
+		Map<String, String> values = new HashMap<String, String>();
+		byte[] data = text.getBytes(StandardCharsets.UTF_8);
+		int position = 0;
+		
+		while(position < data.length && data[position] != 0)
+		{
+			int space = position;
+			
+			while(space < data.length && data[space] != ' ')
+			{
+				space++;
+			}
+			
+			int length;
+			
+			try
+			{
+				length = Integer.parseInt(new String(data, position, space - position, StandardCharsets.US_ASCII));
+			}
+			catch(NumberFormatException e)
+			{
+				throw new IOException("Corrupt pax header record.", e);
+			}
+			
+			int end = position + length;
+			
+			if(length <= 0 || end > data.length || data[end - 1] != '\n')
+			{
+				throw new IOException("Corrupt pax header record.");
+			}
+			
+			String record = new String(data, space + 1, end - space - 2, StandardCharsets.UTF_8);
+			int equals = record.indexOf('=');
+			
+			if(equals > 0)
+			{
+				values.put(record.substring(0, equals), record.substring(equals + 1));
+			}
+			
+			position = end;
+		}
+		
+		return values;
+	}
+	
+	/**
+	 * Parses a numeric pax value.
+	 * @param  value The value.
+	 * @return The number.
+	 * @throws IOException Thrown if the value is not a number.
+	 */
+	private static long parsePaxNumber(String value) throws IOException
+	{
+		try
+		{
+			return Long.parseLong(value.trim());
+		}
+		catch(NumberFormatException e)
+		{
+			throw new IOException("Corrupt pax header value: " + value, e);
+		}
+	}
+	
+	/**
+	 * Parses a pax time value: seconds since the epoch, with an optional
+	 * 	   fraction.
+	 * @param  value The value.
+	 * @return The time, in milliseconds since the epoch.
+	 * @throws IOException Thrown if the value is not a number.
+	 */
+	private static long parsePaxTime(String value) throws IOException
+	{
+		try
+		{
+			return (long)(Double.parseDouble(value.trim()) * 1000.0);
+		}
+		catch(NumberFormatException e)
+		{
+			throw new IOException("Corrupt pax header value: " + value, e);
+		}
+	}
+	
+	/**
+	 * Skips over bytes of the stream.
+	 * @param  count The number of bytes to skip.
+	 * @throws IOException Thrown if the stream ends first.
+	 */
+	private void skip(long count) throws IOException
+	{
+		byte[] scratch = null;
+		
+		while(count > 0L)
+		{
+			long skipped = this.in.skip(count);
+			
+			if(skipped <= 0L)
+			{
+				// Not every stream can skip; reading tells a stalled skip from the end.
+				if(scratch == null)
+				{
+					scratch = new byte[(int)Math.min(count, 8192)];
+				}
+				
+				skipped = this.in.read(scratch, 0, (int)Math.min(count, scratch.length));
+				
+				if(skipped < 0L)
+				{
+					throw new EOFException("Unexpected end of tar archive.");
+				}
+			}
+			
+			count -= skipped;
+		}
+	}
+}
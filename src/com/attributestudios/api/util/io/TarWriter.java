@@ -0,0 +1,295 @@
+package com.attributestudios.api.util.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes a '.tar' archive to a stream, one entry at a time, in the POSIX ustar
+ * 	   format.  Names too long for a ustar header, and sizes too large for one,
+ * 	   are written in a pax extended header instead.
+ *
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+public class TarWriter implements ArchiveWriter
+{
+	/**
+	 * The mode of files, rw-r--r--.
+	 */
+	private static final int FILE_MODE = 0644;
+	
+	/**
+	 * The mode of directories, rwxr-xr-x.
+	 */
+	private static final int DIRECTORY_MODE = 0755;
+	
+	/**
+	 * The name given to pax extended headers.
+	 */
+	private static final String PAX_HEADER_NAME = "././@PaxHeader";
+	
+	/**
+	 * The stream the archive is written to.
+	 */
+	private final OutputStream out;
+	
+	/**
+	 * The buffer entry data is copied through.
+	 */
+	private final byte[] buffer = new byte[64 * 1024];
+	
+	/**
+	 * The number of bytes written to the stream.
+	 */
+	private long written;
+	
+	/**
+	 * Whether the archive has been finished.
+	 */
+	private boolean finished;
+	
+	/**
+	 * Creates a new tar writer.
+	 * @param out The stream to write the archive to.  It should be buffered.
+	 */
+	public TarWriter(OutputStream out)
+	{
+		this.out = out;
+	}
+	
+	@Override
+	public void putEntry(ArchiveEntry entry, InputStream data) throws IOException
+	{
+		if(this.finished)
+		{
+			throw new IOException("Tar archive already finished.");
+		}
+		
+		String name = entry.getName();
+		boolean directory = entry.isDirectory();
+		
+		if(directory && !name.endsWith("/"))
+		{
+			name += "/";
+		}
+		
+		long size = directory ? 0L : entry.getSize();
+		
+		if(size < 0L)
+		{
+			throw new IOException("The size of tar entry " + name + " must be known before it is written.");
+		}
+		
+		long seconds = Math.max(0L, entry.getLastModified() / 1000L);
+		byte[] header = new byte[TarFormat.BLOCK_SIZE];
+		Map<String, String> pax = new LinkedHashMap<String, String>();
+		
+		if(!splitName(header, name.getBytes(StandardCharsets.UTF_8)))
+		{
+			pax.put("path", name);
+		}
+		
+		if(size > TarFormat.MAX_OCTAL_SIZE)
+		{
+			pax.put("size", Long.toString(size));
+		}
+		
+		if(!pax.isEmpty())
+		{
+			this.writePax(pax, seconds);
+		}
+		
+		TarFormat.formatOctal(header, TarFormat.MODE, TarFormat.MODE_LENGTH, directory ? DIRECTORY_MODE : FILE_MODE);
+		TarFormat.formatOctal(header, TarFormat.UID, TarFormat.ID_LENGTH, 0L);
+		TarFormat.formatOctal(header, TarFormat.GID, TarFormat.ID_LENGTH, 0L);
+		TarFormat.formatOctal(header, TarFormat.SIZE, TarFormat.SIZE_LENGTH, Math.min(size, TarFormat.MAX_OCTAL_SIZE));
+		TarFormat.formatOctal(header, TarFormat.MTIME, TarFormat.MTIME_LENGTH, Math.min(seconds, TarFormat.MAX_OCTAL_SIZE));
+		header[TarFormat.TYPE] = directory ? TarFormat.TYPE_DIRECTORY : TarFormat.TYPE_FILE;
+		this.writeHeader(header);
+		
+		if(directory)
+		{
+			return;
+		}
+		
+		long remaining = size;
+		
+		while(remaining > 0L)
+		{
+			int read = data.read(this.buffer, 0, (int)Math.min(this.buffer.length, remaining));
+			
+			if(read < 0)
+			{
+				throw new IOException("Tar entry " + name + " ended " + remaining + " bytes short of its size.");
+			}
+			
+			this.write(this.buffer, 0, read);
+			remaining -= read;
+		}
+		
+		if(data.read() >= 0)
+		{
+			throw new IOException("Tar entry " + name + " is longer than its size.");
+		}
+		
+		this.pad();
+	}
+	
+	@Override
+	public void finish() throws IOException
+	{
+		if(this.finished)
+		{
+			return;
+		}
+		
+		this.finished = true;
+		
+		// Two zero blocks end the archive, which is then padded to a whole record.
+		byte[] zeros = new byte[TarFormat.BLOCK_SIZE];
+		
+		this.write(zeros, 0, zeros.length);
+		this.write(zeros, 0, zeros.length);
+		
+		while(this.written % TarFormat.RECORD_SIZE != 0L)
+		{
+			this.write(zeros, 0, zeros.length);
+		}
+		
+		this.out.flush();
+	}
+	
+	@Override
+	public void close() throws IOException
+	{
+		try
+		{
+			this.finish();
+		}
+		finally
+		{
+			this.out.close();
+		}
+	}
+	
+	/**
+	 * Writes a name into a ustar header, split between the prefix and name
+	 * 	   fields at a slash if it is too long for the name field alone.
+	 * @param  header The header.
+	 * @param  name   The encoded name.
+	 * @return False if the name does not fit; it is then truncated.
+	 */
+	private static boolean splitName(byte[] header, byte[] name)
+	{
+		if(name.length <= TarFormat.NAME_LENGTH)
+		{
+			System.arraycopy(name, 0, header, TarFormat.NAME, name.length);
+			return true;
+		}
+		
+		// Choose the first slash leaving at most NAME_LENGTH bytes after it.
+		for(int slash = Math.max(1, name.length - TarFormat.NAME_LENGTH - 1); slash <= TarFormat.PREFIX_LENGTH && slash < name.length - 1; slash++)
+		{
+			if(name[slash] == '/')
+			{
+				System.arraycopy(name, 0, header, TarFormat.PREFIX, slash);
+				System.arraycopy(name, slash + 1, header, TarFormat.NAME, name.length - slash - 1);
+				return true;
+			}
+		}
+		
+		System.arraycopy(name, 0, header, TarFormat.NAME, TarFormat.NAME_LENGTH);
+		return false;
+	}
+	
+	/**
+	 * Writes a pax extended header for the next entry.
+	 * @param  values  The values by key.
+	 * @param  seconds The modification time of the entry.
+	 * @throws IOException Thrown if the archive cannot be written.
+	 */
+	private void writePax(Map<String, String> values, long seconds) throws IOException
+	{
+		StringBuilder records = new StringBuilder();
+		
+		for(Map.Entry<String, String> value : values.entrySet())
+		{
+			String record = " " + value.getKey() + "=" + value.getValue() + "\n";
+			int length = record.getBytes(StandardCharsets.UTF_8).length;
+			int total = length + Integer.toString(length).length();
+			
+			// The length counts its own digits, which may carry it over a power of ten.
+			if(Integer.toString(total).length() > Integer.toString(length).length())
+			{
+				total++;
+			}
+			
+			records.append(total).append(record);
+		}
+		
+		byte[] data = records.toString().getBytes(StandardCharsets.UTF_8);
+		byte[] header = new byte[TarFormat.BLOCK_SIZE];
+		byte[] name = PAX_HEADER_NAME.getBytes(StandardCharsets.US_ASCII);
+		
+		System.arraycopy(name, 0, header, TarFormat.NAME, name.length);
+		TarFormat.formatOctal(header, TarFormat.MODE, TarFormat.MODE_LENGTH, FILE_MODE);
+		TarFormat.formatOctal(header, TarFormat.UID, TarFormat.ID_LENGTH, 0L);
+		TarFormat.formatOctal(header, TarFormat.GID, TarFormat.ID_LENGTH, 0L);
+		TarFormat.formatOctal(header, TarFormat.SIZE, TarFormat.SIZE_LENGTH, data.length);
+		TarFormat.formatOctal(header, TarFormat.MTIME, TarFormat.MTIME_LENGTH, Math.min(seconds, TarFormat.MAX_OCTAL_SIZE));
+		header[TarFormat.TYPE] = TarFormat.TYPE_PAX;
+		this.writeHeader(header);
+		this.write(data, 0, data.length);
+		this.pad();
+	}
+	
+	/**
+	 * Completes a header with its magic and checksum, and writes it.
+	 * @param  header The header.
+	 * @throws IOException Thrown if the archive cannot be written.
+	 */
+	private void writeHeader(byte[] header) throws IOException
+	{
+		System.arraycopy(TarFormat.USTAR_MAGIC, 0, header, TarFormat.MAGIC, TarFormat.MAGIC_LENGTH);
+		header[TarFormat.VERSION] = '0';
+		header[TarFormat.VERSION + 1] = '0';
+		
+		// The checksum is six octal digits, a NUL and a space.
+		TarFormat.formatOctal(header, TarFormat.CHECKSUM, TarFormat.CHECKSUM_LENGTH - 1, TarFormat.checksum(header));
+		header[TarFormat.CHECKSUM + TarFormat.CHECKSUM_LENGTH - 1] = ' ';
+		
+		this.write(header, 0, header.length);
+	}
+	
+	/**
+	 * Pads the archive to the next block boundary.
+	 * @throws IOException Thrown if the archive cannot be written.
+	 */
+	private void pad() throws IOException
+	{
+		int padding = TarFormat.padding(this.written);
+		
+		if(padding > 0)
+		{
+			this.write(new byte[padding], 0, padding);
+		}
+	}
+	
+	/**
+	 * Writes to the stream, counting the bytes written.
+	 * @param  data   The data.
+	 * @param  offset The offset of the first byte.
+	 * @param  length The number of bytes.
+	 * @throws IOException Thrown if the stream cannot be written.
+	 */
+	private void write(byte[] data, int offset, int length) throws IOException
+	{
+		this.out.write(data, offset, length);
+		this.written += length;
+	}
+}
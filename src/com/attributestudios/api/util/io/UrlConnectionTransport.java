@@ -0,0 +1,34 @@
+package com.attributestudios.api.util.io;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+
+/**
+ * A {@link DownloadTransport} that opens connections exactly as
+ * 	   {@link URL#openConnection()} does, with the JVM's default settings, and
+ * 	   disconnects any connection it releases.  This is how downloads were made
+ * 	   before transports could be chosen.
+ * 
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+public class UrlConnectionTransport implements DownloadTransport
+{
+	@Override
+	public URLConnection openConnection(URL resource) throws IOException
+	{
+		return resource.openConnection();
+	}
+	
+	@Override
+	public void release(URLConnection connection)
+	{
+		if(connection instanceof HttpURLConnection)
+		{
+			((HttpURLConnection)connection).disconnect();
+		}
+	}
+}
@@ -0,0 +1,830 @@
+package com.attributestudios.api.util.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import com.attributestudios.api.util.logging.LoggingUtil;
+import com.attributestudios.api.util.logging.SimpleLogFormatter;
+
+/**
+ * A read-only view of a zip archive that reads individual entries on demand.
+ * 	   The central directory is read once, when the archive is opened, into an
+ * 	   index by name; entries are then read from the file by position and
+ * 	   inflated lazily.  Recently read entries are kept in a cache bounded by
+ * 	   their total size, split into segments with a lock each, so that any
+ * 	   number of threads may read from one archive at once.
+ * 	   <p>
+ * 	   If a thread is interrupted while reading, the file is reopened for the
+ * 	   others and that thread alone sees an {@link InterruptedIOException}.
+ *
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+public class ZipArchive implements Closeable
+{
+	/**
+	 * Main logger for the ZipArchive class.
+	 */
+	private static Logger zipLogger = LoggingUtil.constructLogger("Zip Archive", new SimpleLogFormatter());
+	
+	/**
+	 * The default bound on the total size of cached entries, in bytes.
+	 */
+	public static final long DEFAULT_CACHE_SIZE = 32L * 1024 * 1024;
+	
+	/**
+	 * The number of independently locked segments the cache is split into.
+	 */
+	private static final int CACHE_SEGMENTS = 16;
+	
+	/**
+	 * The size of the buffer compressed data is read into.
+	 */
+	private static final int BUFFER_SIZE = 64 * 1024;
+	
+	/**
+	 * The archive file.
+	 */
+	private final File file;
+	
+	/**
+	 * The channel entries are read through.  It is replaced if a reader's
+	 * 	   interrupt closes it.
+	 */
+	private volatile FileChannel channel;
+	
+	/**
+	 * Whether the archive has been closed.
+	 */
+	private volatile boolean closed;
+	
+	/**
+	 * The entries, in central directory order.
+	 */
+	private final List<CentralDirectory.Entry> entries;
+	
+	/**
+	 * The index of each entry by name.  Never modified once built.
+	 */
+	private final Map<String, Integer> index;
+	
+	/**
+	 * The offset of each entry's data, or -1 until first read.
+	 */
+	private final AtomicLongArray dataOffsets;
+	
+	/**
+	 * The cache segments, chosen by the hash of an entry's name.
+	 */
+	private final CacheSegment[] segments;
+	
+	/**
+	 * The largest entry that will be cached, in bytes.
+	 */
+	private final long maxCachedEntry;
+	
+	/**
+	 * The number of reads served from the cache.
+	 */
+	private final AtomicLong hits = new AtomicLong();
+	
+	/**
+	 * The number of reads that had to inflate their entry.
+	 */
+	private final AtomicLong misses = new AtomicLong();
+	
+	/**
+	 * Opens an archive with the default cache size.
+	 * @param  file The archive to open.
+	 * @throws IOException Thrown if the archive cannot be read or is not a valid
+	 * 					       zip file.
+	 */
+	public ZipArchive(File file) throws IOException
+	{
+		this(file, DEFAULT_CACHE_SIZE);
+	}
+	
+	/**
+	 * Opens an archive.
+	 * @param  file      The archive to open.
+	 * @param  cacheSize The bound on the total size of cached entries, in bytes,
+	 * 					     or 0 to cache nothing.
+	 * @throws IOException Thrown if the archive cannot be read or is not a valid
+	 * 					       zip file.
+	 */
+	public ZipArchive(File file, long cacheSize) throws IOException
+	{
+		if(cacheSize < 0L)
+		{
+			throw new IllegalArgumentException("Cache size must not be negative: " + cacheSize);
+		}
+		
+		this.file = file;
+		this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		
+		try
+		{
+			this.entries = CentralDirectory.read(this.channel).getEntries();
+		}
+		catch(IOException | RuntimeException e)
+		{
+			this.channel.close();
+			throw e;
+		}
+		
+		// Later entries of the same name replace earlier ones, as they would when extracted.
+		Map<String, Integer> index = new LinkedHashMap<String, Integer>(this.entries.size() * 4 / 3 + 1);
+		
+		for(int i = 0; i < this.entries.size(); i++)
+		{
+			index.put(this.entries.get(i).name, i);
+		}
+		
+		this.index = Collections.unmodifiableMap(index);
+		this.dataOffsets = new AtomicLongArray(this.entries.size());
+		
+		for(int i = 0; i < this.entries.size(); i++)
+		{
+			this.dataOffsets.set(i, -1L);
+		}
+		
+		this.segments = new CacheSegment[CACHE_SEGMENTS];
+		this.maxCachedEntry = cacheSize / CACHE_SEGMENTS;
+		
+		for(int i = 0; i < CACHE_SEGMENTS; i++)
+		{
+			this.segments[i] = new CacheSegment(this.maxCachedEntry);
+		}
+		
+		zipLogger.fine("Opened " + file + " with " + this.index.size() + " entries");
+	}
+	
+	/**
+	 * Gets the archive file.
+	 * @return The file.
+	 */
+	public File getFile()
+	{
+		return this.file;
+	}
+	
+	/**
+	 * Gets the names of every entry, in the order the archive lists them.
+	 * 	   Directory names end with '<code>/</code>'.
+	 * @return An unmodifiable set of the names.
+	 */
+	public Set<String> getEntryNames()
+	{
+		return this.index.keySet();
+	}
+	
+	/**
+	 * Checks whether the archive has an entry.
+	 * @param  name The entry's name.
+	 * @return True if the entry exists.
+	 */
+	public boolean contains(String name)
+	{
+		return this.index.containsKey(name);
+	}
+	
+	/**
+	 * Gets the extracted size of an entry.
+	 * @param  name The entry's name.
+	 * @return The size, in bytes.
+	 * @throws FileNotFoundException Thrown if there is no such entry.
+	 */
+	public long getSize(String name) throws FileNotFoundException
+	{
+		return this.entries.get(this.indexOf(name)).size;
+	}
+	
+	/**
+	 * Gets the modification time of an entry.
+	 * @param  name The entry's name.
+	 * @return The time, in milliseconds since the epoch.
+	 * @throws FileNotFoundException Thrown if there is no such entry.
+	 */
+	public long getTime(String name) throws FileNotFoundException
+	{
+		return this.entries.get(this.indexOf(name)).getTime();
+	}
+	
+	/**
+	 * Opens a stream over an entry's contents.  An entry small enough to be
+	 * 	   cached is read whole and cached; a larger one is inflated as the stream
+	 * 	   is read.  Either way the contents are checked against the entry's CRC,
+	 * 	   and the stream fails if they do not match.
+	 * @param  name The entry's name.
+	 * @return The stream, which the caller must close.
+	 * @throws IOException Thrown if there is no such entry, the archive is
+	 * 					       closed, or the entry cannot be read.
+	 */
+	public InputStream getInputStream(String name) throws IOException
+	{
+		int i = this.indexOf(name);
+		CentralDirectory.Entry entry = this.entries.get(i);
+		
+		if(entry.size <= this.maxCachedEntry)
+		{
+			return new ByteArrayInputStream(this.load(i));
+		}
+		
+		this.misses.incrementAndGet();
+		return this.open(i);
+	}
+	
+	/**
+	 * Reads an entry's contents whole, from the cache if it is there.
+	 * @param  name The entry's name.
+	 * @return A read-only buffer of the contents.
+	 * @throws IOException Thrown if there is no such entry, the archive is
+	 * 					       closed, the entry is too large for a buffer, or it
+	 * 					       cannot be read.
+	 */
+	public ByteBuffer getBuffer(String name) throws IOException
+	{
+		return ByteBuffer.wrap(this.load(this.indexOf(name))).asReadOnlyBuffer();
+	}
+	
+	/**
+	 * Gets the number of reads served from the cache.
+	 * @return The hit count.
+	 */
+	public long getCacheHits()
+	{
+		return this.hits.get();
+	}
+	
+	/**
+	 * Gets the number of reads that had to inflate their entry.
+	 * @return The miss count.
+	 */
+	public long getCacheMisses()
+	{
+		return this.misses.get();
+	}
+	
+	/**
+	 * Gets the total size of the cached entries.
+	 * @return The size, in bytes.
+	 */
+	public long getCachedSize()
+	{
+		long size = 0L;
+		
+		for(CacheSegment segment : this.segments)
+		{
+			size += segment.getSize();
+		}
+		
+		return size;
+	}
+	
+	/**
+	 * Empties the cache.
+	 */
+	public void clearCache()
+	{
+		for(CacheSegment segment : this.segments)
+		{
+			segment.clear();
+		}
+	}
+	
+	/**
+	 * Closes the archive.  Streams still open fail on their next read.
+	 * @throws IOException Thrown if the file cannot be closed.
+	 */
+	@Override
+	public synchronized void close() throws IOException
+	{
+		this.closed = true;
+		this.clearCache();
+		this.channel.close();
+	}
+	
+	/**
+	 * Finds an entry's index.
+	 * @param  name The entry's name.
+	 * @return The index.
+	 * @throws FileNotFoundException Thrown if there is no such entry.
+	 */
+	private int indexOf(String name) throws FileNotFoundException
+	{
+		Integer i = this.index.get(name);
+		
+		if(i == null)
+		{
+			throw new FileNotFoundException("No entry " + name + " in " + this.file);
+		}
+		
+		return i;
+	}
+	
+	/**
+	 * Gets an entry's contents from the cache, or reads and caches them.
+	 * @param  i The entry's index.
+	 * @return The contents, which must not be modified.
+	 * @throws IOException Thrown if the archive is closed, the entry is too
+	 * 					       large for an array, or it cannot be read.
+	 */
+	private byte[] load(int i) throws IOException
+	{
+		CentralDirectory.Entry entry = this.entries.get(i);
+		CacheSegment segment = this.segments[(entry.name.hashCode() & 0x7FFFFFFF) % CACHE_SEGMENTS];
+		byte[] data = segment.get(entry.name);
+		
+		if(data != null)
+		{
+			this.hits.incrementAndGet();
+			return data;
+		}
+		
+		this.misses.incrementAndGet();
+		
+		if(entry.size > Integer.MAX_VALUE - 8)
+		{
+			throw new IOException("Zip entry " + entry.name + " is too large to read whole: " + entry.size + " bytes");
+		}
+		
+		data = new byte[(int)entry.size];
+		
+		try(InputStream in = this.open(i))
+		{
+			int offset = 0;
+			
+			while(offset < data.length)
+			{
+				int read = in.read(data, offset, data.length - offset);
+				
+				if(read < 0)
+				{
+					throw new EOFException("Unexpected end of zip entry " + entry.name);
+				}
+				
+				offset += read;
+			}
+			
+			// Reading to the end checks the CRC.
+			if(in.read() >= 0)
+			{
+				throw new IOException("Corrupt zip entry " + entry.name + ": longer than the central directory records.");
+			}
+		}
+		
+		if(entry.size <= this.maxCachedEntry)
+		{
+			segment.put(entry.name, data);
+		}
+		
+		return data;
+	}
+	
+	/**
+	 * Opens a lazily inflating stream over an entry.
+	 * @param  i The entry's index.
+	 * @return The stream.
+	 * @throws IOException Thrown if the archive is closed or the entry cannot
+	 * 					       be read.
+	 */
+	private InputStream open(int i) throws IOException
+	{
+		CentralDirectory.Entry entry = this.entries.get(i);
+		
+		if(entry.isDirectory())
+		{
+			return new ByteArrayInputStream(new byte[0]);
+		}
+		
+		entry.checkSupported();
+		
+		long offset = this.dataOffsets.get(i);
+		
+		if(offset < 0L)
+		{
+			ByteBuffer header = ByteBuffer.allocate(ZipFormat.LOCAL_HEADER_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+			this.readFully(header, entry.localHeaderOffset);
+			
+			if(header.getInt(0) != ZipFormat.LOCAL_HEADER_SIGNATURE)
+			{
+				throw new IOException("Corrupt zip file: bad local header for " + entry.name);
+			}
+			
+			offset = entry.localHeaderOffset + ZipFormat.LOCAL_HEADER_LENGTH + (header.getShort(26) & 0xFFFF) + (header.getShort(28) & 0xFFFF);
+			this.dataOffsets.set(i, offset);
+		}
+		
+		return new EntryInputStream(entry, offset);
+	}
+	
+	/**
+	 * Fills a buffer from the archive.
+	 * @param  buffer   The buffer to fill.
+	 * @param  position The offset to read from.
+	 * @throws IOException Thrown if the archive ends first or cannot be read.
+	 */
+	private void readFully(ByteBuffer buffer, long position) throws IOException
+	{
+		long start = position - buffer.position();
+		
+		while(buffer.hasRemaining())
+		{
+			if(this.read(buffer, start + buffer.position()) < 0)
+			{
+				throw new EOFException("Unexpected end of zip file " + this.file);
+			}
+		}
+	}
+	
+	/**
+	 * Reads from the archive by position, reopening the file if another
+	 * 	   reader's interrupt closed it.
+	 * @param  buffer   The buffer to read into.
+	 * @param  position The offset to read from.
+	 * @return The number of bytes read, or -1 at the end of the file.
+	 * @throws IOException Thrown if the archive is closed, this thread is
+	 * 					       interrupted, or the file cannot be read.
+	 */
+	private int read(ByteBuffer buffer, long position) throws IOException
+	{
+		while(true)
+		{
+			FileChannel current = this.channel;
+			
+			try
+			{
+				return current.read(buffer, position);
+			}
+			catch(ClosedByInterruptException e)
+			{
+				this.reopen(current);
+				
+				InterruptedIOException interrupted = new InterruptedIOException("Interrupted while reading " + this.file);
+				interrupted.initCause(e);
+				throw interrupted;
+			}
+			catch(ClosedChannelException e)
+			{
+				// Closed by an interrupt on another thread, unless the archive itself is closed.
+				this.reopen(current);
+			}
+		}
+	}
+	
+	/**
+	 * Replaces a channel closed by an interrupt.
+	 * @param  stale The channel found closed.
+	 * @throws IOException Thrown if the archive is closed or the file cannot be
+	 * 					       reopened.
+	 */
+	private synchronized void reopen(FileChannel stale) throws IOException
+	{
+		if(this.closed)
+		{
+			throw new IOException("Zip archive " + this.file + " is closed.");
+		}
+		
+		if(this.channel == stale)
+		{
+			zipLogger.fine("Reopening " + this.file + " after an interrupted read");
+			this.channel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ);
+		}
+	}
+	
+	/**
+	 * A stream that reads an entry from the archive as it is read, inflating
+	 * 	   it if compressed, and checks its size and CRC at the end.
+	 */
+	private final class EntryInputStream extends InputStream
+	{
+		/**
+		 * The entry being read.
+		 */
+		private final CentralDirectory.Entry entry;
+		
+		/**
+		 * The inflater, or null if the entry is stored.
+		 */
+		private Inflater inflater;
+		
+		/**
+		 * The buffer compressed data is read into.
+		 */
+		private final byte[] input;
+		
+		/**
+		 * The checksum of the data returned so far.
+		 */
+		private final CRC32 crc = new CRC32();
+		
+		/**
+		 * The offset of the next compressed byte to read.
+		 */
+		private long position;
+		
+		/**
+		 * The number of compressed bytes left to read.
+		 */
+		private long remaining;
+		
+		/**
+		 * The number of bytes returned so far.
+		 */
+		private long count;
+		
+		/**
+		 * Whether the extra byte a raw inflater may need has been given.
+		 */
+		private boolean padded;
+		
+		/**
+		 * Whether the end of the entry has been reached and checked.
+		 */
+		private boolean finished;
+		
+		/**
+		 * Creates a new entry stream.
+		 * @param entry  The entry to read.
+		 * @param offset The offset of the entry's data.
+		 */
+		EntryInputStream(CentralDirectory.Entry entry, long offset)
+		{
+			this.entry = entry;
+			this.position = offset;
+			this.remaining = entry.compressedSize;
+			
+			if(entry.method == ZipFormat.METHOD_DEFLATED)
+			{
+				this.inflater = new Inflater(true);
+				this.input = new byte[(int)Math.min(BUFFER_SIZE, entry.compressedSize + 1)];
+			}
+			else
+			{
+				this.input = null;
+			}
+		}
+		
+		@Override
+		public int read() throws IOException
+		{
+			byte[] single = new byte[1];
+			
+			return this.read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+		}
+		
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException
+		{
+			if(len == 0)
+			{
+				return 0;
+			}
+			
+			if(this.finished)
+			{
+				return -1;
+			}
+			
+			int read = this.inflater == null ? this.readStored(b, off, len) : this.readDeflated(b, off, len);
+			
+			if(read < 0)
+			{
+				this.finish();
+				return -1;
+			}
+			
+			this.crc.update(b, off, read);
+			this.count += read;
+			return read;
+		}
+		
+		/**
+		 * Reads stored data straight from the archive.
+		 * @param  b   The buffer to read into.
+		 * @param  off The offset in the buffer.
+		 * @param  len The most bytes to read.
+		 * @return The number of bytes read, or -1 at the end of the entry.
+		 * @throws IOException Thrown if the archive cannot be read.
+		 */
+		private int readStored(byte[] b, int off, int len) throws IOException
+		{
+			if(this.remaining <= 0L)
+			{
+				return -1;
+			}
+			
+			int read = ZipArchive.this.read(ByteBuffer.wrap(b, off, (int)Math.min(len, this.remaining)), this.position);
+			
+			if(read < 0)
+			{
+				throw new EOFException("Unexpected end of zip file " + ZipArchive.this.file);
+			}
+			
+			this.position += read;
+			this.remaining -= read;
+			return read;
+		}
+		
+		/**
+		 * Inflates data read from the archive.
+		 * @param  b   The buffer to inflate into.
+		 * @param  off The offset in the buffer.
+		 * @param  len The most bytes to inflate.
+		 * @return The number of bytes inflated, or -1 at the end of the entry.
+		 * @throws IOException Thrown if the archive cannot be read or the data is
+		 * 					       corrupt.
+		 */
+		private int readDeflated(byte[] b, int off, int len) throws IOException
+		{
+			while(!this.inflater.finished())
+			{
+				if(this.inflater.needsInput())
+				{
+					if(this.remaining > 0L)
+					{
+						ByteBuffer buffer = ByteBuffer.wrap(this.input, 0, (int)Math.min(this.input.length, this.remaining));
+						ZipArchive.this.readFully(buffer, this.position);
+						
+						this.inflater.setInput(this.input, 0, buffer.position());
+						this.position += buffer.position();
+						this.remaining -= buffer.position();
+					}
+					else if(!this.padded)
+					{
+						// A raw inflater may ask for one byte beyond the deflated data.
+						this.input[0] = 0;
+						this.inflater.setInput(this.input, 0, 1);
+						this.padded = true;
+					}
+					else
+					{
+						throw new EOFException("Unexpected end of zip entry " + this.entry.name);
+					}
+				}
+				
+				int inflated;
+				
+				try
+				{
+					inflated = this.inflater.inflate(b, off, len);
+				}
+				catch(DataFormatException e)
+				{
+					throw new IOException("Corrupt zip entry " + this.entry.name, e);
+				}
+				
+				if(inflated > 0)
+				{
+					return inflated;
+				}
+				
+				if(this.inflater.needsDictionary())
+				{
+					throw new IOException("Corrupt zip entry " + this.entry.name + ": preset dictionary required.");
+				}
+			}
+			
+			return -1;
+		}
+		
+		/**
+		 * Checks the entry's size and CRC once its end is reached.
+		 * @throws IOException Thrown if either does not match the central
+		 * 					       directory.
+		 */
+		private void finish() throws IOException
+		{
+			this.finished = true;
+			this.close();
+			
+			if(this.count != this.entry.size || this.crc.getValue() != this.entry.crc)
+			{
+				throw new IOException("Corrupt zip entry " + this.entry.name + ": size or CRC does not match the central directory.");
+			}
+		}
+		
+		@Override
+		public int available()
+		{
+			return this.finished ? 0 : (int)Math.min(Integer.MAX_VALUE, this.entry.size - this.count);
+		}
+		
+		@Override
+		public void close()
+		{
+			this.finished = true;
+			
+			if(this.inflater != null)
+			{
+				this.inflater.end();
+				this.inflater = null;
+			}
+		}
+	}
+	
+	/**
+	 * One segment of the entry cache: a least recently used map of entry
+	 * 	   contents, bounded by their total size, with a lock of its own.
+	 */
+	private static final class CacheSegment
+	{
+		/**
+		 * The cached contents by entry name, least recently used first.
+		 */
+		private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<String, byte[]>(16, 0.75f, true);
+		
+		/**
+		 * The bound on the total size of this segment's entries.
+		 */
+		private final long capacity;
+		
+		/**
+		 * The total size of this segment's entries.
+		 */
+		private long size;
+		
+		/**
+		 * Creates a new cache segment.
+		 * @param capacity The bound on the total size of its entries, in bytes.
+		 */
+		CacheSegment(long capacity)
+		{
+			this.capacity = capacity;
+		}
+		
+		/**
+		 * Gets an entry's contents, marking them as recently used.
+		 * @param  name The entry's name.
+		 * @return The contents, or null if not cached.
+		 */
+		synchronized byte[] get(String name)
+		{
+			return this.entries.get(name);
+		}
+		
+		/**
+		 * Caches an entry's contents, evicting the least recently used entries
+		 * 	   as needed to stay within the bound.
+		 * @param name The entry's name.
+		 * @param data The contents.
+		 */
+		synchronized void put(String name, byte[] data)
+		{
+			byte[] previous = this.entries.put(name, data);
+			
+			this.size += data.length - (previous == null ? 0 : previous.length);
+			
+			Iterator<byte[]> eldest = this.entries.values().iterator();
+			
+			while(this.size > this.capacity && eldest.hasNext())
+			{
+				this.size -= eldest.next().length;
+				eldest.remove();
+			}
+		}
+		
+		/**
+		 * Gets the total size of this segment's entries.
+		 * @return The size, in bytes.
+		 */
+		synchronized long getSize()
+		{
+			return this.size;
+		}
+		
+		/**
+		 * Removes every entry.
+		 */
+		synchronized void clear()
+		{
+			this.entries.clear();
+			this.size = 0L;
+		}
+	}
+}
@@ -0,0 +1,668 @@
+package com.attributestudios.api.util.io;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import com.attributestudios.api.util.logging.LoggingUtil;
+import com.attributestudios.api.util.logging.SimpleLogFormatter;
+
+/**
+ * Extracts a zip archive with its entries inflated concurrently.  The
+ * 	   central directory is read first, every directory is created up front,
+ * 	   and each file entry is then read from the archive by position and
+ * 	   inflated on a worker thread, largest first so that one large entry does
+ * 	   not hold up the end of the run.  Inflaters and buffers are pooled
+ * 	   between entries, and every entry is checked against its size and CRC.
+ * 	   In sync mode, entries already present on disk are left alone.
+ *
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+class ZipArchiveExtractor
+{
+	/**
+	 * The main logger for the archive extractor.
+	 */
+	private static Logger zipLogger = LoggingUtil.constructLogger("Zip Extractor", new SimpleLogFormatter());
+	
+	/**
+	 * The size of the buffers entries are read and inflated through.
+	 */
+	private static final int BUFFER_SIZE = 256 * 1024;
+	
+	/**
+	 * The resolution of zip timestamps, within which a file's modification time
+	 * 	   is taken to match its entry's, in milliseconds.
+	 */
+	private static final long DOS_TIME_RESOLUTION = 2000L;
+	
+	/**
+	 * The number of entries inflated at once.
+	 */
+	private final int parallelism;
+	
+	/**
+	 * The idle workspaces, each holding an inflater and its buffers.
+	 */
+	private final Queue<Workspace> workspaces = new ConcurrentLinkedQueue<Workspace>();
+	
+	/**
+	 * The number of entries written.
+	 */
+	private final AtomicInteger written = new AtomicInteger();
+	
+	/**
+	 * The number of entries skipped as unchanged.
+	 */
+	private final AtomicInteger skipped = new AtomicInteger();
+	
+	/**
+	 * The number of bytes written.
+	 */
+	private final AtomicLong bytesWritten = new AtomicLong();
+	
+	/**
+	 * The number of bytes skipped as unchanged.
+	 */
+	private final AtomicLong bytesSkipped = new AtomicLong();
+	
+	/**
+	 * Creates a new archive extractor.
+	 * @param parallelism The number of entries to inflate at once.
+	 */
+	ZipArchiveExtractor(int parallelism)
+	{
+		this.parallelism = parallelism;
+	}
+	
+	/**
+	 * Extracts an archive into a directory.  If any entry fails, the remaining
+	 * 	   entries are abandoned and every file and directory created so far is
+	 * 	   deleted before the error is rethrown.
+	 * @param  zippedFile     The archive to extract.
+	 * @param  unzipDirectory The directory to extract into.
+	 * @return Every file and directory created.
+	 * @throws IOException Thrown if the archive cannot be read, an entry would be
+	 * 					       written outside the directory, or an entry cannot
+	 * 					       be written.
+	 */
+	List<File> extract(File zippedFile, File unzipDirectory) throws IOException
+	{
+		return this.run(zippedFile, unzipDirectory, false, null);
+	}
+	
+	/**
+	 * Extracts an archive into a directory, writing only the entries that differ
+	 * 	   from the files already there.  As with rsync, a file whose size and
+	 * 	   modification time match its entry is taken to be unchanged; one whose
+	 * 	   size matches but whose time does not is compared by CRC, and if the
+	 * 	   contents match only its time is updated.  Files and directories
+	 * 	   created before a failure are deleted; files overwritten are not
+	 * 	   restored.
+	 * @param  zippedFile     The archive to extract.
+	 * @param  unzipDirectory The directory to extract into.
+	 * @param  removeStale    Whether to delete files and directories beneath the
+	 * 						      directory that are not in the archive, once every
+	 * 						      entry has been extracted.
+	 * @return The numbers of entries written and skipped, and of files and
+	 * 		       directories removed.
+	 * @throws IOException Thrown if the archive cannot be read, an entry cannot
+	 * 					       be written, or a stale file cannot be deleted.
+	 */
+	ExtractionSummary sync(File zippedFile, File unzipDirectory, boolean removeStale) throws IOException
+	{
+		Set<String> kept = removeStale ? new HashSet<String>() : null;
+		
+		this.run(zippedFile, unzipDirectory, true, kept);
+		
+		int removed = kept == null ? 0 : removeStale(unzipDirectory.getCanonicalFile(), kept);
+		ExtractionSummary summary = new ExtractionSummary(this.written.get(), this.skipped.get(), removed,
+				this.bytesWritten.get(), this.bytesSkipped.get());
+		
+		zipLogger.info("Synced " + zippedFile + " to " + unzipDirectory + ": " + summary);
+		
+		return summary;
+	}
+	
+	/**
+	 * Extracts an archive into a directory, cleaning up after a failure.
+	 * @param  zippedFile     The archive to extract.
+	 * @param  unzipDirectory The directory to extract into.
+	 * @param  sync           Whether to skip entries that match the file on disk.
+	 * @param  kept           The set to add the canonical path of every entry and
+	 * 						      its parent directories to, or null.
+	 * @return Every file and directory created.
+	 * @throws IOException Thrown if the archive cannot be read, an entry would be
+	 * 					       written outside the directory, or an entry cannot
+	 * 					       be written.
+	 */
+	private List<File> run(File zippedFile, File unzipDirectory, final boolean sync, Set<String> kept) throws IOException
+	{
+		if(unzipDirectory.exists() && !unzipDirectory.isDirectory())
+		{
+			throw new IOException(unzipDirectory + " is not a directory.");
+		}
+		
+		final List<File> created = Collections.synchronizedList(new ArrayList<File>());
+		ExecutorService executor = null;
+		
+		try(final FileChannel channel = FileChannel.open(zippedFile.toPath(), StandardOpenOption.READ))
+		{
+			List<CentralDirectory.Entry> entries = CentralDirectory.read(channel).getEntries();
+			
+			zipLogger.info("Extracting " + entries.size() + " entries from " + zippedFile + " on " + this.parallelism + " threads");
+			
+			ZippingUtils.makeDirectories(unzipDirectory, created);
+			
+			String rootPath = unzipDirectory.getCanonicalPath() + File.separator;
+			int rootLength = rootPath.length() - 1;
+			Set<File> directories = new HashSet<File>();
+			
+			// Later entries of the same name replace earlier ones, as they would when streamed.
+			Map<File, CentralDirectory.Entry> files = new LinkedHashMap<File, CentralDirectory.Entry>();
+			
+			for(CentralDirectory.Entry entry : entries)
+			{
+				File target = new File(unzipDirectory, entry.name.trim());
+				
+				String canonicalPath = target.getCanonicalPath();
+				
+				if(!(canonicalPath + File.separator).startsWith(rootPath))
+				{
+					throw new IOException("Zip entry " + entry.name + " would be written outside " + unzipDirectory);
+				}
+				
+				if(kept != null)
+				{
+					// The entry and each directory above it, stopping at the root or at one already kept.
+					String path = canonicalPath;
+					
+					while(path.length() > rootLength && kept.add(path))
+					{
+						path = new File(path).getParent();
+					}
+				}
+				
+				File directory = entry.isDirectory() ? target : target.getParentFile();
+				
+				if(directories.add(directory))
+				{
+					ZippingUtils.makeDirectories(directory, created);
+				}
+				
+				if(!entry.isDirectory())
+				{
+					entry.checkSupported();
+					files.put(target, entry);
+				}
+			}
+			
+			List<Map.Entry<File, CentralDirectory.Entry>> jobs = new ArrayList<Map.Entry<File, CentralDirectory.Entry>>(files.entrySet());
+			
+			Collections.sort(jobs, new Comparator<Map.Entry<File, CentralDirectory.Entry>>()
+			{
+				@Override
+				public int compare(Map.Entry<File, CentralDirectory.Entry> a, Map.Entry<File, CentralDirectory.Entry> b)
+				{
+					return Long.compare(b.getValue().compressedSize, a.getValue().compressedSize);
+				}
+			});
+			
+			executor = Executors.newFixedThreadPool(this.parallelism);
+			List<Future<Void>> pending = new ArrayList<Future<Void>>(jobs.size());
+			
+			for(final Map.Entry<File, CentralDirectory.Entry> job : jobs)
+			{
+				pending.add(executor.submit(new Callable<Void>()
+				{
+					@Override
+					public Void call() throws IOException
+					{
+						File target = job.getKey();
+						CentralDirectory.Entry entry = job.getValue();
+						
+						if(sync && isUnchanged(entry, target))
+						{
+							skipped.incrementAndGet();
+							bytesSkipped.addAndGet(entry.size);
+							return null;
+						}
+						
+						if(!target.exists())
+						{
+							created.add(target);
+						}
+						
+						inflate(channel, entry, target);
+						written.incrementAndGet();
+						bytesWritten.addAndGet(entry.size);
+						return null;
+					}
+				}));
+			}
+			
+			for(Future<Void> future : pending)
+			{
+				await(future);
+			}
+		}
+		catch(IOException | RuntimeException e)
+		{
+			if(executor != null)
+			{
+				abandon(executor);
+			}
+			
+			zipLogger.warning("Unzipping failed; removing " + created.size() + " extracted files and directories.");
+			
+			synchronized(created)
+			{
+				ZippingUtils.deleteExtracted(created);
+			}
+			
+			throw e;
+		}
+		finally
+		{
+			if(executor != null)
+			{
+				executor.shutdownNow();
+			}
+			
+			Workspace workspace;
+			
+			while((workspace = this.workspaces.poll()) != null)
+			{
+				workspace.inflater.end();
+			}
+		}
+		
+		return new ArrayList<File>(created);
+	}
+	
+	/**
+	 * Writes one entry to its target file, checking its size and CRC.
+	 * @param  channel The archive's channel.
+	 * @param  entry   The entry to extract.
+	 * @param  target  The file to write.
+	 * @throws IOException Thrown if the entry cannot be read, is corrupt, or the
+	 * 					       file cannot be written.
+	 */
+	private void inflate(FileChannel channel, CentralDirectory.Entry entry, File target) throws IOException
+	{
+		Workspace workspace = this.borrow();
+		
+		try(OutputStream out = new FileOutputStream(target))
+		{
+			CRC32 crc = workspace.crc;
+			byte[] input = workspace.input;
+			byte[] output = workspace.output;
+			long position = CentralDirectory.dataOffset(channel, entry);
+			long remaining = entry.compressedSize;
+			long written = 0L;
+			
+			crc.reset();
+			
+			if(entry.method == ZipFormat.METHOD_STORED)
+			{
+				while(remaining > 0L)
+				{
+					int read = readFully(channel, input, (int)Math.min(remaining, input.length), position);
+					
+					crc.update(input, 0, read);
+					out.write(input, 0, read);
+					
+					position += read;
+					remaining -= read;
+					written += read;
+				}
+			}
+			else
+			{
+				Inflater inflater = workspace.inflater;
+				boolean padded = false;
+				
+				while(!inflater.finished())
+				{
+					if(inflater.needsInput())
+					{
+						if(remaining > 0L)
+						{
+							int read = readFully(channel, input, (int)Math.min(remaining, input.length), position);
+							
+							inflater.setInput(input, 0, read);
+							position += read;
+							remaining -= read;
+						}
+						else if(!padded)
+						{
+							// A raw inflater may ask for one byte beyond the deflated data.
+							input[0] = 0;
+							inflater.setInput(input, 0, 1);
+							padded = true;
+						}
+						else
+						{
+							throw new IOException("Unexpected end of zip entry " + entry.name);
+						}
+					}
+					
+					int inflated;
+					
+					try
+					{
+						inflated = inflater.inflate(output);
+					}
+					catch(DataFormatException e)
+					{
+						throw new IOException("Corrupt zip entry " + entry.name, e);
+					}
+					
+					if(inflated == 0 && inflater.needsDictionary())
+					{
+						throw new IOException("Corrupt zip entry " + entry.name + ": preset dictionary required.");
+					}
+					
+					crc.update(output, 0, inflated);
+					out.write(output, 0, inflated);
+					written += inflated;
+				}
+			}
+			
+			if(written != entry.size || crc.getValue() != entry.crc)
+			{
+				throw new IOException("Corrupt zip entry " + entry.name + ": size or CRC does not match the central directory.");
+			}
+		}
+		finally
+		{
+			this.release(workspace);
+		}
+		
+		target.setLastModified(entry.getTime());
+	}
+	
+	/**
+	 * Checks whether a file on disk already holds an entry's contents, updating
+	 * 	   its modification time if only that differs.
+	 * @param  entry  The entry.
+	 * @param  target The file the entry would be written to.
+	 * @return True if the file need not be written.
+	 * @throws IOException Thrown if the file cannot be read.
+	 */
+	private boolean isUnchanged(CentralDirectory.Entry entry, File target) throws IOException
+	{
+		if(!target.isFile() || target.length() != entry.size)
+		{
+			return false;
+		}
+		
+		long time = entry.getTime();
+		
+		if(Math.abs(target.lastModified() - time) <= DOS_TIME_RESOLUTION)
+		{
+			return true;
+		}
+		
+		// The times differ, so the contents decide.
+		Workspace workspace = this.borrow();
+		
+		try(InputStream in = new FileInputStream(target))
+		{
+			CRC32 crc = workspace.crc;
+			byte[] buffer = workspace.input;
+			int read;
+			
+			crc.reset();
+			
+			while((read = in.read(buffer, 0, buffer.length)) >= 0)
+			{
+				crc.update(buffer, 0, read);
+			}
+			
+			if(crc.getValue() != entry.crc)
+			{
+				return false;
+			}
+		}
+		finally
+		{
+			this.release(workspace);
+		}
+		
+		target.setLastModified(time);
+		return true;
+	}
+	
+	/**
+	 * Deletes everything beneath a directory that is not kept.
+	 * @param  directory The directory to clean.
+	 * @param  kept      The canonical paths of every entry and its parents.
+	 * @return The number of files and directories deleted.
+	 * @throws IOException Thrown if a directory cannot be listed or a file cannot
+	 * 					       be deleted.
+	 */
+	private static int removeStale(File directory, Set<String> kept) throws IOException
+	{
+		File[] children = directory.listFiles();
+		
+		if(children == null)
+		{
+			throw new IOException("Unable to list directory " + directory);
+		}
+		
+		int removed = 0;
+		
+		for(File child : children)
+		{
+			if(!kept.contains(child.getPath()))
+			{
+				removed += deleteTree(child);
+			}
+			else if(child.isDirectory() && !Files.isSymbolicLink(child.toPath()))
+			{
+				removed += removeStale(child, kept);
+			}
+		}
+		
+		return removed;
+	}
+	
+	/**
+	 * Deletes a file, or a directory and everything beneath it.  Symbolic links
+	 * 	   are deleted without being followed.
+	 * @param  file The file or directory to delete.
+	 * @return The number of files and directories deleted.
+	 * @throws IOException Thrown if anything cannot be deleted.
+	 */
+	private static int deleteTree(File file) throws IOException
+	{
+		int removed = 0;
+		
+		if(file.isDirectory() && !Files.isSymbolicLink(file.toPath()))
+		{
+			File[] children = file.listFiles();
+			
+			if(children == null)
+			{
+				throw new IOException("Unable to list directory " + file);
+			}
+			
+			for(File child : children)
+			{
+				removed += deleteTree(child);
+			}
+		}
+		
+		if(!file.delete())
+		{
+			throw new IOException("Unable to delete stale file " + file);
+		}
+		
+		zipLogger.finer("Removed stale file " + file);
+		
+		return removed + 1;
+	}
+	
+	/**
+	 * Takes an idle workspace from the pool, creating one if none is idle.
+	 * @return The workspace.
+	 */
+	private Workspace borrow()
+	{
+		Workspace workspace = this.workspaces.poll();
+		
+		return workspace == null ? new Workspace() : workspace;
+	}
+	
+	/**
+	 * Returns a workspace to the pool.
+	 * @param workspace The workspace, which must not be used again by the caller.
+	 */
+	private void release(Workspace workspace)
+	{
+		workspace.inflater.reset();
+		this.workspaces.add(workspace);
+	}
+	
+	/**
+	 * Reads a range of the archive into a buffer.
+	 * @param  channel  The archive's channel.
+	 * @param  buffer   The buffer to read into, from its start.
+	 * @param  length   The number of bytes to read.
+	 * @param  position The offset to read from.
+	 * @return The number of bytes read, which is always <code>length</code>.
+	 * @throws IOException Thrown if the archive ends before the range does.
+	 */
+	private static int readFully(FileChannel channel, byte[] buffer, int length, long position) throws IOException
+	{
+		ByteBuffer wrapped = ByteBuffer.wrap(buffer, 0, length);
+		
+		while(wrapped.hasRemaining())
+		{
+			if(channel.read(wrapped, position + wrapped.position()) < 0)
+			{
+				throw new IOException("Unexpected end of zip file.");
+			}
+		}
+		
+		return length;
+	}
+	
+	/**
+	 * Waits for an entry to finish extracting.
+	 * @param  future The pending entry.
+	 * @throws IOException Thrown if extraction failed or the wait was interrupted.
+	 */
+	private static void await(Future<Void> future) throws IOException
+	{
+		try
+		{
+			future.get();
+		}
+		catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while extracting.");
+		}
+		catch(ExecutionException e)
+		{
+			if(e.getCause() instanceof IOException)
+			{
+				throw (IOException)e.getCause();
+			}
+			
+			throw new IOException("Extraction failed.", e.getCause());
+		}
+	}
+	
+	/**
+	 * Stops the workers and waits for any entry being written to stop, so that
+	 * 	   nothing is created after the extracted files are deleted.
+	 * @param executor The worker pool.
+	 */
+	private static void abandon(ExecutorService executor)
+	{
+		executor.shutdownNow();
+		
+		boolean interrupted = false;
+		
+		while(true)
+		{
+			try
+			{
+				if(executor.awaitTermination(1L, TimeUnit.MINUTES))
+				{
+					break;
+				}
+			}
+			catch(InterruptedException e)
+			{
+				interrupted = true;
+			}
+		}
+		
+		if(interrupted)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * An inflater and the buffers used with it, lent to one entry at a time.
+	 */
+	private static final class Workspace
+	{
+		/**
+		 * The raw inflater.
+		 */
+		final Inflater inflater = new Inflater(true);
+		
+		/**
+		 * The checksum of the extracted data.
+		 */
+		final CRC32 crc = new CRC32();
+		
+		/**
+		 * The buffer compressed data is read into.
+		 */
+		final byte[] input = new byte[BUFFER_SIZE];
+		
+		/**
+		 * The buffer data is inflated into.
+		 */
+		final byte[] output = new byte[BUFFER_SIZE];
+	}
+}
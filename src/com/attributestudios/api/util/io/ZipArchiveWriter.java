@@ -0,0 +1,814 @@
+package com.attributestudios.api.util.io;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import com.attributestudios.api.util.logging.LoggingUtil;
+import com.attributestudios.api.util.logging.SimpleLogFormatter;
+
+/**
+ * Writes a zip archive whose entries are deflated concurrently.  Each entry is
+ * 	   compressed on a worker thread into a buffer of its own, which spills to a
+ * 	   temporary segment file beside the archive once it grows large, while a
+ * 	   single thread writes finished entries to the archive in their original
+ * 	   order, followed by the central directory.  Only a small window of
+ * 	   entries is compressed ahead of the writer, so memory use stays bounded.
+ * 	   Entries that would not shrink are stored uncompressed.  Zip64 records
+ * 	   are written whenever sizes, offsets or the entry count require them.
+ *
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+class ZipArchiveWriter
+{
+	/**
+	 * The main logger for the archive writer.
+	 */
+	private static Logger zipLogger = LoggingUtil.constructLogger("Zip Writer", new SimpleLogFormatter());
+	
+	/**
+	 * The size of the buffers files are read and deflated through.
+	 */
+	private static final int BUFFER_SIZE = 64 * 1024;
+	
+	/**
+	 * The compressed size beyond which an entry spills to a temporary segment.
+	 */
+	private static final int SPILL_THRESHOLD = 4 * 1024 * 1024;
+	
+	/**
+	 * The number of entries compressed ahead of the writer per worker thread.
+	 */
+	private static final int WINDOW_PER_THREAD = 2;
+	
+	/**
+	 * The compression level entries are deflated at.
+	 */
+	private final int level;
+	
+	/**
+	 * The number of entries compressed at once.
+	 */
+	private final int parallelism;
+	
+	/**
+	 * Creates a new archive writer.
+	 * @param level       The compression level, from 0 to 9, or -1 for the default.
+	 * @param parallelism The number of entries to compress at once.
+	 */
+	ZipArchiveWriter(int level, int parallelism)
+	{
+		this.level = level;
+		this.parallelism = parallelism;
+	}
+	
+	/**
+	 * Writes an archive of the given sources.  If writing fails, the partial
+	 * 	   archive and any temporary segments are deleted.
+	 * @param  outputFile The archive to write.  It is replaced if it exists.
+	 * @param  sources    The entries to write, in order.
+	 * @throws IOException Thrown if a source cannot be read or the archive
+	 * 					       cannot be written.
+	 */
+	void write(final File outputFile, List<Source> sources) throws IOException
+	{
+		zipLogger.info("Writing " + sources.size() + " entries to " + outputFile + " on " + this.parallelism + " threads");
+		
+		ExecutorService executor = Executors.newFixedThreadPool(this.parallelism);
+		Deque<Future<Compressed>> window = new ArrayDeque<Future<Compressed>>();
+		List<Written> written = new ArrayList<Written>(sources.size());
+		boolean complete = false;
+		
+		try(CountingOutputStream out = new CountingOutputStream(new BufferedOutputStream(new FileOutputStream(outputFile), BUFFER_SIZE)))
+		{
+			int next = 0;
+			int windowSize = this.parallelism * WINDOW_PER_THREAD;
+			
+			while(next < sources.size() || !window.isEmpty())
+			{
+				while(next < sources.size() && window.size() < windowSize)
+				{
+					final Source source = sources.get(next++);
+					
+					window.add(executor.submit(new Callable<Compressed>()
+					{
+						@Override
+						public Compressed call() throws IOException
+						{
+							return compress(source, outputFile.getAbsoluteFile().getParentFile());
+						}
+					}));
+				}
+				
+				Compressed entry = await(window.poll());
+				
+				try
+				{
+					written.add(this.writeEntry(out, entry));
+				}
+				finally
+				{
+					entry.discard();
+				}
+			}
+			
+			writeCentralDirectory(out, written);
+			complete = true;
+		}
+		finally
+		{
+			executor.shutdownNow();
+			
+			if(!complete)
+			{
+				// Finished segments still queued must not be left behind.
+				for(Future<Compressed> pending : window)
+				{
+					try
+					{
+						pending.get().discard();
+					}
+					catch(InterruptedException | ExecutionException e)
+					{
+						// The task failed or was abandoned; it holds no segment.
+					}
+				}
+				
+				outputFile.delete();
+			}
+		}
+	}
+	
+	/**
+	 * Waits for an entry to finish compressing.
+	 * @param  future The pending entry.
+	 * @return The compressed entry.
+	 * @throws IOException Thrown if compression failed or the wait was
+	 * 					       interrupted.
+	 */
+	private static Compressed await(Future<Compressed> future) throws IOException
+	{
+		try
+		{
+			return future.get();
+		}
+		catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while compressing.", e);
+		}
+		catch(ExecutionException e)
+		{
+			if(e.getCause() instanceof IOException)
+			{
+				throw (IOException)e.getCause();
+			}
+			
+			throw new IOException("Compression failed.", e.getCause());
+		}
+	}
+	
+	/**
+	 * Deflates one source into a buffer, spilling to a segment file if large.
+	 * @param  source     The entry to compress.
+	 * @param  segmentDir The directory to write segment files in.
+	 * @return The compressed entry.
+	 * @throws IOException Thrown if the source cannot be read.
+	 */
+	private Compressed compress(Source source, File segmentDir) throws IOException
+	{
+		if(source.file == null)
+		{
+			return new Compressed(source, ZipFormat.METHOD_STORED, 0L, 0L, 0L, null);
+		}
+		
+		Deflater deflater = new Deflater(this.level, true);
+		Segment segment = new Segment(segmentDir);
+		CRC32 crc = new CRC32();
+		long size = 0L;
+		
+		try(InputStream in = new FileInputStream(source.file))
+		{
+			byte[] input = new byte[BUFFER_SIZE];
+			byte[] output = new byte[BUFFER_SIZE];
+			int read;
+			
+			while((read = in.read(input)) >= 0)
+			{
+				if(read == 0)
+				{
+					continue;
+				}
+				
+				crc.update(input, 0, read);
+				size += read;
+				deflater.setInput(input, 0, read);
+				
+				while(!deflater.needsInput())
+				{
+					segment.write(output, 0, deflater.deflate(output));
+				}
+			}
+			
+			deflater.finish();
+			
+			while(!deflater.finished())
+			{
+				segment.write(output, 0, deflater.deflate(output));
+			}
+			
+			segment.close();
+			
+			long compressedSize = deflater.getBytesWritten();
+			
+			if(compressedSize >= size)
+			{
+				// Deflating did not help; the file is copied as it is instead.
+				segment.discard();
+				return new Compressed(source, ZipFormat.METHOD_STORED, size, size, crc.getValue(), null);
+			}
+			
+			return new Compressed(source, ZipFormat.METHOD_DEFLATED, compressedSize, size, crc.getValue(), segment);
+		}
+		catch(IOException | RuntimeException e)
+		{
+			segment.discard();
+			throw e;
+		}
+		finally
+		{
+			deflater.end();
+		}
+	}
+	
+	/**
+	 * Writes an entry's local header and data.
+	 * @param  out   The archive stream.
+	 * @param  entry The compressed entry.
+	 * @return The record of the entry for the central directory.
+	 * @throws IOException Thrown if the archive cannot be written, or a stored
+	 * 					       file changed after it was read.
+	 */
+	private Written writeEntry(CountingOutputStream out, Compressed entry) throws IOException
+	{
+		Written record = new Written(entry.source.name, entry.source.lastModified, out.count, ZipFormat.FLAG_UTF8, entry.method,
+				entry.crc, entry.compressedSize, entry.size, entry.source.file == null);
+		boolean zip64 = entry.size >= ZipFormat.ZIP64_MAGIC || entry.compressedSize >= ZipFormat.ZIP64_MAGIC;
+		ByteBuffer header = littleEndian(ZipFormat.LOCAL_HEADER_LENGTH + record.name.length + (zip64 ? 20 : 0));
+		
+		header.putInt(ZipFormat.LOCAL_HEADER_SIGNATURE);
+		header.putShort((short)(zip64 ? ZipFormat.VERSION_ZIP64 : ZipFormat.VERSION_DEFAULT));
+		header.putShort((short)ZipFormat.FLAG_UTF8);
+		header.putShort((short)entry.method);
+		header.putInt(record.dosTime);
+		header.putInt((int)entry.crc);
+		header.putInt((int)(zip64 ? ZipFormat.ZIP64_MAGIC : entry.compressedSize));
+		header.putInt((int)(zip64 ? ZipFormat.ZIP64_MAGIC : entry.size));
+		header.putShort((short)record.name.length);
+		header.putShort((short)(zip64 ? 20 : 0));
+		header.put(record.name);
+		
+		if(zip64)
+		{
+			header.putShort((short)ZipFormat.ZIP64_EXTRA_ID);
+			header.putShort((short)16);
+			header.putLong(entry.size);
+			header.putLong(entry.compressedSize);
+		}
+		
+		out.write(header.array());
+		
+		if(entry.segment != null)
+		{
+			entry.segment.writeTo(out);
+		}
+		else if(entry.source.file != null)
+		{
+			copyStored(out, entry);
+		}
+		
+		return record;
+	}
+	
+	/**
+	 * Copies a stored entry's file into the archive.
+	 * @param  out   The archive stream.
+	 * @param  entry The stored entry.
+	 * @throws IOException Thrown if the file cannot be read, or it changed after
+	 * 					       it was first read.
+	 */
+	private static void copyStored(OutputStream out, Compressed entry) throws IOException
+	{
+		byte[] buffer = new byte[BUFFER_SIZE];
+		long remaining = entry.size;
+		
+		try(InputStream in = new FileInputStream(entry.source.file))
+		{
+			int read;
+			
+			while(remaining > 0L && (read = in.read(buffer, 0, (int)Math.min(buffer.length, remaining))) >= 0)
+			{
+				out.write(buffer, 0, read);
+				remaining -= read;
+			}
+		}
+		
+		if(remaining != 0L)
+		{
+			throw new IOException(entry.source.file + " changed while it was being archived.");
+		}
+	}
+	
+	/**
+	 * Writes the central directory and the records that locate it.
+	 * @param  out     The archive stream.
+	 * @param  written The records of every entry, in order.
+	 * @throws IOException Thrown if the archive cannot be written.
+	 */
+	static void writeCentralDirectory(CountingOutputStream out, List<Written> written) throws IOException
+	{
+		long directoryOffset = out.count;
+		
+		for(Written record : written)
+		{
+			boolean zip64Sizes = record.size >= ZipFormat.ZIP64_MAGIC || record.compressedSize >= ZipFormat.ZIP64_MAGIC;
+			boolean zip64Offset = record.offset >= ZipFormat.ZIP64_MAGIC;
+			int extraLength = (zip64Sizes || zip64Offset) ? 4 + (zip64Sizes ? 16 : 0) + (zip64Offset ? 8 : 0) : 0;
+			ByteBuffer header = littleEndian(ZipFormat.CENTRAL_HEADER_LENGTH + record.name.length + extraLength);
+			int version = extraLength > 0 ? ZipFormat.VERSION_ZIP64 : ZipFormat.VERSION_DEFAULT;
+			
+			header.putInt(ZipFormat.CENTRAL_HEADER_SIGNATURE);
+			header.putShort((short)version);
+			header.putShort((short)version);
+			header.putShort((short)record.flags);
+			header.putShort((short)record.method);
+			header.putInt(record.dosTime);
+			header.putInt((int)record.crc);
+			header.putInt((int)(zip64Sizes ? ZipFormat.ZIP64_MAGIC : record.compressedSize));
+			header.putInt((int)(zip64Sizes ? ZipFormat.ZIP64_MAGIC : record.size));
+			header.putShort((short)record.name.length);
+			header.putShort((short)extraLength);
+			header.putShort((short)0);
+			header.putShort((short)0);
+			header.putShort((short)0);
+			header.putInt(record.directory ? ZipFormat.DOS_DIRECTORY : 0);
+			header.putInt((int)(zip64Offset ? ZipFormat.ZIP64_MAGIC : record.offset));
+			header.put(record.name);
+			
+			if(extraLength > 0)
+			{
+				header.putShort((short)ZipFormat.ZIP64_EXTRA_ID);
+				header.putShort((short)(extraLength - 4));
+				
+				if(zip64Sizes)
+				{
+					header.putLong(record.size);
+					header.putLong(record.compressedSize);
+				}
+				
+				if(zip64Offset)
+				{
+					header.putLong(record.offset);
+				}
+			}
+			
+			out.write(header.array());
+		}
+		
+		long directorySize = out.count - directoryOffset;
+		int count = written.size();
+		boolean zip64 = count >= ZipFormat.ZIP64_MAGIC_COUNT || directoryOffset >= ZipFormat.ZIP64_MAGIC
+				|| directorySize >= ZipFormat.ZIP64_MAGIC;
+		
+		if(zip64)
+		{
+			long zip64EndOffset = out.count;
+			ByteBuffer end64 = littleEndian(ZipFormat.ZIP64_END_LENGTH + ZipFormat.ZIP64_LOCATOR_LENGTH);
+			
+			end64.putInt(ZipFormat.ZIP64_END_SIGNATURE);
+			end64.putLong(ZipFormat.ZIP64_END_LENGTH - 12);
+			end64.putShort((short)ZipFormat.VERSION_ZIP64);
+			end64.putShort((short)ZipFormat.VERSION_ZIP64);
+			end64.putInt(0);
+			end64.putInt(0);
+			end64.putLong(count);
+			end64.putLong(count);
+			end64.putLong(directorySize);
+			end64.putLong(directoryOffset);
+			
+			end64.putInt(ZipFormat.ZIP64_LOCATOR_SIGNATURE);
+			end64.putInt(0);
+			end64.putLong(zip64EndOffset);
+			end64.putInt(1);
+			
+			out.write(end64.array());
+		}
+		
+		ByteBuffer end = littleEndian(ZipFormat.END_LENGTH);
+		
+		end.putInt(ZipFormat.END_SIGNATURE);
+		end.putShort((short)0);
+		end.putShort((short)0);
+		end.putShort((short)Math.min(count, ZipFormat.ZIP64_MAGIC_COUNT));
+		end.putShort((short)Math.min(count, ZipFormat.ZIP64_MAGIC_COUNT));
+		end.putInt((int)Math.min(directorySize, ZipFormat.ZIP64_MAGIC));
+		end.putInt((int)Math.min(directoryOffset, ZipFormat.ZIP64_MAGIC));
+		end.putShort((short)0);
+		
+		out.write(end.array());
+	}
+	
+	/**
+	 * Allocates a little-endian heap buffer for a header.
+	 * @param  length The length of the header.
+	 * @return The buffer.
+	 */
+	static ByteBuffer littleEndian(int length)
+	{
+		return ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+	}
+	
+	/**
+	 * A file or directory to be written to the archive.
+	 */
+	static final class Source
+	{
+		/**
+		 * The entry's name within the archive, separated by '<code>/</code>'.
+		 */
+		final String name;
+		
+		/**
+		 * The file to read, or null for a directory entry.
+		 */
+		final File file;
+		
+		/**
+		 * The entry's modification time, in milliseconds since the epoch.
+		 */
+		final long lastModified;
+		
+		/**
+		 * Creates a new source.
+		 * @param name         The entry's name within the archive.  Directory
+		 * 					       names end with '<code>/</code>'.
+		 * @param file         The file to read, or null for a directory entry.
+		 * @param lastModified The entry's modification time.
+		 */
+		Source(String name, File file, long lastModified)
+		{
+			this.name = name;
+			this.file = file;
+			this.lastModified = lastModified;
+		}
+	}
+	
+	/**
+	 * An entry that has been compressed and is waiting to be written.
+	 */
+	private static final class Compressed
+	{
+		/**
+		 * The entry's source.
+		 */
+		final Source source;
+		
+		/**
+		 * The compression method.
+		 */
+		final int method;
+		
+		/**
+		 * The size of the entry's data in the archive.
+		 */
+		final long compressedSize;
+		
+		/**
+		 * The size of the entry's data once extracted.
+		 */
+		final long size;
+		
+		/**
+		 * The CRC-32 of the extracted data.
+		 */
+		final long crc;
+		
+		/**
+		 * The deflated data, or null if the entry is stored.
+		 */
+		final Segment segment;
+		
+		/**
+		 * Creates a new compressed entry.
+		 * @param source         The entry's source.
+		 * @param method         The compression method.
+		 * @param compressedSize The size of the data in the archive.
+		 * @param size           The size of the data once extracted.
+		 * @param crc            The CRC-32 of the extracted data.
+		 * @param segment        The deflated data, or null.
+		 */
+		Compressed(Source source, int method, long compressedSize, long size, long crc, Segment segment)
+		{
+			this.source = source;
+			this.method = method;
+			this.compressedSize = compressedSize;
+			this.size = size;
+			this.crc = crc;
+			this.segment = segment;
+		}
+		
+		/**
+		 * Releases the entry's temporary segment, if it has one.
+		 */
+		void discard()
+		{
+			if(this.segment != null)
+			{
+				this.segment.discard();
+			}
+		}
+	}
+	
+	/**
+	 * The record of an entry already written, kept for the central directory.
+	 */
+	static final class Written
+	{
+		/**
+		 * The UTF-8 encoded name of the entry.
+		 */
+		final byte[] name;
+		
+		/**
+		 * The entry's packed DOS modification time.
+		 */
+		final int dosTime;
+		
+		/**
+		 * The offset of the entry's local header.
+		 */
+		final long offset;
+		
+		/**
+		 * The general purpose flags.
+		 */
+		final int flags;
+		
+		/**
+		 * The compression method.
+		 */
+		final int method;
+		
+		/**
+		 * The CRC-32 of the extracted data.
+		 */
+		final long crc;
+		
+		/**
+		 * The size of the entry's data in the archive.
+		 */
+		final long compressedSize;
+		
+		/**
+		 * The size of the entry's data once extracted.
+		 */
+		final long size;
+		
+		/**
+		 * Whether the entry is a directory.
+		 */
+		final boolean directory;
+		
+		/**
+		 * Creates a new record.
+		 * @param name           The entry's name within the archive.
+		 * @param lastModified   The entry's modification time.
+		 * @param offset         The offset of the entry's local header.
+		 * @param flags          The general purpose flags.
+		 * @param method         The compression method.
+		 * @param crc            The CRC-32 of the extracted data.
+		 * @param compressedSize The size of the data in the archive.
+		 * @param size           The size of the data once extracted.
+		 * @param directory      Whether the entry is a directory.
+		 */
+		Written(String name, long lastModified, long offset, int flags, int method, long crc, long compressedSize, long size, boolean directory)
+		{
+			this.name = name.getBytes(StandardCharsets.UTF_8);
+			this.dosTime = ZipFormat.toDosTime(lastModified);
+			this.offset = offset;
+			this.flags = flags;
+			this.method = method;
+			this.crc = crc;
+			this.compressedSize = compressedSize;
+			this.size = size;
+			this.directory = directory;
+		}
+	}
+	
+	/**
+	 * Compressed data held in memory until it grows beyond the spill
+	 * 	   threshold, and in a temporary file after that.
+	 */
+	private static final class Segment
+	{
+		/**
+		 * The directory the temporary file is created in.
+		 */
+		private final File directory;
+		
+		/**
+		 * The data held in memory.
+		 */
+		private byte[] memory = new byte[BUFFER_SIZE];
+		
+		/**
+		 * The number of bytes held in memory.
+		 */
+		private int length;
+		
+		/**
+		 * The temporary file, once the data has spilled.
+		 */
+		private File file;
+		
+		/**
+		 * The stream writing the temporary file.
+		 */
+		private OutputStream fileStream;
+		
+		/**
+		 * Creates a new, empty segment.
+		 * @param directory The directory to create a temporary file in.
+		 */
+		Segment(File directory)
+		{
+			this.directory = directory;
+		}
+		
+		/**
+		 * Appends data to the segment.
+		 * @param  buffer The data.
+		 * @param  offset The offset of the first byte.
+		 * @param  count  The number of bytes.
+		 * @throws IOException Thrown if the temporary file cannot be written.
+		 */
+		void write(byte[] buffer, int offset, int count) throws IOException
+		{
+			if(this.fileStream == null && this.length + count > SPILL_THRESHOLD)
+			{
+				this.file = File.createTempFile("zip", ".segment", this.directory);
+				this.fileStream = new BufferedOutputStream(new FileOutputStream(this.file), BUFFER_SIZE);
+				this.fileStream.write(this.memory, 0, this.length);
+				this.memory = null;
+			}
+			
+			if(this.fileStream != null)
+			{
+				this.fileStream.write(buffer, offset, count);
+				return;
+			}
+			
+			if(this.length + count > this.memory.length)
+			{
+				byte[] grown = new byte[Math.min(SPILL_THRESHOLD, Math.max(this.memory.length * 2, this.length + count))];
+				System.arraycopy(this.memory, 0, grown, 0, this.length);
+				this.memory = grown;
+			}
+			
+			System.arraycopy(buffer, offset, this.memory, this.length, count);
+			this.length += count;
+		}
+		
+		/**
+		 * Finishes writing the segment.
+		 * @throws IOException Thrown if the temporary file cannot be written.
+		 */
+		void close() throws IOException
+		{
+			if(this.fileStream != null)
+			{
+				this.fileStream.close();
+			}
+		}
+		
+		/**
+		 * Copies the segment's data to a stream.
+		 * @param  out The stream to copy to.
+		 * @throws IOException Thrown if the data cannot be copied.
+		 */
+		void writeTo(OutputStream out) throws IOException
+		{
+			if(this.file == null)
+			{
+				out.write(this.memory, 0, this.length);
+				return;
+			}
+			
+			byte[] buffer = new byte[BUFFER_SIZE];
+			
+			try(InputStream in = new FileInputStream(this.file))
+			{
+				int read;
+				
+				while((read = in.read(buffer)) >= 0)
+				{
+					out.write(buffer, 0, read);
+				}
+			}
+		}
+		
+		/**
+		 * Releases the segment's memory and deletes its temporary file.
+		 */
+		void discard()
+		{
+			this.memory = null;
+			
+			if(this.file != null)
+			{
+				try
+				{
+					this.fileStream.close();
+				}
+				catch(IOException e)
+				{
+					// Deleted regardless.
+				}
+				
+				this.file.delete();
+			}
+		}
+	}
+	
+	/**
+	 * Counts the bytes written through it, which gives each entry's offset.
+	 */
+	static final class CountingOutputStream extends OutputStream
+	{
+		/**
+		 * The stream written to.
+		 */
+		private final OutputStream out;
+		
+		/**
+		 * The number of bytes written.
+		 */
+		long count;
+		
+		/**
+		 * Creates a new counting stream.
+		 * @param out The stream to write to.
+		 */
+		CountingOutputStream(OutputStream out)
+		{
+			this.out = out;
+		}
+		
+		@Override
+		public void write(int b) throws IOException
+		{
+			this.out.write(b);
+			this.count++;
+		}
+		
+		@Override
+		public void write(byte[] buffer, int offset, int length) throws IOException
+		{
+			this.out.write(buffer, offset, length);
+			this.count += length;
+		}
+		
+		@Override
+		public void flush() throws IOException
+		{
+			this.out.flush();
+		}
+		
+		@Override
+		public void close() throws IOException
+		{
+			this.out.close();
+		}
+	}
+}
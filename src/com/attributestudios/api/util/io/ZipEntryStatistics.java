@@ -0,0 +1,120 @@
+package com.attributestudios.api.util.io;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How one entry was written by a {@link ZipStreamWriter}: whether it was
+ * 	   compressed, how much it shrank and how long it took.
+ *
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+public class ZipEntryStatistics
+{
+	/**
+	 * The entry's name.
+	 */
+	private final String name;
+	
+	/**
+	 * Whether the entry was compressed.
+	 */
+	private final boolean compressed;
+	
+	/**
+	 * The size of the entry's data once extracted.
+	 */
+	private final long size;
+	
+	/**
+	 * The size of the entry's data in the archive.
+	 */
+	private final long compressedSize;
+	
+	/**
+	 * The time spent writing the entry, in nanoseconds.
+	 */
+	private final long elapsedNanos;
+	
+	/**
+	 * Creates new entry statistics.
+	 * @param name           The entry's name.
+	 * @param compressed     Whether the entry was compressed.
+	 * @param size           The size of the data once extracted.
+	 * @param compressedSize The size of the data in the archive.
+	 * @param elapsedNanos   The time spent writing the entry, in nanoseconds.
+	 */
+	ZipEntryStatistics(String name, boolean compressed, long size, long compressedSize, long elapsedNanos)
+	{
+		this.name = name;
+		this.compressed = compressed;
+		this.size = size;
+		this.compressedSize = compressedSize;
+		this.elapsedNanos = elapsedNanos;
+	}
+	
+	/**
+	 * Gets the entry's name.
+	 * @return The name within the archive.
+	 */
+	public String getName()
+	{
+		return this.name;
+	}
+	
+	/**
+	 * Checks whether the entry was compressed, rather than stored as it is.
+	 * @return True if the entry was deflated.
+	 */
+	public boolean isCompressed()
+	{
+		return this.compressed;
+	}
+	
+	/**
+	 * Gets the size of the entry's data once extracted.
+	 * @return The size, in bytes.
+	 */
+	public long getSize()
+	{
+		return this.size;
+	}
+	
+	/**
+	 * Gets the size of the entry's data in the archive.
+	 * @return The size, in bytes.
+	 */
+	public long getCompressedSize()
+	{
+		return this.compressedSize;
+	}
+	
+	/**
+	 * Gets the entry's compression ratio.
+	 * @return The size in the archive divided by the extracted size, or 1 for an
+	 * 		       empty entry.
+	 */
+	public double getCompressionRatio()
+	{
+		return this.size == 0L ? 1.0 : (double)this.compressedSize / this.size;
+	}
+	
+	/**
+	 * Gets the time spent reading, compressing and writing the entry.
+	 * @param  unit The unit to return the time in.
+	 * @return The time.
+	 */
+	public long getElapsedTime(TimeUnit unit)
+	{
+		return unit.convert(this.elapsedNanos, TimeUnit.NANOSECONDS);
+	}
+	
+	@Override
+	public String toString()
+	{
+		return this.name + ": " + this.size + " -> " + this.compressedSize + " bytes ("
+				+ (this.compressed ? "deflated" : "stored") + ", ratio " + String.format("%.3f", this.getCompressionRatio())
+				+ ") in " + this.getElapsedTime(TimeUnit.MILLISECONDS) + " ms";
+	}
+}
@@ -0,0 +1,171 @@
+package com.attributestudios.api.util.io;
+
+import java.util.Calendar;
+
+/**
+ * Constants and conversions for the '.zip' file format, shared by the
+ * 	   archive readers and writers that work with its records directly.
+ *
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.0
+ * @date.   2026-10-16
+ */
+final class ZipFormat
+{
+	/**
+	 * The signature of a local file header.
+	 */
+	static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+	
+	/**
+	 * The signature of a central directory file header.
+	 */
+	static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+	
+	/**
+	 * The signature of the end of central directory record.
+	 */
+	static final int END_SIGNATURE = 0x06054b50;
+	
+	/**
+	 * The signature that may begin a data descriptor.
+	 */
+	static final int DATA_DESCRIPTOR_SIGNATURE = 0x08074b50;
+	
+	/**
+	 * The signature of the Zip64 end of central directory record.
+	 */
+	static final int ZIP64_END_SIGNATURE = 0x06064b50;
+	
+	/**
+	 * The signature of the Zip64 end of central directory locator.
+	 */
+	static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+	
+	/**
+	 * The header ID of the Zip64 extended information extra field.
+	 */
+	static final int ZIP64_EXTRA_ID = 0x0001;
+	
+	/**
+	 * The length of a local file header, excluding its name and extra field.
+	 */
+	static final int LOCAL_HEADER_LENGTH = 30;
+	
+	/**
+	 * The length of a central directory file header, excluding its name, extra
+	 * 	   field and comment.
+	 */
+	static final int CENTRAL_HEADER_LENGTH = 46;
+	
+	/**
+	 * The length of the end of central directory record, excluding its comment.
+	 */
+	static final int END_LENGTH = 22;
+	
+	/**
+	 * The length of the Zip64 end of central directory record.
+	 */
+	static final int ZIP64_END_LENGTH = 56;
+	
+	/**
+	 * The length of the Zip64 end of central directory locator.
+	 */
+	static final int ZIP64_LOCATOR_LENGTH = 20;
+	
+	/**
+	 * The general purpose flag marking a name as UTF-8.
+	 */
+	static final int FLAG_UTF8 = 0x0800;
+	
+	/**
+	 * The general purpose flag marking sizes as following the data.
+	 */
+	static final int FLAG_DATA_DESCRIPTOR = 0x0008;
+	
+	/**
+	 * The general purpose flag marking an entry as encrypted.
+	 */
+	static final int FLAG_ENCRYPTED = 0x0001;
+	
+	/**
+	 * The compression method of an entry stored without compression.
+	 */
+	static final int METHOD_STORED = 0;
+	
+	/**
+	 * The compression method of a deflated entry.
+	 */
+	static final int METHOD_DEFLATED = 8;
+	
+	/**
+	 * The version needed to extract an ordinary entry.
+	 */
+	static final int VERSION_DEFAULT = 20;
+	
+	/**
+	 * The version needed to extract an entry using Zip64 extensions.
+	 */
+	static final int VERSION_ZIP64 = 45;
+	
+	/**
+	 * The value of a 32-bit field whose real value is in the Zip64 extra field.
+	 */
+	static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+	
+	/**
+	 * The value of a 16-bit entry count whose real value is in the Zip64 record.
+	 */
+	static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+	
+	/**
+	 * The DOS attribute marking a directory.
+	 */
+	static final int DOS_DIRECTORY = 0x10;
+	
+	/**
+	 * This class only holds constants and static helpers.
+	 */
+	private ZipFormat()
+	{
+	}
+	
+	/**
+	 * Converts a Java time into the packed MS-DOS date and time zip headers use,
+	 * 	   in the local time zone.  Times before 1980 are clamped to 1980.
+	 * @param  time The time, in milliseconds since the epoch.
+	 * @return The DOS date in the high 16 bits and the DOS time in the low 16.
+	 */
+	static int toDosTime(long time)
+	{
+		Calendar calendar = Calendar.getInstance();
+		calendar.setTimeInMillis(time);
+		
+		int year = calendar.get(Calendar.YEAR);
+		
+		if(year < 1980)
+		{
+			return (1 << 21) | (1 << 16);
+		}
+		
+		return (year - 1980) << 25 | (calendar.get(Calendar.MONTH) + 1) << 21 | calendar.get(Calendar.DAY_OF_MONTH) << 16
+				| calendar.get(Calendar.HOUR_OF_DAY) << 11 | calendar.get(Calendar.MINUTE) << 5 | calendar.get(Calendar.SECOND) >> 1;
+	}
+	
+	/**
+	 * Converts a packed MS-DOS date and time into a Java time, in the local
+	 * 	   time zone.
+	 * @param  dosTime The DOS date in the high 16 bits and the DOS time in the
+	 * 				       low 16.
+	 * @return The time, in milliseconds since the epoch.
+	 */
+	static long fromDosTime(int dosTime)
+	{
+		Calendar calendar = Calendar.getInstance();
+		calendar.clear();
+		calendar.set(((dosTime >> 25) & 0x7F) + 1980, ((dosTime >> 21) & 0x0F) - 1, (dosTime >> 16) & 0x1F,
+				(dosTime >> 11) & 0x1F, (dosTime >> 5) & 0x3F, (dosTime << 1) & 0x3E);
+		
+		return calendar.getTimeInMillis();
+	}
+}
@@ -0,0 +1,611 @@
+package com.attributestudios.api.util.io;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipException;
+
+import com.attributestudios.api.util.logging.LoggingUtil;
+import com.attributestudios.api.util.logging.SimpleLogFormatter;
+
+/**
+ * Writes a zip archive straight to a stream or channel, one entry at a time,
+ * 	   holding no more than a block of each entry in memory.  Each entry is
+ * 	   either deflated or stored as it is: files whose extension marks them as
+ * 	   already compressed, such as images, audio, video and archives, are
+ * 	   stored; files whose extension marks them as text are deflated; anything
+ * 	   else is stored if its first block looks random.  An entry that fits in
+ * 	   one block is deflated only if that makes it smaller.  Larger entries are
+ * 	   written with a data descriptor after their data, since their sizes are
+ * 	   not known until then; those chosen for storing are written as
+ * 	   uncompressed deflate blocks, which costs no compression time and keeps
+ * 	   the archive readable by stream-based readers.
+ * <br><br>
+ * If writing an entry fails partway, the archive cannot be completed: no
+ * 	   more entries may be written, and closing the writer releases it without
+ * 	   writing a central directory after the partial entry.
+ *
+ * @author  Bridger Maskrey (maskreybe@live.com)
+ * @version 1.0.1
+ * @date.   2026-10-16
+ * @edited. 2026-10-16
+ */
+public class ZipStreamWriter implements Closeable
+{
+	/**
+	 * The main logger for the stream writer.
+	 */
+	private static Logger zipLogger = LoggingUtil.constructLogger("Zip Stream Writer", new SimpleLogFormatter());
+	
+	/**
+	 * The size of the blocks entries are read in, and of the sample each
+	 * 	   entry's entropy is measured over.
+	 */
+	private static final int BLOCK_SIZE = 64 * 1024;
+	
+	/**
+	 * The entropy, in bits per byte, above which a sample is taken to be
+	 * 	   already compressed.
+	 */
+	private static final double ENTROPY_THRESHOLD = 7.5;
+	
+	/**
+	 * The extensions of formats that are already compressed.
+	 */
+	private static final Set<String> STORED_EXTENSIONS = new HashSet<String>(Arrays.asList(
+			"jpg", "jpeg", "png", "gif", "webp", "mp3", "ogg", "oga", "flac", "m4a", "aac", "opus",
+			"mp4", "m4v", "mkv", "webm", "mov", "avi", "zip", "jar", "war", "gz", "tgz", "bz2", "xz",
+			"7z", "rar", "zst", "lz4", "woff", "woff2"));
+	
+	/**
+	 * The extensions of formats that are known to compress well.
+	 */
+	private static final Set<String> DEFLATED_EXTENSIONS = new HashSet<String>(Arrays.asList(
+			"txt", "log", "csv", "tsv", "json", "xml", "html", "htm", "css", "js", "svg", "md", "java",
+			"properties", "lang", "cfg", "ini", "yml", "yaml", "sql", "bmp", "wav", "tar"));
+	
+	/**
+	 * The archive stream.
+	 */
+	private final ZipArchiveWriter.CountingOutputStream out;
+	
+	/**
+	 * The compression level deflated entries are written at.
+	 */
+	private final int level;
+	
+	/**
+	 * The deflater entries are compressed with, reset between entries.
+	 */
+	private final Deflater deflater;
+	
+	/**
+	 * The deflater that writes stored entries as uncompressed deflate blocks,
+	 * 	   reset between entries.
+	 */
+	private final Deflater storer = new Deflater(Deflater.NO_COMPRESSION, true);
+	
+	/**
+	 * The buffer entries are read into.
+	 */
+	private final byte[] block = new byte[BLOCK_SIZE];
+	
+	/**
+	 * The buffer entries are deflated into.
+	 */
+	private final byte[] output = new byte[BLOCK_SIZE];
+	
+	/**
+	 * The checksum of the entry being written.
+	 */
+	private final CRC32 crc = new CRC32();
+	
+	/**
+	 * The records of every entry written, for the central directory.
+	 */
+	private final List<ZipArchiveWriter.Written> written = new ArrayList<ZipArchiveWriter.Written>();
+	
+	/**
+	 * The names of every entry written.
+	 */
+	private final Set<String> names = new HashSet<String>();
+	
+	/**
+	 * The statistics of every entry written.
+	 */
+	private final List<ZipEntryStatistics> statistics = new ArrayList<ZipEntryStatistics>();
+	
+	/**
+	 * Whether the central directory has been written, or the writer released.
+	 */
+	private boolean finished;
+	
+	/**
+	 * Whether an entry failed partway, leaving the archive incomplete.
+	 */
+	private boolean failed;
+	
+	/**
+	 * Creates a new stream writer at the default compression level.
+	 * @param out The stream to write the archive to.
+	 */
+	public ZipStreamWriter(OutputStream out)
+	{
+		this(out, Deflater.DEFAULT_COMPRESSION);
+	}
+	
+	/**
+	 * Creates a new stream writer.
+	 * @param out   The stream to write the archive to.
+	 * @param level The compression level, from {@link Deflater#NO_COMPRESSION}
+	 * 				    to {@link Deflater#BEST_COMPRESSION}, or
+	 * 				    {@link Deflater#DEFAULT_COMPRESSION}.
+	 */
+	public ZipStreamWriter(OutputStream out, int level)
+	{
+		if(level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION)
+		{
+			throw new IllegalArgumentException("Invalid compression level: " + level);
+		}
+		
+		this.out = new ZipArchiveWriter.CountingOutputStream(new BufferedOutputStream(out, BLOCK_SIZE));
+		this.level = level;
+		this.deflater = new Deflater(level, true);
+	}
+	
+	/**
+	 * Creates a new stream writer that writes to a channel.
+	 * @param channel The channel to write the archive to.
+	 * @param level   The compression level, from {@link Deflater#NO_COMPRESSION}
+	 * 				      to {@link Deflater#BEST_COMPRESSION}, or
+	 * 				      {@link Deflater#DEFAULT_COMPRESSION}.
+	 */
+	public ZipStreamWriter(WritableByteChannel channel, int level)
+	{
+		this(Channels.newOutputStream(channel), level);
+	}
+	
+	/**
+	 * Writes a file as an entry.
+	 * @param  name The entry's name within the archive, separated by
+	 * 				    '<code>/</code>'.
+	 * @param  file The file to write.
+	 * @return How the entry was written.
+	 * @throws IOException Thrown if the file cannot be read, the name is already
+	 * 					       used, or the archive cannot be written.
+	 */
+	public ZipEntryStatistics putFile(String name, File file) throws IOException
+	{
+		try(InputStream in = new FileInputStream(file))
+		{
+			return this.putEntry(name, in, file.lastModified());
+		}
+	}
+	
+	/**
+	 * Writes the contents of a stream as an entry.
+	 * @param  name         The entry's name within the archive, separated by
+	 * 						    '<code>/</code>'.
+	 * @param  in           The stream to read the entry from, to its end.  It
+	 * 						    is not closed.
+	 * @param  lastModified The entry's modification time, in milliseconds since
+	 * 						    the epoch.
+	 * @return How the entry was written.
+	 * @throws IOException Thrown if the stream cannot be read, the name is
+	 * 					       already used, or the archive cannot be written.
+	 */
+	public ZipEntryStatistics putEntry(String name, InputStream in, long lastModified) throws IOException
+	{
+		if(name.endsWith("/"))
+		{
+			throw new IllegalArgumentException("Entry name " + name + " is a directory name.");
+		}
+		
+		this.begin(name);
+		
+		long start = System.nanoTime();
+		ZipEntryStatistics entry;
+		
+		try
+		{
+			int length = readBlock(in, this.block);
+			boolean compress = this.shouldDeflate(name, length);
+			
+			if(length < this.block.length)
+			{
+				entry = this.writeWhole(name, lastModified, length, compress, start);
+			}
+			else
+			{
+				entry = this.writeStreamed(name, lastModified, in, compress, start);
+			}
+		}
+		catch(IOException | RuntimeException e)
+		{
+			this.failed = true;
+			throw e;
+		}
+		
+		this.statistics.add(entry);
+		zipLogger.finer("Wrote " + entry);
+		
+		return entry;
+	}
+	
+	/**
+	 * Writes a directory entry.
+	 * @param  name         The directory's name within the archive.  A trailing
+	 * 						    '<code>/</code>' is added if missing.
+	 * @param  lastModified The directory's modification time, in milliseconds
+	 * 						    since the epoch.
+	 * @throws IOException Thrown if the name is already used or the archive
+	 * 					       cannot be written.
+	 */
+	public void putDirectory(String name, long lastModified) throws IOException
+	{
+		String directoryName = name.endsWith("/") ? name : name + "/";
+		
+		this.begin(directoryName);
+		
+		try
+		{
+			this.writeLocalHeader(new ZipArchiveWriter.Written(directoryName, lastModified, this.out.count, ZipFormat.FLAG_UTF8,
+					ZipFormat.METHOD_STORED, 0L, 0L, 0L, true));
+		}
+		catch(IOException e)
+		{
+			this.failed = true;
+			throw e;
+		}
+	}
+	
+	/**
+	 * Gets how each entry written so far was written.
+	 * @return An unmodifiable list of the entries' statistics, in order.
+	 */
+	public List<ZipEntryStatistics> getStatistics()
+	{
+		return Collections.unmodifiableList(this.statistics);
+	}
+	
+	/**
+	 * Writes the central directory, completing the archive, without closing
+	 * 	   the underlying stream.  No more entries may be written afterward.
+	 * @throws IOException Thrown if an entry failed partway, or the archive
+	 * 					       cannot be written.
+	 */
+	public void finish() throws IOException
+	{
+		if(this.finished)
+		{
+			return;
+		}
+		
+		this.release();
+		
+		if(this.failed)
+		{
+			throw new IOException("An entry failed partway; the archive cannot be completed.");
+		}
+		
+		ZipArchiveWriter.writeCentralDirectory(this.out, this.written);
+		this.out.flush();
+		
+		zipLogger.fine("Finished archive of " + this.written.size() + " entries, " + this.out.count + " bytes");
+	}
+	
+	/**
+	 * Completes the archive if it is not already, unless an entry failed
+	 * 	   partway, and closes the underlying stream.
+	 * @throws IOException Thrown if the archive cannot be written.
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		try
+		{
+			if(!this.failed)
+			{
+				this.finish();
+			}
+		}
+		finally
+		{
+			this.release();
+			this.out.close();
+		}
+	}
+	
+	/**
+	 * Releases the deflaters without completing the archive or closing the
+	 * 	   underlying stream, for a caller abandoning the archive.  No more
+	 * 	   entries may be written afterward.
+	 */
+	void release()
+	{
+		this.finished = true;
+		this.deflater.end();
+		this.storer.end();
+	}
+	
+	/**
+	 * Checks that an entry may be written.
+	 * @param  name The entry's name.
+	 * @throws IOException Thrown if the archive is finished or the name is
+	 * 					       already used.
+	 */
+	private void begin(String name) throws IOException
+	{
+		if(this.failed)
+		{
+			throw new IOException("An earlier entry failed partway; the archive cannot be completed.");
+		}
+		
+		if(this.finished)
+		{
+			throw new IOException("The archive has already been finished.");
+		}
+		
+		if(!this.names.add(name))
+		{
+			throw new ZipException("Duplicate zip entry: " + name);
+		}
+	}
+	
+	/**
+	 * Decides whether to deflate an entry, from its extension or else from the
+	 * 	   entropy of its first block.
+	 * @param  name   The entry's name.
+	 * @param  length The number of bytes in the first block.
+	 * @return True to deflate the entry, false to store it.
+	 */
+	private boolean shouldDeflate(String name, int length)
+	{
+		if(this.level == Deflater.NO_COMPRESSION)
+		{
+			return false;
+		}
+		
+		int dot = name.lastIndexOf('.');
+		
+		if(dot > name.lastIndexOf('/'))
+		{
+			String extension = name.substring(dot + 1).toLowerCase(Locale.ROOT);
+			
+			if(STORED_EXTENSIONS.contains(extension))
+			{
+				return false;
+			}
+			
+			if(DEFLATED_EXTENSIONS.contains(extension))
+			{
+				return true;
+			}
+		}
+		
+		return entropy(this.block, length) < ENTROPY_THRESHOLD;
+	}
+	
+	/**
+	 * Measures the Shannon entropy of a sample.
+	 * @param  data   The sample.
+	 * @param  length The length of the sample.
+	 * @return The entropy, from 0 to 8 bits per byte.
+	 */
+	private static double entropy(byte[] data, int length)
+	{
+		if(length == 0)
+		{
+			return 0.0;
+		}
+		
+		int[] counts = new int[256];
+		
+		for(int i = 0; i < length; i++)
+		{
+			counts[data[i] & 0xFF]++;
+		}
+		
+		double entropy = 0.0;
+		
+		for(int count : counts)
+		{
+			if(count > 0)
+			{
+				double p = (double)count / length;
+				entropy -= p * Math.log(p);
+			}
+		}
+		
+		return entropy / Math.log(2.0);
+	}
+	
+	/**
+	 * Writes an entry held whole in the block, with its sizes in its header.
+	 * @param  name         The entry's name.
+	 * @param  lastModified The entry's modification time.
+	 * @param  length       The entry's size.
+	 * @param  compress     Whether to try deflating the entry.
+	 * @param  start        When writing the entry began, from
+	 * 						    {@link System#nanoTime()}.
+	 * @return How the entry was written.
+	 * @throws IOException Thrown if the archive cannot be written.
+	 */
+	private ZipEntryStatistics writeWhole(String name, long lastModified, int length, boolean compress, long start) throws IOException
+	{
+		this.crc.reset();
+		this.crc.update(this.block, 0, length);
+		
+		int deflated = -1;
+		
+		if(compress)
+		{
+			this.deflater.reset();
+			this.deflater.setInput(this.block, 0, length);
+			this.deflater.finish();
+			
+			int count = 0;
+			
+			while(!this.deflater.finished() && count < length)
+			{
+				count += this.deflater.deflate(this.output, count, length - count);
+			}
+			
+			// Kept only if deflating finished in fewer bytes than the entry itself.
+			if(this.deflater.finished() && count < length)
+			{
+				deflated = count;
+			}
+		}
+		
+		boolean compressed = deflated >= 0;
+		int compressedSize = compressed ? deflated : length;
+		
+		this.writeLocalHeader(new ZipArchiveWriter.Written(name, lastModified, this.out.count, ZipFormat.FLAG_UTF8,
+				compressed ? ZipFormat.METHOD_DEFLATED : ZipFormat.METHOD_STORED, this.crc.getValue(), compressedSize, length, false));
+		this.out.write(compressed ? this.output : this.block, 0, compressedSize);
+		
+		return new ZipEntryStatistics(name, compressed, length, compressedSize, System.nanoTime() - start);
+	}
+	
+	/**
+	 * Writes an entry larger than a block, deflating it as it is read, followed
+	 * 	   by a data descriptor.  The first block has already been read.
+	 * @param  name         The entry's name.
+	 * @param  lastModified The entry's modification time.
+	 * @param  in           The stream to read the rest of the entry from.
+	 * @param  compress     Whether to compress the entry, rather than write it
+	 * 						    as uncompressed deflate blocks.
+	 * @param  start        When writing the entry began, from
+	 * 						    {@link System#nanoTime()}.
+	 * @return How the entry was written.
+	 * @throws IOException Thrown if the stream cannot be read or the archive
+	 * 					       cannot be written.
+	 */
+	private ZipEntryStatistics writeStreamed(String name, long lastModified, InputStream in, boolean compress, long start) throws IOException
+	{
+		long offset = this.out.count;
+		int flags = ZipFormat.FLAG_UTF8 | ZipFormat.FLAG_DATA_DESCRIPTOR;
+		
+		// The sizes and CRC are not yet known; the header carries zeros and the descriptor the real values.
+		this.writeLocalHeader(new ZipArchiveWriter.Written(name, lastModified, offset, flags, ZipFormat.METHOD_DEFLATED, 0L, 0L, 0L, false));
+		
+		Deflater deflater = compress ? this.deflater : this.storer;
+		
+		this.crc.reset();
+		deflater.reset();
+		
+		int read = this.block.length;
+		
+		do
+		{
+			if(read > 0)
+			{
+				this.crc.update(this.block, 0, read);
+				deflater.setInput(this.block, 0, read);
+				
+				while(!deflater.needsInput())
+				{
+					this.out.write(this.output, 0, deflater.deflate(this.output));
+				}
+			}
+		}
+		while((read = in.read(this.block)) >= 0);
+		
+		deflater.finish();
+		
+		while(!deflater.finished())
+		{
+			this.out.write(this.output, 0, deflater.deflate(this.output));
+		}
+		
+		long size = deflater.getBytesRead();
+		long compressedSize = deflater.getBytesWritten();
+		boolean zip64 = size >= ZipFormat.ZIP64_MAGIC || compressedSize >= ZipFormat.ZIP64_MAGIC;
+		ByteBuffer descriptor = ZipArchiveWriter.littleEndian(zip64 ? 24 : 16);
+		
+		descriptor.putInt(ZipFormat.DATA_DESCRIPTOR_SIGNATURE);
+		descriptor.putInt((int)this.crc.getValue());
+		
+		if(zip64)
+		{
+			descriptor.putLong(compressedSize);
+			descriptor.putLong(size);
+		}
+		else
+		{
+			descriptor.putInt((int)compressedSize);
+			descriptor.putInt((int)size);
+		}
+		
+		this.out.write(descriptor.array());
+		
+		// The record written first held placeholders; the central directory needs the real values.
+		this.written.set(this.written.size() - 1, new ZipArchiveWriter.Written(name, lastModified, offset, flags,
+				ZipFormat.METHOD_DEFLATED, this.crc.getValue(), compressedSize, size, false));
+		
+		return new ZipEntryStatistics(name, compress, size, compressedSize, System.nanoTime() - start);
+	}
+	
+	/**
+	 * Writes an entry's local header and records it for the central directory.
+	 * @param  record The entry's record.
+	 * @throws IOException Thrown if the archive cannot be written.
+	 */
+	private void writeLocalHeader(ZipArchiveWriter.Written record) throws IOException
+	{
+		ByteBuffer header = ZipArchiveWriter.littleEndian(ZipFormat.LOCAL_HEADER_LENGTH + record.name.length);
+		
+		header.putInt(ZipFormat.LOCAL_HEADER_SIGNATURE);
+		header.putShort((short)ZipFormat.VERSION_DEFAULT);
+		header.putShort((short)record.flags);
+		header.putShort((short)record.method);
+		header.putInt(record.dosTime);
+		header.putInt((int)record.crc);
+		header.putInt((int)record.compressedSize);
+		header.putInt((int)record.size);
+		header.putShort((short)record.name.length);
+		header.putShort((short)0);
+		header.put(record.name);
+		
+		this.out.write(header.array());
+		this.written.add(record);
+	}
+	
+	/**
+	 * Fills a buffer from a stream, stopping early only at its end.
+	 * @param  in     The stream to read.
+	 * @param  buffer The buffer to fill.
+	 * @return The number of bytes read.
+	 * @throws IOException Thrown if the stream cannot be read.
+	 */
+	private static int readBlock(InputStream in, byte[] buffer) throws IOException
+	{
+		int length = 0;
+		int read;
+		
+		while(length < buffer.length && (read = in.read(buffer, length, buffer.length - length)) >= 0)
+		{
+			length += read;
+		}
+		
+		return length;
+	}
+}
@@ -1,11 +1,18 @@
 package com.attributestudios.api.util.io;
 
-import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.logging.Logger;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
@@ -17,8 +24,9 @@ import com.attributestudios.api.util.logging.SimpleLogFormatter;
  * 	and expanding files in the '.zip' file format.
  * 
  * @author  Bridger Maskrey (maskreybe@live.com)
- * @version 1.0.0
+ * @version 1.1.0
  * @date.	2014-08-18
+ * @edited. 2026-10-16
  */
 public class ZippingUtils
 {
@@ -27,6 +35,21 @@ public class ZippingUtils
 	 */
 	private static Logger zipLogger = LoggingUtil.constructLogger("Zip / Unzip", new SimpleLogFormatter());
 	
+	/**
+	 * The size of the buffer entries are written through.
+	 */
+	private static final int EXTRACT_BUFFER_SIZE = 64 * 1024;
+	
+	/**
+	 * The compression level archives are written at.
+	 */
+	private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+	
+	/**
+	 * The number of entries compressed or extracted at once.
+	 */
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+	
 	/**
 	 * Expands files from a specified zipped folder to the specified directory.
 	 * @param zippedFile The file to unzip.
@@ -37,66 +60,463 @@ public class ZippingUtils
 	{
 		zipLogger.info("Unzipping file " + zippedFile + " to directory " + unzipDirectory);
 		
+		try(InputStream inputStream = new FileInputStream(zippedFile))
+		{
+			this.extract(inputStream, unzipDirectory);
+		}
+	}
+	
+	/**
+	 * Expands files from a zip stream to the specified directory as the stream
+	 * 	   is read, so that an archive arriving over the network need never be
+	 * 	   stored whole.  Only a fixed-size buffer is held in memory.  If the
+	 * 	   stream fails or an entry cannot be written, every file and directory
+	 * 	   created so far is deleted before the error is rethrown; files that
+	 * 	   already existed and were overwritten are not restored.
+	 * @param  zipStream      The stream to read the archive from.  It is read up
+	 * 						      to the end of the last entry and is not closed.
+	 * @param  unzipDirectory The directory in which to unzip the archive.
+	 * @return Every file and directory created, in the order created.
+	 * @throws IOException Thrown when for some reason the stream cannot be
+	 * 					       unzipped, or an entry would be written outside the
+	 * 					       directory.
+	 * @since  1.1.0
+	 */
+	public List<File> extract(InputStream zipStream, File unzipDirectory) throws IOException
+	{
 		if(unzipDirectory.exists() && !unzipDirectory.isDirectory())
 		{
 			zipLogger.severe("Unable to unzip! " + unzipDirectory + " exists, and it is not a directory!");
 			throw new IOException(unzipDirectory + " is not a directory.");
 		}
 		
-		// Make parent directory.
-		unzipDirectory.mkdirs();
+		List<File> created = new ArrayList<File>();
 		
-		// Try with resources to load zip stream, etc.
-		try(ZipInputStream zipInputStream = new ZipInputStream(new FileInputStream(zippedFile)))
+		try
 		{
-			ZipEntry entry;
-						
-			while((entry = zipInputStream.getNextEntry()) != null)
+			// Make parent directory.
+			makeDirectories(unzipDirectory, created);
+			
+			String rootPath = unzipDirectory.getCanonicalPath() + File.separator;
+			byte[] buffer = new byte[EXTRACT_BUFFER_SIZE];
+			
+			// Closing the zip stream releases its inflater without closing the caller's stream.
+			try(ZipInputStream zipInputStream = new ZipInputStream(new FilterInputStream(zipStream)
 			{
-				String entryFileName = entry.getName();
-				
-				zipLogger.finer("Found zip entry " + entryFileName);
-				
-				String entryFullPath = (unzipDirectory + File.separator + entryFileName).trim();
-				
-				zipLogger.finer("Full output path enumerated to " + entryFullPath);
-				
-				File entryOutputFile = new File(entryFullPath);
-				
-				if(entry.isDirectory())
+				@Override
+				public void close()
 				{
-					// Entry is in fact a directory, so lets just make directories and leave it at that.
-					entryOutputFile.mkdirs();
-					zipLogger.finer("Entry " + entryFileName + " is a directory. Moving to next.");
-					continue;
+					// Left open for the caller.
 				}
+			}))
+			{
+				ZipEntry entry;
 				
-				zipLogger.finer("Make parent directories for " + entryFileName);
-				entryOutputFile.getParentFile().mkdirs();
-				
-				zipLogger.finer("Writing " + entryFileName + " to uncompressed file " + entryOutputFile);
-				
-				// Another try with resources, this time to write the contents of the entry file.
-				try(BufferedOutputStream entryOutputStreamBuffer = new BufferedOutputStream(new FileOutputStream(entryOutputFile)))
+				while((entry = zipInputStream.getNextEntry()) != null)
 				{
-					int bufferSize = 1024;
-					byte[] buffer = new byte[bufferSize];
-					int read;
+					String entryFileName = entry.getName();
+					
+					zipLogger.finer("Found zip entry " + entryFileName);
+					
+					File entryOutputFile = new File(unzipDirectory, entryFileName.trim());
+					
+					if(!(entryOutputFile.getCanonicalPath() + File.separator).startsWith(rootPath))
+					{
+						throw new IOException("Zip entry " + entryFileName + " would be written outside " + unzipDirectory);
+					}
+					
+					zipLogger.finer("Full output path enumerated to " + entryOutputFile);
+					
+					if(entry.isDirectory())
+					{
+						// Entry is in fact a directory, so lets just make directories and leave it at that.
+						makeDirectories(entryOutputFile, created);
+						zipLogger.finer("Entry " + entryFileName + " is a directory. Moving to next.");
+						continue;
+					}
+					
+					zipLogger.finer("Make parent directories for " + entryFileName);
+					makeDirectories(entryOutputFile.getParentFile(), created);
+					
+					zipLogger.finer("Writing " + entryFileName + " to uncompressed file " + entryOutputFile);
 					
-					while((read = zipInputStream.read(buffer, 0, bufferSize)) >= 0)
+					if(!entryOutputFile.exists())
 					{
-						entryOutputStreamBuffer.write(buffer, 0, read);
+						created.add(entryOutputFile);
+					}
+					
+					// Another try with resources, this time to write the contents of the entry file.
+					try(OutputStream entryOutputStream = new FileOutputStream(entryOutputFile))
+					{
+						int read;
+						
+						while((read = zipInputStream.read(buffer, 0, buffer.length)) >= 0)
+						{
+							entryOutputStream.write(buffer, 0, read);
+						}
 					}
 				}
 			}
 		}
+		catch(IOException | RuntimeException e)
+		{
+			zipLogger.warning("Unzipping failed; removing " + created.size() + " extracted files and directories.");
+			deleteExtracted(created);
+			throw e;
+		}
+		
+		return created;
 	}
 	
-	//TODO: zipFiles(File outputFile, File directoryToZip)
+	/**
+	 * Expands files from a zip archive to the specified directory, inflating
+	 * 	   entries concurrently.  The archive's central directory is read first,
+	 * 	   every directory is created up front, and independent entries are then
+	 * 	   read by position and inflated on {@link #getParallelism()} threads.
+	 * 	   This is much faster than {@link #extract(File, File)} for archives with
+	 * 	   many entries, but needs the whole archive on disk.  Each entry is
+	 * 	   checked against its recorded size and CRC.  If any entry fails, every
+	 * 	   file and directory created so far is deleted before the error is
+	 * 	   rethrown.
+	 * @param  zippedFile     The file to unzip.
+	 * @param  unzipDirectory The directory in which to unzip the file.
+	 * @return Every file and directory created.
+	 * @throws IOException Thrown when for some reason the file cannot be
+	 * 					       unzipped, or an entry would be written outside the
+	 * 					       directory.
+	 * @since  1.1.0
+	 */
+	public List<File> extractConcurrently(File zippedFile, File unzipDirectory) throws IOException
+	{
+		zipLogger.info("Unzipping file " + zippedFile + " to directory " + unzipDirectory + " concurrently");
+		
+		return new ZipArchiveExtractor(this.parallelism).extract(zippedFile, unzipDirectory);
+	}
+	
+	/**
+	 * Brings a directory up to date with a zip archive, writing only the
+	 * 	   entries that differ from the files already there.  A file whose size
+	 * 	   and modification time match its entry's central directory record is
+	 * 	   left alone; one whose size matches but whose time does not is compared
+	 * 	   by CRC-32, and only its time is updated if the contents match.  Entries
+	 * 	   are extracted concurrently, as by
+	 * 	   {@link #extractConcurrently(File, File)}.
+	 * @param  zippedFile     The file to unzip.
+	 * @param  unzipDirectory The directory to bring up to date.
+	 * @param  removeStale    Whether to delete files and directories in the
+	 * 						      directory that are no longer in the archive.
+	 * @return The numbers of entries written and skipped, and of files and
+	 * 		       directories removed.
+	 * @throws IOException Thrown when for some reason the file cannot be
+	 * 					       unzipped, or a stale file cannot be deleted.
+	 * @since  1.1.0
+	 */
+	public ExtractionSummary sync(File zippedFile, File unzipDirectory, boolean removeStale) throws IOException
+	{
+		zipLogger.info("Syncing directory " + unzipDirectory + " with zip file " + zippedFile);
+		
+		return new ZipArchiveExtractor(this.parallelism).sync(zippedFile, unzipDirectory, removeStale);
+	}
+	
+	/**
+	 * Deletes files and directories created by an extraction, newest first, so
+	 * 	   that each directory is empty by the time it is deleted.
+	 * @param created The files and directories created, in the order created.
+	 */
+	static void deleteExtracted(List<File> created)
+	{
+		for(int i = created.size() - 1; i >= 0; i--)
+		{
+			created.get(i).delete();
+		}
+	}
+	
+	/**
+	 * Creates a directory and any missing parents, recording each one created.
+	 * @param  directory The directory to create.
+	 * @param  created   The list to add each created directory to.
+	 * @throws IOException Thrown if a directory cannot be created.
+	 */
+	static void makeDirectories(File directory, List<File> created) throws IOException
+	{
+		if(directory.isDirectory())
+		{
+			return;
+		}
+		
+		File parent = directory.getParentFile();
+		
+		if(parent != null)
+		{
+			makeDirectories(parent, created);
+		}
+		
+		if(!directory.mkdir() && !directory.isDirectory())
+		{
+			throw new IOException("Unable to create directory " + directory);
+		}
+		
+		created.add(directory);
+	}
 	
-	//TODO: zipFiles(File outputFile, File...listFiles)
+	/**
+	 * Compresses every file beneath a directory into a zip archive.  Entry
+	 * 	   names are relative to the directory, which is not itself an entry.
+	 * @param  outputFile     The archive to write.  It is replaced if it exists.
+	 * @param  directoryToZip The directory to compress.
+	 * @throws IOException Thrown if the directory cannot be read or the archive
+	 * 					       cannot be written.
+	 * @since  1.1.0
+	 */
+	public void zipFiles(File outputFile, File directoryToZip) throws IOException
+	{
+		if(!directoryToZip.isDirectory())
+		{
+			throw new IOException(directoryToZip + " is not a directory.");
+		}
+		
+		List<ZipArchiveWriter.Source> sources = new ArrayList<ZipArchiveWriter.Source>();
+		addChildren(directoryToZip, "", outputFile.getCanonicalFile(), sources);
+		
+		this.writeArchive(outputFile, sources);
+	}
 	
-	//TODO: zipFiles(File outputFile, Container<File> files)
+	/**
+	 * Compresses files into a zip archive.  Each file becomes an entry named
+	 * 	   after it; each directory becomes an entry of the same name holding
+	 * 	   everything beneath it.
+	 * @param  outputFile The archive to write.  It is replaced if it exists.
+	 * @param  listFiles  The files and directories to compress.
+	 * @throws IOException Thrown if a file cannot be read or the archive cannot
+	 * 					       be written.
+	 * @since  1.1.0
+	 */
+	public void zipFiles(File outputFile, File... listFiles) throws IOException
+	{
+		this.zipFiles(outputFile, Arrays.asList(listFiles));
+	}
+	
+	/**
+	 * Compresses files into a zip archive.  Each file becomes an entry named
+	 * 	   after it; each directory becomes an entry of the same name holding
+	 * 	   everything beneath it.
+	 * @param  outputFile The archive to write.  It is replaced if it exists.
+	 * @param  files      The files and directories to compress.
+	 * @throws IOException Thrown if a file cannot be read or the archive cannot
+	 * 					       be written.
+	 * @since  1.1.0
+	 */
+	public void zipFiles(File outputFile, Collection<File> files) throws IOException
+	{
+		this.writeArchive(outputFile, collectSources(files, outputFile.getCanonicalFile()));
+	}
 	
-	//TODO: zipFiles(File outputFile, Container<File[]> files)
+	/**
+	 * Compresses files into a zip archive written straight to a stream, in
+	 * 	   bounded memory.  Each file becomes an entry named after it; each
+	 * 	   directory becomes an entry of the same name holding everything beneath
+	 * 	   it.  Each entry is stored or deflated as {@link ZipStreamWriter}
+	 * 	   decides.
+	 * @param  out   The stream to write the archive to.  It is not closed.
+	 * @param  files The files and directories to compress.
+	 * @return How each entry was written, in order.
+	 * @throws IOException Thrown if a file cannot be read or the archive cannot
+	 * 					       be written.
+	 * @since  1.1.0
+	 */
+	public List<ZipEntryStatistics> zipFiles(OutputStream out, Collection<File> files) throws IOException
+	{
+		List<ZipArchiveWriter.Source> sources = collectSources(files, null);
+		ZipStreamWriter writer = this.openZipStream(out);
+		
+		try
+		{
+			for(ZipArchiveWriter.Source source : sources)
+			{
+				if(source.file == null)
+				{
+					writer.putDirectory(source.name, source.lastModified);
+				}
+				else
+				{
+					writer.putFile(source.name, source.file);
+				}
+			}
+			
+			writer.finish();
+		}
+		catch(IOException | RuntimeException e)
+		{
+			// The stream is the caller's to close, but the deflaters' native memory is ours.
+			writer.release();
+			throw e;
+		}
+		
+		List<ZipEntryStatistics> statistics = writer.getStatistics();
+		long size = 0L;
+		long compressedSize = 0L;
+		
+		for(ZipEntryStatistics entry : statistics)
+		{
+			size += entry.getSize();
+			compressedSize += entry.getCompressedSize();
+		}
+		
+		zipLogger.info("Streamed " + sources.size() + " entries: " + size + " bytes compressed to " + compressedSize);
+		
+		return statistics;
+	}
+	
+	/**
+	 * Opens a writer that streams a zip archive to an output stream, using this
+	 * 	   utility's compression level.
+	 * @param  out The stream to write the archive to.  Closing the writer closes
+	 * 			       it; {@link ZipStreamWriter#finish()} leaves it open.
+	 * @return The writer.
+	 * @since  1.1.0
+	 */
+	public ZipStreamWriter openZipStream(OutputStream out)
+	{
+		return new ZipStreamWriter(out, this.compressionLevel);
+	}
+	
+	/**
+	 * Lists the entries for a set of files and directories, each directory
+	 * 	   followed by everything beneath it.
+	 * @param  files      The files and directories.
+	 * @param  outputFile The canonical archive file, which is never added to
+	 * 					      itself, or null.
+	 * @return The entries, in order.
+	 * @throws IOException Thrown if a file does not exist or a directory cannot
+	 * 					       be listed.
+	 */
+	static List<ZipArchiveWriter.Source> collectSources(Collection<File> files, File outputFile) throws IOException
+	{
+		List<ZipArchiveWriter.Source> sources = new ArrayList<ZipArchiveWriter.Source>();
+		
+		for(File file : files)
+		{
+			if(file.isDirectory())
+			{
+				String name = file.getName() + "/";
+				sources.add(new ZipArchiveWriter.Source(name, null, file.lastModified()));
+				addChildren(file, name, outputFile, sources);
+			}
+			else if(file.isFile())
+			{
+				sources.add(new ZipArchiveWriter.Source(file.getName(), file, file.lastModified()));
+			}
+			else
+			{
+				throw new IOException(file + " does not exist.");
+			}
+		}
+		
+		return sources;
+	}
+	
+	/**
+	 * Gets the compression level archives are written at.
+	 * @return The level, from 0 to 9, or -1 for the default.
+	 * @since  1.1.0
+	 */
+	public int getCompressionLevel()
+	{
+		return this.compressionLevel;
+	}
+	
+	/**
+	 * Sets the compression level archives are written at.
+	 * @param compressionLevel The level, from {@link Deflater#NO_COMPRESSION} to
+	 * 						       {@link Deflater#BEST_COMPRESSION}, or
+	 * 						       {@link Deflater#DEFAULT_COMPRESSION}.
+	 * @since 1.1.0
+	 */
+	public void setCompressionLevel(int compressionLevel)
+	{
+		if(compressionLevel < Deflater.DEFAULT_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION)
+		{
+			throw new IllegalArgumentException("Invalid compression level: " + compressionLevel);
+		}
+		
+		this.compressionLevel = compressionLevel;
+	}
+	
+	/**
+	 * Gets the number of entries compressed or extracted at once.
+	 * @return The parallelism.
+	 * @since  1.1.0
+	 */
+	public int getParallelism()
+	{
+		return this.parallelism;
+	}
+	
+	/**
+	 * Sets the number of entries compressed or extracted at once.
+	 * @param parallelism The parallelism; must be at least 1.
+	 * @since 1.1.0
+	 */
+	public void setParallelism(int parallelism)
+	{
+		if(parallelism < 1)
+		{
+			throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+		}
+		
+		this.parallelism = parallelism;
+	}
+	
+	/**
+	 * Writes an archive of the given entries with this utility's settings.
+	 * @param  outputFile The archive to write.
+	 * @param  sources    The entries to write, in order.
+	 * @throws IOException Thrown if the archive cannot be written.
+	 */
+	private void writeArchive(File outputFile, List<ZipArchiveWriter.Source> sources) throws IOException
+	{
+		File parent = outputFile.getAbsoluteFile().getParentFile();
+		
+		if(parent != null)
+		{
+			parent.mkdirs();
+		}
+		
+		new ZipArchiveWriter(this.compressionLevel, this.parallelism).write(outputFile, sources);
+	}
+	
+	/**
+	 * Adds everything beneath a directory to a list of entries, in name order.
+	 * @param  directory  The directory to add the contents of.
+	 * @param  prefix     The entry name prefix of the directory's children.
+	 * @param  outputFile The canonical archive file, which is never added to
+	 * 					      itself.
+	 * @param  sources    The list to add entries to.
+	 * @throws IOException Thrown if the directory cannot be listed.
+	 */
+	private static void addChildren(File directory, String prefix, File outputFile, List<ZipArchiveWriter.Source> sources) throws IOException
+	{
+		File[] children = directory.listFiles();
+		
+		if(children == null)
+		{
+			throw new IOException("Unable to list directory " + directory);
+		}
+		
+		Arrays.sort(children);
+		
+		for(File child : children)
+		{
+			if(child.isDirectory())
+			{
+				String name = prefix + child.getName() + "/";
+				sources.add(new ZipArchiveWriter.Source(name, null, child.lastModified()));
+				addChildren(child, name, outputFile, sources);
+			}
+			else if(child.isFile() && !child.getCanonicalFile().equals(outputFile))
+			{
+				sources.add(new ZipArchiveWriter.Source(prefix + child.getName(), child, child.lastModified()));
+			}
+		}
+	}
 }